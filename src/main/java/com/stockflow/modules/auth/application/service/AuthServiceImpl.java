@@ -2,9 +2,11 @@ package com.stockflow.modules.auth.application.service;
 
 import com.stockflow.modules.auth.application.dto.*;
 import com.stockflow.modules.auth.domain.model.RefreshToken;
-import com.stockflow.modules.auth.domain.repository.RefreshTokenRepository;
+import com.stockflow.modules.auth.domain.repository.RefreshTokenStore;
 import com.stockflow.modules.tenants.domain.model.Tenant;
 import com.stockflow.modules.tenants.domain.repository.TenantRepository;
+import com.stockflow.modules.users.application.service.LoginDirectory;
+import com.stockflow.modules.users.domain.model.LoginDirectoryEntry;
 import com.stockflow.modules.users.domain.model.Role;
 import com.stockflow.modules.users.domain.model.RoleEnum;
 import com.stockflow.modules.users.domain.model.User;
@@ -31,6 +33,7 @@ import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -47,24 +50,27 @@ public class AuthServiceImpl implements AuthService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final TenantRepository tenantRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
+    private final LoginDirectory loginDirectory;
 
     public AuthServiceImpl(AuthenticationManager authenticationManager,
                           UserRepository userRepository,
                           RoleRepository roleRepository,
                           TenantRepository tenantRepository,
-                          RefreshTokenRepository refreshTokenRepository,
+                          RefreshTokenStore refreshTokenStore,
                           JwtService jwtService,
-                          PasswordEncoder passwordEncoder) {
+                          PasswordEncoder passwordEncoder,
+                          LoginDirectory loginDirectory) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.tenantRepository = tenantRepository;
-        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenStore = refreshTokenStore;
         this.jwtService = jwtService;
         this.passwordEncoder = passwordEncoder;
+        this.loginDirectory = loginDirectory;
     }
 
     @Override
@@ -72,9 +78,9 @@ public class AuthServiceImpl implements AuthService {
     public LoginResponse login(LoginRequest request) {
         logger.info("Login attempt for email: {}", request.email());
 
-        // Load user from database FIRST to get tenant ID
+        // Resolve the user FIRST to get tenant ID
         // This is necessary because authentication needs tenant context
-        User user = userRepository.findByEmail(request.email())
+        User user = findLoginUser(request.email())
             .orElseThrow(() -> new UnauthorizedException("AUTH_INVALID_CREDENTIALS",
                 "Invalid email or password"));
 
@@ -91,7 +97,7 @@ public class AuthServiceImpl implements AuthService {
         try {
             authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
-                    request.email(),
+                    user.getEmail(),
                     request.password()
                 )
             );
@@ -136,10 +142,9 @@ public class AuthServiceImpl implements AuthService {
         Long tenantId = jwtService.extractTenantId(request.refreshToken());
         Long userId = jwtService.extractUserId(request.refreshToken());
 
-        // Find refresh token in database
+        // Revoke the refresh token (rotation); a token can be exchanged only once
         String tokenHash = hashToken(request.refreshToken());
-        RefreshToken refreshTokenEntity = refreshTokenRepository
-            .findValidByTokenHash(tokenHash, LocalDateTime.now())
+        refreshTokenStore.consume(tokenHash)
             .orElseThrow(() -> new UnauthorizedException("AUTH_REFRESH_TOKEN_INVALID",
                 "Refresh token not found or revoked"));
 
@@ -158,10 +163,6 @@ public class AuthServiceImpl implements AuthService {
                 "User account is inactive");
         }
 
-        // Revoke old refresh token (rotation)
-        refreshTokenEntity.revoke();
-        refreshTokenRepository.save(refreshTokenEntity);
-
         // Generate new tokens
         String accessToken = generateAccessToken(user);
         String newRefreshToken = generateRefreshToken(user);
@@ -188,17 +189,10 @@ public class AuthServiceImpl implements AuthService {
             return;
         }
 
-        // Find and revoke refresh token
+        // Revoke refresh token
         String tokenHash = hashToken(request.refreshToken());
-        RefreshToken refreshTokenEntity = refreshTokenRepository
-            .findValidByTokenHash(tokenHash, LocalDateTime.now())
-            .orElse(null);
-
-        if (refreshTokenEntity != null) {
-            refreshTokenEntity.revoke();
-            refreshTokenRepository.save(refreshTokenEntity);
-            logger.info("Refresh token revoked for user: {}", refreshTokenEntity.getUserId());
-        }
+        refreshTokenStore.revoke(tokenHash)
+            .ifPresent(revoked -> logger.info("Refresh token revoked for user: {}", revoked.getUserId()));
     }
 
     @Override
@@ -211,7 +205,7 @@ public class AuthServiceImpl implements AuthService {
                 "Tenant slug already exists");
         }
 
-        if (userRepository.existsActiveByEmail(request.adminEmail())) {
+        if (loginDirectory.existsActive(request.adminEmail())) {
             throw new ConflictException("USER_EMAIL_ALREADY_EXISTS",
                 "User with this email already exists");
         }
@@ -238,7 +232,9 @@ public class AuthServiceImpl implements AuthService {
                 "ADMIN role not found in database"));
         admin.addRole(adminRole);
 
-        admin = userRepository.save(admin);
+        // Flush so the role insert has bumped the version the access token records
+        admin = userRepository.saveAndFlush(admin);
+        loginDirectory.record(admin);
         logger.info("Created admin user: {} (ID: {})", admin.getEmail(), admin.getId());
 
         // Generate tokens
@@ -270,6 +266,25 @@ public class AuthServiceImpl implements AuthService {
 
     // Private helper methods
 
+    /**
+     * Resolves the tenant of an email through the login directory, then loads the user
+     * by primary key.
+     */
+    private Optional<User> findLoginUser(String email) {
+        Optional<LoginDirectoryEntry> entry = loginDirectory.findActive(email);
+        Optional<User> user = entry.flatMap(found -> loadDirectoryUser(found, email));
+        if (entry.isPresent() && user.isEmpty()) {
+            // The cached entry is stale (user deactivated or replaced); read the directory
+            user = loginDirectory.reload(email).flatMap(found -> loadDirectoryUser(found, email));
+        }
+        return user;
+    }
+
+    private Optional<User> loadDirectoryUser(LoginDirectoryEntry entry, String email) {
+        return userRepository.findByIdAndTenantId(entry.userId(), entry.tenantId())
+            .filter(user -> user.getEmail().equalsIgnoreCase(email.trim()));
+    }
+
     private String generateAccessToken(User user) {
         List<String> roles = getRoleNames(user);
         List<Long> branchIds = getBranchIds(user);
@@ -279,7 +294,8 @@ public class AuthServiceImpl implements AuthService {
             user.getId(),
             user.getEmail(),
             roles,
-            branchIds
+            branchIds,
+            user.getVersion()
         );
     }
 
@@ -301,7 +317,7 @@ public class AuthServiceImpl implements AuthService {
             expiresAt
         );
 
-        refreshTokenRepository.save(refreshTokenEntity);
+        refreshTokenStore.save(refreshTokenEntity);
 
         return refreshToken;
     }
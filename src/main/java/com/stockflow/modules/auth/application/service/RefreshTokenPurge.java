@@ -0,0 +1,102 @@
+package com.stockflow.modules.auth.application.service;
+
+import com.stockflow.modules.auth.domain.repository.RefreshTokenStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deletes expired refresh tokens from stores that keep them (see {@link RefreshTokenStore}).
+ *
+ * <p>Tokens expired more than {@code app.auth.refresh-tokens.purge.grace-hours} ago are
+ * deleted in chunks of {@code chunk-size}, each in its own transaction, pausing
+ * {@code pause-ms} between chunks so the purge does not compete with logins for locks
+ * and I/O. A run stops after {@code max-chunks-per-run} chunks; the rest is left to the
+ * next run.</p>
+ *
+ * <p>Schedule: every {@code app.auth.refresh-tokens.purge.interval-ms} (default one hour).</p>
+ */
+@Component
+public class RefreshTokenPurge {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenPurge.class);
+
+    private final RefreshTokenStore refreshTokenStore;
+    private final Counter purged;
+
+    @Value("${app.auth.refresh-tokens.purge.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${app.auth.refresh-tokens.purge.max-chunks-per-run:100}")
+    private int maxChunksPerRun = 100;
+
+    @Value("${app.auth.refresh-tokens.purge.pause-ms:200}")
+    private long pauseMillis = 200;
+
+    @Value("${app.auth.refresh-tokens.purge.grace-hours:24}")
+    private long graceHours = 24;
+
+    public RefreshTokenPurge(RefreshTokenStore refreshTokenStore, MeterRegistry meterRegistry) {
+        this.refreshTokenStore = refreshTokenStore;
+        this.purged = Counter.builder("stockflow.auth.refresh-tokens.purged")
+            .description("Expired refresh tokens deleted")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Deletes expired tokens, failures logged.
+     */
+    @Scheduled(fixedDelayString = "${app.auth.refresh-tokens.purge.interval-ms:3600000}",
+               initialDelayString = "${app.auth.refresh-tokens.purge.initial-delay-ms:120000}")
+    public void purge() {
+        try {
+            purgeExpired(LocalDateTime.now().minusHours(graceHours));
+        } catch (RuntimeException e) {
+            logger.error("Refresh token purge failed", e);
+        }
+    }
+
+    /**
+     * Deletes tokens expired before a cutoff, chunk by chunk.
+     *
+     * @param cutoff tokens expired before this time are deleted
+     * @return number of tokens deleted
+     */
+    public long purgeExpired(LocalDateTime cutoff) {
+        long total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            int deleted = refreshTokenStore.purgeExpired(cutoff, chunkSize);
+            total += deleted;
+            purged.increment(deleted);
+            if (deleted < chunkSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            logger.info("Purged {} refresh tokens expired before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.stockflow.modules.auth.domain.model;
 
-import com.stockflow.shared.domain.model.BaseEntity;
+import com.stockflow.shared.domain.model.TimeSortedEntity;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
@@ -21,7 +21,7 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "refresh_tokens")
-public class RefreshToken extends BaseEntity {
+public class RefreshToken extends TimeSortedEntity {
 
     /**
      * The user who owns this refresh token.
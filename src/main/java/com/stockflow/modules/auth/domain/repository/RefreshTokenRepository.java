@@ -1,19 +1,23 @@
 package com.stockflow.modules.auth.domain.repository;
 
 import com.stockflow.modules.auth.domain.model.RefreshToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository interface for RefreshToken entity.
  *
- * <p>Provides data access operations for refresh tokens with tenant isolation.</p>
+ * <p>Provides data access operations for refresh tokens with tenant isolation.
+ * Services go through {@link RefreshTokenStore}.</p>
  */
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
@@ -27,6 +31,14 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     @Query("SELECT rt FROM RefreshToken rt WHERE rt.tokenHash = :tokenHash AND rt.revokedAt IS NULL AND rt.expiresAt > :now")
     Optional<RefreshToken> findValidByTokenHash(@Param("tokenHash") String tokenHash, @Param("now") LocalDateTime now);
 
+    /**
+     * Finds tokens by hash, whatever their state.
+     *
+     * @param tokenHash the hash of the token
+     * @return the tokens with that hash
+     */
+    List<RefreshToken> findByTokenHash(String tokenHash);
+
     /**
      * Finds all valid tokens for a user.
      *
@@ -45,6 +57,17 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
      */
     List<RefreshToken> findByUserId(Long userId);
 
+    /**
+     * Revokes a valid token.
+     *
+     * @param tokenHash the hash of the token
+     * @param now       current timestamp
+     * @return number of tokens revoked, 0 if the token was not valid
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RefreshToken rt SET rt.revokedAt = :now WHERE rt.tokenHash = :tokenHash AND rt.revokedAt IS NULL AND rt.expiresAt > :now")
+    int revokeValidByTokenHash(@Param("tokenHash") String tokenHash, @Param("now") LocalDateTime now);
+
     /**
      * Revokes all valid tokens for a user.
      *
@@ -52,25 +75,27 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
      * @param now    current timestamp
      * @return number of tokens revoked
      */
-    @Query("UPDATE RefreshToken rt SET rt.revokedAt = :now WHERE rt.userId = :userId AND rt.revokedAt IS NULL")
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RefreshToken rt SET rt.revokedAt = :now WHERE rt.userId = :userId AND rt.revokedAt IS NULL AND rt.expiresAt > :now")
     int revokeAllByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
 
     /**
-     * Deletes all expired tokens.
+     * Finds the IDs of tokens expired before a cutoff, oldest first.
      *
-     * @param now current timestamp
-     * @return number of tokens deleted
+     * @param cutoff   the cutoff timestamp
+     * @param pageable the chunk size
+     * @return the token IDs
      */
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < :now")
-    int deleteExpired(@Param("now") LocalDateTime now);
+    @Query("SELECT rt.id FROM RefreshToken rt WHERE rt.expiresAt < :cutoff ORDER BY rt.expiresAt")
+    List<Long> findExpiredIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
 
     /**
-     * Deletes all revoked tokens older than the specified date.
-     * Useful for cleanup of old revoked tokens.
+     * Deletes tokens by ID.
      *
-     * @param date the cutoff date
+     * @param ids the token IDs
      * @return number of tokens deleted
      */
-    @Query("DELETE FROM RefreshToken rt WHERE rt.revokedAt IS NOT NULL AND rt.revokedAt < :date")
-    int deleteRevokedOlderThan(@Param("date") LocalDateTime date);
+    @Modifying
+    @Query("DELETE FROM RefreshToken rt WHERE rt.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
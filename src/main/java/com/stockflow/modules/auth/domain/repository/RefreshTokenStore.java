@@ -0,0 +1,65 @@
+package com.stockflow.modules.auth.domain.repository;
+
+import com.stockflow.modules.auth.domain.model.RefreshToken;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Storage of issued refresh tokens, by hash.
+ *
+ * <p>Selected by {@code app.auth.refresh-tokens.store}:</p>
+ * <ul>
+ *   <li>{@code database} (default): {@code refresh_tokens}, looked up through its
+ *       {@code token_hash} index. Expired rows are deleted in chunks by
+ *       {@link com.stockflow.modules.auth.application.service.RefreshTokenPurge}</li>
+ *   <li>{@code redis}: one key per token expiring with it, plus a set of token hashes
+ *       per user</li>
+ * </ul>
+ *
+ * <p>Tokens are rotated on use: {@link #consume(String)} revokes a token and returns it
+ * in one step, so a token can be exchanged only once even by concurrent requests.</p>
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Stores an issued token.
+     *
+     * @param token the token, with its hash and expiration
+     */
+    void save(RefreshToken token);
+
+    /**
+     * Revokes a valid token and returns it, for rotation.
+     *
+     * @param tokenHash the hash of the token
+     * @return the token, or empty if it is unknown, expired or already revoked
+     */
+    Optional<RefreshToken> consume(String tokenHash);
+
+    /**
+     * Revokes a token (logout).
+     *
+     * @param tokenHash the hash of the token
+     * @return the revoked token, or empty if it is unknown, expired or already revoked
+     */
+    Optional<RefreshToken> revoke(String tokenHash);
+
+    /**
+     * Revokes every valid token of a user.
+     *
+     * @param userId the user ID
+     * @return number of tokens revoked
+     */
+    int revokeAllByUserId(Long userId);
+
+    /**
+     * Deletes up to {@code limit} tokens expired before a cutoff, oldest first.
+     * Stores whose entries expire by themselves delete nothing.
+     *
+     * @param cutoff tokens expired before this time are deleted
+     * @param limit  maximum number of tokens to delete
+     * @return number of tokens deleted
+     */
+    int purgeExpired(LocalDateTime cutoff, int limit);
+}
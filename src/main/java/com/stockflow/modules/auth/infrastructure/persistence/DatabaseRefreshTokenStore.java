@@ -0,0 +1,75 @@
+package com.stockflow.modules.auth.infrastructure.persistence;
+
+import com.stockflow.modules.auth.domain.model.RefreshToken;
+import com.stockflow.modules.auth.domain.repository.RefreshTokenRepository;
+import com.stockflow.modules.auth.domain.repository.RefreshTokenStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Refresh token store on {@code refresh_tokens}.
+ *
+ * <p>Lookups and revocations go through {@code idx_refresh_tokens_hash}. A token is
+ * consumed with a conditional {@code UPDATE} on its hash, so of two concurrent
+ * requests only the one that revoked the row gets the token. Revoked tokens stay until
+ * they expire; expired ones are deleted by ID in chunks, each chunk in its own
+ * transaction, so a purge never holds locks on more than one chunk.</p>
+ */
+@Repository
+@ConditionalOnProperty(name = "app.auth.refresh-tokens.store", havingValue = "database", matchIfMissing = true)
+public class DatabaseRefreshTokenStore implements RefreshTokenStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseRefreshTokenStore.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    public DatabaseRefreshTokenStore(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @Override
+    public void save(RefreshToken token) {
+        refreshTokenRepository.save(token);
+    }
+
+    @Override
+    @Transactional
+    public Optional<RefreshToken> consume(String tokenHash) {
+        return revoke(tokenHash);
+    }
+
+    @Override
+    @Transactional
+    public Optional<RefreshToken> revoke(String tokenHash) {
+        if (refreshTokenRepository.revokeValidByTokenHash(tokenHash, LocalDateTime.now()) == 0) {
+            return Optional.empty();
+        }
+        return refreshTokenRepository.findByTokenHash(tokenHash).stream().findFirst();
+    }
+
+    @Override
+    @Transactional
+    public int revokeAllByUserId(Long userId) {
+        return refreshTokenRepository.revokeAllByUserId(userId, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional
+    public int purgeExpired(LocalDateTime cutoff, int limit) {
+        List<Long> ids = refreshTokenRepository.findExpiredIds(cutoff, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = refreshTokenRepository.deleteByIdIn(ids);
+        log.debug("Purged {} refresh tokens expired before {}", deleted, cutoff);
+        return deleted;
+    }
+}
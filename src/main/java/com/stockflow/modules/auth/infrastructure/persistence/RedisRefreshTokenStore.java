@@ -0,0 +1,100 @@
+package com.stockflow.modules.auth.infrastructure.persistence;
+
+import com.stockflow.modules.auth.domain.model.RefreshToken;
+import com.stockflow.modules.auth.domain.repository.RefreshTokenStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Refresh token store on Redis.
+ *
+ * <p>Each token is a key {@code stockflow:refresh-token:<hash>} holding its tenant, user
+ * and expiration, and expiring with the token, so nothing needs purging. Tokens are
+ * consumed and revoked with {@code GETDEL}: of two concurrent requests only one reads
+ * the token. The hashes of a user's tokens are kept in
+ * {@code stockflow:refresh-tokens:user:<userId>}, which expires with the user's latest
+ * token, for {@link #revokeAllByUserId(Long)}.</p>
+ *
+ * <p>Revoked tokens are deleted rather than marked, and Redis errors are not treated as
+ * misses: a refresh fails rather than accepting a token that may be revoked.</p>
+ */
+@Repository
+@ConditionalOnProperty(name = "app.auth.refresh-tokens.store", havingValue = "redis")
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisRefreshTokenStore.class);
+
+    static final String TOKEN_PREFIX = "stockflow:refresh-token:";
+    static final String USER_PREFIX = "stockflow:refresh-tokens:user:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisRefreshTokenStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void save(RefreshToken token) {
+        Duration ttl = Duration.between(LocalDateTime.now(), token.getExpiresAt());
+        if (ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+
+        String value = token.getTenantId() + ":" + token.getUserId() + ":" + token.getExpiresAt();
+        redisTemplate.opsForValue().set(TOKEN_PREFIX + token.getTokenHash(), value, ttl);
+
+        String userKey = USER_PREFIX + token.getUserId();
+        redisTemplate.opsForSet().add(userKey, token.getTokenHash());
+        redisTemplate.expire(userKey, ttl);
+    }
+
+    @Override
+    public Optional<RefreshToken> consume(String tokenHash) {
+        return revoke(tokenHash);
+    }
+
+    @Override
+    public Optional<RefreshToken> revoke(String tokenHash) {
+        String value = redisTemplate.opsForValue().getAndDelete(TOKEN_PREFIX + tokenHash);
+        if (value == null) {
+            return Optional.empty();
+        }
+
+        String[] parts = value.split(":", 3);
+        RefreshToken token = new RefreshToken(Long.valueOf(parts[0]), Long.valueOf(parts[1]), tokenHash,
+            LocalDateTime.parse(parts[2]));
+        token.revoke();
+        redisTemplate.opsForSet().remove(USER_PREFIX + token.getUserId(), tokenHash);
+        return Optional.of(token);
+    }
+
+    @Override
+    public int revokeAllByUserId(Long userId) {
+        String userKey = USER_PREFIX + userId;
+        Set<String> hashes = redisTemplate.opsForSet().members(userKey);
+        if (hashes == null || hashes.isEmpty()) {
+            return 0;
+        }
+
+        List<String> keys = hashes.stream().map(hash -> TOKEN_PREFIX + hash).toList();
+        Long deleted = redisTemplate.delete(keys);
+        // Remove only the hashes read, so tokens issued meanwhile stay revocable
+        redisTemplate.opsForSet().remove(userKey, hashes.toArray());
+        log.debug("Revoked {} refresh tokens of user {}", deleted, userId);
+        return deleted != null ? deleted.intValue() : 0;
+    }
+
+    @Override
+    public int purgeExpired(LocalDateTime cutoff, int limit) {
+        return 0;
+    }
+}
@@ -6,6 +6,7 @@ import com.stockflow.modules.catalog.application.mapper.ProductMapper;
 import com.stockflow.modules.catalog.domain.model.Product;
 import com.stockflow.modules.catalog.domain.repository.CategoryRepository;
 import com.stockflow.modules.catalog.domain.repository.ProductRepository;
+import com.stockflow.modules.dashboard.domain.repository.DashboardCounterRepository;
 import com.stockflow.shared.domain.exception.ConflictException;
 import com.stockflow.shared.domain.exception.NotFoundException;
 import com.stockflow.shared.domain.exception.ValidationException;
@@ -41,13 +42,16 @@ public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ProductMapper productMapper;
+    private final DashboardCounterRepository dashboardCounterRepository;
 
     public ProductServiceImpl(ProductRepository productRepository,
             CategoryRepository categoryRepository,
-            ProductMapper productMapper) {
+            ProductMapper productMapper,
+            DashboardCounterRepository dashboardCounterRepository) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
         this.productMapper = productMapper;
+        this.dashboardCounterRepository = dashboardCounterRepository;
     }
 
     @Override
@@ -72,6 +76,9 @@ public class ProductServiceImpl implements ProductService {
         // Create and save product
         Product product = productMapper.toEntity(request, tenantId);
         Product savedProduct = productRepository.save(product);
+        if (savedProduct.isActive()) {
+            dashboardCounterRepository.addActiveProducts(tenantId, 1);
+        }
 
         logger.info("Product created successfully with ID: {}", savedProduct.getId());
 
@@ -134,6 +141,7 @@ public class ProductServiceImpl implements ProductService {
 
         // Soft delete by deactivating (handled by @SQLDelete)
         productRepository.delete(product);
+        dashboardCounterRepository.addActiveProducts(tenantId, -1);
 
         logger.info("Product deleted successfully: {}", id);
     }
@@ -274,10 +282,14 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new NotFoundException("PRODUCT_NOT_FOUND",
                         "Product not found with ID: " + productId));
 
+        boolean wasActive = product.isActive();
         product.setActive(isActive);
 
         // Save product
         Product updatedProduct = productRepository.save(product);
+        if (wasActive != updatedProduct.isActive()) {
+            dashboardCounterRepository.addActiveProducts(tenantId, updatedProduct.isActive() ? 1 : -1);
+        }
 
         logger.info("Product active status updated successfully: {} (now active: {})",
                 updatedProduct.getId(), updatedProduct.isActive());
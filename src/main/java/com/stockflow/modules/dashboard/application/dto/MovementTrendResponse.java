@@ -0,0 +1,121 @@
+package com.stockflow.modules.dashboard.application.dto;
+
+import com.stockflow.modules.dashboard.domain.model.MovementTrendBucket;
+import com.stockflow.modules.dashboard.domain.model.TrendGranularity;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO for the movement trends endpoint.
+ *
+ * <p>Contains one bucket per day, week or month of the requested range, including
+ * buckets without movements, so the series can be charted as is.</p>
+ *
+ * @param granularity the bucket size
+ * @param from        first day of the first bucket
+ * @param to          last day of the last bucket
+ * @param branchId    the branch ID, or null for the whole tenant
+ * @param buckets     the buckets, in ascending order
+ */
+@Schema(description = "Inbound, outbound and sale movements per day, week or month")
+public record MovementTrendResponse(
+
+        @Schema(description = "Bucket size", example = "DAY")
+        TrendGranularity granularity,
+
+        @Schema(description = "First day of the first bucket", example = "2026-10-01")
+        LocalDate from,
+
+        @Schema(description = "Last day of the last bucket", example = "2026-10-31")
+        LocalDate to,
+
+        @Schema(description = "Branch ID, absent for the whole tenant", example = "1")
+        Long branchId,
+
+        @Schema(description = "Buckets in ascending order, without gaps")
+        List<TrendBucketDTO> buckets
+) {
+
+    /**
+     * DTO for one trend bucket.
+     *
+     * @param start         first day of the bucket
+     * @param end           last day of the bucket, inclusive
+     * @param inMovements   number of IN movements
+     * @param inQuantity    quantity moved in
+     * @param outMovements  number of OUT movements, sales included
+     * @param outQuantity   quantity moved out, sales included
+     * @param saleMovements number of OUT movements with reason SALE
+     * @param saleQuantity  quantity sold
+     */
+    @Schema(description = "Movements of one bucket")
+    public record TrendBucketDTO(
+
+            @Schema(description = "First day of the bucket", example = "2026-10-12")
+            LocalDate start,
+
+            @Schema(description = "Last day of the bucket, inclusive", example = "2026-10-18")
+            LocalDate end,
+
+            @Schema(description = "Number of IN movements", example = "42")
+            long inMovements,
+
+            @Schema(description = "Quantity moved in", example = "1250")
+            long inQuantity,
+
+            @Schema(description = "Number of OUT movements, sales included", example = "87")
+            long outMovements,
+
+            @Schema(description = "Quantity moved out, sales included", example = "940")
+            long outQuantity,
+
+            @Schema(description = "Number of OUT movements with reason SALE", example = "80")
+            long saleMovements,
+
+            @Schema(description = "Quantity sold", example = "910")
+            long saleQuantity
+    ) {
+
+        /**
+         * Creates a DTO from domain model.
+         *
+         * @param bucket the domain trend bucket
+         * @return DTO representation
+         */
+        public static TrendBucketDTO fromDomain(MovementTrendBucket bucket) {
+            return new TrendBucketDTO(
+                    bucket.getStart(),
+                    bucket.getEnd(),
+                    bucket.getInMovements(),
+                    bucket.getInQuantity(),
+                    bucket.getOutMovements(),
+                    bucket.getOutQuantity(),
+                    bucket.getSaleMovements(),
+                    bucket.getSaleQuantity()
+            );
+        }
+    }
+
+    /**
+     * Creates a trend response from domain models.
+     *
+     * @param granularity the bucket size
+     * @param branchId    the branch ID, or null for the whole tenant
+     * @param buckets     the buckets, in ascending order
+     * @return trend response
+     */
+    public static MovementTrendResponse fromDomain(TrendGranularity granularity, Long branchId,
+                                                   List<MovementTrendBucket> buckets) {
+        return new MovementTrendResponse(
+                granularity,
+                buckets.isEmpty() ? null : buckets.get(0).getStart(),
+                buckets.isEmpty() ? null : buckets.get(buckets.size() - 1).getEnd(),
+                branchId,
+                buckets.stream()
+                        .map(TrendBucketDTO::fromDomain)
+                        .toList()
+        );
+    }
+}
@@ -1,47 +1,199 @@
 package com.stockflow.modules.dashboard.application.service;
 
 import com.stockflow.modules.dashboard.domain.model.DashboardMetrics;
+import com.stockflow.modules.dashboard.domain.model.MovementRollup;
+import com.stockflow.modules.dashboard.domain.model.MovementTrendBucket;
 import com.stockflow.modules.dashboard.domain.model.TopProductMovement;
+import com.stockflow.modules.dashboard.domain.model.TrendGranularity;
 import com.stockflow.modules.dashboard.domain.repository.DashboardRepository;
+import com.stockflow.modules.dashboard.domain.repository.MovementRollupRepository;
 import com.stockflow.shared.infrastructure.cache.CacheConfig;
-import org.springframework.cache.annotation.Cacheable;
+import com.stockflow.shared.infrastructure.cache.DashboardCacheKeys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Cache facade for dashboard queries with per-segment TTLs.
+ *
+ * <p>Keys come from {@link DashboardCacheKeys}: tenant-wide segments are keyed by the
+ * tenant generation and branch segments by the branch generation, so inventory writes
+ * invalidate only the scopes they touched.</p>
+ *
+ * <p>Segments are read through {@link DashboardSegmentCache}, which coalesces concurrent
+ * misses and serves the previous value of a scope while it is recomputed, so a burst of
+ * dashboard requests after a movement runs each aggregation once. This facade is not
+ * transactional: only a running loader opens a (read-only) transaction, so hits and
+ * callers waiting for another caller's load do not hold a pooled connection.</p>
+ *
+ * <p>Top products are read from the summaries maintained by {@link TopProductsTracker}
+ * rather than aggregated over the movement history.</p>
+ *
+ * <p>Trend buckets are summed from the daily movement rollups and cached one by one.
+ * A bucket is sealed once it ended before today and the rollups of all its days were
+ * rebuilt ({@link MovementRollupRepository#findRolledUpThrough}); sealed buckets never
+ * change and are cached without expiry under a key without generation. Other buckets
+ * (normally only the current one) are cached under the scope generation, like the
+ * other segments, so writes recompute them.</p>
  */
 @Service
-@Transactional(readOnly = true)
 public class DashboardCacheService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DashboardCacheService.class);
+
     private static final int TOP_PRODUCTS_LIMIT = 10;
 
     private final DashboardRepository dashboardRepository;
+    private final TopProductsTracker topProductsTracker;
+    private final MovementRollupRepository rollupRepository;
+    private final DashboardSegmentCache segmentCache;
+    private final DashboardCacheKeys dashboardCacheKeys;
+    private final CacheManager cacheManager;
 
-    public DashboardCacheService(DashboardRepository dashboardRepository) {
+    public DashboardCacheService(DashboardRepository dashboardRepository,
+                                 TopProductsTracker topProductsTracker,
+                                 MovementRollupRepository rollupRepository,
+                                 DashboardSegmentCache segmentCache,
+                                 DashboardCacheKeys dashboardCacheKeys,
+                                 CacheManager cacheManager) {
         this.dashboardRepository = dashboardRepository;
+        this.topProductsTracker = topProductsTracker;
+        this.rollupRepository = rollupRepository;
+        this.segmentCache = segmentCache;
+        this.dashboardCacheKeys = dashboardCacheKeys;
+        this.cacheManager = cacheManager;
     }
 
-    @Cacheable(value = CacheConfig.DASHBOARD_OVERVIEW, key = "#tenantId")
     public DashboardMetrics getMetrics(Long tenantId) {
-        return dashboardRepository.getMetrics(tenantId);
+        return segmentCache.get(CacheConfig.DASHBOARD_OVERVIEW, dashboardCacheKeys.tenant(tenantId),
+            CacheConfig.DASHBOARD_TTL_SECONDS, () -> dashboardRepository.getMetrics(tenantId));
     }
 
-    @Cacheable(value = CacheConfig.DASHBOARD_BRANCH, key = "#tenantId + ':' + #branchId")
     public DashboardMetrics getMetricsByBranch(Long tenantId, Long branchId) {
-        return dashboardRepository.getMetricsByBranch(tenantId, branchId);
+        return segmentCache.get(CacheConfig.DASHBOARD_BRANCH, dashboardCacheKeys.branch(tenantId, branchId),
+            CacheConfig.DASHBOARD_TTL_SECONDS, () -> dashboardRepository.getMetricsByBranch(tenantId, branchId));
     }
 
-    @Cacheable(value = CacheConfig.TOP_PRODUCTS, key = "#tenantId")
     public List<TopProductMovement> getTopProducts(Long tenantId) {
-        return dashboardRepository.getTopProductsByMovement(tenantId, TOP_PRODUCTS_LIMIT);
+        return segmentCache.get(CacheConfig.TOP_PRODUCTS, dashboardCacheKeys.tenant(tenantId),
+            CacheConfig.TOP_PRODUCTS_TTL_SECONDS, () -> topProductsTracker.top(tenantId, null, TOP_PRODUCTS_LIMIT));
     }
 
-    @Cacheable(value = CacheConfig.TOP_PRODUCTS, key = "#tenantId + ':' + #branchId")
     public List<TopProductMovement> getTopProductsByBranch(Long tenantId, Long branchId) {
-        return dashboardRepository.getTopProductsByMovementForBranch(tenantId, branchId, TOP_PRODUCTS_LIMIT);
+        return segmentCache.get(CacheConfig.TOP_PRODUCTS, dashboardCacheKeys.branch(tenantId, branchId),
+            CacheConfig.TOP_PRODUCTS_TTL_SECONDS, () -> topProductsTracker.top(tenantId, branchId, TOP_PRODUCTS_LIMIT));
+    }
+
+    /**
+     * Returns the last tenant metrics computed, for responses that cannot wait for a miss.
+     *
+     * @param tenantId the tenant ID
+     * @return the last metrics, or null if none are known
+     */
+    public DashboardMetrics getLastMetrics(Long tenantId) {
+        return segmentCache.getLast(CacheConfig.DASHBOARD_OVERVIEW, dashboardCacheKeys.tenant(tenantId));
+    }
+
+    public DashboardMetrics getLastMetricsByBranch(Long tenantId, Long branchId) {
+        return segmentCache.getLast(CacheConfig.DASHBOARD_BRANCH, dashboardCacheKeys.branch(tenantId, branchId));
+    }
+
+    public List<TopProductMovement> getLastTopProducts(Long tenantId) {
+        return segmentCache.getLast(CacheConfig.TOP_PRODUCTS, dashboardCacheKeys.tenant(tenantId));
+    }
+
+    public List<TopProductMovement> getLastTopProductsByBranch(Long tenantId, Long branchId) {
+        return segmentCache.getLast(CacheConfig.TOP_PRODUCTS, dashboardCacheKeys.branch(tenantId, branchId));
+    }
+
+    /**
+     * Returns the trend buckets covering a range of days, without gaps.
+     *
+     * @param tenantId    the tenant ID
+     * @param branchId    the branch ID, or null for the whole tenant
+     * @param from        first day, inclusive
+     * @param to          last day, inclusive
+     * @param granularity the bucket size
+     * @return one bucket per granularity step, including empty ones, in ascending order
+     */
+    public List<MovementTrendBucket> getTrendBuckets(Long tenantId, Long branchId, LocalDate from, LocalDate to,
+                                                     TrendGranularity granularity) {
+        LocalDate today = LocalDate.now();
+        LocalDate sealedThrough = rollupRepository.findRolledUpThrough(tenantId)
+            .filter(day -> day.isBefore(today))
+            .orElse(null);
+
+        List<LocalDate> starts = granularity.starts(from, to);
+        MovementTrendBucket[] buckets = new MovementTrendBucket[starts.size()];
+        List<Integer> sealedMisses = new ArrayList<>();
+
+        for (int i = 0; i < starts.size(); i++) {
+            LocalDate start = starts.get(i);
+            LocalDate end = granularity.end(start);
+            if (sealedThrough != null && !end.isAfter(sealedThrough)) {
+                buckets[i] = readSealed(sealedKey(tenantId, branchId, granularity, start));
+                if (buckets[i] == null) {
+                    sealedMisses.add(i);
+                }
+            } else {
+                buckets[i] = segmentCache.get(CacheConfig.OPEN_TREND_BUCKETS,
+                    granularity + ":" + start + ":" + scopeKey(tenantId, branchId),
+                    CacheConfig.DASHBOARD_TTL_SECONDS,
+                    () -> MovementTrendBucket.of(start, end,
+                        rollupRepository.findDailyTotals(tenantId, branchId, start, end)));
+            }
+        }
+
+        if (!sealedMisses.isEmpty()) {
+            // One rollup query for all sealed buckets missing from the cache
+            LocalDate missFrom = starts.get(sealedMisses.get(0));
+            LocalDate missTo = granularity.end(starts.get(sealedMisses.get(sealedMisses.size() - 1)));
+            List<MovementRollup> totals = rollupRepository.findDailyTotals(tenantId, branchId, missFrom, missTo);
+            for (int i : sealedMisses) {
+                LocalDate start = starts.get(i);
+                buckets[i] = MovementTrendBucket.of(start, granularity.end(start), totals);
+                writeSealed(sealedKey(tenantId, branchId, granularity, start), buckets[i]);
+            }
+        }
+
+        return List.of(buckets);
+    }
+
+    private String scopeKey(Long tenantId, Long branchId) {
+        return branchId == null
+            ? dashboardCacheKeys.tenant(tenantId)
+            : dashboardCacheKeys.branch(tenantId, branchId);
+    }
+
+    private static String sealedKey(Long tenantId, Long branchId, TrendGranularity granularity, LocalDate start) {
+        return "t" + tenantId + ":" + (branchId == null ? "all" : "b" + branchId) + ":" + granularity + ":" + start;
+    }
+
+    private MovementTrendBucket readSealed(String key) {
+        Cache cache = cacheManager.getCache(CacheConfig.TREND_BUCKETS);
+        try {
+            return cache != null ? cache.get(key, MovementTrendBucket.class) : null;
+        } catch (RuntimeException e) {
+            logger.warn("Cache GET error for cache '{}', key '{}': {}. Falling back to database.",
+                CacheConfig.TREND_BUCKETS, key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeSealed(String key, MovementTrendBucket bucket) {
+        Cache cache = cacheManager.getCache(CacheConfig.TREND_BUCKETS);
+        try {
+            if (cache != null) {
+                cache.put(key, bucket);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Cache PUT error for cache '{}', key '{}': {}", CacheConfig.TREND_BUCKETS, key, e.getMessage());
+        }
     }
 }
@@ -0,0 +1,119 @@
+package com.stockflow.modules.dashboard.application.service;
+
+import com.stockflow.modules.dashboard.domain.model.CounterDrift;
+import com.stockflow.modules.dashboard.domain.model.CounterKey;
+import com.stockflow.modules.dashboard.domain.model.DashboardMetrics;
+import com.stockflow.modules.dashboard.domain.repository.DashboardCounterRepository;
+import com.stockflow.modules.tenants.domain.model.Tenant;
+import com.stockflow.modules.tenants.domain.repository.TenantRepository;
+import com.stockflow.shared.infrastructure.cache.DashboardCacheKeys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Periodically repairs the dashboard counters.
+ *
+ * <p>The counters are updated in the same transaction as every movement and product
+ * status change made through the services, so they only drift when rows are written
+ * around them (imports, manual SQL, restores). For each tenant the reconciler reads
+ * counters and source rows in one REPEATABLE READ snapshot, then adds the difference
+ * in a short write transaction. Writers that commit in between are counted in neither
+ * read, so the correction stays exact without locking them out. Cached dashboards of
+ * corrected tenants and branches are invalidated.</p>
+ *
+ * <p>Daily counters that fell out of the recent window are purged in the same run.
+ * Schedule: {@code app.dashboard.counters.reconcile-cron} (default 03:30 every day).</p>
+ */
+@Component
+public class DashboardCounterReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardCounterReconciler.class);
+
+    private final DashboardCounterRepository counterRepository;
+    private final TenantRepository tenantRepository;
+    private final DashboardCacheKeys dashboardCacheKeys;
+    private final TransactionTemplate snapshotTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final Counter corrections;
+
+    public DashboardCounterReconciler(DashboardCounterRepository counterRepository,
+                                      TenantRepository tenantRepository,
+                                      DashboardCacheKeys dashboardCacheKeys,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry) {
+        this.counterRepository = counterRepository;
+        this.tenantRepository = tenantRepository;
+        this.dashboardCacheKeys = dashboardCacheKeys;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.corrections = Counter.builder("stockflow.dashboard.counters.corrections")
+            .description("Dashboard counter rows corrected by reconciliation")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Reconciles the counters of every tenant and purges expired daily counters.
+     */
+    @Scheduled(cron = "${app.dashboard.counters.reconcile-cron:0 30 3 * * *}")
+    public void reconcileAll() {
+        int drifted = 0;
+        for (Tenant tenant : tenantRepository.findAll()) {
+            try {
+                if (!reconcile(tenant.getId()).isEmpty()) {
+                    drifted++;
+                }
+            } catch (RuntimeException e) {
+                logger.error("Dashboard counter reconciliation failed for tenant {}", tenant.getId(), e);
+            }
+        }
+
+        int purged = writeTemplate.execute(status -> counterRepository.deleteDailyCountersBefore(recentSince()));
+        logger.info("Dashboard counters reconciled: {} tenants corrected, {} expired daily counters purged",
+            drifted, purged);
+    }
+
+    /**
+     * Reconciles the counters of one tenant.
+     *
+     * @param tenantId the tenant ID
+     * @return the corrections that were applied
+     */
+    public CounterDrift reconcile(Long tenantId) {
+        CounterDrift drift = snapshotTemplate.execute(status ->
+            counterRepository.findDrift(tenantId, recentSince()));
+
+        if (!drift.isEmpty()) {
+            writeTemplate.executeWithoutResult(status -> counterRepository.applyDrift(drift));
+
+            Set<Long> branchIds = new TreeSet<>();
+            for (CounterKey key : drift.movements().keySet()) {
+                branchIds.add(key.branchId());
+            }
+            dashboardCacheKeys.invalidate(tenantId, branchIds);
+
+            corrections.increment(drift.movements().size() + (drift.activeProducts() != 0 ? 1 : 0));
+            logger.warn("Corrected dashboard counters for tenant {}: activeProducts {}, {} movement counters",
+                tenantId, drift.activeProducts(), drift.movements().size());
+        }
+
+        return drift;
+    }
+
+    private static LocalDate recentSince() {
+        // Today counts as the first of the recent days
+        return LocalDate.now().minusDays(DashboardMetrics.RECENT_DAYS - 1);
+    }
+}
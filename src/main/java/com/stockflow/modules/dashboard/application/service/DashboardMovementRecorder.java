@@ -0,0 +1,60 @@
+package com.stockflow.modules.dashboard.application.service;
+
+import com.stockflow.modules.dashboard.domain.repository.DashboardCounterRepository;
+import com.stockflow.modules.dashboard.domain.repository.MovementRollupRepository;
+import com.stockflow.modules.inventory.domain.model.StockMovement;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Entry point for writers to report inserted movements to the dashboard.
+ *
+ * <p>Counters and daily rollups are updated in the caller's transaction. The top products summaries
+ * only see the movements once the transaction committed, so rolled back movements
+ * are never counted.</p>
+ */
+@Component
+public class DashboardMovementRecorder {
+
+    private final DashboardCounterRepository counterRepository;
+    private final MovementRollupRepository rollupRepository;
+    private final TopProductsTracker topProductsTracker;
+
+    public DashboardMovementRecorder(DashboardCounterRepository counterRepository,
+                                     MovementRollupRepository rollupRepository,
+                                     TopProductsTracker topProductsTracker) {
+        this.counterRepository = counterRepository;
+        this.rollupRepository = rollupRepository;
+        this.topProductsTracker = topProductsTracker;
+    }
+
+    /**
+     * Records inserted movements.
+     *
+     * @param movements the movements inserted in the current transaction
+     */
+    public void record(Collection<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+
+        counterRepository.recordMovements(movements);
+        rollupRepository.recordMovements(movements);
+
+        List<StockMovement> recorded = List.copyOf(movements);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    topProductsTracker.offer(recorded);
+                }
+            });
+        } else {
+            topProductsTracker.offer(recorded);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.stockflow.modules.dashboard.application.service;
+
+import com.stockflow.shared.infrastructure.cache.DashboardCacheKeys;
+import com.stockflow.shared.infrastructure.cache.NearCaches;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for dashboard segments that protects the database from
+ * thundering herds.
+ *
+ * <ul>
+ *   <li><strong>Single flight:</strong> concurrent misses for the same key on an instance
+ *       wait for one computation instead of running the aggregation each.</li>
+ *   <li><strong>Stale while revalidate:</strong> when a write moved a scope to a new
+ *       generation, readers get the last value computed for the scope while one
+ *       background refresh computes the new one. A reader may therefore see the
+ *       pre-write value for the duration of one refresh.</li>
+ *   <li><strong>Probabilistic early refresh:</strong> a hit refreshes in the background
+ *       with a probability that grows as the entry approaches its TTL, weighted by how
+ *       long it took to compute (XFetch, {@code app.dashboard.cache.early-refresh-beta}),
+ *       so hot keys are renewed before they expire instead of all at once.</li>
+ * </ul>
+ *
+ * <p>Only the computation runs in a transaction, so a connection is taken only while
+ * a segment is actually loaded: hits, stale reads and coalesced waiters hold none.
+ * Callers already in a transaction load within it.</p>
+ *
+ * <p>Last values are kept in a near cache ({@link NearCaches}); with near caches
+ * disabled, stale values are never served. Cache errors are logged and treated as
+ * misses, like in {@code CacheConfig}.</p>
+ */
+@Component
+public class DashboardSegmentCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardSegmentCache.class);
+
+    private final CacheManager cacheManager;
+    private final NearCaches nearCaches;
+    private final TransactionTemplate readTemplate;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Segment> lastValues;
+    private final Map<String, CompletableFuture<Segment>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService refreshExecutor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dashboard-refresh-", 0).factory());
+
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter staleServed;
+    private final Counter earlyRefreshes;
+
+    @Value("${app.dashboard.cache.early-refresh-beta:1.0}")
+    private double earlyRefreshBeta = 1.0;
+
+    public DashboardSegmentCache(CacheManager cacheManager,
+                                 NearCaches nearCaches,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.nearCaches = nearCaches;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.lastValues = nearCaches.build();
+        this.misses = loads(meterRegistry, "miss");
+        this.coalesced = loads(meterRegistry, "coalesced");
+        this.staleServed = loads(meterRegistry, "stale");
+        this.earlyRefreshes = loads(meterRegistry, "early");
+    }
+
+    /**
+     * Returns a cached segment, computing it at most once per key at a time.
+     *
+     * @param cacheName  the cache name
+     * @param key        the key, including the scope generation ({@link DashboardCacheKeys})
+     * @param ttlSeconds the TTL of the cache
+     * @param loader     computes the segment
+     * @param <T>        the segment type
+     * @return the cached, stale or freshly computed segment
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String cacheName, String key, long ttlSeconds, Supplier<T> loader) {
+        Segment cached = read(cacheName, key);
+        if (cached != null) {
+            if (shouldRefreshEarly(cached, ttlSeconds)) {
+                earlyRefreshes.increment();
+                refreshInBackground(cacheName, key, loader);
+            }
+            return (T) cached.getValue();
+        }
+
+        Segment stale = nearCaches.isEnabled()
+            ? lastValues.getIfPresent(cacheName + "::" + DashboardCacheKeys.withoutGeneration(key))
+            : null;
+        if (stale != null) {
+            staleServed.increment();
+            refreshInBackground(cacheName, key, loader);
+            return (T) stale.getValue();
+        }
+
+        return (T) load(cacheName, key, loader).getValue();
+    }
+
+    /**
+     * Returns the last value computed for the scope of a key, whatever its generation.
+     *
+     * @param cacheName the cache name
+     * @param key       the key, including the scope generation
+     * @param <T>       the segment type
+     * @return the last value, or null if none is known (or near caches are disabled)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getLast(String cacheName, String key) {
+        if (!nearCaches.isEnabled()) {
+            return null;
+        }
+        Segment last = lastValues.getIfPresent(cacheName + "::" + DashboardCacheKeys.withoutGeneration(key));
+        return last != null ? (T) last.getValue() : null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Computes a segment, or waits for the computation already running for the key.
+     */
+    private Segment load(String cacheName, String key, Supplier<?> loader) {
+        String flightKey = cacheName + "::" + key;
+        CompletableFuture<Segment> flight = new CompletableFuture<>();
+        CompletableFuture<Segment> running = inFlight.putIfAbsent(flightKey, flight);
+        if (running != null) {
+            coalesced.increment();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        misses.increment();
+        return compute(cacheName, key, loader, flight);
+    }
+
+    /**
+     * Starts a background computation unless one is already running for the key.
+     */
+    private void refreshInBackground(String cacheName, String key, Supplier<?> loader) {
+        String flightKey = cacheName + "::" + key;
+        CompletableFuture<Segment> flight = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(flightKey, flight) != null) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    compute(cacheName, key, loader, flight);
+                } catch (RuntimeException e) {
+                    logger.warn("Background refresh of '{}' in '{}' failed: {}", key, cacheName, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(flightKey, flight);
+            flight.completeExceptionally(e);
+        }
+    }
+
+    private Segment compute(String cacheName, String key, Supplier<?> loader, CompletableFuture<Segment> flight) {
+        try {
+            long start = System.nanoTime();
+            Object value = readTemplate.execute(status -> loader.get());
+            Segment segment = new Segment(value, System.currentTimeMillis(), (System.nanoTime() - start) / 1_000_000);
+            write(cacheName, key, segment);
+            flight.complete(segment);
+            return segment;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheName + "::" + key, flight);
+        }
+    }
+
+    /**
+     * XFetch: refresh when {@code now - computeTime * beta * ln(random) >= expiry}.
+     */
+    private boolean shouldRefreshEarly(Segment segment, long ttlSeconds) {
+        long expiresAt = segment.getComputedAt() + ttlSeconds * 1000;
+        double gap = segment.getComputeMillis() * earlyRefreshBeta * -Math.log(ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + gap >= expiresAt;
+    }
+
+    private Segment read(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        try {
+            return cache != null ? cache.get(key, Segment.class) : null;
+        } catch (RuntimeException e) {
+            logger.warn("Cache GET error for cache '{}', key '{}': {}. Falling back to database.",
+                cacheName, key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(String cacheName, String key, Segment segment) {
+        if (nearCaches.isEnabled()) {
+            lastValues.put(cacheName + "::" + DashboardCacheKeys.withoutGeneration(key), segment);
+        }
+
+        Cache cache = cacheManager.getCache(cacheName);
+        try {
+            if (cache != null) {
+                cache.put(key, segment);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Cache PUT error for cache '{}', key '{}': {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    private static Counter loads(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("stockflow.dashboard.cache.loads")
+            .description("Dashboard segment reads that did not hit a fresh entry")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    /**
+     * A cached segment with what early refresh needs to know about it.
+     *
+     * <p>Not a record: the Redis serializer only writes type information for
+     * non-final types.</p>
+     */
+    public static class Segment {
+
+        private final Object value;
+        private final long computedAt;
+        private final long computeMillis;
+
+        /**
+         * Default constructor for serialization frameworks.
+         */
+        protected Segment() {
+            this(null, 0, 0);
+        }
+
+        /**
+         * Creates a segment.
+         *
+         * @param value         the segment
+         * @param computedAt    when it was computed, in epoch milliseconds
+         * @param computeMillis how long it took to compute
+         */
+        public Segment(Object value, long computedAt, long computeMillis) {
+            this.value = value;
+            this.computedAt = computedAt;
+            this.computeMillis = computeMillis;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public long getComputedAt() {
+            return computedAt;
+        }
+
+        public long getComputeMillis() {
+            return computeMillis;
+        }
+    }
+}
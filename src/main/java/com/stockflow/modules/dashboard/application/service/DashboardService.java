@@ -1,6 +1,10 @@
 package com.stockflow.modules.dashboard.application.service;
 
 import com.stockflow.modules.dashboard.application.dto.DashboardOverviewResponse;
+import com.stockflow.modules.dashboard.application.dto.MovementTrendResponse;
+import com.stockflow.modules.dashboard.domain.model.TrendGranularity;
+
+import java.time.LocalDate;
 
 /**
  * Service interface for dashboard operations.
@@ -12,7 +16,7 @@ import com.stockflow.modules.dashboard.application.dto.DashboardOverviewResponse
  * <ul>
  *   <li>Overview metrics: cached for 5 minutes</li>
  *   <li>Cache key includes tenantId and optionally branchId</li>
- *   <li>Cache is invalidated on any stock movement or transfer</li>
+ *   <li>A stock movement or transfer invalidates only its tenant and branches</li>
  * </ul>
  *
  * <p><strong>Multi-tenancy:</strong></p>
@@ -55,4 +59,21 @@ public interface DashboardService {
      * @return dashboard overview response for the branch
      */
     DashboardOverviewResponse getOverviewByBranch(Long tenantId, Long branchId);
+
+    /**
+     * Gets inbound, outbound and sale movements per day, week or month.
+     *
+     * <p>The range is widened to whole buckets. Buckets are summed from the daily
+     * movement rollups; closed buckets are cached without expiry and only open ones
+     * are recomputed after writes.</p>
+     *
+     * @param tenantId    the tenant ID
+     * @param branchId    the branch ID, or null for the whole tenant
+     * @param from        first day, inclusive
+     * @param to          last day, inclusive
+     * @param granularity the bucket size
+     * @return the trend, with one bucket per step of the range
+     */
+    MovementTrendResponse getTrends(Long tenantId, Long branchId, LocalDate from, LocalDate to,
+                                    TrendGranularity granularity);
 }
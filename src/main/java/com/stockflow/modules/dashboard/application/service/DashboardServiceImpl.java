@@ -1,18 +1,32 @@
 package com.stockflow.modules.dashboard.application.service;
 
 import com.stockflow.modules.dashboard.application.dto.DashboardOverviewResponse;
+import com.stockflow.modules.dashboard.application.dto.MovementTrendResponse;
 import com.stockflow.modules.branches.domain.model.Branch;
 import com.stockflow.modules.branches.domain.repository.BranchRepository;
 import com.stockflow.modules.dashboard.domain.model.DashboardMetrics;
+import com.stockflow.modules.dashboard.domain.model.MovementTrendBucket;
 import com.stockflow.modules.dashboard.domain.model.TopProductMovement;
+import com.stockflow.modules.dashboard.domain.model.TrendGranularity;
 import com.stockflow.shared.domain.exception.NotFoundException;
 import com.stockflow.shared.domain.exception.ValidationException;
+import com.stockflow.shared.infrastructure.security.TenantContext;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * Implementation of DashboardService with Redis caching.
@@ -29,22 +43,40 @@ import java.util.List;
  *
  * <p><strong>Cache Invalidation:</strong></p>
  * <ul>
- *   <li>Cache is evicted when stock movements occur</li>
- *   <li>InventoryService triggers @CacheEvict on createMovement and transferStock</li>
+ *   <li>Keys embed a per-tenant or per-branch generation ({@link com.stockflow.shared.infrastructure.cache.DashboardCacheKeys})</li>
+ *   <li>InventoryService bumps the tenant generation and those of the affected branches after each write</li>
  *   <li>Ensures dashboard shows near real-time data after operations</li>
  * </ul>
  *
+ * <p><strong>Fan-out:</strong> metrics and top products are independent segments, so an
+ * overview fetches them concurrently on virtual threads (with the caller's
+ * {@link TenantContext}) and a cold overview costs the slower of the two rather than their
+ * sum. Neither the request thread nor the forks are transactional: a fork takes a pooled
+ * connection only while it runs a segment loader ({@link DashboardSegmentCache}), so an
+ * overview served from the cache, or waiting for another request's load, holds none, and a
+ * cold overview holds at most one per segment. Callers already in a transaction load inline
+ * on their own connection. Segments still missing when
+ * {@code app.dashboard.overview.deadline-ms} elapses are answered with their last cached
+ * value; a segment that has never been computed is waited for.</p>
+ *
  * @see DashboardRepository
  * @see CacheConfig
  */
 @Service
-@Transactional(readOnly = true)
 public class DashboardServiceImpl implements DashboardService {
 
     private static final Logger log = LoggerFactory.getLogger(DashboardServiceImpl.class);
 
     private final DashboardCacheService dashboardCacheService;
     private final BranchRepository branchRepository;
+    private final ExecutorService segmentExecutor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dashboard-segment-", 0).factory());
+
+    @Value("${app.dashboard.overview.deadline-ms:2000}")
+    private long deadlineMs = 2000;
+
+    @Value("${app.dashboard.trends.max-buckets:366}")
+    private int maxTrendBuckets = 366;
 
     public DashboardServiceImpl(DashboardCacheService dashboardCacheService,
                                 BranchRepository branchRepository) {
@@ -56,11 +88,16 @@ public class DashboardServiceImpl implements DashboardService {
     public DashboardOverviewResponse getOverview(Long tenantId) {
         log.info("Fetching dashboard overview for tenant: {}", tenantId);
 
-        // Get dashboard metrics
-        DashboardMetrics metrics = dashboardCacheService.getMetrics(tenantId);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        CompletableFuture<DashboardMetrics> metricsFuture =
+            fork(() -> dashboardCacheService.getMetrics(tenantId));
+        CompletableFuture<List<TopProductMovement>> topProductsFuture =
+            fork(() -> dashboardCacheService.getTopProducts(tenantId));
 
-        // Get top products by movement
-        List<TopProductMovement> topProducts = dashboardCacheService.getTopProducts(tenantId);
+        DashboardMetrics metrics = join(metricsFuture, deadline, "metrics",
+            () -> dashboardCacheService.getLastMetrics(tenantId));
+        List<TopProductMovement> topProducts = join(topProductsFuture, deadline, "top products",
+            () -> dashboardCacheService.getLastTopProducts(tenantId));
 
         log.info("Dashboard overview for tenant {}: {} active products, {} low stock items, {} total movements, {} recent movements",
                 tenantId, metrics.getTotalActiveProducts(), metrics.getLowStockItems(),
@@ -75,11 +112,16 @@ public class DashboardServiceImpl implements DashboardService {
 
         validateBranchExists(branchId, tenantId);
 
-        // Get dashboard metrics for the branch
-        DashboardMetrics metrics = dashboardCacheService.getMetricsByBranch(tenantId, branchId);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        CompletableFuture<DashboardMetrics> metricsFuture =
+            fork(() -> dashboardCacheService.getMetricsByBranch(tenantId, branchId));
+        CompletableFuture<List<TopProductMovement>> topProductsFuture =
+            fork(() -> dashboardCacheService.getTopProductsByBranch(tenantId, branchId));
 
-        // Get top products by movement for the branch
-        List<TopProductMovement> topProducts = dashboardCacheService.getTopProductsByBranch(tenantId, branchId);
+        DashboardMetrics metrics = join(metricsFuture, deadline, "branch metrics",
+            () -> dashboardCacheService.getLastMetricsByBranch(tenantId, branchId));
+        List<TopProductMovement> topProducts = join(topProductsFuture, deadline, "branch top products",
+            () -> dashboardCacheService.getLastTopProductsByBranch(tenantId, branchId));
 
         log.info("Dashboard overview for tenant:{}, branch {}: {} active products, {} low stock items, {} total movements, {} recent movements",
                 tenantId, branchId, metrics.getTotalActiveProducts(), metrics.getLowStockItems(),
@@ -88,6 +130,85 @@ public class DashboardServiceImpl implements DashboardService {
         return DashboardOverviewResponse.fromDomain(metrics, topProducts);
     }
 
+    @Override
+    public MovementTrendResponse getTrends(Long tenantId, Long branchId, LocalDate from, LocalDate to,
+                                           TrendGranularity granularity) {
+        log.info("Fetching {} movement trends for tenant: {}, branch: {}, from {} to {}",
+                granularity, tenantId, branchId, from, to);
+
+        if (from.isAfter(to)) {
+            throw new ValidationException("INVALID_DATE_RANGE", "'from' must not be after 'to'");
+        }
+        int bucketCount = granularity.starts(from, to).size();
+        if (bucketCount > maxTrendBuckets) {
+            throw new ValidationException("INVALID_DATE_RANGE", String.format(
+                "The range spans %d %s buckets; at most %d are allowed", bucketCount, granularity, maxTrendBuckets));
+        }
+        if (branchId != null) {
+            validateBranchExists(branchId, tenantId);
+        }
+
+        List<MovementTrendBucket> buckets =
+            dashboardCacheService.getTrendBuckets(tenantId, branchId, from, to, granularity);
+        return MovementTrendResponse.fromDomain(granularity, branchId, buckets);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        segmentExecutor.shutdownNow();
+    }
+
+    /**
+     * Starts loading a segment on a virtual thread. A caller already inside a transaction
+     * loads it inline instead, so it sees its own uncommitted writes.
+     */
+    private <T> CompletableFuture<T> fork(Supplier<T> segment) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return CompletableFuture.completedFuture(segment.get());
+        }
+        return CompletableFuture.supplyAsync(TenantContext.propagate(segment), segmentExecutor);
+    }
+
+    /**
+     * Waits for a segment until the deadline, then falls back to its last cached value.
+     */
+    private <T> T join(CompletableFuture<T> future, long deadline, String segment, Supplier<T> fallback) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            T last = fallback.get();
+            if (last != null) {
+                log.warn("Dashboard {} missed the {} ms deadline, serving the last cached value", segment, deadlineMs);
+                return last;
+            }
+            return await(future);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while loading dashboard " + segment, e);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while loading dashboard segment", e);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        return e.getCause() instanceof RuntimeException cause
+            ? cause
+            : new IllegalStateException("Dashboard segment failed", e.getCause());
+    }
+
     private void validateBranchExists(Long branchId, Long tenantId) {
         Branch branch = branchRepository.findByIdAndTenantIdIncludingInactive(branchId, tenantId)
             .orElseThrow(() -> new NotFoundException("BRANCH_NOT_FOUND",
@@ -0,0 +1,111 @@
+package com.stockflow.modules.dashboard.application.service;
+
+import com.stockflow.modules.dashboard.domain.repository.MovementRollupRepository;
+import com.stockflow.modules.tenants.domain.model.Tenant;
+import com.stockflow.modules.tenants.domain.repository.TenantRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Rebuilds closed days of the movement rollups from {@code stock_movements}.
+ *
+ * <p>For each tenant the job walks forward from the day after the last rebuilt one (or
+ * from the oldest movement on the first run) up to yesterday, rebuilding one day per
+ * transaction and recording its progress in the same transaction, so an interrupted
+ * backfill resumes where it stopped. Once a tenant has caught up, each run rebuilds the
+ * days closed since the previous run, which repairs rollups of rows written around the
+ * services on those days.</p>
+ *
+ * <p>Schedule: every {@code app.dashboard.rollups.catch-up-interval-ms} (default one
+ * hour), at most {@code app.dashboard.rollups.max-days-per-run} days per tenant.</p>
+ */
+@Component
+public class MovementRollupBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovementRollupBackfill.class);
+
+    private final MovementRollupRepository rollupRepository;
+    private final TenantRepository tenantRepository;
+    private final TransactionTemplate writeTemplate;
+    private final Counter rebuiltDays;
+
+    @Value("${app.dashboard.rollups.max-days-per-run:366}")
+    private int maxDaysPerRun = 366;
+
+    public MovementRollupBackfill(MovementRollupRepository rollupRepository,
+                                  TenantRepository tenantRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.rollupRepository = rollupRepository;
+        this.tenantRepository = tenantRepository;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.rebuiltDays = Counter.builder("stockflow.dashboard.rollups.rebuilt.days")
+            .description("Tenant days of movement rollups rebuilt from stock movements")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Catches up the rollups of every tenant.
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.rollups.catch-up-interval-ms:3600000}",
+               initialDelayString = "${app.dashboard.rollups.catch-up-initial-delay-ms:60000}")
+    public void catchUpAll() {
+        int days = 0;
+        for (Tenant tenant : tenantRepository.findAll()) {
+            try {
+                days += catchUp(tenant.getId());
+            } catch (RuntimeException e) {
+                logger.error("Movement rollup catch-up failed for tenant {}", tenant.getId(), e);
+            }
+        }
+        if (days > 0) {
+            logger.info("Movement rollups caught up: {} tenant days rebuilt", days);
+        }
+    }
+
+    /**
+     * Rebuilds the closed days of one tenant that were not rebuilt yet.
+     *
+     * @param tenantId the tenant ID
+     * @return number of days rebuilt
+     */
+    public int catchUp(Long tenantId) {
+        LocalDate lastClosed = LocalDate.now().minusDays(1);
+        Optional<LocalDate> rolledUpThrough = rollupRepository.findRolledUpThrough(tenantId);
+        LocalDate next = rolledUpThrough
+            .map(day -> day.plusDays(1))
+            .orElseGet(() -> rollupRepository.findFirstMovementDay(tenantId).orElse(lastClosed.plusDays(1)));
+
+        if (next.isAfter(lastClosed)) {
+            if (rolledUpThrough.isEmpty()) {
+                // Nothing to backfill; start tracking so the rollups count as complete tomorrow
+                writeTemplate.executeWithoutResult(status -> rollupRepository.saveRolledUpThrough(tenantId, lastClosed));
+            }
+            return 0;
+        }
+
+        int days = 0;
+        for (LocalDate day = next; !day.isAfter(lastClosed) && days < maxDaysPerRun; day = day.plusDays(1)) {
+            LocalDate rebuilt = day;
+            writeTemplate.executeWithoutResult(status -> {
+                rollupRepository.rebuildDay(tenantId, rebuilt);
+                rollupRepository.saveRolledUpThrough(tenantId, rebuilt);
+            });
+            days++;
+        }
+
+        rebuiltDays.increment(days);
+        logger.debug("Rebuilt {} days of movement rollups for tenant {} from {}", days, tenantId, next);
+        return days;
+    }
+}
@@ -0,0 +1,288 @@
+package com.stockflow.modules.dashboard.application.service;
+
+import com.stockflow.modules.catalog.domain.model.Product;
+import com.stockflow.modules.catalog.domain.repository.ProductRepository;
+import com.stockflow.modules.dashboard.domain.model.TopProductMovement;
+import com.stockflow.modules.dashboard.domain.model.TopProductsSketch;
+import com.stockflow.modules.dashboard.domain.repository.TopProductsSketchRepository;
+import com.stockflow.modules.inventory.domain.model.StockMovement;
+import com.stockflow.modules.tenants.domain.model.Tenant;
+import com.stockflow.modules.tenants.domain.repository.TenantRepository;
+import com.stockflow.shared.infrastructure.cache.DashboardCacheKeys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the top products of every tenant and branch as Space-Saving summaries.
+ *
+ * <p>Committed movements are offered to small in-memory summaries, one per scope
+ * touched since the last flush. Every {@code app.dashboard.top-products.flush-interval-ms}
+ * (default 10 s) they are merged into the persisted summaries under a row lock, so
+ * several instances can flush concurrently. Reads cost one row and one product lookup
+ * instead of grouping the whole movement history.</p>
+ *
+ * <p><strong>Error bound:</strong> with {@code N} movements in a scope and a capacity
+ * of {@code m} (default 100), a reported movement count overestimates the true count by
+ * at most {@code N / m}, and every product moved more than {@code N / m} times is
+ * reported. Counts only lag behind commits by the flush interval. The nightly recompute
+ * ({@code app.dashboard.top-products.recompute-cron}, default 03:45) rewrites every
+ * summary from the movements and resets the error to zero. Movements still buffered on
+ * another instance at that moment are counted twice until the next recompute.</p>
+ */
+@Component
+public class TopProductsTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(TopProductsTracker.class);
+
+    private final TopProductsSketchRepository sketchRepository;
+    private final ProductRepository productRepository;
+    private final TenantRepository tenantRepository;
+    private final DashboardCacheKeys dashboardCacheKeys;
+    private final TransactionTemplate writeTemplate;
+
+    @Value("${app.dashboard.top-products.capacity:100}")
+    private int capacity = 100;
+
+    private Map<Scope, TopProductsSketch> pending = new HashMap<>();
+
+    public TopProductsTracker(TopProductsSketchRepository sketchRepository,
+                              ProductRepository productRepository,
+                              TenantRepository tenantRepository,
+                              DashboardCacheKeys dashboardCacheKeys,
+                              PlatformTransactionManager transactionManager) {
+        this.sketchRepository = sketchRepository;
+        this.productRepository = productRepository;
+        this.tenantRepository = tenantRepository;
+        this.dashboardCacheKeys = dashboardCacheKeys;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Counts committed movements.
+     *
+     * @param movements the movements, already committed
+     */
+    public synchronized void offer(Collection<StockMovement> movements) {
+        for (StockMovement movement : movements) {
+            int quantity = movement.getQuantity() != null ? movement.getQuantity() : 0;
+            sketch(new Scope(movement.getTenantId(), null)).offer(movement.getProductId(), quantity);
+            sketch(new Scope(movement.getTenantId(), movement.getBranchId())).offer(movement.getProductId(), quantity);
+        }
+    }
+
+    /**
+     * Merges the buffered movements into the persisted summaries.
+     *
+     * <p>A scope without a persisted summary is bootstrapped from the movements, which
+     * already include the buffered ones. Buffers that cannot be merged are kept for the
+     * next flush.</p>
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.top-products.flush-interval-ms:10000}")
+    public void flush() {
+        Map<Scope, TopProductsSketch> deltas;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            deltas = new TreeMap<>(pending);
+            pending = new HashMap<>();
+        }
+
+        Map<Long, Set<Long>> flushed = new TreeMap<>();
+        for (Map.Entry<Scope, TopProductsSketch> entry : deltas.entrySet()) {
+            Scope scope = entry.getKey();
+            try {
+                writeTemplate.executeWithoutResult(status -> merge(scope, entry.getValue()));
+            } catch (DuplicateKeyException e) {
+                // Bootstrapped concurrently by another instance, which counted these movements
+                logger.debug("Top products of {} were bootstrapped concurrently", scope);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to flush top products of {}, retrying on next flush: {}", scope, e.getMessage());
+                requeue(scope, entry.getValue());
+                continue;
+            }
+            Set<Long> branchIds = flushed.computeIfAbsent(scope.tenantId(), id -> new TreeSet<>());
+            if (scope.branchId() != null) {
+                branchIds.add(scope.branchId());
+            }
+        }
+
+        // Dashboards may have been cached from the summaries before this flush
+        flushed.forEach(dashboardCacheKeys::invalidate);
+    }
+
+    /**
+     * Recomputes the summaries of every tenant from the movements.
+     */
+    @Scheduled(cron = "${app.dashboard.top-products.recompute-cron:0 45 3 * * *}")
+    public void recomputeAll() {
+        flush();
+
+        int recomputed = 0;
+        for (Tenant tenant : tenantRepository.findAll()) {
+            try {
+                recomputed += recompute(tenant.getId());
+            } catch (RuntimeException e) {
+                logger.error("Top products recompute failed for tenant {}", tenant.getId(), e);
+            }
+        }
+        logger.info("Top products recomputed for {} scopes", recomputed);
+    }
+
+    /**
+     * Recomputes the summaries of one tenant from the movements.
+     *
+     * @param tenantId the tenant ID
+     * @return the number of recomputed summaries
+     */
+    public int recompute(Long tenantId) {
+        List<Long> branchIds = sketchRepository.findBranchesWithMovements(tenantId);
+
+        List<Scope> scopes = new ArrayList<>();
+        scopes.add(new Scope(tenantId, null));
+        for (Long branchId : branchIds) {
+            scopes.add(new Scope(tenantId, branchId));
+        }
+
+        for (Scope scope : scopes) {
+            writeTemplate.executeWithoutResult(status -> {
+                // Lock the row so a concurrent flush is merged into the recomputed summary
+                sketchRepository.findForUpdate(scope.tenantId(), scope.branchId());
+                sketchRepository.save(scope.tenantId(), scope.branchId(), computeExact(scope), true);
+            });
+        }
+
+        dashboardCacheKeys.invalidate(tenantId, branchIds);
+        return scopes.size();
+    }
+
+    /**
+     * Returns the most moved active products of a tenant or branch.
+     *
+     * <p>A scope without a persisted summary is computed exactly and queued, so the next
+     * flush bootstraps its summary once instead of every miss aggregating the movements.</p>
+     *
+     * <p>When fewer monitored products are active than requested, the list is completed
+     * with active products that were never moved, as the exact query did. That is only
+     * known while the summary {@linkplain TopProductsSketch#monitorsEveryProduct monitors
+     * every product}; a full summary may have dropped products that did move, so the list
+     * is left short rather than listing them with no movements. Movements not flushed yet
+     * are not known either, so a product moved since the last flush may still be listed
+     * with no movements until the next one.</p>
+     *
+     * @param tenantId the tenant ID
+     * @param branchId the branch ID, or null for the whole tenant
+     * @param limit    maximum number of products to return
+     * @return the products, most moved first
+     */
+    public List<TopProductMovement> top(Long tenantId, Long branchId, int limit) {
+        Scope scope = new Scope(tenantId, branchId);
+        TopProductsSketch sketch = sketchRepository.find(tenantId, branchId).orElse(null);
+        if (sketch == null) {
+            sketch = computeExact(scope);
+            requestBootstrap(scope);
+        }
+
+        List<TopProductsSketch.Entry> ranked = sketch.ranked();
+        Set<Long> productIds = new HashSet<>();
+        for (TopProductsSketch.Entry entry : ranked) {
+            productIds.add(entry.productId());
+        }
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .filter(product -> tenantId.equals(product.getTenantId()) && product.isActive())
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<TopProductMovement> top = new ArrayList<>(limit);
+        for (TopProductsSketch.Entry entry : ranked) {
+            Product product = products.get(entry.productId());
+            if (product == null) {
+                continue;
+            }
+            top.add(new TopProductMovement(product.getId(), product.getName(), product.getSku(),
+                    Math.toIntExact(entry.count()), Math.toIntExact(entry.quantity())));
+            if (top.size() == limit) {
+                return top;
+            }
+        }
+
+        if (!sketch.monitorsEveryProduct()) {
+            return top;
+        }
+
+        PageRequest unmoved = PageRequest.of(0, limit + products.size(), Sort.by("id"));
+        for (Product product : productRepository.findAllByTenantId(tenantId, unmoved)) {
+            if (top.size() == limit) {
+                break;
+            }
+            if (!products.containsKey(product.getId())) {
+                top.add(new TopProductMovement(product.getId(), product.getName(), product.getSku(), 0, 0));
+            }
+        }
+        return top;
+    }
+
+    private void merge(Scope scope, TopProductsSketch delta) {
+        TopProductsSketch persisted = sketchRepository.findForUpdate(scope.tenantId(), scope.branchId()).orElse(null);
+        if (persisted == null) {
+            sketchRepository.save(scope.tenantId(), scope.branchId(), computeExact(scope), true);
+            return;
+        }
+        persisted.merge(delta);
+        sketchRepository.save(scope.tenantId(), scope.branchId(), persisted, false);
+    }
+
+    private TopProductsSketch computeExact(Scope scope) {
+        return sketchRepository.computeExact(scope.tenantId(), scope.branchId(), capacity);
+    }
+
+    private synchronized void requeue(Scope scope, TopProductsSketch delta) {
+        sketch(scope).merge(delta);
+    }
+
+    /**
+     * Queues an empty delta, so the next flush bootstraps the summary of the scope.
+     */
+    private synchronized void requestBootstrap(Scope scope) {
+        sketch(scope);
+    }
+
+    private TopProductsSketch sketch(Scope scope) {
+        return pending.computeIfAbsent(scope, key -> new TopProductsSketch(capacity));
+    }
+
+    /**
+     * A tenant (null branch ID) or branch summary.
+     */
+    private record Scope(Long tenantId, Long branchId) implements Comparable<Scope> {
+
+        private static final Comparator<Scope> ORDER = Comparator
+                .comparing(Scope::tenantId)
+                .thenComparing(Scope::branchId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        @Override
+        public int compareTo(Scope other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
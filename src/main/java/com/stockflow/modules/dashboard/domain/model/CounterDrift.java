@@ -0,0 +1,25 @@
+package com.stockflow.modules.dashboard.domain.model;
+
+import java.util.Map;
+
+/**
+ * Difference between a tenant's dashboard counters and the rows they summarize.
+ *
+ * <p>Each value is the amount to add to the counter to make it exact. Counters
+ * that already match are absent.</p>
+ *
+ * @param tenantId       the tenant ID
+ * @param activeProducts correction for the active product counter
+ * @param movements      corrections for movement counters, by key
+ */
+public record CounterDrift(Long tenantId, long activeProducts, Map<CounterKey, Long> movements) {
+
+    /**
+     * Checks if the counters were exact.
+     *
+     * @return true if there is nothing to correct
+     */
+    public boolean isEmpty() {
+        return activeProducts == 0 && movements.isEmpty();
+    }
+}
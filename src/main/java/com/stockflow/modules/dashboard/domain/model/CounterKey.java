@@ -0,0 +1,41 @@
+package com.stockflow.modules.dashboard.domain.model;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * Identifies one movement counter row of a tenant.
+ *
+ * <p>Counters are kept per branch and split into slots by product, so concurrent
+ * movements of different products in the same branch rarely update the same row.
+ * A counter without a day holds the all-time total; a counter with a day holds the
+ * movements of that day.</p>
+ *
+ * @param branchId the branch ID
+ * @param day      the day of the movements, or null for the all-time counter
+ * @param slot     the slot derived from the product ID
+ */
+public record CounterKey(Long branchId, LocalDate day, int slot) implements Comparable<CounterKey> {
+
+    private static final Comparator<CounterKey> ORDER = Comparator
+            .comparing(CounterKey::branchId)
+            .thenComparing(CounterKey::day, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingInt(CounterKey::slot);
+
+    /**
+     * Checks if this key designates a daily counter.
+     *
+     * @return true if the counter holds the movements of a single day
+     */
+    public boolean isDaily() {
+        return day != null;
+    }
+
+    /**
+     * Orders keys by branch, day and slot, the order in which rows are locked.
+     */
+    @Override
+    public int compareTo(CounterKey other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -24,6 +24,12 @@ import java.util.Objects;
  */
 public class DashboardMetrics {
 
+    /**
+     * Number of calendar days covered by {@link #getRecentMovements()}: today and the
+     * {@code RECENT_DAYS - 1} whole days before it.
+     */
+    public static final int RECENT_DAYS = 7;
+
     /**
      * Total number of active products for the tenant.
      */
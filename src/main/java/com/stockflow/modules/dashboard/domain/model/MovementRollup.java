@@ -0,0 +1,53 @@
+package com.stockflow.modules.dashboard.domain.model;
+
+import com.stockflow.modules.inventory.domain.model.MovementReason;
+import com.stockflow.modules.inventory.domain.model.MovementType;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * Movements of one product in one branch on one day, for one type and reason.
+ *
+ * <p>Keys are ordered like the primary key of {@code movement_daily_rollups}
+ * (day, branch, product, type, reason), the order in which writers lock rows.</p>
+ *
+ * @param day       the day of the movements
+ * @param branchId  the branch ID
+ * @param productId the product ID
+ * @param type      the movement type
+ * @param reason    the movement reason
+ * @param movements the number of movements
+ * @param quantity  the total quantity moved
+ */
+public record MovementRollup(LocalDate day, Long branchId, Long productId, MovementType type,
+                             MovementReason reason, long movements, long quantity) {
+
+    /**
+     * Identifies a rollup row of a tenant.
+     *
+     * @param day       the day
+     * @param branchId  the branch ID
+     * @param productId the product ID
+     * @param type      the movement type
+     * @param reason    the movement reason
+     */
+    public record Key(LocalDate day, Long branchId, Long productId, MovementType type, MovementReason reason)
+            implements Comparable<Key> {
+
+        private static final Comparator<Key> ORDER = Comparator
+                .comparing(Key::day)
+                .thenComparing(Key::branchId)
+                .thenComparing(Key::productId)
+                .thenComparing(Key::type)
+                .thenComparing(Key::reason);
+
+        /**
+         * Orders keys like the primary key, the order in which rows are locked.
+         */
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.stockflow.modules.dashboard.domain.model;
+
+import com.stockflow.modules.inventory.domain.model.MovementReason;
+import com.stockflow.modules.inventory.domain.model.MovementType;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Inbound, outbound and sale movements of one trend bucket.
+ *
+ * <p>Sales are the outbound movements with reason {@link MovementReason#SALE}, so they
+ * are also counted as outbound. Buckets without movements hold zeros.</p>
+ */
+public class MovementTrendBucket {
+
+    private final LocalDate start;
+
+    private final LocalDate end;
+
+    private final long inMovements;
+
+    private final long inQuantity;
+
+    private final long outMovements;
+
+    private final long outQuantity;
+
+    private final long saleMovements;
+
+    private final long saleQuantity;
+
+    /**
+     * Default constructor for serialization frameworks.
+     */
+    protected MovementTrendBucket() {
+        this(null, null, 0, 0, 0, 0, 0, 0);
+    }
+
+    public MovementTrendBucket(LocalDate start, LocalDate end,
+                               long inMovements, long inQuantity,
+                               long outMovements, long outQuantity,
+                               long saleMovements, long saleQuantity) {
+        this.start = start;
+        this.end = end;
+        this.inMovements = inMovements;
+        this.inQuantity = inQuantity;
+        this.outMovements = outMovements;
+        this.outQuantity = outQuantity;
+        this.saleMovements = saleMovements;
+        this.saleQuantity = saleQuantity;
+    }
+
+    /**
+     * Sums the daily rollups falling into a bucket.
+     *
+     * @param start   first day of the bucket
+     * @param end     last day of the bucket, inclusive
+     * @param rollups rollups of any days; those outside the bucket are ignored
+     * @return the bucket
+     */
+    public static MovementTrendBucket of(LocalDate start, LocalDate end, Collection<MovementRollup> rollups) {
+        long inMovements = 0;
+        long inQuantity = 0;
+        long outMovements = 0;
+        long outQuantity = 0;
+        long saleMovements = 0;
+        long saleQuantity = 0;
+
+        for (MovementRollup rollup : rollups) {
+            if (rollup.day().isBefore(start) || rollup.day().isAfter(end)) {
+                continue;
+            }
+            if (rollup.type() == MovementType.IN) {
+                inMovements += rollup.movements();
+                inQuantity += rollup.quantity();
+            } else if (rollup.type() == MovementType.OUT) {
+                outMovements += rollup.movements();
+                outQuantity += rollup.quantity();
+                if (rollup.reason() == MovementReason.SALE) {
+                    saleMovements += rollup.movements();
+                    saleQuantity += rollup.quantity();
+                }
+            }
+        }
+
+        return new MovementTrendBucket(start, end, inMovements, inQuantity,
+                outMovements, outQuantity, saleMovements, saleQuantity);
+    }
+
+    // Getters
+
+    public LocalDate getStart() {
+        return start;
+    }
+
+    public LocalDate getEnd() {
+        return end;
+    }
+
+    public long getInMovements() {
+        return inMovements;
+    }
+
+    public long getInQuantity() {
+        return inQuantity;
+    }
+
+    public long getOutMovements() {
+        return outMovements;
+    }
+
+    public long getOutQuantity() {
+        return outQuantity;
+    }
+
+    public long getSaleMovements() {
+        return saleMovements;
+    }
+
+    public long getSaleQuantity() {
+        return saleQuantity;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MovementTrendBucket that = (MovementTrendBucket) o;
+        return inMovements == that.inMovements
+                && inQuantity == that.inQuantity
+                && outMovements == that.outMovements
+                && outQuantity == that.outQuantity
+                && saleMovements == that.saleMovements
+                && saleQuantity == that.saleQuantity
+                && Objects.equals(start, that.start)
+                && Objects.equals(end, that.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, end, inMovements, inQuantity, outMovements, outQuantity, saleMovements, saleQuantity);
+    }
+
+    @Override
+    public String toString() {
+        return "MovementTrendBucket{" +
+                "start=" + start +
+                ", end=" + end +
+                ", in=" + inMovements + "/" + inQuantity +
+                ", out=" + outMovements + "/" + outQuantity +
+                ", sales=" + saleMovements + "/" + saleQuantity +
+                '}';
+    }
+}
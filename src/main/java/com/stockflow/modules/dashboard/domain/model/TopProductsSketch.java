@@ -0,0 +1,212 @@
+package com.stockflow.modules.dashboard.domain.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Space-Saving summary of the most moved products of a tenant or branch.
+ *
+ * <p>At most {@code capacity} products are monitored. A movement of a monitored
+ * product increments its count; a movement of another product replaces the product
+ * with the smallest count, inheriting that count as its error. With {@code N}
+ * movements offered in total:</p>
+ * <ul>
+ *   <li>{@code count - error <= true count <= count} for every monitored product</li>
+ *   <li>{@code error <= N / capacity}</li>
+ *   <li>every product moved more than {@code N / capacity} times is monitored</li>
+ * </ul>
+ *
+ * <p>Quantities are only summed while a product is monitored, so they are a lower
+ * bound whenever the error is not zero. Summaries are mergeable, which lets every
+ * instance keep a small local delta and fold it into the persisted summary.</p>
+ *
+ * <p>Not thread-safe.</p>
+ */
+public class TopProductsSketch {
+
+    private static final Comparator<Entry> BY_COUNT = Comparator
+            .comparingLong(Entry::count).reversed()
+            .thenComparingLong(Entry::error)
+            .thenComparingLong(Entry::productId);
+
+    private final int capacity;
+    private final Map<Long, Entry> entries;
+    private long streamLength;
+
+    /**
+     * Creates an empty summary.
+     *
+     * @param capacity the maximum number of monitored products
+     */
+    public TopProductsSketch(int capacity) {
+        this(capacity, 0, List.of());
+    }
+
+    /**
+     * Restores a summary.
+     *
+     * @param capacity     the maximum number of monitored products
+     * @param streamLength the number of movements summarized
+     * @param entries      the monitored products
+     */
+    public TopProductsSketch(int capacity, long streamLength, List<Entry> entries) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.streamLength = streamLength;
+        this.entries = new HashMap<>();
+        for (Entry entry : entries) {
+            this.entries.put(entry.productId(), entry);
+        }
+        trim();
+    }
+
+    /**
+     * Counts one movement.
+     *
+     * @param productId the moved product
+     * @param quantity  the moved quantity
+     */
+    public void offer(Long productId, int quantity) {
+        streamLength++;
+
+        Entry entry = entries.get(productId);
+        if (entry != null) {
+            entries.put(productId, new Entry(productId, entry.count() + 1, entry.error(), entry.quantity() + quantity));
+            return;
+        }
+
+        if (entries.size() < capacity) {
+            entries.put(productId, new Entry(productId, 1, 0, quantity));
+            return;
+        }
+
+        Entry min = minimum();
+        entries.remove(min.productId());
+        entries.put(productId, new Entry(productId, min.count() + 1, min.count(), quantity));
+    }
+
+    /**
+     * Adds another summary to this one.
+     *
+     * <p>A product missing from one side is assumed to have that side's smallest
+     * count there, which keeps counts as upper bounds and the error within
+     * {@code (N1 + N2) / capacity}.</p>
+     *
+     * @param other the summary to add
+     */
+    public void merge(TopProductsSketch other) {
+        long thisFloor = floor();
+        long otherFloor = other.floor();
+
+        Set<Long> productIds = new HashSet<>(entries.keySet());
+        productIds.addAll(other.entries.keySet());
+
+        Map<Long, Entry> merged = new HashMap<>();
+        for (Long productId : productIds) {
+            Entry mine = entries.get(productId);
+            Entry theirs = other.entries.get(productId);
+            long count = (mine != null ? mine.count() : thisFloor) + (theirs != null ? theirs.count() : otherFloor);
+            long error = (mine != null ? mine.error() : thisFloor) + (theirs != null ? theirs.error() : otherFloor);
+            long quantity = (mine != null ? mine.quantity() : 0) + (theirs != null ? theirs.quantity() : 0);
+            merged.put(productId, new Entry(productId, count, error, quantity));
+        }
+
+        entries.clear();
+        entries.putAll(merged);
+        streamLength += other.streamLength;
+        trim();
+    }
+
+    /**
+     * Returns the monitored products, most moved first.
+     *
+     * @return the entries ordered by count
+     */
+    public List<Entry> ranked() {
+        List<Entry> ranked = new ArrayList<>(entries.values());
+        ranked.sort(BY_COUNT);
+        return ranked;
+    }
+
+    /**
+     * Returns the largest possible overestimate of any reported count.
+     *
+     * @return the maximum error, 0 when every count is exact
+     */
+    public long maxError() {
+        long max = 0;
+        for (Entry entry : entries.values()) {
+            max = Math.max(max, entry.error());
+        }
+        return max;
+    }
+
+    /**
+     * Returns whether every product offered so far is monitored, which holds until the
+     * summary first fills up. Counts are then exact and an unmonitored product was never
+     * offered.
+     *
+     * @return true while fewer than {@code capacity} products are monitored
+     */
+    public boolean monitorsEveryProduct() {
+        return entries.size() < capacity;
+    }
+
+    public boolean isEmpty() {
+        return streamLength == 0 && entries.isEmpty();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getStreamLength() {
+        return streamLength;
+    }
+
+    /**
+     * Smallest count a product outside the summary may have: the minimum count
+     * when the summary is full, otherwise 0 (every offered product is monitored).
+     */
+    private long floor() {
+        return monitorsEveryProduct() ? 0 : minimum().count();
+    }
+
+    private Entry minimum() {
+        Entry min = null;
+        for (Entry entry : entries.values()) {
+            if (min == null || BY_COUNT.compare(entry, min) > 0) {
+                min = entry;
+            }
+        }
+        return min;
+    }
+
+    private void trim() {
+        if (entries.size() <= capacity) {
+            return;
+        }
+        List<Entry> ranked = ranked();
+        for (Entry dropped : ranked.subList(capacity, ranked.size())) {
+            entries.remove(dropped.productId());
+        }
+    }
+
+    /**
+     * A monitored product.
+     *
+     * @param productId the product ID
+     * @param count     the estimated number of movements (an upper bound)
+     * @param error     the maximum overestimate of the count
+     * @param quantity  the quantity moved while monitored
+     */
+    public record Entry(long productId, long count, long error, long quantity) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.stockflow.modules.dashboard.domain.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Size of the buckets of a movement trend.
+ *
+ * <p>Buckets are aligned on calendar boundaries: days, ISO weeks starting on Monday,
+ * and months starting on their first day.</p>
+ */
+public enum TrendGranularity {
+
+    DAY {
+        @Override
+        public LocalDate start(LocalDate day) {
+            return day;
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusDays(1);
+        }
+    },
+
+    WEEK {
+        @Override
+        public LocalDate start(LocalDate day) {
+            return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusWeeks(1);
+        }
+    },
+
+    MONTH {
+        @Override
+        public LocalDate start(LocalDate day) {
+            return day.withDayOfMonth(1);
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusMonths(1);
+        }
+    };
+
+    /**
+     * Returns the first day of the bucket containing a day.
+     *
+     * @param day any day
+     * @return the start of its bucket
+     */
+    public abstract LocalDate start(LocalDate day);
+
+    /**
+     * Returns the start of the bucket following a bucket.
+     *
+     * @param start the start of a bucket
+     * @return the start of the next bucket
+     */
+    public abstract LocalDate next(LocalDate start);
+
+    /**
+     * Returns the last day of a bucket.
+     *
+     * @param start the start of the bucket
+     * @return its last day, inclusive
+     */
+    public LocalDate end(LocalDate start) {
+        return next(start).minusDays(1);
+    }
+
+    /**
+     * Returns the starts of the buckets covering a range of days.
+     *
+     * @param from first day, inclusive
+     * @param to   last day, inclusive
+     * @return bucket starts in ascending order
+     */
+    public List<LocalDate> starts(LocalDate from, LocalDate to) {
+        List<LocalDate> starts = new ArrayList<>();
+        for (LocalDate start = start(from); !start.isAfter(to); start = next(start)) {
+            starts.add(start);
+        }
+        return starts;
+    }
+}
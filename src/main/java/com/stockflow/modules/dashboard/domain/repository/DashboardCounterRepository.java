@@ -0,0 +1,71 @@
+package com.stockflow.modules.dashboard.domain.repository;
+
+import com.stockflow.modules.dashboard.domain.model.CounterDrift;
+import com.stockflow.modules.inventory.domain.model.StockMovement;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Write side of the incrementally maintained dashboard counters.
+ *
+ * <p>Writers update the counters in the same transaction as the rows they count,
+ * so a committed movement or product status change is always reflected and a
+ * rolled back one never is:</p>
+ * <ul>
+ *   <li>Movement totals per (tenant, branch), split into slots by product</li>
+ *   <li>Movement totals per (tenant, branch, day) for the recent window</li>
+ *   <li>Active products per tenant</li>
+ * </ul>
+ *
+ * <p>Rows written around the services (imports, manual SQL) are not counted until
+ * the next reconciliation, see {@link #findDrift(Long, LocalDate)}.</p>
+ */
+public interface DashboardCounterRepository {
+
+    /**
+     * Counts inserted movements.
+     *
+     * <p>Counter rows are updated in (branch, day, slot) order, so writers that record
+     * all movements of their transaction in one call cannot deadlock on counters.</p>
+     *
+     * @param movements the movements inserted in the current transaction
+     */
+    void recordMovements(Collection<StockMovement> movements);
+
+    /**
+     * Adjusts the number of active products of a tenant.
+     *
+     * @param tenantId the tenant ID
+     * @param delta    +1 when a product becomes active, -1 when it stops being active
+     */
+    void addActiveProducts(Long tenantId, int delta);
+
+    /**
+     * Compares the counters of a tenant with the rows they summarize.
+     *
+     * <p>Must run in a single read-only transaction with a consistent snapshot
+     * (REPEATABLE READ): counters and rows are then read at the same point in time
+     * and concurrent writers cannot make the drift inexact.</p>
+     *
+     * @param tenantId    the tenant ID
+     * @param recentSince first day whose daily counters are checked
+     * @return the corrections to apply
+     */
+    CounterDrift findDrift(Long tenantId, LocalDate recentSince);
+
+    /**
+     * Adds the corrections of a drift to the counters.
+     *
+     * @param drift the corrections returned by {@link #findDrift(Long, LocalDate)}
+     */
+    void applyDrift(CounterDrift drift);
+
+    /**
+     * Deletes daily counters that fell out of the recent window.
+     *
+     * @param day first day to keep
+     * @return number of deleted counter rows
+     */
+    int deleteDailyCountersBefore(LocalDate day);
+}
@@ -1,15 +1,13 @@
 package com.stockflow.modules.dashboard.domain.repository;
 
 import com.stockflow.modules.dashboard.domain.model.DashboardMetrics;
-import com.stockflow.modules.dashboard.domain.model.TopProductMovement;
-
-import java.util.List;
 
 /**
  * Repository interface for dashboard data aggregation.
  *
  * <p>This repository provides methods to query aggregated data for dashboard metrics.
- * All queries are scoped to the current tenant.</p>
+ * All queries are scoped to the current tenant. Top products are maintained separately,
+ * see {@link TopProductsSketchRepository}.</p>
  *
  * <p><strong>Cache Considerations:</strong></p>
  * <ul>
@@ -50,29 +48,4 @@ public interface DashboardRepository {
      * @return dashboard metrics for the branch
      */
     DashboardMetrics getMetricsByBranch(Long tenantId, Long branchId);
-
-    /**
-     * Gets the top products by movement count for the current tenant.
-     *
-     * <p>Returns products sorted by total movement count (descending).
-     * Useful for identifying the most frequently moved products.</p>
-     *
-     * @param tenantId the tenant ID
-     * @param limit    maximum number of products to return
-     * @return list of top product movements
-     */
-    List<TopProductMovement> getTopProductsByMovement(Long tenantId, int limit);
-
-    /**
-     * Gets the top products by movement count for a specific branch.
-     *
-     * <p>Returns products sorted by total movement count in the branch (descending).
-     * Useful for identifying the most frequently moved products in a specific branch.</p>
-     *
-     * @param tenantId the tenant ID
-     * @param branchId the branch ID
-     * @param limit    maximum number of products to return
-     * @return list of top product movements for the branch
-     */
-    List<TopProductMovement> getTopProductsByMovementForBranch(Long tenantId, Long branchId, int limit);
 }
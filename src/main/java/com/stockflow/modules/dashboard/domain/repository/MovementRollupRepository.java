@@ -0,0 +1,101 @@
+package com.stockflow.modules.dashboard.domain.repository;
+
+import com.stockflow.modules.dashboard.domain.model.MovementRollup;
+import com.stockflow.modules.inventory.domain.model.StockMovement;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Daily movement rollups per (tenant, day, branch, product, type, reason).
+ *
+ * <p>Analytics read the rollups instead of {@code stock_movements}, so their cost grows
+ * with the number of days and active products rather than with the movement history:</p>
+ * <ul>
+ *   <li>Writers add their movements in the same transaction as the rows they insert,
+ *       like the dashboard counters ({@link DashboardCounterRepository})</li>
+ *   <li>Each closed day is rebuilt once from {@code stock_movements}, which backfills
+ *       history and repairs rows written around the services that day</li>
+ * </ul>
+ */
+public interface MovementRollupRepository {
+
+    /**
+     * Adds inserted movements to the rollups of their day.
+     *
+     * <p>Rows are updated in key order ({@link MovementRollup.Key}), so writers that record
+     * all movements of their transaction in one call cannot deadlock on rollups.</p>
+     *
+     * @param movements the movements inserted in the current transaction
+     */
+    void recordMovements(Collection<StockMovement> movements);
+
+    /**
+     * Replaces the rollups of a tenant and day with an aggregation of its movements.
+     *
+     * @param tenantId the tenant ID
+     * @param day      the day to rebuild
+     * @return number of rollup rows written
+     */
+    int rebuildDay(Long tenantId, LocalDate day);
+
+    /**
+     * Finds the rollups of a tenant in a range of days.
+     *
+     * @param tenantId the tenant ID
+     * @param branchId the branch ID, or null for every branch
+     * @param from     first day, inclusive
+     * @param to       last day, inclusive
+     * @return the rollups, ordered by day
+     */
+    List<MovementRollup> findRollups(Long tenantId, Long branchId, LocalDate from, LocalDate to);
+
+    /**
+     * Sums the rollups of a tenant per day, type and reason.
+     *
+     * @param tenantId the tenant ID
+     * @param branchId the branch ID, or null for every branch
+     * @param from     first day, inclusive
+     * @param to       last day, inclusive
+     * @return daily totals, ordered by day, with null branch and product IDs
+     */
+    List<MovementRollup> findDailyTotals(Long tenantId, Long branchId, LocalDate from, LocalDate to);
+
+    /**
+     * Finds the day of the oldest movement of a tenant.
+     *
+     * @param tenantId the tenant ID
+     * @return the day, or empty if the tenant has no movements
+     */
+    Optional<LocalDate> findFirstMovementDay(Long tenantId);
+
+    /**
+     * Finds the last day rebuilt for a tenant.
+     *
+     * @param tenantId the tenant ID
+     * @return the day, or empty if the tenant was never rolled up
+     */
+    Optional<LocalDate> findRolledUpThrough(Long tenantId);
+
+    /**
+     * Records the last day rebuilt for a tenant.
+     *
+     * @param tenantId the tenant ID
+     * @param day      the last rebuilt day
+     */
+    void saveRolledUpThrough(Long tenantId, LocalDate day);
+
+    /**
+     * Checks whether the rollups of a tenant cover its whole history.
+     *
+     * <p>True once every closed day was rebuilt and the writers maintained the rollups
+     * since the start of the current day.</p>
+     *
+     * @param tenantId the tenant ID
+     * @param today    the current day
+     * @return true if the rollups can replace {@code stock_movements}
+     */
+    boolean isComplete(Long tenantId, LocalDate today);
+}
@@ -0,0 +1,66 @@
+package com.stockflow.modules.dashboard.domain.repository;
+
+import com.stockflow.modules.dashboard.domain.model.TopProductsSketch;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistence of the top products summaries.
+ *
+ * <p>There is one summary per tenant and one per (tenant, branch). Throughout this
+ * interface a {@code null} branch ID designates the tenant-wide summary.</p>
+ */
+public interface TopProductsSketchRepository {
+
+    /**
+     * Finds a persisted summary.
+     *
+     * @param tenantId the tenant ID
+     * @param branchId the branch ID, or null for the tenant-wide summary
+     * @return the summary, if one was persisted
+     */
+    Optional<TopProductsSketch> find(Long tenantId, Long branchId);
+
+    /**
+     * Finds a persisted summary and locks it until the end of the transaction.
+     *
+     * @param tenantId the tenant ID
+     * @param branchId the branch ID, or null for the tenant-wide summary
+     * @return the summary, if one was persisted
+     */
+    Optional<TopProductsSketch> findForUpdate(Long tenantId, Long branchId);
+
+    /**
+     * Inserts or replaces a summary.
+     *
+     * @param tenantId the tenant ID
+     * @param branchId the branch ID, or null for the tenant-wide summary
+     * @param sketch   the summary
+     * @param exact    true if the summary was just recomputed from the movements
+     * @throws org.springframework.dao.DuplicateKeyException if the summary did not exist
+     *         and another transaction inserted it concurrently
+     */
+    void save(Long tenantId, Long branchId, TopProductsSketch sketch, boolean exact);
+
+    /**
+     * Computes an exact summary from the movement history.
+     *
+     * <p>Groups all movements of the scope by product, so this is as expensive as the
+     * query the summaries replace. Only used for bootstrap and nightly recompute.</p>
+     *
+     * @param tenantId the tenant ID
+     * @param branchId the branch ID, or null for the tenant-wide summary
+     * @param capacity the number of products to keep
+     * @return a summary whose entries have no error
+     */
+    TopProductsSketch computeExact(Long tenantId, Long branchId, int capacity);
+
+    /**
+     * Finds the branches of a tenant that have movements.
+     *
+     * @param tenantId the tenant ID
+     * @return the branch IDs
+     */
+    List<Long> findBranchesWithMovements(Long tenantId);
+}
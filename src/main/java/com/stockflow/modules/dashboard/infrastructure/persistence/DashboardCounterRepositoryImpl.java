@@ -0,0 +1,293 @@
+package com.stockflow.modules.dashboard.infrastructure.persistence;
+
+import com.stockflow.modules.dashboard.domain.model.CounterDrift;
+import com.stockflow.modules.dashboard.domain.model.CounterKey;
+import com.stockflow.modules.dashboard.domain.repository.DashboardCounterRepository;
+import com.stockflow.modules.inventory.domain.model.StockMovement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * JDBC implementation of DashboardCounterRepository.
+ *
+ * <p>Counter deltas are applied with one batched {@code UPDATE}; rows that do not
+ * exist yet are inserted afterwards. Like the stock ledger, the upsert is written as
+ * update-then-insert so the same SQL runs on MySQL and H2.</p>
+ *
+ * <p>Movement counters are split into {@value #SLOTS} slots by product ID. The slot
+ * count must match the one used by migration {@code V009}; if it changes, the next
+ * reconciliation moves the counts to the new slots.</p>
+ *
+ * <p>Counters cover every movement ever recorded, so reconciliation counts live and
+ * archived movements ({@code stock_movements_archive}) with one {@code UNION ALL};
+ * each side is grouped on its own and the partial counts of a key are summed while
+ * reading, so archiving a month leaves the counters unchanged.</p>
+ */
+@Repository
+public class DashboardCounterRepositoryImpl implements DashboardCounterRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardCounterRepositoryImpl.class);
+
+    static final int SLOTS = 16;
+
+    private static final String ADD_MOVEMENTS = """
+            UPDATE dashboard_counters SET movements = movements + ?, updated_at = ?
+            WHERE tenant_id = ? AND branch_id = ? AND slot = ?
+            """;
+
+    private static final String INSERT_MOVEMENTS = """
+            INSERT INTO dashboard_counters (tenant_id, branch_id, slot, movements, updated_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final String ADD_DAILY_MOVEMENTS = """
+            UPDATE dashboard_daily_counters SET movements = movements + ?, updated_at = ?
+            WHERE tenant_id = ? AND branch_id = ? AND bucket_day = ? AND slot = ?
+            """;
+
+    private static final String INSERT_DAILY_MOVEMENTS = """
+            INSERT INTO dashboard_daily_counters (tenant_id, branch_id, bucket_day, slot, movements, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String ADD_ACTIVE_PRODUCTS = """
+            UPDATE dashboard_tenant_counters SET active_products = active_products + ?, updated_at = ?
+            WHERE tenant_id = ?
+            """;
+
+    private static final String INSERT_ACTIVE_PRODUCTS = """
+            INSERT INTO dashboard_tenant_counters (tenant_id, active_products, updated_at)
+            VALUES (?, ?, ?)
+            """;
+
+    private static final String SELECT_COUNTERS = """
+            SELECT branch_id, slot, movements FROM dashboard_counters WHERE tenant_id = ?
+            """;
+
+    private static final String COUNT_MOVEMENTS = """
+            SELECT branch_id, MOD(product_id, 16) AS slot, COUNT(*) AS movements
+            FROM stock_movements
+            WHERE tenant_id = ?
+            GROUP BY branch_id, MOD(product_id, 16)
+            UNION ALL
+            SELECT branch_id, MOD(product_id, 16) AS slot, COUNT(*) AS movements
+            FROM stock_movements_archive
+            WHERE tenant_id = ?
+            GROUP BY branch_id, MOD(product_id, 16)
+            """;
+
+    private static final String SELECT_DAILY_COUNTERS = """
+            SELECT branch_id, bucket_day, slot, movements FROM dashboard_daily_counters
+            WHERE tenant_id = ? AND bucket_day >= ?
+            """;
+
+    private static final String COUNT_DAILY_MOVEMENTS = """
+            SELECT branch_id, CAST(created_at AS DATE) AS bucket_day, MOD(product_id, 16) AS slot,
+                   COUNT(*) AS movements
+            FROM stock_movements
+            WHERE tenant_id = ? AND created_at >= ?
+            GROUP BY branch_id, CAST(created_at AS DATE), MOD(product_id, 16)
+            UNION ALL
+            SELECT branch_id, CAST(created_at AS DATE) AS bucket_day, MOD(product_id, 16) AS slot,
+                   COUNT(*) AS movements
+            FROM stock_movements_archive
+            WHERE tenant_id = ? AND created_at >= ?
+            GROUP BY branch_id, CAST(created_at AS DATE), MOD(product_id, 16)
+            """;
+
+    private static final String SELECT_ACTIVE_PRODUCTS = """
+            SELECT active_products FROM dashboard_tenant_counters WHERE tenant_id = ?
+            """;
+
+    private static final String COUNT_ACTIVE_PRODUCTS = """
+            SELECT COUNT(*) FROM products WHERE tenant_id = ? AND is_active = TRUE
+            """;
+
+    private static final String DELETE_DAILY_BEFORE = """
+            DELETE FROM dashboard_daily_counters WHERE bucket_day < ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DashboardCounterRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void recordMovements(Collection<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Map<CounterKey, Long>> deltasByTenant = new TreeMap<>();
+        for (StockMovement movement : movements) {
+            int slot = slot(movement.getProductId());
+            LocalDate day = movement.getCreatedAt() != null
+                    ? movement.getCreatedAt().toLocalDate()
+                    : LocalDate.now();
+
+            Map<CounterKey, Long> deltas = deltasByTenant.computeIfAbsent(movement.getTenantId(), id -> new TreeMap<>());
+            deltas.merge(new CounterKey(movement.getBranchId(), null, slot), 1L, Long::sum);
+            deltas.merge(new CounterKey(movement.getBranchId(), day, slot), 1L, Long::sum);
+        }
+
+        deltasByTenant.forEach(this::addMovements);
+    }
+
+    @Override
+    public void addActiveProducts(Long tenantId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (jdbcTemplate.update(ADD_ACTIVE_PRODUCTS, delta, now, tenantId) > 0) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.update(INSERT_ACTIVE_PRODUCTS, tenantId, delta, now);
+        } catch (DuplicateKeyException e) {
+            // Another transaction created the row in between; apply the delta to it
+            jdbcTemplate.update(ADD_ACTIVE_PRODUCTS, delta, now, tenantId);
+        }
+    }
+
+    @Override
+    public CounterDrift findDrift(Long tenantId, LocalDate recentSince) {
+        Map<CounterKey, Long> counted = new HashMap<>();
+        Map<CounterKey, Long> actual = new HashMap<>();
+
+        jdbcTemplate.query(SELECT_COUNTERS, collect(counted, false), tenantId);
+        jdbcTemplate.query(COUNT_MOVEMENTS, collect(actual, false), tenantId, tenantId);
+        jdbcTemplate.query(SELECT_DAILY_COUNTERS, collect(counted, true), tenantId, Date.valueOf(recentSince));
+        Timestamp since = Timestamp.valueOf(recentSince.atStartOfDay());
+        jdbcTemplate.query(COUNT_DAILY_MOVEMENTS, collect(actual, true), tenantId, since, tenantId, since);
+
+        Map<CounterKey, Long> corrections = new TreeMap<>();
+        Set<CounterKey> keys = new HashSet<>(counted.keySet());
+        keys.addAll(actual.keySet());
+        for (CounterKey key : keys) {
+            long correction = actual.getOrDefault(key, 0L) - counted.getOrDefault(key, 0L);
+            if (correction != 0) {
+                corrections.put(key, correction);
+            }
+        }
+
+        List<Long> activeCounted = jdbcTemplate.queryForList(SELECT_ACTIVE_PRODUCTS, Long.class, tenantId);
+        Long activeActual = jdbcTemplate.queryForObject(COUNT_ACTIVE_PRODUCTS, Long.class, tenantId);
+        long activeCorrection = (activeActual != null ? activeActual : 0L)
+                - (activeCounted.isEmpty() ? 0L : activeCounted.get(0));
+
+        return new CounterDrift(tenantId, activeCorrection, corrections);
+    }
+
+    @Override
+    public void applyDrift(CounterDrift drift) {
+        addMovements(drift.tenantId(), new TreeMap<>(drift.movements()));
+        addActiveProducts(drift.tenantId(), Math.toIntExact(drift.activeProducts()));
+    }
+
+    @Override
+    public int deleteDailyCountersBefore(LocalDate day) {
+        return jdbcTemplate.update(DELETE_DAILY_BEFORE, Date.valueOf(day));
+    }
+
+    /**
+     * Applies counter deltas of one tenant, in key order.
+     *
+     * @param tenantId the tenant ID
+     * @param deltas   the deltas, sorted by key
+     */
+    private void addMovements(Long tenantId, Map<CounterKey, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        // Totals and daily counters live in two tables; update each in one batch
+        List<Map.Entry<CounterKey, Long>> totals = new ArrayList<>();
+        List<Map.Entry<CounterKey, Long>> days = new ArrayList<>();
+        for (Map.Entry<CounterKey, Long> entry : deltas.entrySet()) {
+            (entry.getKey().isDaily() ? days : totals).add(entry);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        addMovements(tenantId, totals, now);
+        addMovements(tenantId, days, now);
+
+        log.debug("Applied {} movement counter deltas for tenant {}", deltas.size(), tenantId);
+    }
+
+    private void addMovements(Long tenantId, List<Map.Entry<CounterKey, Long>> entries, Timestamp now) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        boolean daily = entries.get(0).getKey().isDaily();
+        List<Object[]> args = new ArrayList<>(entries.size());
+        for (Map.Entry<CounterKey, Long> entry : entries) {
+            CounterKey key = entry.getKey();
+            args.add(daily
+                    ? new Object[]{entry.getValue(), now, tenantId, key.branchId(), Date.valueOf(key.day()), key.slot()}
+                    : new Object[]{entry.getValue(), now, tenantId, key.branchId(), key.slot()});
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(daily ? ADD_DAILY_MOVEMENTS : ADD_MOVEMENTS, args);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                insertCounter(tenantId, entries.get(i).getKey(), entries.get(i).getValue(), now);
+            }
+        }
+    }
+
+    private void insertCounter(Long tenantId, CounterKey key, long delta, Timestamp now) {
+        try {
+            if (key.isDaily()) {
+                jdbcTemplate.update(INSERT_DAILY_MOVEMENTS,
+                        tenantId, key.branchId(), Date.valueOf(key.day()), key.slot(), delta, now);
+            } else {
+                jdbcTemplate.update(INSERT_MOVEMENTS, tenantId, key.branchId(), key.slot(), delta, now);
+            }
+        } catch (DuplicateKeyException e) {
+            // Another transaction created the row in between; apply the delta to it
+            if (key.isDaily()) {
+                jdbcTemplate.update(ADD_DAILY_MOVEMENTS,
+                        delta, now, tenantId, key.branchId(), Date.valueOf(key.day()), key.slot());
+            } else {
+                jdbcTemplate.update(ADD_MOVEMENTS, delta, now, tenantId, key.branchId(), key.slot());
+            }
+        }
+    }
+
+    private static RowCallbackHandler collect(Map<CounterKey, Long> target, boolean daily) {
+        return rs -> target.merge(key(rs, daily), rs.getLong("movements"), Long::sum);
+    }
+
+    private static CounterKey key(ResultSet rs, boolean daily) throws SQLException {
+        LocalDate day = daily ? rs.getDate("bucket_day").toLocalDate() : null;
+        return new CounterKey(rs.getLong("branch_id"), day, rs.getInt("slot"));
+    }
+
+    static int slot(Long productId) {
+        return (int) Math.floorMod(productId, (long) SLOTS);
+    }
+}
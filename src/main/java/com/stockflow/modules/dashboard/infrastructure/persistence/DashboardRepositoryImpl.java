@@ -2,7 +2,6 @@ package com.stockflow.modules.dashboard.infrastructure.persistence;
 
 import com.stockflow.modules.catalog.domain.model.Product;
 import com.stockflow.modules.dashboard.domain.model.DashboardMetrics;
-import com.stockflow.modules.dashboard.domain.model.TopProductMovement;
 import com.stockflow.modules.dashboard.domain.repository.DashboardRepository;
 import com.stockflow.modules.inventory.domain.model.BranchProductStock;
 import com.stockflow.modules.inventory.domain.model.StockMovement;
@@ -13,8 +12,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
-import java.util.List;
+import java.time.LocalDate;
 
 /**
  * JPA implementation of DashboardRepository.
@@ -22,6 +20,11 @@ import java.util.List;
  * <p>This repository performs complex aggregations across multiple tables
  * to generate dashboard metrics. All queries are optimized with proper indexes.</p>
  *
+ * <p>Metrics are read in one round trip. Movement totals and active products come
+ * from the counters maintained by {@link com.stockflow.modules.dashboard.domain.repository.DashboardCounterRepository},
+ * so their cost does not grow with the movement history. Low stock is a predicate
+ * over current balances and is still evaluated on {@code branch_product_stock}.</p>
+ *
  * <p><strong>Performance Considerations:</strong></p>
  * <ul>
  *   <li>Uses native SQL for optimal performance</li>
@@ -46,198 +49,87 @@ public class DashboardRepositoryImpl implements DashboardRepository {
     public DashboardMetrics getMetrics(Long tenantId) {
         log.debug("Fetching dashboard metrics for tenant: {}", tenantId);
 
-        // Query total active products
-        Integer totalActiveProducts = entityManager.createQuery(
-                        "SELECT COUNT(p) FROM Product p WHERE p.tenantId = :tenantId AND p.isActive = true",
-                        Long.class
-                )
-                .setParameter("tenantId", tenantId)
-                .getSingleResult()
-                .intValue();
-
-        // Query low stock items (stock below minimum)
-        Integer lowStockItems = ((Number) entityManager.createNativeQuery(
-                        """
-                        SELECT COUNT(DISTINCT s.product_id)
-                        FROM branch_product_stock s
-                        INNER JOIN products p ON s.product_id = p.id
-                        WHERE s.tenant_id = :tenantId
-                          AND s.quantity <= p.min_stock
-                          AND p.is_active = true
-                        """
-                )
-                .setParameter("tenantId", tenantId)
-                .getSingleResult()).intValue();
-
-        // Query total movements
-        Integer totalMovements = ((Number) entityManager.createNativeQuery(
-                        """
-                        SELECT COUNT(*)
-                        FROM stock_movements
-                        WHERE tenant_id = :tenantId
-                        """
-                )
-                .setParameter("tenantId", tenantId)
-                .getSingleResult()).intValue();
-
-        // Query recent movements (last 7 days)
-        LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
-        Integer recentMovements = ((Number) entityManager.createNativeQuery(
-                        """
-                        SELECT COUNT(*)
-                        FROM stock_movements
-                        WHERE tenant_id = :tenantId
-                          AND created_at >= :since
+        Tuple counters = (Tuple) entityManager.createNativeQuery(
                         """
+                        SELECT
+                            (SELECT COALESCE(MAX(active_products), 0)
+                             FROM dashboard_tenant_counters
+                             WHERE tenant_id = :tenantId) AS active_products,
+                            (SELECT COUNT(DISTINCT s.product_id)
+                             FROM branch_product_stock s
+                             INNER JOIN products p ON s.product_id = p.id
+                             WHERE s.tenant_id = :tenantId
+                               AND s.quantity <= p.min_stock
+                               AND p.is_active = true) AS low_stock,
+                            (SELECT COALESCE(SUM(movements), 0)
+                             FROM dashboard_counters
+                             WHERE tenant_id = :tenantId) AS total_movements,
+                            (SELECT COALESCE(SUM(movements), 0)
+                             FROM dashboard_daily_counters
+                             WHERE tenant_id = :tenantId
+                               AND bucket_day >= :since) AS recent_movements
+                        """,
+                        Tuple.class
                 )
                 .setParameter("tenantId", tenantId)
-                .setParameter("since", sevenDaysAgo)
-                .getSingleResult()).intValue();
+                .setParameter("since", recentSince())
+                .getSingleResult();
 
-        log.debug("Dashboard metrics for tenant {}: activeProducts={}, lowStock={}, totalMovements={}, recentMovements={}",
-                tenantId, totalActiveProducts, lowStockItems, totalMovements, recentMovements);
-
-        return new DashboardMetrics(totalActiveProducts, lowStockItems, totalMovements, recentMovements);
+        DashboardMetrics metrics = toMetrics(counters);
+        log.debug("Dashboard metrics for tenant {}: {}", tenantId, metrics);
+        return metrics;
     }
 
     @Override
     public DashboardMetrics getMetricsByBranch(Long tenantId, Long branchId) {
         log.debug("Fetching dashboard metrics for tenant: {}, branch: {}", tenantId, branchId);
 
-        // Query total active products (tenant-wide)
-        Integer totalActiveProducts = entityManager.createQuery(
-                        "SELECT COUNT(p) FROM Product p WHERE p.tenantId = :tenantId AND p.isActive = true",
-                        Long.class
-                )
-                .setParameter("tenantId", tenantId)
-                .getSingleResult()
-                .intValue();
-
-        // Query low stock items for this branch
-        Integer lowStockItems = ((Number) entityManager.createNativeQuery(
-                        """
-                        SELECT COUNT(DISTINCT s.product_id)
-                        FROM branch_product_stock s
-                        INNER JOIN products p ON s.product_id = p.id
-                        WHERE s.tenant_id = :tenantId
-                          AND s.branch_id = :branchId
-                          AND s.quantity <= p.min_stock
-                          AND p.is_active = true
-                        """
-                )
-                .setParameter("tenantId", tenantId)
-                .setParameter("branchId", branchId)
-                .getSingleResult()).intValue();
-
-        // Query total movements for this branch
-        Integer totalMovements = ((Number) entityManager.createNativeQuery(
-                        """
-                        SELECT COUNT(*)
-                        FROM stock_movements
-                        WHERE tenant_id = :tenantId
-                          AND branch_id = :branchId
-                        """
-                )
-                .setParameter("tenantId", tenantId)
-                .setParameter("branchId", branchId)
-                .getSingleResult()).intValue();
-
-        // Query recent movements for this branch (last 7 days)
-        LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
-        Integer recentMovements = ((Number) entityManager.createNativeQuery(
-                        """
-                        SELECT COUNT(*)
-                        FROM stock_movements
-                        WHERE tenant_id = :tenantId
-                          AND branch_id = :branchId
-                          AND created_at >= :since
-                        """
-                )
-                .setParameter("tenantId", tenantId)
-                .setParameter("branchId", branchId)
-                .setParameter("since", sevenDaysAgo)
-                .getSingleResult()).intValue();
-
-        log.debug("Dashboard metrics for tenant:{}, branch {}: activeProducts={}, lowStock={}, totalMovements={}, recentMovements={}",
-                tenantId, branchId, totalActiveProducts, lowStockItems, totalMovements, recentMovements);
-
-        return new DashboardMetrics(totalActiveProducts, lowStockItems, totalMovements, recentMovements);
-    }
-
-    @Override
-    public List<TopProductMovement> getTopProductsByMovement(Long tenantId, int limit) {
-        log.debug("Fetching top {} products by movement for tenant: {}", limit, tenantId);
-
-        List<Tuple> results = entityManager.createNativeQuery(
+        // Active products stay tenant-wide; the other metrics are scoped to the branch
+        Tuple counters = (Tuple) entityManager.createNativeQuery(
                         """
                         SELECT
-                            p.id as product_id,
-                            p.name as product_name,
-                            p.sku as product_sku,
-                            COUNT(m.id) as movement_count,
-                            COALESCE(SUM(m.quantity), 0) as total_quantity
-                        FROM products p
-                        LEFT JOIN stock_movements m ON p.id = m.product_id AND p.tenant_id = m.tenant_id
-                        WHERE p.tenant_id = :tenantId
-                          AND p.is_active = true
-                        GROUP BY p.id, p.name, p.sku
-                        ORDER BY movement_count DESC
-                        LIMIT :limit
+                            (SELECT COALESCE(MAX(active_products), 0)
+                             FROM dashboard_tenant_counters
+                             WHERE tenant_id = :tenantId) AS active_products,
+                            (SELECT COUNT(DISTINCT s.product_id)
+                             FROM branch_product_stock s
+                             INNER JOIN products p ON s.product_id = p.id
+                             WHERE s.tenant_id = :tenantId
+                               AND s.branch_id = :branchId
+                               AND s.quantity <= p.min_stock
+                               AND p.is_active = true) AS low_stock,
+                            (SELECT COALESCE(SUM(movements), 0)
+                             FROM dashboard_counters
+                             WHERE tenant_id = :tenantId
+                               AND branch_id = :branchId) AS total_movements,
+                            (SELECT COALESCE(SUM(movements), 0)
+                             FROM dashboard_daily_counters
+                             WHERE tenant_id = :tenantId
+                               AND branch_id = :branchId
+                               AND bucket_day >= :since) AS recent_movements
                         """,
                         Tuple.class
                 )
                 .setParameter("tenantId", tenantId)
-                .setParameter("limit", limit)
-                .getResultList();
+                .setParameter("branchId", branchId)
+                .setParameter("since", recentSince())
+                .getSingleResult();
 
-        return results.stream()
-                .map(tuple -> new TopProductMovement(
-                        tuple.get("product_id", Number.class).longValue(),
-                        tuple.get("product_name", String.class),
-                        tuple.get("product_sku", String.class),
-                        tuple.get("movement_count", Number.class).intValue(),
-                        tuple.get("total_quantity", Number.class).intValue()
-                ))
-                .toList();
+        DashboardMetrics metrics = toMetrics(counters);
+        log.debug("Dashboard metrics for tenant {}, branch {}: {}", tenantId, branchId, metrics);
+        return metrics;
     }
 
-    @Override
-    public List<TopProductMovement> getTopProductsByMovementForBranch(Long tenantId, Long branchId, int limit) {
-        log.debug("Fetching top {} products by movement for tenant: {}, branch: {}", limit, tenantId, branchId);
-
-        List<Tuple> results = entityManager.createNativeQuery(
-                        """
-                        SELECT
-                            p.id as product_id,
-                            p.name as product_name,
-                            p.sku as product_sku,
-                            COUNT(m.id) as movement_count,
-                            COALESCE(SUM(m.quantity), 0) as total_quantity
-                        FROM products p
-                        LEFT JOIN stock_movements m ON p.id = m.product_id
-                            AND p.tenant_id = m.tenant_id
-                            AND m.branch_id = :branchId
-                        WHERE p.tenant_id = :tenantId
-                          AND p.is_active = true
-                        GROUP BY p.id, p.name, p.sku
-                        ORDER BY movement_count DESC
-                        LIMIT :limit
-                        """,
-                        Tuple.class
-                )
-                .setParameter("tenantId", tenantId)
-                .setParameter("branchId", branchId)
-                .setParameter("limit", limit)
-                .getResultList();
+    private static LocalDate recentSince() {
+        // Today counts as the first of the recent days
+        return LocalDate.now().minusDays(DashboardMetrics.RECENT_DAYS - 1);
+    }
 
-        return results.stream()
-                .map(tuple -> new TopProductMovement(
-                        tuple.get("product_id", Number.class).longValue(),
-                        tuple.get("product_name", String.class),
-                        tuple.get("product_sku", String.class),
-                        tuple.get("movement_count", Number.class).intValue(),
-                        tuple.get("total_quantity", Number.class).intValue()
-                ))
-                .toList();
+    private static DashboardMetrics toMetrics(Tuple counters) {
+        return new DashboardMetrics(
+                counters.get("active_products", Number.class).intValue(),
+                counters.get("low_stock", Number.class).intValue(),
+                counters.get("total_movements", Number.class).intValue(),
+                counters.get("recent_movements", Number.class).intValue());
     }
 }
@@ -0,0 +1,263 @@
+package com.stockflow.modules.dashboard.infrastructure.persistence;
+
+import com.stockflow.modules.dashboard.domain.model.MovementRollup;
+import com.stockflow.modules.dashboard.domain.repository.MovementRollupRepository;
+import com.stockflow.modules.inventory.domain.model.MovementReason;
+import com.stockflow.modules.inventory.domain.model.MovementType;
+import com.stockflow.modules.inventory.domain.model.StockMovement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * JDBC implementation of MovementRollupRepository.
+ *
+ * <p>Like the dashboard counters, rollup deltas are applied with one batched
+ * {@code UPDATE} and missing rows are inserted afterwards, so the same SQL runs on
+ * MySQL and H2. A day is rebuilt with a delete followed by an
+ * {@code INSERT ... SELECT} over the movements of that day.</p>
+ */
+@Repository
+public class MovementRollupRepositoryImpl implements MovementRollupRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(MovementRollupRepositoryImpl.class);
+
+    private static final String ADD_ROLLUP = """
+            UPDATE movement_daily_rollups
+            SET movements = movements + ?, quantity = quantity + ?, updated_at = ?
+            WHERE tenant_id = ? AND bucket_day = ? AND branch_id = ? AND product_id = ? AND type = ? AND reason = ?
+            """;
+
+    private static final String INSERT_ROLLUP = """
+            INSERT INTO movement_daily_rollups
+                (tenant_id, bucket_day, branch_id, product_id, type, reason, movements, quantity, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String DELETE_DAY = """
+            DELETE FROM movement_daily_rollups WHERE tenant_id = ? AND bucket_day = ?
+            """;
+
+    private static final String REBUILD_DAY = """
+            INSERT INTO movement_daily_rollups
+                (tenant_id, bucket_day, branch_id, product_id, type, reason, movements, quantity, updated_at)
+            SELECT tenant_id, ?, branch_id, product_id, type, reason, COUNT(*), COALESCE(SUM(quantity), 0), ?
+            FROM stock_movements
+            WHERE tenant_id = ? AND created_at >= ? AND created_at < ?
+            GROUP BY tenant_id, branch_id, product_id, type, reason
+            """;
+
+    private static final String SELECT_ROLLUPS = """
+            SELECT bucket_day, branch_id, product_id, type, reason, movements, quantity
+            FROM movement_daily_rollups
+            WHERE tenant_id = ? AND bucket_day BETWEEN ? AND ?
+            ORDER BY bucket_day, branch_id, product_id, type, reason
+            """;
+
+    private static final String SELECT_BRANCH_ROLLUPS = """
+            SELECT bucket_day, branch_id, product_id, type, reason, movements, quantity
+            FROM movement_daily_rollups
+            WHERE tenant_id = ? AND branch_id = ? AND bucket_day BETWEEN ? AND ?
+            ORDER BY bucket_day, product_id, type, reason
+            """;
+
+    private static final String SUM_DAILY_TOTALS = """
+            SELECT bucket_day, type, reason, SUM(movements) AS movements, SUM(quantity) AS quantity
+            FROM movement_daily_rollups
+            WHERE tenant_id = ? AND bucket_day BETWEEN ? AND ?
+            GROUP BY bucket_day, type, reason
+            ORDER BY bucket_day, type, reason
+            """;
+
+    private static final String SUM_BRANCH_DAILY_TOTALS = """
+            SELECT bucket_day, type, reason, SUM(movements) AS movements, SUM(quantity) AS quantity
+            FROM movement_daily_rollups
+            WHERE tenant_id = ? AND branch_id = ? AND bucket_day BETWEEN ? AND ?
+            GROUP BY bucket_day, type, reason
+            ORDER BY bucket_day, type, reason
+            """;
+
+    private static final String SELECT_FIRST_MOVEMENT = """
+            SELECT MIN(created_at) FROM stock_movements WHERE tenant_id = ?
+            """;
+
+    private static final String SELECT_PROGRESS = """
+            SELECT rolled_up_through FROM movement_rollup_progress WHERE tenant_id = ?
+            """;
+
+    private static final String UPDATE_PROGRESS = """
+            UPDATE movement_rollup_progress SET rolled_up_through = ?, updated_at = ? WHERE tenant_id = ?
+            """;
+
+    private static final String INSERT_PROGRESS = """
+            INSERT INTO movement_rollup_progress (tenant_id, rolled_up_through, created_at, updated_at)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String COUNT_COMPLETE = """
+            SELECT COUNT(*) FROM movement_rollup_progress
+            WHERE tenant_id = ? AND rolled_up_through >= ? AND created_at < ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MovementRollupRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void recordMovements(Collection<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Map<MovementRollup.Key, long[]>> deltasByTenant = new TreeMap<>();
+        for (StockMovement movement : movements) {
+            LocalDate day = movement.getCreatedAt() != null
+                    ? movement.getCreatedAt().toLocalDate()
+                    : LocalDate.now();
+            MovementRollup.Key key = new MovementRollup.Key(day, movement.getBranchId(), movement.getProductId(),
+                    movement.getType(), movement.getReason());
+
+            long[] delta = deltasByTenant.computeIfAbsent(movement.getTenantId(), id -> new TreeMap<>())
+                    .computeIfAbsent(key, k -> new long[2]);
+            delta[0]++;
+            delta[1] += movement.getQuantity();
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        deltasByTenant.forEach((tenantId, deltas) -> addRollups(tenantId, deltas, now));
+    }
+
+    @Override
+    public int rebuildDay(Long tenantId, LocalDate day) {
+        jdbcTemplate.update(DELETE_DAY, tenantId, Date.valueOf(day));
+        int rows = jdbcTemplate.update(REBUILD_DAY,
+                Date.valueOf(day), Timestamp.valueOf(LocalDateTime.now()), tenantId,
+                Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+        log.debug("Rebuilt {} movement rollups for tenant {} on {}", rows, tenantId, day);
+        return rows;
+    }
+
+    @Override
+    public List<MovementRollup> findRollups(Long tenantId, Long branchId, LocalDate from, LocalDate to) {
+        return branchId == null
+                ? jdbcTemplate.query(SELECT_ROLLUPS, (rs, rowNum) -> toRollup(rs),
+                        tenantId, Date.valueOf(from), Date.valueOf(to))
+                : jdbcTemplate.query(SELECT_BRANCH_ROLLUPS, (rs, rowNum) -> toRollup(rs),
+                        tenantId, branchId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    @Override
+    public List<MovementRollup> findDailyTotals(Long tenantId, Long branchId, LocalDate from, LocalDate to) {
+        return branchId == null
+                ? jdbcTemplate.query(SUM_DAILY_TOTALS, (rs, rowNum) -> toDailyTotal(rs),
+                        tenantId, Date.valueOf(from), Date.valueOf(to))
+                : jdbcTemplate.query(SUM_BRANCH_DAILY_TOTALS, (rs, rowNum) -> toDailyTotal(rs),
+                        tenantId, branchId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    @Override
+    public Optional<LocalDate> findFirstMovementDay(Long tenantId) {
+        Timestamp first = jdbcTemplate.queryForObject(SELECT_FIRST_MOVEMENT, Timestamp.class, tenantId);
+        return Optional.ofNullable(first).map(timestamp -> timestamp.toLocalDateTime().toLocalDate());
+    }
+
+    @Override
+    public Optional<LocalDate> findRolledUpThrough(Long tenantId) {
+        return jdbcTemplate.queryForList(SELECT_PROGRESS, Date.class, tenantId).stream()
+                .findFirst()
+                .map(Date::toLocalDate);
+    }
+
+    @Override
+    public void saveRolledUpThrough(Long tenantId, LocalDate day) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (jdbcTemplate.update(UPDATE_PROGRESS, Date.valueOf(day), now, tenantId) > 0) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.update(INSERT_PROGRESS, tenantId, Date.valueOf(day), now, now);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update(UPDATE_PROGRESS, Date.valueOf(day), now, tenantId);
+        }
+    }
+
+    @Override
+    public boolean isComplete(Long tenantId, LocalDate today) {
+        Long count = jdbcTemplate.queryForObject(COUNT_COMPLETE, Long.class,
+                tenantId, Date.valueOf(today.minusDays(1)), Timestamp.valueOf(today.atStartOfDay()));
+        return count != null && count > 0;
+    }
+
+    /**
+     * Applies rollup deltas of one tenant, in key order.
+     */
+    private void addRollups(Long tenantId, Map<MovementRollup.Key, long[]> deltas, Timestamp now) {
+        List<Map.Entry<MovementRollup.Key, long[]>> entries = new ArrayList<>(deltas.entrySet());
+        List<Object[]> args = new ArrayList<>(entries.size());
+        for (Map.Entry<MovementRollup.Key, long[]> entry : entries) {
+            MovementRollup.Key key = entry.getKey();
+            args.add(new Object[]{entry.getValue()[0], entry.getValue()[1], now, tenantId, Date.valueOf(key.day()),
+                    key.branchId(), key.productId(), key.type().name(), key.reason().name()});
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(ADD_ROLLUP, args);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                insertRollup(tenantId, entries.get(i).getKey(), entries.get(i).getValue(), now);
+            }
+        }
+
+        log.debug("Applied {} movement rollup deltas for tenant {}", entries.size(), tenantId);
+    }
+
+    private void insertRollup(Long tenantId, MovementRollup.Key key, long[] delta, Timestamp now) {
+        try {
+            jdbcTemplate.update(INSERT_ROLLUP, tenantId, Date.valueOf(key.day()), key.branchId(), key.productId(),
+                    key.type().name(), key.reason().name(), delta[0], delta[1], now);
+        } catch (DuplicateKeyException e) {
+            // Another transaction created the row in between; apply the delta to it
+            jdbcTemplate.update(ADD_ROLLUP, delta[0], delta[1], now, tenantId, Date.valueOf(key.day()),
+                    key.branchId(), key.productId(), key.type().name(), key.reason().name());
+        }
+    }
+
+    private static MovementRollup toDailyTotal(ResultSet rs) throws SQLException {
+        return new MovementRollup(
+                rs.getDate("bucket_day").toLocalDate(),
+                null,
+                null,
+                MovementType.valueOf(rs.getString("type")),
+                MovementReason.valueOf(rs.getString("reason")),
+                rs.getLong("movements"),
+                rs.getLong("quantity"));
+    }
+
+    private static MovementRollup toRollup(ResultSet rs) throws SQLException {
+        return new MovementRollup(
+                rs.getDate("bucket_day").toLocalDate(),
+                rs.getLong("branch_id"),
+                rs.getLong("product_id"),
+                MovementType.valueOf(rs.getString("type")),
+                MovementReason.valueOf(rs.getString("reason")),
+                rs.getLong("movements"),
+                rs.getLong("quantity"));
+    }
+}
@@ -0,0 +1,199 @@
+package com.stockflow.modules.dashboard.infrastructure.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockflow.modules.dashboard.domain.model.TopProductsSketch;
+import com.stockflow.modules.dashboard.domain.repository.MovementRollupRepository;
+import com.stockflow.modules.dashboard.domain.repository.TopProductsSketchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of TopProductsSketchRepository.
+ *
+ * <p>The tenant-wide summary is stored with {@code branch_id = 0}. Entries are
+ * serialized as a JSON array of {@code [productId, count, error, quantity]}.</p>
+ *
+ * <p>Exact summaries are aggregated from the daily movement rollups once they cover
+ * the tenant's whole history ({@link MovementRollupRepository#isComplete}), and from
+ * {@code stock_movements} before that.</p>
+ */
+@Repository
+public class TopProductsSketchRepositoryImpl implements TopProductsSketchRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(TopProductsSketchRepositoryImpl.class);
+
+    private static final long TENANT_WIDE = 0L;
+
+    private static final String SELECT_SKETCH = """
+            SELECT capacity, stream_length, entries FROM dashboard_top_products
+            WHERE tenant_id = ? AND branch_id = ?
+            """;
+
+    private static final String UPDATE_SKETCH = """
+            UPDATE dashboard_top_products
+            SET capacity = ?, stream_length = ?, entries = ?, recomputed_at = COALESCE(?, recomputed_at), updated_at = ?
+            WHERE tenant_id = ? AND branch_id = ?
+            """;
+
+    private static final String INSERT_SKETCH = """
+            INSERT INTO dashboard_top_products
+                (tenant_id, branch_id, capacity, stream_length, entries, recomputed_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String COUNT_BY_PRODUCT = """
+            SELECT product_id, COUNT(*) AS movements, COALESCE(SUM(quantity), 0) AS quantity
+            FROM stock_movements
+            WHERE tenant_id = ?
+            GROUP BY product_id
+            ORDER BY movements DESC, product_id
+            LIMIT ?
+            """;
+
+    private static final String COUNT_BY_PRODUCT_FOR_BRANCH = """
+            SELECT product_id, COUNT(*) AS movements, COALESCE(SUM(quantity), 0) AS quantity
+            FROM stock_movements
+            WHERE tenant_id = ? AND branch_id = ?
+            GROUP BY product_id
+            ORDER BY movements DESC, product_id
+            LIMIT ?
+            """;
+
+    private static final String SUM_ROLLUPS_BY_PRODUCT = """
+            SELECT product_id, SUM(movements) AS movements, SUM(quantity) AS quantity
+            FROM movement_daily_rollups
+            WHERE tenant_id = ?
+            GROUP BY product_id
+            ORDER BY movements DESC, product_id
+            LIMIT ?
+            """;
+
+    private static final String SUM_ROLLUPS_BY_PRODUCT_FOR_BRANCH = """
+            SELECT product_id, SUM(movements) AS movements, SUM(quantity) AS quantity
+            FROM movement_daily_rollups
+            WHERE tenant_id = ? AND branch_id = ?
+            GROUP BY product_id
+            ORDER BY movements DESC, product_id
+            LIMIT ?
+            """;
+
+    private static final String COUNT_MOVEMENTS = """
+            SELECT COALESCE(SUM(movements), 0) FROM dashboard_counters WHERE tenant_id = ?
+            """;
+
+    private static final String COUNT_MOVEMENTS_FOR_BRANCH = """
+            SELECT COALESCE(SUM(movements), 0) FROM dashboard_counters WHERE tenant_id = ? AND branch_id = ?
+            """;
+
+    private static final String SELECT_BRANCHES = """
+            SELECT DISTINCT branch_id FROM dashboard_counters WHERE tenant_id = ? AND movements > 0
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MovementRollupRepository rollupRepository;
+
+    public TopProductsSketchRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                           ObjectMapper objectMapper,
+                                           MovementRollupRepository rollupRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.rollupRepository = rollupRepository;
+    }
+
+    @Override
+    public Optional<TopProductsSketch> find(Long tenantId, Long branchId) {
+        return jdbcTemplate.query(SELECT_SKETCH, (rs, rowNum) -> toSketch(rs), tenantId, scope(branchId))
+                .stream().findFirst();
+    }
+
+    @Override
+    public Optional<TopProductsSketch> findForUpdate(Long tenantId, Long branchId) {
+        return jdbcTemplate.query(SELECT_SKETCH + " FOR UPDATE", (rs, rowNum) -> toSketch(rs), tenantId, scope(branchId))
+                .stream().findFirst();
+    }
+
+    @Override
+    public void save(Long tenantId, Long branchId, TopProductsSketch sketch, boolean exact) {
+        String entries = serialize(sketch);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp recomputedAt = exact ? now : null;
+
+        int updated = jdbcTemplate.update(UPDATE_SKETCH, sketch.getCapacity(), sketch.getStreamLength(), entries,
+                recomputedAt, now, tenantId, scope(branchId));
+        if (updated == 0) {
+            jdbcTemplate.update(INSERT_SKETCH, tenantId, scope(branchId), sketch.getCapacity(),
+                    sketch.getStreamLength(), entries, recomputedAt, now);
+        }
+
+        log.debug("Saved top products of tenant {}, branch {}: {} movements, max error {}",
+                tenantId, branchId, sketch.getStreamLength(), sketch.maxError());
+    }
+
+    @Override
+    public TopProductsSketch computeExact(Long tenantId, Long branchId, int capacity) {
+        // Daily rollups once they cover the whole history, raw movements until then
+        boolean rollups = rollupRepository.isComplete(tenantId, LocalDate.now());
+        String byProduct = branchId == null
+                ? (rollups ? SUM_ROLLUPS_BY_PRODUCT : COUNT_BY_PRODUCT)
+                : (rollups ? SUM_ROLLUPS_BY_PRODUCT_FOR_BRANCH : COUNT_BY_PRODUCT_FOR_BRANCH);
+        List<TopProductsSketch.Entry> entries = branchId == null
+                ? jdbcTemplate.query(byProduct, (rs, rowNum) -> toExactEntry(rs), tenantId, capacity)
+                : jdbcTemplate.query(byProduct, (rs, rowNum) -> toExactEntry(rs), tenantId, branchId, capacity);
+
+        Long streamLength = branchId == null
+                ? jdbcTemplate.queryForObject(COUNT_MOVEMENTS, Long.class, tenantId)
+                : jdbcTemplate.queryForObject(COUNT_MOVEMENTS_FOR_BRANCH, Long.class, tenantId, branchId);
+
+        return new TopProductsSketch(capacity, streamLength != null ? streamLength : 0L, entries);
+    }
+
+    @Override
+    public List<Long> findBranchesWithMovements(Long tenantId) {
+        return jdbcTemplate.queryForList(SELECT_BRANCHES, Long.class, tenantId);
+    }
+
+    private TopProductsSketch toSketch(ResultSet rs) throws SQLException {
+        List<TopProductsSketch.Entry> entries = new ArrayList<>();
+        try {
+            for (long[] entry : objectMapper.readValue(rs.getString("entries"), long[][].class)) {
+                entries.add(new TopProductsSketch.Entry(entry[0], entry[1], entry[2], entry[3]));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable top products summary", e);
+        }
+        return new TopProductsSketch(rs.getInt("capacity"), rs.getLong("stream_length"), entries);
+    }
+
+    private String serialize(TopProductsSketch sketch) {
+        List<long[]> entries = new ArrayList<>();
+        for (TopProductsSketch.Entry entry : sketch.ranked()) {
+            entries.add(new long[]{entry.productId(), entry.count(), entry.error(), entry.quantity()});
+        }
+        try {
+            return objectMapper.writeValueAsString(entries);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize top products summary", e);
+        }
+    }
+
+    private static TopProductsSketch.Entry toExactEntry(ResultSet rs) throws SQLException {
+        return new TopProductsSketch.Entry(rs.getLong("product_id"), rs.getLong("movements"), 0, rs.getLong("quantity"));
+    }
+
+    private static long scope(Long branchId) {
+        return branchId != null ? branchId : TENANT_WIDE;
+    }
+}
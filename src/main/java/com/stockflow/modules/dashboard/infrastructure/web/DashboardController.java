@@ -1,7 +1,9 @@
 package com.stockflow.modules.dashboard.infrastructure.web;
 
 import com.stockflow.modules.dashboard.application.dto.DashboardOverviewResponse;
+import com.stockflow.modules.dashboard.application.dto.MovementTrendResponse;
 import com.stockflow.modules.dashboard.application.service.DashboardService;
+import com.stockflow.modules.dashboard.domain.model.TrendGranularity;
 import com.stockflow.shared.application.dto.ApiResponse;
 import com.stockflow.shared.domain.exception.ForbiddenException;
 import com.stockflow.shared.infrastructure.security.CustomUserDetails;
@@ -12,6 +14,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -21,6 +24,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+
 /**
  * REST controller for dashboard operations.
  */
@@ -68,6 +73,46 @@ public class DashboardController {
         return ResponseEntity.ok(ApiResponse.of(response));
     }
 
+    /**
+     * Gets inbound, outbound and sale movement series for the current tenant.
+     *
+     * @param from        first day, defaults to 29 days before {@code to}
+     * @param to          last day, defaults to today
+     * @param granularity bucket size, defaults to DAY
+     * @param branchId    optional branch ID to filter the series
+     * @return movement trend response
+     */
+    @GetMapping("/trends")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'STAFF')")
+    @Operation(
+        summary = "Get movement trends",
+        description = "Retrieves IN, OUT and SALE movement series per day, week or month. "
+            + "The range is widened to whole buckets; buckets without movements are returned with zeros."
+    )
+    public ResponseEntity<ApiResponse<MovementTrendResponse>> getTrends(
+            @Parameter(description = "First day (ISO date), defaults to 29 days before 'to'")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day (ISO date), defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Bucket size: DAY, WEEK or MONTH")
+            @RequestParam(defaultValue = "DAY") TrendGranularity granularity,
+            @Parameter(description = "Optional branch ID to filter the series")
+            @RequestParam(required = false) Long branchId) {
+
+        Long tenantId = TenantContext.getTenantId();
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+
+        if (branchId != null) {
+            validateBranchAccess(branchId);
+        }
+
+        log.debug("GET /api/v1/dashboard/trends - tenant: {}, branch: {}, {} from {} to {}",
+            tenantId, branchId, granularity, start, end);
+        MovementTrendResponse response = dashboardService.getTrends(tenantId, branchId, start, end, granularity);
+        return ResponseEntity.ok(ApiResponse.of(response));
+    }
+
     private void validateBranchAccess(Long branchId) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails userDetails)) {
@@ -0,0 +1,47 @@
+package com.stockflow.modules.inventory.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Outcome of one line of a movement batch.
+ */
+@Schema(description = "Stock movement batch line result")
+public record MovementBatchLineResult(
+    @Schema(description = "Zero-based position of the line in the request", example = "0")
+    int index,
+    @Schema(description = "Product ID", example = "1")
+    Long productId,
+    @Schema(description = "Line outcome", example = "APPLIED")
+    Status status,
+    @Schema(description = "Created movement ID, when applied", example = "100")
+    Long movementId,
+    @Schema(description = "Error code, when rejected", example = "STOCK_INSUFFICIENT")
+    String errorCode,
+    @Schema(description = "Error message, when rejected")
+    String message
+) {
+
+    /**
+     * Outcome of a batch line.
+     */
+    public enum Status {
+        /** The movement was created and the stock updated. */
+        APPLIED,
+        /** The line was invalid and nothing was written for it. */
+        REJECTED,
+        /** The line was valid but not applied because another line was rejected (all-or-nothing). */
+        SKIPPED
+    }
+
+    public static MovementBatchLineResult applied(int index, Long productId, Long movementId) {
+        return new MovementBatchLineResult(index, productId, Status.APPLIED, movementId, null, null);
+    }
+
+    public static MovementBatchLineResult rejected(int index, Long productId, String errorCode, String message) {
+        return new MovementBatchLineResult(index, productId, Status.REJECTED, null, errorCode, message);
+    }
+
+    public static MovementBatchLineResult skipped(int index, Long productId) {
+        return new MovementBatchLineResult(index, productId, Status.SKIPPED, null, null, null);
+    }
+}
@@ -0,0 +1,17 @@
+package com.stockflow.modules.inventory.application.dto;
+
+/**
+ * How a movement batch reacts to invalid lines.
+ */
+public enum MovementBatchMode {
+
+    /**
+     * Nothing is applied if any line is rejected; valid lines are reported as skipped.
+     */
+    ALL_OR_NOTHING,
+
+    /**
+     * Valid lines are applied and rejected lines are reported individually.
+     */
+    BEST_EFFORT
+}
@@ -0,0 +1,43 @@
+package com.stockflow.modules.inventory.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request DTO for creating many stock movements in one branch at once,
+ * e.g. a point-of-sale end-of-day upload.
+ *
+ * <p>Lines are evaluated in order, so a sale can consume stock received by an
+ * earlier line of the same batch.</p>
+ */
+@Schema(description = "Stock movement batch payload")
+public record MovementBatchRequest(
+
+    @Schema(description = "Behaviour when a line is rejected (defaults to ALL_OR_NOTHING)", example = "BEST_EFFORT")
+    MovementBatchMode mode,
+
+    @Schema(description = "Movements to apply, in order", required = true)
+    @NotEmpty(message = "At least one movement is required")
+    @Size(max = MovementBatchRequest.MAX_LINES, message = "A movement batch cannot exceed 5000 lines")
+    List<@Valid @NotNull StockMovementCreateRequest> movements
+) {
+
+    /**
+     * Maximum number of movements accepted in one batch.
+     */
+    public static final int MAX_LINES = 5000;
+
+    /**
+     * Returns the requested mode, defaulting to {@link MovementBatchMode#ALL_OR_NOTHING}.
+     *
+     * @return the effective batch mode
+     */
+    public MovementBatchMode effectiveMode() {
+        return mode != null ? mode : MovementBatchMode.ALL_OR_NOTHING;
+    }
+}
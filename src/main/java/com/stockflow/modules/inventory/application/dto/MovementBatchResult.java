@@ -0,0 +1,23 @@
+package com.stockflow.modules.inventory.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response DTO for a movement batch.
+ */
+@Schema(description = "Stock movement batch result payload")
+public record MovementBatchResult(
+    @Schema(description = "Branch ID", example = "1")
+    Long branchId,
+    @Schema(description = "Mode the batch was applied with", example = "ALL_OR_NOTHING")
+    MovementBatchMode mode,
+    @Schema(description = "Number of lines applied", example = "498")
+    int applied,
+    @Schema(description = "Number of lines rejected", example = "2")
+    int rejected,
+    @Schema(description = "Result per line, in request order")
+    List<MovementBatchLineResult> lines
+) {
+}
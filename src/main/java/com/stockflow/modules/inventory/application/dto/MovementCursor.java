@@ -0,0 +1,68 @@
+package com.stockflow.modules.inventory.application.dto;
+
+import com.stockflow.shared.domain.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the movement history, ordered by {@code createdAt DESC, id DESC}.
+ *
+ * <p>Clients receive it as an opaque URL-safe token ({@link #encode()}) and send it back
+ * to read the movements after it. The ID breaks ties between movements created in the
+ * same instant.</p>
+ *
+ * @param createdAt creation timestamp of the last movement read
+ * @param id        ID of the last movement read
+ */
+public record MovementCursor(LocalDateTime createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Creates the cursor positioned on a movement.
+     *
+     * @param movement the last movement of a page
+     * @return the cursor
+     */
+    public static MovementCursor after(StockMovementResponse movement) {
+        return new MovementCursor(movement.createdAt(), movement.id());
+    }
+
+    /**
+     * Encodes the cursor as an opaque token.
+     *
+     * @return the token
+     */
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the token
+     * @return the cursor
+     * @throws BadRequestException if the token is malformed
+     */
+    public static MovementCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw invalid();
+            }
+            return new MovementCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw invalid();
+        }
+    }
+
+    private static BadRequestException invalid() {
+        return new BadRequestException("INVALID_CURSOR", "Movement history cursor is malformed");
+    }
+}
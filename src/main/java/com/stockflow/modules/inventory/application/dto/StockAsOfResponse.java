@@ -0,0 +1,32 @@
+package com.stockflow.modules.inventory.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for the stock of a product in a branch at a point in time.
+ */
+@Schema(description = "Point-in-time stock response payload")
+public record StockAsOfResponse(
+
+    @Schema(description = "Branch ID", example = "1")
+    Long branchId,
+
+    @Schema(description = "Product ID", example = "1")
+    Long productId,
+
+    @Schema(description = "Point in time", example = "2024-03-01T12:00:00")
+    LocalDateTime at,
+
+    @Schema(description = "Quantity in stock at that point in time", example = "42")
+    long quantity,
+
+    @Schema(description = "Last day covered by the snapshot used, absent if none was", example = "2024-02-29")
+    LocalDate snapshotThrough,
+
+    @Schema(description = "Movements replayed on top of the snapshot", example = "17")
+    long replayedMovements
+) {
+}
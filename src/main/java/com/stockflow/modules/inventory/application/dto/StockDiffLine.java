@@ -0,0 +1,23 @@
+package com.stockflow.modules.inventory.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Change of the closing balance of one product between two days.
+ */
+@Schema(description = "Stock change of a product between two days")
+public record StockDiffLine(
+
+    @Schema(description = "Product ID", example = "1")
+    Long productId,
+
+    @Schema(description = "Closing balance on the first day", example = "40")
+    long fromQuantity,
+
+    @Schema(description = "Closing balance on the second day", example = "25")
+    long toQuantity,
+
+    @Schema(description = "Difference between both balances", example = "-15")
+    long change
+) {
+}
@@ -0,0 +1,26 @@
+package com.stockflow.modules.inventory.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO for the stock changes of a branch between two days.
+ */
+@Schema(description = "Stock diff response payload")
+public record StockDiffResponse(
+
+    @Schema(description = "Branch ID", example = "1")
+    Long branchId,
+
+    @Schema(description = "First day, compared by its closing balances", example = "2024-01-31")
+    LocalDate from,
+
+    @Schema(description = "Second day, compared by its closing balances", example = "2024-02-29")
+    LocalDate to,
+
+    @Schema(description = "Products whose balance changed, by product ID")
+    List<StockDiffLine> items
+) {
+}
@@ -0,0 +1,48 @@
+package com.stockflow.modules.inventory.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request DTO for transferring many products between two branches at once.
+ *
+ * <p>The whole document is applied in a single transaction: either every line
+ * is transferred or none is.</p>
+ *
+ * <p><b>Validation:</b></p>
+ * <ul>
+ *   <li>Source and destination branches must be different</li>
+ *   <li>At least one line, at most {@value #MAX_LINES}</li>
+ *   <li>Each product may appear only once</li>
+ * </ul>
+ */
+@Schema(description = "Multi-line transfer document payload")
+public record TransferDocumentRequest(
+
+    @Schema(description = "Source branch ID", example = "1", required = true)
+    @NotNull(message = "Source branch ID is required")
+    Long sourceBranchId,
+
+    @Schema(description = "Destination branch ID", example = "2", required = true)
+    @NotNull(message = "Destination branch ID is required")
+    Long destinationBranchId,
+
+    @Schema(description = "Products and quantities to transfer", required = true)
+    @NotEmpty(message = "At least one line is required")
+    @Size(max = TransferDocumentRequest.MAX_LINES, message = "A transfer document cannot exceed 1000 lines")
+    List<@Valid @NotNull TransferLineRequest> lines,
+
+    @Schema(description = "Optional note applied to every movement", example = "Weekly replenishment")
+    String note
+) {
+
+    /**
+     * Maximum number of lines accepted in one document.
+     */
+    public static final int MAX_LINES = 1000;
+}
@@ -0,0 +1,19 @@
+package com.stockflow.modules.inventory.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response DTO for multi-line transfer documents.
+ */
+@Schema(description = "Transfer document result payload")
+public record TransferDocumentResult(
+    @Schema(description = "Source branch ID", example = "1")
+    Long sourceBranchId,
+    @Schema(description = "Destination branch ID", example = "2")
+    Long destinationBranchId,
+    @Schema(description = "Result per line, in request order")
+    List<TransferLineResult> lines
+) {
+}
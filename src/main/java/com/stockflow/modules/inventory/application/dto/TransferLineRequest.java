@@ -0,0 +1,22 @@
+package com.stockflow.modules.inventory.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * One product line of a transfer document.
+ */
+@Schema(description = "Transfer document line")
+public record TransferLineRequest(
+
+    @Schema(description = "Product ID to transfer", example = "1", required = true)
+    @NotNull(message = "Product ID is required")
+    Long productId,
+
+    @Schema(description = "Quantity to transfer (must be positive)", example = "10", required = true)
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be positive")
+    Integer quantity
+) {
+}
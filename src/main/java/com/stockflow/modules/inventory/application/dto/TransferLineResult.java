@@ -0,0 +1,19 @@
+package com.stockflow.modules.inventory.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Result of one transferred line.
+ */
+@Schema(description = "Transfer document line result")
+public record TransferLineResult(
+    @Schema(description = "Product ID", example = "1")
+    Long productId,
+    @Schema(description = "Quantity transferred", example = "10")
+    Integer quantity,
+    @Schema(description = "Movement ID for source branch", example = "100")
+    Long sourceMovementId,
+    @Schema(description = "Movement ID for destination branch", example = "101")
+    Long destinationMovementId
+) {
+}
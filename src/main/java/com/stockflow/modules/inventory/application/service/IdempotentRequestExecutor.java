@@ -0,0 +1,262 @@
+package com.stockflow.modules.inventory.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockflow.modules.inventory.domain.model.IdempotencyRecord;
+import com.stockflow.modules.inventory.domain.repository.IdempotencyRepository;
+import com.stockflow.shared.domain.exception.ConflictException;
+import com.stockflow.shared.domain.exception.ValidationException;
+import com.stockflow.shared.infrastructure.security.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Executes inventory writes at most once per {@code Idempotency-Key}.
+ *
+ * <p>Keys are scoped by tenant and operation. The outcome of the first successful
+ * execution is stored and replayed for every duplicate, so a client retry costs a
+ * lookup instead of a write transaction:</p>
+ * <ul>
+ *   <li>A completed key replays the stored response.</li>
+ *   <li>A duplicate arriving while the original still runs on this instance waits
+ *       for it and replays its response; on another instance it polls the store.</li>
+ *   <li>Reusing a key with a different payload is rejected with 409.</li>
+ *   <li>Failures are not stored: the transaction rolled back, so a retry executes again.</li>
+ * </ul>
+ */
+@Component
+public class IdempotentRequestExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotentRequestExecutor.class);
+
+    /**
+     * Maximum accepted length of an idempotency key.
+     */
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final long REMOTE_POLL_MILLIS = 50;
+
+    private final IdempotencyRepository repository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${app.inventory.idempotency.wait-timeout-seconds:30}")
+    private long waitTimeoutSeconds = 30;
+
+    public IdempotentRequestExecutor(IdempotencyRepository repository,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs an action unless the same key already ran for the current tenant.
+     *
+     * @param operation      name of the endpoint, part of the key scope
+     * @param idempotencyKey the client key, or null to always execute
+     * @param request        the request payload, fingerprinted to detect key reuse
+     * @param resultType     the type of the action result, used to replay it
+     * @param action         the write to execute
+     * @param <T>            the result type
+     * @return the result and whether it was replayed
+     * @throws ValidationException if the key is blank or too long
+     * @throws ConflictException   if the key was used with another payload, or the original is still running
+     */
+    public <T> Outcome<T> execute(String operation, String idempotencyKey, Object request,
+                                  Class<T> resultType, Supplier<T> action) {
+        if (idempotencyKey == null) {
+            return new Outcome<>(action.get(), false);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("IDEMPOTENCY_KEY_INVALID",
+                "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String key = TenantContext.requireTenantId() + ":" + operation + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+
+        Optional<IdempotencyRecord> stored = repository.find(key);
+        if (stored.isPresent()) {
+            return replay(operation, stored.get(), fingerprint, resultType);
+        }
+
+        InFlight mine = new InFlight(fingerprint);
+        InFlight original = inFlight.putIfAbsent(key, mine);
+        if (original != null) {
+            return join(operation, original, fingerprint, resultType);
+        }
+
+        try {
+            return executeOnce(operation, key, mine, resultType, action);
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private <T> Outcome<T> executeOnce(String operation, String key, InFlight mine,
+                                       Class<T> resultType, Supplier<T> action) {
+        Duration waitTimeout = Duration.ofSeconds(waitTimeoutSeconds);
+        try {
+            // The previous holder may have finished between the lookup and our claim
+            Optional<IdempotencyRecord> stored = repository.find(key);
+            if (stored.isEmpty() && !repository.reserve(key, waitTimeout)) {
+                stored = Optional.of(awaitRemote(key, waitTimeout));
+            }
+            if (stored.isPresent()) {
+                mine.future.complete(stored.get());
+                return replay(operation, stored.get(), mine.fingerprint, resultType);
+            }
+
+            T result;
+            try {
+                result = action.get();
+            } catch (RuntimeException e) {
+                repository.release(key);
+                throw e;
+            }
+
+            IdempotencyRecord record = new IdempotencyRecord(mine.fingerprint, serialize(result));
+            repository.save(key, record);
+            mine.future.complete(record);
+            count(operation, "executed");
+            return new Outcome<>(result, false);
+        } catch (RuntimeException e) {
+            mine.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private <T> Outcome<T> join(String operation, InFlight original, String fingerprint, Class<T> resultType) {
+        if (!original.fingerprint.equals(fingerprint)) {
+            throw keyReused();
+        }
+
+        try {
+            IdempotencyRecord record = original.future.get(waitTimeoutSeconds, TimeUnit.SECONDS);
+            count(operation, "joined");
+            return new Outcome<>(deserialize(record.body(), resultType), true);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        }
+    }
+
+    private IdempotencyRecord awaitRemote(String key, Duration waitTimeout) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (System.nanoTime() - deadline < 0) {
+            try {
+                Thread.sleep(REMOTE_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            Optional<IdempotencyRecord> stored = repository.find(key);
+            if (stored.isPresent()) {
+                return stored.get();
+            }
+        }
+        throw inProgress();
+    }
+
+    private <T> Outcome<T> replay(String operation, IdempotencyRecord record, String fingerprint, Class<T> resultType) {
+        if (!record.fingerprint().equals(fingerprint)) {
+            throw keyReused();
+        }
+        count(operation, "replayed");
+        logger.debug("Replaying stored response for {}", operation);
+        return new Outcome<>(deserialize(record.body(), resultType), true);
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+
+    private String serialize(Object result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotent response", e);
+        }
+    }
+
+    private <T> T deserialize(String body, Class<T> resultType) {
+        try {
+            return objectMapper.readValue(body.getBytes(StandardCharsets.UTF_8), resultType);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read stored idempotent response", e);
+        }
+    }
+
+    private void count(String operation, String outcome) {
+        Counter.builder("stockflow.idempotency.requests")
+            .description("Requests carrying an Idempotency-Key, by outcome")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private static ConflictException keyReused() {
+        return new ConflictException("IDEMPOTENCY_KEY_REUSED",
+            "Idempotency-Key was already used with a different request payload");
+    }
+
+    private static ConflictException inProgress() {
+        return new ConflictException("IDEMPOTENCY_REQUEST_IN_PROGRESS",
+            "A request with this Idempotency-Key is still being processed. Please retry.");
+    }
+
+    /**
+     * Result of an idempotent execution.
+     *
+     * @param value    the response
+     * @param replayed true if the response was produced by an earlier request
+     * @param <T>      the response type
+     */
+    public record Outcome<T>(T value, boolean replayed) {
+    }
+
+    private static final class InFlight {
+
+        private final String fingerprint;
+        private final CompletableFuture<IdempotencyRecord> future = new CompletableFuture<>();
+
+        private InFlight(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
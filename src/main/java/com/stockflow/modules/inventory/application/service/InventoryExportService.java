@@ -0,0 +1,243 @@
+package com.stockflow.modules.inventory.application.service;
+
+import com.stockflow.modules.branches.domain.repository.BranchRepository;
+import com.stockflow.modules.inventory.domain.model.MovementHistoryFilter;
+import com.stockflow.modules.inventory.domain.repository.InventoryExportRepository;
+import com.stockflow.shared.domain.exception.NotFoundException;
+import com.stockflow.shared.domain.exception.ServiceUnavailableException;
+import com.stockflow.shared.domain.exception.ValidationException;
+import com.stockflow.shared.infrastructure.export.ExportFormat;
+import com.stockflow.shared.infrastructure.export.RowWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams movement history and stock balances as CSV or NDJSON.
+ *
+ * <p>Validation runs on the request thread ({@code validate*}); writing runs later on
+ * the response thread with an explicit tenant, since it happens after the controller
+ * returned. Rows go from the JDBC cursor through a bounded buffer to the response and
+ * the buffer is flushed every {@code app.inventory.export.flush-rows} rows, so the
+ * client receives data as it is read and memory does not depend on the export size.</p>
+ *
+ * <p>An export holds a pooled connection for as long as the client keeps reading, so at
+ * most {@code app.inventory.export.max-concurrent} exports run at once (bulkhead): a
+ * request arriving while all slots are taken is rejected with 503 before streaming
+ * starts instead of waiting for a connection the rest of the application needs.</p>
+ */
+@Service
+public class InventoryExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryExportService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InventoryExportRepository exportRepository;
+    private final BranchRepository branchRepository;
+    private final Counter movementRows;
+    private final Counter stockRows;
+    private final Counter rejections;
+    private Semaphore slots;
+
+    @Value("${app.inventory.export.flush-rows:1000}")
+    private int flushRows = 1000;
+
+    @Value("${app.inventory.export.max-concurrent:4}")
+    private int maxConcurrent = 4;
+
+    @Value("${app.inventory.export.retry-after-seconds:30}")
+    private long retryAfterSeconds = 30;
+
+    public InventoryExportService(InventoryExportRepository exportRepository,
+                                  BranchRepository branchRepository,
+                                  MeterRegistry meterRegistry) {
+        this.exportRepository = exportRepository;
+        this.branchRepository = branchRepository;
+        this.movementRows = rows(meterRegistry, "movements");
+        this.stockRows = rows(meterRegistry, "stock");
+        this.rejections = Counter.builder("stockflow.inventory.export.rejected")
+            .description("Inventory exports rejected because every export slot was taken")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void initSlots() {
+        slots = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Takes an export slot, without waiting.
+     *
+     * <p>The slot must be closed once the export has been written, or failed.</p>
+     *
+     * @return the slot
+     * @throws ServiceUnavailableException if {@code app.inventory.export.max-concurrent}
+     *                                     exports are already running
+     */
+    public ExportSlot acquireSlot() {
+        if (!slots.tryAcquire()) {
+            rejections.increment();
+            throw new ServiceUnavailableException("EXPORT_CAPACITY_EXCEEDED", String.format(
+                "%d exports are already running; retry later", maxConcurrent), retryAfterSeconds);
+        }
+        return new ExportSlot(slots);
+    }
+
+    /**
+     * Validates an export before the response is committed.
+     *
+     * <p>Inactive branches can be exported: their history remains auditable.</p>
+     *
+     * @param tenantId the tenant ID
+     * @param branchId the branch ID, or null for every branch
+     * @param from     first timestamp included, or null
+     * @param to       timestamp excluded onwards, or null
+     * @throws NotFoundException   if the branch does not exist
+     * @throws ValidationException if {@code from} is not before {@code to}
+     */
+    public void validate(Long tenantId, Long branchId, LocalDateTime from, LocalDateTime to) {
+        if (branchId != null && branchRepository.findByIdAndTenantIdIncludingInactive(branchId, tenantId).isEmpty()) {
+            throw new NotFoundException("BRANCH_NOT_FOUND", "Branch not found with ID: " + branchId);
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ValidationException("INVALID_DATE_RANGE", "The start of the range must be before its end");
+        }
+    }
+
+    /**
+     * Writes the movements of a tenant or branch.
+     *
+     * @param tenantId the tenant ID
+     * @param branchId the branch ID, or null for every branch
+     * @param filter   the filters
+     * @param format   the output format
+     * @param gzip     whether to compress the output
+     * @param out      the response stream, left open
+     * @throws IOException if writing fails, e.g. the client disconnected
+     */
+    public void writeMovements(Long tenantId, Long branchId, MovementHistoryFilter filter,
+                               ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long rows = write(format, gzip, out, InventoryExportRepository.MOVEMENT_COLUMNS,
+            writer -> exportRepository.streamMovements(tenantId, branchId, filter, writer));
+        movementRows.increment(rows);
+        logger.info("Exported {} movements of tenant {} (branch {}) as {} in {} ms",
+            rows, tenantId, branchId, format, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Writes the stock balances of a tenant or branch.
+     *
+     * @param tenantId    the tenant ID
+     * @param branchId    the branch ID, or null for every branch
+     * @param updatedFrom first update timestamp included, or null
+     * @param updatedTo   update timestamp excluded onwards, or null
+     * @param format      the output format
+     * @param gzip        whether to compress the output
+     * @param out         the response stream, left open
+     * @throws IOException if writing fails, e.g. the client disconnected
+     */
+    public void writeStock(Long tenantId, Long branchId, LocalDateTime updatedFrom, LocalDateTime updatedTo,
+                           ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long rows = write(format, gzip, out, InventoryExportRepository.STOCK_COLUMNS,
+            writer -> exportRepository.streamStock(tenantId, branchId, updatedFrom, updatedTo, writer));
+        stockRows.increment(rows);
+        logger.info("Exported {} stock rows of tenant {} (branch {}) as {} in {} ms",
+            rows, tenantId, branchId, format, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private long write(ExportFormat format, boolean gzip, OutputStream out, List<String> columns,
+                       RowSource source) throws IOException {
+        // syncFlush: every flush pushes the rows compressed so far to the client
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE, true) : null;
+        Writer text = new BufferedWriter(
+            new OutputStreamWriter(compressed != null ? compressed : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        long rows = source.stream(new FlushingRowWriter(format.open(text, columns), flushRows));
+        text.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        return rows;
+    }
+
+    private static Counter rows(MeterRegistry meterRegistry, String dataset) {
+        return Counter.builder("stockflow.inventory.export.rows")
+            .description("Rows written by inventory exports")
+            .tag("dataset", dataset)
+            .register(meterRegistry);
+    }
+
+    /**
+     * A running export's share of the bulkhead; closing it more than once is harmless.
+     */
+    public static final class ExportSlot implements AutoCloseable {
+
+        private final Semaphore slots;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ExportSlot(Semaphore slots) {
+            this.slots = slots;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                slots.release();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        long stream(RowWriter writer) throws IOException;
+    }
+
+    /**
+     * Flushes the delegate every {@code flushRows} rows.
+     */
+    private static final class FlushingRowWriter implements RowWriter {
+
+        private final RowWriter delegate;
+        private final int flushRows;
+        private int pending;
+
+        FlushingRowWriter(RowWriter delegate, int flushRows) {
+            this.delegate = delegate;
+            this.flushRows = flushRows;
+        }
+
+        @Override
+        public void write(Object... values) throws IOException {
+            delegate.write(values);
+            if (++pending >= flushRows) {
+                delegate.flush();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+            pending = 0;
+        }
+    }
+}
@@ -1,14 +1,19 @@
 package com.stockflow.modules.inventory.application.service;
 
 import com.stockflow.modules.inventory.application.dto.BranchStockResponse;
+import com.stockflow.modules.inventory.application.dto.MovementBatchRequest;
+import com.stockflow.modules.inventory.application.dto.MovementBatchResult;
+import com.stockflow.modules.inventory.application.dto.MovementCursor;
 import com.stockflow.modules.inventory.application.dto.StockMovementRequest;
 import com.stockflow.modules.inventory.application.dto.StockMovementResponse;
+import com.stockflow.modules.inventory.application.dto.TransferDocumentRequest;
+import com.stockflow.modules.inventory.application.dto.TransferDocumentResult;
 import com.stockflow.modules.inventory.application.dto.TransferResult;
 import com.stockflow.modules.inventory.application.dto.TransferStockRequest;
-import com.stockflow.modules.inventory.domain.model.MovementReason;
-import com.stockflow.modules.inventory.domain.model.MovementType;
+import com.stockflow.modules.inventory.domain.model.MovementHistoryFilter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 /**
  * Service interface for inventory management operations.
@@ -73,6 +78,9 @@ public interface InventoryService {
      *   <li>Updates the branch product stock accordingly</li>
      * </ul>
      *
+     * <p>Write conflicts on the stock row are retried server-side with jittered
+     * backoff (see {@code app.retry.*}) before being reported to the client.</p>
+     *
      * @param request the stock movement request
      * @return the created stock movement response
      * @throws com.stockflow.shared.domain.exception.InsufficientStockException if OUT movement would make stock negative
@@ -80,6 +88,25 @@ public interface InventoryService {
      */
     StockMovementResponse createMovement(StockMovementRequest request);
 
+    /**
+     * Creates many stock movements for one branch in a single transaction.
+     *
+     * <p>Products are validated with one set-based query, lines are checked in order
+     * against a running balance, and each product's stock row is updated once with
+     * its net delta. Movement rows are inserted in one JDBC batch and the dashboard
+     * caches of the tenant and branch are invalidated once per batch.</p>
+     *
+     * <p>Invalid lines are reported per line. In ALL_OR_NOTHING mode a single invalid
+     * line leaves the batch unapplied; in BEST_EFFORT mode the valid lines are applied.</p>
+     *
+     * @param branchId the branch ID
+     * @param request  the movement batch
+     * @return the outcome of every line
+     * @throws com.stockflow.shared.domain.exception.NotFoundException   if the branch is not found
+     * @throws com.stockflow.shared.domain.exception.ValidationException if the branch is inactive
+     */
+    MovementBatchResult createMovements(Long branchId, MovementBatchRequest request);
+
     /**
      * Transfers stock from one branch to another.
      *
@@ -93,6 +120,9 @@ public interface InventoryService {
      *   <li>Updates stock levels in both branches atomically</li>
      * </ul>
      *
+     * <p>Write conflicts re-run the whole transfer transaction, as for
+     * {@link #createMovement(StockMovementRequest)}.</p>
+     *
      * @param request the transfer stock request
      * @return the transfer result containing both movements
      * @throws com.stockflow.shared.domain.exception.InsufficientStockException if insufficient stock in source branch
@@ -101,19 +131,69 @@ public interface InventoryService {
      */
     TransferResult transferStock(TransferStockRequest request);
 
+    /**
+     * Transfers many products from one branch to another in a single transaction.
+     *
+     * <p>All stock rows of the document are locked up front in (branch, product) order,
+     * every line is checked before any change, and the 2N movement rows are written in
+     * one batch. Either every line is transferred or none is.</p>
+     *
+     * @param request the transfer document
+     * @return the movement IDs created for each line
+     * @throws com.stockflow.shared.domain.exception.InsufficientStockException if any line exceeds source stock
+     * @throws com.stockflow.shared.domain.exception.NotFoundException       if a branch or product is not found
+     * @throws com.stockflow.shared.domain.exception.ValidationException      if branches are the same or a product repeats
+     */
+    TransferDocumentResult transferDocument(TransferDocumentRequest request);
+
     /**
      * Gets the movement history for a specific branch with optional filters.
      *
-     * @param branchId  the branch ID
-     * @param productId optional product ID filter
-     * @param type      optional movement type filter
-     * @param reason    optional movement reason filter
-     * @param pageable  pagination parameters
-     * @return page of stock movement responses
+     * @param branchId the branch ID
+     * @param filter   product, type, reason and time range filters
+     * @param pageable pagination parameters
+     * @return page of stock movement responses, newest first
+     * @throws com.stockflow.shared.domain.exception.NotFoundException if the branch or a product doesn't exist
      */
     Page<StockMovementResponse> getMovementsByBranch(Long branchId,
-                                                     Long productId,
-                                                     MovementType type,
-                                                     MovementReason reason,
+                                                     MovementHistoryFilter filter,
                                                      Pageable pageable);
+
+    /**
+     * Gets the movement history for a specific branch without counting it.
+     *
+     * <p>Without a cursor, reads the page requested by {@code pageable}. With a cursor,
+     * seeks to the movements created before it, so the cost of a page does not depend on
+     * its depth; the page number of {@code pageable} is then ignored.</p>
+     *
+     * @param branchId the branch ID
+     * @param filter   product, type, reason and time range filters
+     * @param after    optional position of the last movement already read
+     * @param pageable pagination parameters
+     * @return slice of stock movement responses, newest first
+     * @throws com.stockflow.shared.domain.exception.NotFoundException if the branch or a product doesn't exist
+     */
+    Slice<StockMovementResponse> getMovementSliceByBranch(Long branchId,
+                                                          MovementHistoryFilter filter,
+                                                          MovementCursor after,
+                                                          Pageable pageable);
+
+    /**
+     * Gets archived movement history for a specific branch.
+     *
+     * <p>Months past the retention horizon are moved to a compressed archive and no
+     * longer appear in {@link #getMovementSliceByBranch}. This slower path reads them,
+     * newest first, with the same filters and cursor.</p>
+     *
+     * @param branchId the branch ID
+     * @param filter   product, type, reason and time range filters
+     * @param after    optional position of the last movement already read
+     * @param pageable page size; the page number is ignored
+     * @return slice of archived stock movement responses, newest first
+     * @throws com.stockflow.shared.domain.exception.NotFoundException if the branch or a product doesn't exist
+     */
+    Slice<StockMovementResponse> getArchivedMovementSliceByBranch(Long branchId,
+                                                                  MovementHistoryFilter filter,
+                                                                  MovementCursor after,
+                                                                  Pageable pageable);
 }
@@ -3,17 +3,29 @@ package com.stockflow.modules.inventory.application.service;
 import com.stockflow.modules.catalog.domain.model.Product;
 import com.stockflow.modules.catalog.domain.repository.ProductRepository;
 import com.stockflow.modules.branches.domain.model.Branch;
+import com.stockflow.modules.dashboard.application.service.DashboardMovementRecorder;
 import com.stockflow.modules.inventory.application.dto.BranchStockResponse;
+import com.stockflow.modules.inventory.application.dto.MovementBatchRequest;
+import com.stockflow.modules.inventory.application.dto.MovementBatchResult;
+import com.stockflow.modules.inventory.application.dto.MovementCursor;
 import com.stockflow.modules.inventory.application.dto.StockMovementRequest;
 import com.stockflow.modules.inventory.application.dto.StockMovementResponse;
+import com.stockflow.modules.inventory.application.dto.TransferDocumentRequest;
+import com.stockflow.modules.inventory.application.dto.TransferDocumentResult;
+import com.stockflow.modules.inventory.application.dto.TransferLineRequest;
+import com.stockflow.modules.inventory.application.dto.TransferLineResult;
 import com.stockflow.modules.inventory.application.dto.TransferResult;
 import com.stockflow.modules.inventory.application.dto.TransferStockRequest;
 import com.stockflow.modules.inventory.application.mapper.InventoryMapper;
 import com.stockflow.modules.inventory.domain.model.BranchProductStock;
+import com.stockflow.modules.inventory.domain.model.MovementHistoryFilter;
 import com.stockflow.modules.inventory.domain.model.MovementReason;
+import com.stockflow.modules.inventory.domain.model.MovementTargetState;
 import com.stockflow.modules.inventory.domain.model.MovementType;
 import com.stockflow.modules.inventory.domain.model.StockMovement;
 import com.stockflow.modules.inventory.domain.repository.BranchProductStockRepository;
+import com.stockflow.modules.inventory.domain.repository.MovementHistoryRepository;
+import com.stockflow.modules.inventory.domain.repository.StockLedgerRepository;
 import com.stockflow.modules.inventory.domain.repository.StockMovementRepository;
 import com.stockflow.modules.branches.domain.repository.BranchRepository;
 import com.stockflow.modules.users.domain.model.RoleEnum;
@@ -21,19 +33,25 @@ import com.stockflow.shared.domain.exception.InsufficientStockException;
 import com.stockflow.shared.domain.exception.ForbiddenException;
 import com.stockflow.shared.domain.exception.NotFoundException;
 import com.stockflow.shared.domain.exception.ValidationException;
-import com.stockflow.shared.infrastructure.cache.CacheConfig;
+import com.stockflow.shared.infrastructure.cache.DashboardCacheKeys;
+import com.stockflow.shared.infrastructure.retry.RetryOnConflict;
 import com.stockflow.shared.infrastructure.security.CustomUserDetails;
 import com.stockflow.shared.infrastructure.security.TenantContext;
-import org.springframework.cache.annotation.CacheEvict;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
 
 /**
  * Implementation of inventory service.
@@ -41,6 +59,17 @@ import org.springframework.transaction.annotation.Transactional;
  * <p>Handles business logic for stock management including querying stock levels,
  * creating movements, and transferring stock between branches. All operations are
  * scoped to the current tenant and include validation to ensure data integrity.</p>
+ *
+ * <p><strong>Write modes:</strong> movements are applied through JPA with
+ * optimistic locking (default), as conditional in-database deltas, or through the
+ * single-writer {@link MovementSequencer}, selected by {@code app.inventory.write-mode}.
+ * See {@link StockWriteMode}.</p>
+ *
+ * <p>Transfers and movement batches bypass the write mode and run inline through
+ * {@link StockTransferEngine} and {@link StockMovementBatchEngine}.</p>
+ *
+ * <p>Every committed write invalidates the dashboard caches of its tenant and of the
+ * branches it touched through {@link DashboardCacheKeys}.</p>
  */
 @Service
 public class InventoryServiceImpl implements InventoryService {
@@ -51,18 +80,45 @@ public class InventoryServiceImpl implements InventoryService {
     private final StockMovementRepository movementRepository;
     private final BranchRepository branchRepository;
     private final ProductRepository productRepository;
+    private final StockLedgerRepository stockLedgerRepository;
+    private final MovementHistoryRepository movementHistoryRepository;
+    private final DashboardMovementRecorder dashboardMovementRecorder;
+    private final MovementSequencer movementSequencer;
+    private final StockTransferEngine transferEngine;
+    private final StockMovementBatchEngine batchEngine;
     private final InventoryMapper inventoryMapper;
+    private final DashboardCacheKeys dashboardCacheKeys;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.inventory.write-mode:OPTIMISTIC}")
+    private StockWriteMode writeMode = StockWriteMode.OPTIMISTIC;
 
     public InventoryServiceImpl(BranchProductStockRepository stockRepository,
                                 StockMovementRepository movementRepository,
                                 BranchRepository branchRepository,
                                 ProductRepository productRepository,
-                                InventoryMapper inventoryMapper) {
+                                StockLedgerRepository stockLedgerRepository,
+                                MovementHistoryRepository movementHistoryRepository,
+                                DashboardMovementRecorder dashboardMovementRecorder,
+                                MovementSequencer movementSequencer,
+                                StockTransferEngine transferEngine,
+                                StockMovementBatchEngine batchEngine,
+                                InventoryMapper inventoryMapper,
+                                DashboardCacheKeys dashboardCacheKeys,
+                                PlatformTransactionManager transactionManager) {
         this.stockRepository = stockRepository;
         this.movementRepository = movementRepository;
         this.branchRepository = branchRepository;
         this.productRepository = productRepository;
+        this.stockLedgerRepository = stockLedgerRepository;
+        this.movementHistoryRepository = movementHistoryRepository;
+        this.dashboardMovementRecorder = dashboardMovementRecorder;
+        this.movementSequencer = movementSequencer;
+        this.transferEngine = transferEngine;
+        this.batchEngine = batchEngine;
         this.inventoryMapper = inventoryMapper;
+        this.dashboardCacheKeys = dashboardCacheKeys;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -78,13 +134,13 @@ public class InventoryServiceImpl implements InventoryService {
         // Validate product exists and belongs to tenant
         validateProductExists(productId, tenantId);
 
-        // Find or create stock entry
+        // Products never stocked in the branch have no row yet; report a zero balance
+        // without writing from a read-only transaction (the row is created by the first movement)
         BranchProductStock stock = stockRepository.findByTenantIdAndBranchIdAndProductId(
             branchId, productId, tenantId
         ).orElseGet(() -> {
-            logger.debug("Stock entry not found, creating new entry with zero quantity");
-            BranchProductStock newStock = new BranchProductStock(tenantId, branchId, productId, 0);
-            return stockRepository.save(newStock);
+            logger.debug("Stock entry not found, returning zero quantity");
+            return new BranchProductStock(tenantId, branchId, productId, 0);
         });
 
         return inventoryMapper.toResponse(stock);
@@ -141,13 +197,15 @@ public class InventoryServiceImpl implements InventoryService {
         return stocks.map(inventoryMapper::toResponse);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Not annotated with {@code @Transactional}: in SEQUENCED mode the caller
+     * must wait for the lane without holding a connection, so the transaction
+     * is opened programmatically for the inline modes only.</p>
+     */
     @Override
-    @Transactional
-    @CacheEvict(value = {
-            CacheConfig.DASHBOARD_OVERVIEW,
-            CacheConfig.DASHBOARD_BRANCH,
-            CacheConfig.TOP_PRODUCTS
-    }, allEntries = true)
+    @RetryOnConflict(operation = "inventory.createMovement", errorCodes = "STOCK_CONCURRENT_MODIFICATION")
     public StockMovementResponse createMovement(StockMovementRequest request) {
         logger.info("Creating stock movement: branch={}, product={}, type={}, reason={}, quantity={}",
             request.branchId(), request.productId(), request.type(), request.reason(), request.quantity());
@@ -157,6 +215,192 @@ public class InventoryServiceImpl implements InventoryService {
 
         validateStaffPermissions(request);
 
+        StockMovementResponse response;
+        if (writeMode == StockWriteMode.SEQUENCED) {
+            response = movementSequencer.submit(tenantId, request.branchId(), request.productId(),
+                () -> createMovementAtomically(request, tenantId, userId));
+        } else {
+            response = transactionTemplate.execute(status -> applyMovement(request, tenantId, userId));
+        }
+
+        // Committed by now: invalidate immediately
+        dashboardCacheKeys.invalidate(tenantId, List.of(request.branchId()));
+
+        return response;
+    }
+
+    @Override
+    @RetryOnConflict(operation = "inventory.createMovements", errorCodes = "STOCK_CONCURRENT_MODIFICATION")
+    @Transactional
+    public MovementBatchResult createMovements(Long branchId, MovementBatchRequest request) {
+        logger.info("Creating stock movement batch: branch={}, lines={}, mode={}",
+            branchId, request.movements().size(), request.effectiveMode());
+
+        Long tenantId = TenantContext.getTenantId();
+        Long userId = getCurrentUserId();
+        boolean staffOnly = isStaffOnly();
+
+        MovementBatchResult result = batchEngine.ingest(tenantId, userId, branchId, request.movements(),
+            request.effectiveMode(), line -> !staffOnly || isAllowedForStaff(line.type(), line.reason()));
+
+        if (result.applied() > 0) {
+            dashboardCacheKeys.invalidate(tenantId, List.of(branchId));
+        }
+
+        logger.info("Stock movement batch completed: applied={}, rejected={}", result.applied(), result.rejected());
+
+        return result;
+    }
+
+    @Override
+    @RetryOnConflict(operation = "inventory.transferStock", errorCodes = "STOCK_CONCURRENT_MODIFICATION")
+    @Transactional
+    public TransferResult transferStock(TransferStockRequest request) {
+        logger.info("Transferring stock: sourceBranch={}, destBranch={}, product={}, quantity={}",
+            request.sourceBranchId(), request.destinationBranchId(), request.productId(), request.quantity());
+
+        Long tenantId = TenantContext.getTenantId();
+        Long userId = getCurrentUserId();
+
+        validateTransfer(request.sourceBranchId(), request.destinationBranchId());
+
+        List<TransferLineResult> lines = transferEngine.transfer(tenantId, userId,
+            request.sourceBranchId(), request.destinationBranchId(),
+            List.of(new TransferLineRequest(request.productId(), request.quantity())),
+            request.note());
+
+        dashboardCacheKeys.invalidate(tenantId, List.of(request.sourceBranchId(), request.destinationBranchId()));
+
+        logger.info("Stock transfer completed successfully");
+
+        return new TransferResult(lines.get(0).sourceMovementId(), lines.get(0).destinationMovementId());
+    }
+
+    @Override
+    @RetryOnConflict(operation = "inventory.transferDocument", errorCodes = "STOCK_CONCURRENT_MODIFICATION")
+    @Transactional
+    public TransferDocumentResult transferDocument(TransferDocumentRequest request) {
+        logger.info("Transferring stock document: sourceBranch={}, destBranch={}, lines={}",
+            request.sourceBranchId(), request.destinationBranchId(), request.lines().size());
+
+        Long tenantId = TenantContext.getTenantId();
+        Long userId = getCurrentUserId();
+
+        validateTransfer(request.sourceBranchId(), request.destinationBranchId());
+
+        List<TransferLineResult> lines = transferEngine.transfer(tenantId, userId,
+            request.sourceBranchId(), request.destinationBranchId(), request.lines(), request.note());
+
+        dashboardCacheKeys.invalidate(tenantId, List.of(request.sourceBranchId(), request.destinationBranchId()));
+
+        logger.info("Stock transfer document completed successfully with {} lines", lines.size());
+
+        return new TransferDocumentResult(request.sourceBranchId(), request.destinationBranchId(), lines);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<StockMovementResponse> getMovementsByBranch(Long branchId,
+                                                            MovementHistoryFilter filter,
+                                                            Pageable pageable) {
+        logger.debug("Getting movement history for branch {} with filters {}", branchId, filter);
+
+        Long tenantId = TenantContext.getTenantId();
+
+        validateMovementHistoryQuery(branchId, tenantId, filter);
+
+        Page<StockMovement> movements = movementHistoryRepository.findPage(tenantId, branchId, filter, pageable);
+
+        logger.debug("Found {} movements", movements.getTotalElements());
+
+        return movements.map(inventoryMapper::toResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<StockMovementResponse> getMovementSliceByBranch(Long branchId,
+                                                                 MovementHistoryFilter filter,
+                                                                 MovementCursor after,
+                                                                 Pageable pageable) {
+        logger.debug("Getting movement history slice for branch {} after {}", branchId, after);
+
+        Long tenantId = TenantContext.getTenantId();
+
+        validateMovementHistoryQuery(branchId, tenantId, filter);
+
+        Slice<StockMovement> movements = after == null
+            ? movementHistoryRepository.findSlice(tenantId, branchId, filter, pageable)
+            : movementHistoryRepository.findSliceAfter(tenantId, branchId, filter,
+                after.createdAt(), after.id(), pageable.getPageSize());
+
+        return movements.map(inventoryMapper::toResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<StockMovementResponse> getArchivedMovementSliceByBranch(Long branchId,
+                                                                         MovementHistoryFilter filter,
+                                                                         MovementCursor after,
+                                                                         Pageable pageable) {
+        logger.debug("Getting archived movement history slice for branch {} after {}", branchId, after);
+
+        Long tenantId = TenantContext.getTenantId();
+
+        validateMovementHistoryQuery(branchId, tenantId, filter);
+
+        return movementHistoryRepository.findArchivedSliceAfter(tenantId, branchId, filter,
+                after != null ? after.createdAt() : null, after != null ? after.id() : null,
+                pageable.getPageSize())
+            .map(inventoryMapper::toResponse);
+    }
+
+    // Private helper methods
+
+    /**
+     * Validates the branch pair and the caller's role for a transfer.
+     *
+     * @param sourceBranchId      the source branch ID
+     * @param destinationBranchId the destination branch ID
+     * @throws ValidationException if both branches are the same
+     * @throws ForbiddenException  if the caller is STAFF only
+     */
+    private void validateTransfer(Long sourceBranchId, Long destinationBranchId) {
+        // Validate source and destination are different
+        if (sourceBranchId.equals(destinationBranchId)) {
+            throw new ValidationException("TRANSFER_SAME_BRANCH",
+                "Source and destination branches cannot be the same");
+        }
+
+        if (isStaffOnly()) {
+            throw new ForbiddenException("INSUFFICIENT_PRIVILEGES",
+                "STAFF users can only create IN or OUT movements");
+        }
+    }
+
+    /**
+     * Applies a movement inside the current transaction using the configured inline write mode.
+     *
+     * @param request  the movement request
+     * @param tenantId the tenant ID
+     * @param userId   the current user ID
+     * @return the created movement
+     */
+    private StockMovementResponse applyMovement(StockMovementRequest request, Long tenantId, Long userId) {
+        if (writeMode == StockWriteMode.OPTIMISTIC) {
+            return createMovementOptimistically(request, tenantId, userId);
+        }
+        return createMovementAtomically(request, tenantId, userId);
+    }
+
+    /**
+     * Creates a movement through JPA, relying on the stock version for concurrency control.
+     *
+     * @param request  the movement request
+     * @param tenantId the tenant ID
+     * @param userId   the current user ID
+     * @return the created movement
+     */
+    private StockMovementResponse createMovementOptimistically(StockMovementRequest request, Long tenantId, Long userId) {
         // Validate branch exists and belongs to tenant
         validateBranchExists(request.branchId(), tenantId);
 
@@ -176,6 +420,7 @@ public class InventoryServiceImpl implements InventoryService {
         // Create stock movement record
         StockMovement movement = inventoryMapper.toEntity(request, tenantId, userId);
         StockMovement savedMovement = movementRepository.save(movement);
+        dashboardMovementRecorder.record(List.of(savedMovement));
 
         // Update stock quantity based on movement type and reason
         updateStockQuantity(stock, request);
@@ -195,91 +440,65 @@ public class InventoryServiceImpl implements InventoryService {
         return inventoryMapper.toResponse(savedMovement);
     }
 
-    @Override
-    @Transactional
-    @CacheEvict(value = {
-            CacheConfig.DASHBOARD_OVERVIEW,
-            CacheConfig.DASHBOARD_BRANCH,
-            CacheConfig.TOP_PRODUCTS
-    }, allEntries = true)
-    public TransferResult transferStock(TransferStockRequest request) {
-        logger.info("Transferring stock: sourceBranch={}, destBranch={}, product={}, quantity={}",
-            request.sourceBranchId(), request.destinationBranchId(), request.productId(), request.quantity());
-
-        Long tenantId = TenantContext.getTenantId();
-        Long userId = getCurrentUserId();
-
-        // Validate source and destination are different
-        if (request.sourceBranchId().equals(request.destinationBranchId())) {
-            throw new ValidationException("TRANSFER_SAME_BRANCH",
-                "Source and destination branches cannot be the same");
+    /**
+     * Creates a movement applying the stock delta inside the database.
+     *
+     * <p>Validation of branch and product runs as one query. Decreases use a
+     * conditional update guarded by {@code quantity >= ?}; when no row is affected
+     * the stock was insufficient. The movement row is only inserted after the
+     * stock update succeeded.</p>
+     *
+     * @param request  the movement request
+     * @param tenantId the tenant ID
+     * @param userId   the current user ID
+     * @return the created movement
+     */
+    private StockMovementResponse createMovementAtomically(StockMovementRequest request, Long tenantId, Long userId) {
+        MovementTargetState target = stockLedgerRepository.findMovementTargetState(
+            tenantId, request.branchId(), request.productId());
+        validateMovementTarget(target, request);
+
+        if (isStockIncrease(request)) {
+            stockLedgerRepository.increaseQuantity(
+                tenantId, request.branchId(), request.productId(), request.quantity());
+        } else if (!stockLedgerRepository.decreaseQuantity(
+                tenantId, request.branchId(), request.productId(), request.quantity())) {
+            int available = stockLedgerRepository.findQuantity(tenantId, request.branchId(), request.productId());
+            logger.warn("Insufficient stock: available={}, requested={}", available, request.quantity());
+            throw InsufficientStockException.of(request.productId(), request.branchId(), request.quantity(), available);
         }
 
-        // Validate both branches exist and belong to tenant
-        validateBranchExists(request.sourceBranchId(), tenantId);
-        validateBranchExists(request.destinationBranchId(), tenantId);
-
-        // Validate product exists and belongs to tenant
-        validateProductExists(request.productId(), tenantId);
-
-        // Create OUT movement for source branch
-        StockMovementRequest outRequest = new StockMovementRequest(
-            request.sourceBranchId(),
-            request.productId(),
-            MovementType.OUT,
-            MovementReason.TRANSFER_OUT,
-            request.quantity(),
-            request.note()
-        );
-
-        StockMovementResponse fromMovement = createMovement(outRequest);
-
-        // Create IN movement for destination branch
-        StockMovementRequest inRequest = new StockMovementRequest(
-            request.destinationBranchId(),
-            request.productId(),
-            MovementType.IN,
-            MovementReason.TRANSFER_IN,
-            request.quantity(),
-            request.note()
-        );
-
-        StockMovementResponse toMovement = createMovement(inRequest);
+        StockMovement movement = stockLedgerRepository.insertMovement(
+            inventoryMapper.toEntity(request, tenantId, userId));
+        dashboardMovementRecorder.record(List.of(movement));
 
-        logger.info("Stock transfer completed successfully");
+        logger.info("Stock movement created successfully with ID: {}", movement.getId());
 
-        return new TransferResult(fromMovement.id(), toMovement.id());
+        return inventoryMapper.toResponse(movement);
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public Page<StockMovementResponse> getMovementsByBranch(Long branchId,
-                                                            Long productId,
-                                                            MovementType type,
-                                                            MovementReason reason,
-                                                            Pageable pageable) {
-        logger.debug("Getting movement history for branch {} with filters", branchId);
-
-        Long tenantId = TenantContext.getTenantId();
-
-        // Validate branch exists and belongs to tenant
-        validateBranchExists(branchId, tenantId);
-
-        if (productId != null) {
-            validateProductExistsIncludingInactive(productId, tenantId);
+    /**
+     * Applies the branch and product checks to a pre-fetched target state,
+     * using the same error codes as the entity-based validation.
+     *
+     * @param target  the resolved target state
+     * @param request the movement request
+     */
+    private void validateMovementTarget(MovementTargetState target, StockMovementRequest request) {
+        if (!target.branchFound()) {
+            throw new NotFoundException("BRANCH_NOT_FOUND", "Branch not found with ID: " + request.branchId());
+        }
+        if (!target.branchActive()) {
+            throw new ValidationException("BRANCH_ACTIVE_REQUIRED", "Branch must be active for this operation");
+        }
+        if (!target.productFound()) {
+            throw new NotFoundException("PRODUCT_NOT_FOUND", "Product not found with ID: " + request.productId());
+        }
+        if (!target.productActive()) {
+            throw new ValidationException("PRODUCT_ACTIVE_REQUIRED", "Product must be active for this operation");
         }
-
-        Page<StockMovement> movements = movementRepository.findByBranchWithFilters(
-            branchId, tenantId, productId, type, reason, pageable
-        );
-
-        logger.debug("Found {} movements", movements.getTotalElements());
-
-        return movements.map(inventoryMapper::toResponse);
     }
 
-    // Private helper methods
-
     /**
      * Validates that the branch exists and belongs to the tenant.
      *
@@ -316,6 +535,19 @@ public class InventoryServiceImpl implements InventoryService {
         }
     }
 
+    /**
+     * Validates the branch and the filtered products of a history query.
+     *
+     * @throws NotFoundException if the branch or a product does not exist
+     */
+    private void validateMovementHistoryQuery(Long branchId, Long tenantId, MovementHistoryFilter filter) {
+        validateBranchExists(branchId, tenantId);
+
+        for (Long productId : filter.productIds()) {
+            validateProductExistsIncludingInactive(productId, tenantId);
+        }
+    }
+
     private void validateProductExistsIncludingInactive(Long productId, Long tenantId) {
         productRepository.findByIdAndTenantIdIncludingInactive(productId, tenantId)
             .orElseThrow(() -> new NotFoundException("PRODUCT_NOT_FOUND",
@@ -323,29 +555,30 @@ public class InventoryServiceImpl implements InventoryService {
     }
 
     private void validateStaffPermissions(StockMovementRequest request) {
+        if (isStaffOnly() && !isAllowedForStaff(request.type(), request.reason())) {
+            throw new ForbiddenException("INSUFFICIENT_PRIVILEGES",
+                "STAFF users can only create IN or OUT movements");
+        }
+    }
+
+    private boolean isAllowedForStaff(MovementType type, MovementReason reason) {
+        boolean allowedType = type == MovementType.IN || type == MovementType.OUT;
+        boolean allowedReason = reason != MovementReason.ADJUSTMENT_IN
+            && reason != MovementReason.ADJUSTMENT_OUT
+            && reason != MovementReason.TRANSFER_IN
+            && reason != MovementReason.TRANSFER_OUT;
+        return allowedType && allowedReason;
+    }
+
+    private boolean isStaffOnly() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails userDetails)) {
-            return;
+            return false;
         }
 
-        boolean isStaffOnly = userDetails.hasRole(RoleEnum.STAFF)
+        return userDetails.hasRole(RoleEnum.STAFF)
             && !userDetails.hasRole(RoleEnum.ADMIN)
             && !userDetails.hasRole(RoleEnum.MANAGER);
-
-        if (!isStaffOnly) {
-            return;
-        }
-
-        boolean allowedType = request.type() == MovementType.IN || request.type() == MovementType.OUT;
-        boolean allowedReason = request.reason() != MovementReason.ADJUSTMENT_IN
-            && request.reason() != MovementReason.ADJUSTMENT_OUT
-            && request.reason() != MovementReason.TRANSFER_IN
-            && request.reason() != MovementReason.TRANSFER_OUT;
-
-        if (!allowedType || !allowedReason) {
-            throw new ForbiddenException("INSUFFICIENT_PRIVILEGES",
-                "STAFF users can only create IN or OUT movements");
-        }
     }
 
     /**
@@ -362,6 +595,16 @@ public class InventoryServiceImpl implements InventoryService {
                request.reason() == MovementReason.LOSS;
     }
 
+    /**
+     * Checks if the movement increases stock.
+     *
+     * @param request the stock movement request
+     * @return true if the movement adds quantity to the branch
+     */
+    private boolean isStockIncrease(StockMovementRequest request) {
+        return StockMovementBatchEngine.increasesStock(request.type(), request.reason());
+    }
+
     /**
      * Validates that sufficient stock is available for an OUT movement.
      *
@@ -392,11 +635,7 @@ public class InventoryServiceImpl implements InventoryService {
         int quantity = request.quantity();
 
         // Determine if this increases or decreases stock
-        if (request.type() == MovementType.IN ||
-            request.reason() == MovementReason.ADJUSTMENT_IN ||
-            request.reason() == MovementReason.TRANSFER_IN ||
-            request.reason() == MovementReason.PURCHASE ||
-            request.reason() == MovementReason.RETURN) {
+        if (isStockIncrease(request)) {
             // Increase stock
             stock.addQuantity(quantity);
             logger.debug("Increased stock by {}: new quantity = {}", quantity, stock.getQuantity());
@@ -0,0 +1,138 @@
+package com.stockflow.modules.inventory.application.service;
+
+import com.stockflow.modules.inventory.domain.repository.MovementPartitionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of {@code stock_movements} ahead of time and moves old
+ * ones to the archive.
+ *
+ * <ul>
+ *   <li><strong>Future partitions:</strong> partitions exist up to
+ *       {@code app.inventory.partitions.months-ahead} months after the current one, so
+ *       they are split off the catch-all partition while it is still empty.</li>
+ *   <li><strong>Archival:</strong> months before the current one minus
+ *       {@code app.inventory.partitions.retention-months} are copied to the
+ *       compressed {@code stock_movements_archive} and their partition is dropped,
+ *       oldest first, at most {@code app.inventory.partitions.max-archived-per-run} per
+ *       run. A retention of 0 disables archival. Archived movements remain readable
+ *       through {@link InventoryService#getArchivedMovementSliceByBranch}.</li>
+ * </ul>
+ *
+ * <p>Schedule: every {@code app.inventory.partitions.maintenance-interval-ms} (default
+ * one day). The job does nothing unless the table is partitioned (MySQL). Daily rollups
+ * are not archived, so the retention must leave {@link com.stockflow.modules.dashboard.application.service.MovementRollupBackfill}
+ * time to roll up the history first.</p>
+ */
+@Component
+public class MovementPartitionMaintenance {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovementPartitionMaintenance.class);
+
+    private final MovementPartitionRepository partitionRepository;
+    private final Counter createdPartitions;
+    private final Counter archivedPartitions;
+    private final Counter archivedMovements;
+
+    @Value("${app.inventory.partitions.months-ahead:3}")
+    private int monthsAhead = 3;
+
+    @Value("${app.inventory.partitions.retention-months:24}")
+    private int retentionMonths = 24;
+
+    @Value("${app.inventory.partitions.max-archived-per-run:1}")
+    private int maxArchivedPerRun = 1;
+
+    public MovementPartitionMaintenance(MovementPartitionRepository partitionRepository, MeterRegistry meterRegistry) {
+        this.partitionRepository = partitionRepository;
+        this.createdPartitions = Counter.builder("stockflow.inventory.partitions.created")
+            .description("Monthly stock movement partitions created ahead of time")
+            .register(meterRegistry);
+        this.archivedPartitions = Counter.builder("stockflow.inventory.partitions.archived")
+            .description("Monthly stock movement partitions moved to the archive")
+            .register(meterRegistry);
+        this.archivedMovements = Counter.builder("stockflow.inventory.partitions.archived.movements")
+            .description("Stock movements moved to the archive")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Creates missing future partitions, then archives expired ones.
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.partitions.maintenance-interval-ms:86400000}",
+               initialDelayString = "${app.inventory.partitions.maintenance-initial-delay-ms:300000}")
+    public void maintain() {
+        try {
+            if (!partitionRepository.isPartitioned()) {
+                logger.debug("stock_movements is not partitioned; skipping partition maintenance");
+                return;
+            }
+            createFuturePartitions(LocalDate.now());
+            archiveExpiredPartitions(LocalDate.now());
+        } catch (RuntimeException e) {
+            logger.error("Stock movement partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * Creates the partitions missing up to {@code monthsAhead} months after today's.
+     *
+     * @param today the current day
+     * @return the months created
+     */
+    public List<LocalDate> createFuturePartitions(LocalDate today) {
+        LocalDate target = today.withDayOfMonth(1).plusMonths(monthsAhead);
+        List<LocalDate> existing = partitionRepository.findPartitionMonths();
+        LocalDate next = existing.isEmpty()
+            ? today.withDayOfMonth(1)
+            : existing.get(existing.size() - 1).plusMonths(1);
+
+        List<LocalDate> months = new ArrayList<>();
+        for (LocalDate month = next; !month.isAfter(target); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        if (!months.isEmpty()) {
+            partitionRepository.addMonths(months);
+            createdPartitions.increment(months.size());
+        }
+        return months;
+    }
+
+    /**
+     * Archives the oldest months past the retention horizon.
+     *
+     * @param today the current day
+     * @return the months archived
+     */
+    public List<LocalDate> archiveExpiredPartitions(LocalDate today) {
+        if (retentionMonths <= 0) {
+            return List.of();
+        }
+
+        LocalDate horizon = today.withDayOfMonth(1).minusMonths(retentionMonths);
+        List<LocalDate> archived = new ArrayList<>();
+        for (LocalDate month : partitionRepository.findPartitionMonths()) {
+            if (!month.isBefore(horizon) || archived.size() >= maxArchivedPerRun) {
+                break;
+            }
+            long movements = partitionRepository.archiveMonth(month);
+            archivedPartitions.increment();
+            archivedMovements.increment(movements);
+            archived.add(month);
+        }
+        if (!archived.isEmpty()) {
+            logger.info("Archived stock movement months {} (horizon {})", archived, horizon);
+        }
+        return archived;
+    }
+}
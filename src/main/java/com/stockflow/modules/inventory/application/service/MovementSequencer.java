@@ -0,0 +1,334 @@
+package com.stockflow.modules.inventory.application.service;
+
+import com.stockflow.shared.domain.exception.BaseDomainException;
+import com.stockflow.shared.domain.exception.ConflictException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer executor for stock movements, sharded by stock key.
+ *
+ * <p>Each (tenant, branch, product) key is hashed onto one of a fixed number of
+ * lanes. A lane is a single thread draining a lock-free queue, so all writes to a
+ * given stock row are applied in arrival order by one writer and never race each
+ * other. Bursts queued behind a lane are group-committed: up to {@code max-batch}
+ * pending movements run in one transaction.</p>
+ *
+ * <p><strong>Failure isolation:</strong></p>
+ * <ul>
+ *   <li>Domain failures (e.g. insufficient stock) fail only their own movement.
+ *       The atomic write path performs no writes before such checks.</li>
+ *   <li>Any other failure rolls the batch back, and its movements are replayed
+ *       one transaction each so that a single bad movement cannot fail its neighbours.</li>
+ * </ul>
+ *
+ * <p>Callers block until the transaction containing their movement has committed.
+ * Callers must not hold a transaction while waiting, or lanes may starve for
+ * pool connections.</p>
+ *
+ * <p><strong>Bounded waits:</strong> a caller whose movement has not started after
+ * {@code wait-timeout-ms} withdraws it and fails with {@code INVENTORY_BUSY}, so a lane
+ * stuck in a lock wait or a slow commit cannot hold request threads indefinitely. A
+ * movement the lane already started cannot be withdrawn; its caller waits for the
+ * outcome, which the database lock wait timeout bounds, so a busy answer always means
+ * the movement was not applied.</p>
+ *
+ * <p>Lanes are started lazily on the first submission and stopped on shutdown.</p>
+ */
+@Component
+public class MovementSequencer implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovementSequencer.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final DistributionSummary batchSizes;
+
+    @Value("${app.inventory.sequencer.lanes:4}")
+    private int laneCount = 4;
+
+    @Value("${app.inventory.sequencer.max-batch:64}")
+    private int maxBatch = 64;
+
+    @Value("${app.inventory.sequencer.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+
+    @Value("${app.inventory.sequencer.wait-timeout-ms:10000}")
+    private long waitTimeoutMs = 10000;
+
+    private volatile Lane[] lanes;
+
+    public MovementSequencer(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSizes = DistributionSummary.builder("stockflow.sequencer.batch.size")
+            .description("Movements group-committed per sequencer transaction")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Runs a unit of work on the lane owning the given stock key and waits for its commit.
+     *
+     * @param tenantId  the tenant ID
+     * @param branchId  the branch ID
+     * @param productId the product ID
+     * @param work      the work to run inside the lane transaction
+     * @param <T>       the result type
+     * @return the result of the work
+     * @throws ConflictException if the lane queue is full, or the work did not start
+     *         within the wait timeout (in both cases it was not applied)
+     */
+    public <T> T submit(Long tenantId, Long branchId, Long productId, Supplier<T> work) {
+        Lane lane = lanes()[laneIndex(tenantId, branchId, productId)];
+        PendingWork<T> pending = new PendingWork<>(work);
+        lane.enqueue(pending);
+
+        try {
+            return await(pending);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Sequenced work failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        Lane[] current = lanes;
+        if (current == null) {
+            return;
+        }
+        for (Lane lane : current) {
+            lane.stop();
+        }
+    }
+
+    private <T> T await(PendingWork<T> pending) throws ExecutionException {
+        try {
+            return pending.future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (pending.withdraw()) {
+                logger.warn("Sequenced movement did not start within {} ms, withdrawn", waitTimeoutMs);
+                throw busy("The writer lane handling this product is busy. Please retry.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (pending.withdraw()) {
+                throw new IllegalStateException("Interrupted while waiting for the movement sequencer", e);
+            }
+        }
+        // Already started: its outcome is decided by the running transaction
+        return waitForStarted(pending);
+    }
+
+    private static <T> T waitForStarted(PendingWork<T> pending) throws ExecutionException {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return pending.future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static ConflictException busy(String message) {
+        return new ConflictException("INVENTORY_BUSY", message);
+    }
+
+    int laneIndex(Long tenantId, Long branchId, Long productId) {
+        long hash = tenantId;
+        hash = hash * 31 + branchId;
+        hash = hash * 31 + productId;
+        // Spread the bits so that sequential product IDs do not cluster on neighbouring lanes
+        hash ^= (hash >>> 33);
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= (hash >>> 33);
+        return (int) Math.floorMod(hash, (long) laneCount);
+    }
+
+    private Lane[] lanes() {
+        Lane[] current = lanes;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (lanes == null) {
+                Lane[] created = new Lane[laneCount];
+                for (int i = 0; i < laneCount; i++) {
+                    created[i] = new Lane(i);
+                }
+                lanes = created;
+                logger.info("Started movement sequencer with {} lanes (max batch {})", laneCount, maxBatch);
+            }
+            return lanes;
+        }
+    }
+
+    /**
+     * A queued unit of work and the future its caller is waiting on.
+     */
+    private static final class PendingWork<T> {
+
+        private static final int QUEUED = 0;
+        private static final int STARTED = 1;
+        private static final int WITHDRAWN = 2;
+
+        private final Supplier<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        private T result;
+        private RuntimeException failure;
+
+        private PendingWork(Supplier<T> work) {
+            this.work = work;
+        }
+
+        /**
+         * Claims the work for the lane.
+         *
+         * @return false if the caller withdrew it
+         */
+        private boolean start() {
+            return state.compareAndSet(QUEUED, STARTED);
+        }
+
+        /**
+         * Withdraws the work before the lane starts it.
+         *
+         * @return false if the lane already started it
+         */
+        private boolean withdraw() {
+            return state.compareAndSet(QUEUED, WITHDRAWN);
+        }
+
+        /**
+         * Runs the work, keeping domain failures as this item's outcome.
+         * Other failures propagate and roll back the surrounding batch.
+         */
+        private void run() {
+            try {
+                result = work.get();
+                failure = null;
+            } catch (BaseDomainException e) {
+                result = null;
+                failure = e;
+            }
+        }
+
+        private void complete() {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+
+    private final class Lane implements Runnable {
+
+        private final ConcurrentLinkedQueue<PendingWork<?>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger depth = new AtomicInteger();
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private Lane(int index) {
+            this.thread = new Thread(this, "movement-lane-" + index);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        private void enqueue(PendingWork<?> pending) {
+            if (!running) {
+                throw new IllegalStateException("Movement sequencer is shut down");
+            }
+            if (depth.incrementAndGet() > queueCapacity) {
+                depth.decrementAndGet();
+                throw busy("Too many pending stock movements on the writer lane handling this product. Please retry.");
+            }
+            queue.offer(pending);
+            LockSupport.unpark(thread);
+        }
+
+        private void stop() {
+            running = false;
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public void run() {
+            List<PendingWork<?>> batch = new ArrayList<>(maxBatch);
+            while (running || !queue.isEmpty()) {
+                PendingWork<?> next;
+                boolean polled = false;
+                while (batch.size() < maxBatch && (next = queue.poll()) != null) {
+                    polled = true;
+                    depth.decrementAndGet();
+                    // Callers that timed out withdrew their work; it must not run
+                    if (next.start()) {
+                        batch.add(next);
+                    }
+                }
+                if (batch.isEmpty()) {
+                    if (!polled) {
+                        LockSupport.park(this);
+                    }
+                    continue;
+                }
+
+                commit(batch);
+                batch.clear();
+            }
+        }
+
+        private void commit(List<PendingWork<?>> batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> batch.forEach(PendingWork::run));
+                batchSizes.record(batch.size());
+                batch.forEach(PendingWork::complete);
+            } catch (RuntimeException batchFailure) {
+                logger.warn("Sequencer batch of {} rolled back, replaying individually: {}",
+                    batch.size(), batchFailure.getMessage());
+                batch.forEach(this::commitAlone);
+            } catch (Throwable fatal) {
+                batch.forEach(pending -> pending.future.completeExceptionally(fatal));
+            }
+        }
+
+        private void commitAlone(PendingWork<?> pending) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> pending.run());
+                batchSizes.record(1);
+                pending.complete();
+            } catch (Throwable e) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+    }
+}
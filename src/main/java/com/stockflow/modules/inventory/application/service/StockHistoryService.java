@@ -0,0 +1,41 @@
+package com.stockflow.modules.inventory.application.service;
+
+import com.stockflow.modules.inventory.application.dto.StockAsOfResponse;
+import com.stockflow.modules.inventory.application.dto.StockDiffResponse;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for point-in-time stock queries.
+ *
+ * <p>Answers are computed from the daily closing balances written by
+ * {@link StockSnapshotBackfill} plus the movements after the snapshot horizon, so
+ * their cost does not grow with the movement history. Branches and products are
+ * accepted even when inactive, since audits look at the past.</p>
+ */
+public interface StockHistoryService {
+
+    /**
+     * Gets the stock of a product in a branch at a point in time.
+     *
+     * @param branchId  the branch ID
+     * @param productId the product ID
+     * @param at        the point in time; movements created before it are counted
+     * @return the quantity in stock at that time
+     * @throws com.stockflow.shared.domain.exception.NotFoundException if the branch or product doesn't exist
+     */
+    StockAsOfResponse getStockAsOf(Long branchId, Long productId, LocalDateTime at);
+
+    /**
+     * Compares the closing balances of a branch at the end of two days.
+     *
+     * @param branchId the branch ID
+     * @param from     the first day
+     * @param to       the second day, after the first
+     * @return the products whose balance changed, by product ID
+     * @throws com.stockflow.shared.domain.exception.NotFoundException   if the branch doesn't exist
+     * @throws com.stockflow.shared.domain.exception.ValidationException if {@code from} is not before {@code to}
+     */
+    StockDiffResponse diffStock(Long branchId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,129 @@
+package com.stockflow.modules.inventory.application.service;
+
+import com.stockflow.modules.branches.domain.repository.BranchRepository;
+import com.stockflow.modules.catalog.domain.repository.ProductRepository;
+import com.stockflow.modules.inventory.application.dto.StockAsOfResponse;
+import com.stockflow.modules.inventory.application.dto.StockDiffLine;
+import com.stockflow.modules.inventory.application.dto.StockDiffResponse;
+import com.stockflow.modules.inventory.domain.model.StockSnapshot;
+import com.stockflow.modules.inventory.domain.repository.StockSnapshotRepository;
+import com.stockflow.shared.domain.exception.NotFoundException;
+import com.stockflow.shared.domain.exception.ValidationException;
+import com.stockflow.shared.infrastructure.security.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Implementation of StockHistoryService.
+ *
+ * <p>The balance at an instant is the latest snapshot up to the last day closed before
+ * it (bounded by the snapshot horizon) plus the movements from the next midnight up
+ * to the instant. While snapshots are current that replay covers less than a day;
+ * if a tenant was never snapshotted, every movement is replayed.</p>
+ */
+@Service
+@Transactional(readOnly = true)
+public class StockHistoryServiceImpl implements StockHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockHistoryServiceImpl.class);
+
+    private final StockSnapshotRepository snapshotRepository;
+    private final BranchRepository branchRepository;
+    private final ProductRepository productRepository;
+
+    public StockHistoryServiceImpl(StockSnapshotRepository snapshotRepository,
+                                   BranchRepository branchRepository,
+                                   ProductRepository productRepository) {
+        this.snapshotRepository = snapshotRepository;
+        this.branchRepository = branchRepository;
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    public StockAsOfResponse getStockAsOf(Long branchId, Long productId, LocalDateTime at) {
+        Long tenantId = TenantContext.getTenantId();
+        validateBranch(branchId, tenantId);
+        productRepository.findByIdAndTenantIdIncludingInactive(productId, tenantId)
+            .orElseThrow(() -> new NotFoundException("PRODUCT_NOT_FOUND", "Product not found with ID: " + productId));
+
+        LocalDate snapshotThrough = snapshotDay(tenantId, at.toLocalDate().minusDays(1));
+        long quantity = snapshotThrough == null ? 0 : snapshotRepository
+            .findLatest(tenantId, branchId, productId, snapshotThrough)
+            .map(StockSnapshot::quantity)
+            .orElse(0L);
+        StockSnapshotRepository.Replay replay = snapshotRepository.replay(tenantId, branchId, productId,
+            replayStart(snapshotThrough), at);
+
+        logger.debug("Stock of product {} in branch {} at {}: snapshot through {} plus {} movements",
+            productId, branchId, at, snapshotThrough, replay.movements());
+        return new StockAsOfResponse(branchId, productId, at, quantity + replay.quantity(),
+            snapshotThrough, replay.movements());
+    }
+
+    @Override
+    public StockDiffResponse diffStock(Long branchId, LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("INVALID_DATE_RANGE", "The start of the range must be before its end");
+        }
+        Long tenantId = TenantContext.getTenantId();
+        validateBranch(branchId, tenantId);
+
+        Map<Long, Long> before = closingBalances(tenantId, branchId, from);
+        Map<Long, Long> after = closingBalances(tenantId, branchId, to);
+
+        TreeSet<Long> productIds = new TreeSet<>(before.keySet());
+        productIds.addAll(after.keySet());
+        List<StockDiffLine> lines = productIds.stream()
+            .map(productId -> {
+                long fromQuantity = before.getOrDefault(productId, 0L);
+                long toQuantity = after.getOrDefault(productId, 0L);
+                return new StockDiffLine(productId, fromQuantity, toQuantity, toQuantity - fromQuantity);
+            })
+            .filter(line -> line.change() != 0)
+            .toList();
+        return new StockDiffResponse(branchId, from, to, lines);
+    }
+
+    /**
+     * Balances of every product of a branch at the end of a day.
+     */
+    private Map<Long, Long> closingBalances(Long tenantId, Long branchId, LocalDate day) {
+        LocalDate snapshotThrough = snapshotDay(tenantId, day);
+        Map<Long, Long> balances = snapshotThrough == null
+            ? new HashMap<>()
+            : new HashMap<>(snapshotRepository.findBalances(tenantId, branchId, snapshotThrough));
+        if (snapshotThrough == null || snapshotThrough.isBefore(day)) {
+            snapshotRepository.replayByProduct(tenantId, branchId, replayStart(snapshotThrough),
+                    day.plusDays(1).atStartOfDay())
+                .forEach((productId, delta) -> balances.merge(productId, delta, Long::sum));
+        }
+        return balances;
+    }
+
+    /**
+     * The latest snapshotted day not after the given one, or null if there is none.
+     */
+    private LocalDate snapshotDay(Long tenantId, LocalDate day) {
+        Optional<LocalDate> horizon = snapshotRepository.findSnapshottedThrough(tenantId);
+        return horizon.map(through -> through.isBefore(day) ? through : day).orElse(null);
+    }
+
+    private static LocalDateTime replayStart(LocalDate snapshotThrough) {
+        return snapshotThrough != null ? snapshotThrough.plusDays(1).atStartOfDay() : null;
+    }
+
+    private void validateBranch(Long branchId, Long tenantId) {
+        branchRepository.findByIdAndTenantIdIncludingInactive(branchId, tenantId)
+            .orElseThrow(() -> new NotFoundException("BRANCH_NOT_FOUND", "Branch not found with ID: " + branchId));
+    }
+}
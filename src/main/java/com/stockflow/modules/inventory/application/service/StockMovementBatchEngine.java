@@ -0,0 +1,212 @@
+package com.stockflow.modules.inventory.application.service;
+
+import com.stockflow.modules.dashboard.application.service.DashboardMovementRecorder;
+import com.stockflow.modules.inventory.application.dto.MovementBatchLineResult;
+import com.stockflow.modules.inventory.application.dto.MovementBatchMode;
+import com.stockflow.modules.inventory.application.dto.MovementBatchResult;
+import com.stockflow.modules.inventory.application.dto.StockMovementCreateRequest;
+import com.stockflow.modules.inventory.domain.model.MovementReason;
+import com.stockflow.modules.inventory.domain.model.MovementType;
+import com.stockflow.modules.inventory.domain.model.StockMovement;
+import com.stockflow.modules.inventory.domain.repository.StockLedgerRepository;
+import com.stockflow.shared.domain.exception.NotFoundException;
+import com.stockflow.shared.domain.exception.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * Applies a batch of movements to one branch with a fixed number of round trips.
+ *
+ * <ol>
+ *   <li>One query validating the branch and one validating all products</li>
+ *   <li>One {@code SELECT ... FOR UPDATE} locking the involved stock rows in product order</li>
+ *   <li>Lines are checked in memory in request order against a running balance per product</li>
+ *   <li>One batched update applying the net delta per product; rows are only
+ *       inserted for products stocked in the branch for the first time</li>
+ *   <li>One batched insert of the movement rows and one batched update of the dashboard counters</li>
+ * </ol>
+ *
+ * <p>Nothing is written until every line has been checked, so an all-or-nothing
+ * batch with a rejected line leaves the database untouched. The engine must run
+ * inside the caller's transaction and does not evict caches.</p>
+ */
+@Component
+public class StockMovementBatchEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockMovementBatchEngine.class);
+
+    private final StockLedgerRepository stockLedgerRepository;
+    private final DashboardMovementRecorder dashboardMovementRecorder;
+
+    public StockMovementBatchEngine(StockLedgerRepository stockLedgerRepository,
+                                    DashboardMovementRecorder dashboardMovementRecorder) {
+        this.stockLedgerRepository = stockLedgerRepository;
+        this.dashboardMovementRecorder = dashboardMovementRecorder;
+    }
+
+    /**
+     * Applies the movements of a batch to a branch.
+     *
+     * @param tenantId  the tenant ID
+     * @param userId    the user uploading the batch
+     * @param branchId  the branch ID
+     * @param lines     the movements, in order
+     * @param mode      how rejected lines affect the rest of the batch
+     * @param permitted whether the caller may create a given line
+     * @return one result per line, in request order
+     * @throws NotFoundException   if the branch does not exist for the tenant
+     * @throws ValidationException if the branch is inactive
+     */
+    public MovementBatchResult ingest(Long tenantId, Long userId, Long branchId,
+                                      List<StockMovementCreateRequest> lines, MovementBatchMode mode,
+                                      Predicate<StockMovementCreateRequest> permitted) {
+        validateBranch(tenantId, branchId);
+
+        TreeSet<Long> productIds = new TreeSet<>();
+        for (StockMovementCreateRequest line : lines) {
+            productIds.add(line.productId());
+        }
+        Map<Long, Boolean> products = stockLedgerRepository.findProductActiveStates(tenantId, productIds);
+
+        // Lock every stocked row up front; products without a row start at zero
+        Map<Long, Integer> stocked = stockLedgerRepository.lockQuantities(tenantId, branchId, products.keySet());
+        Map<Long, Integer> balances = new HashMap<>(stocked);
+        Map<Long, Integer> deltas = new LinkedHashMap<>();
+
+        MovementBatchLineResult[] results = new MovementBatchLineResult[lines.size()];
+        List<StockMovement> movements = new ArrayList<>(lines.size());
+        List<Integer> movementLines = new ArrayList<>(lines.size());
+        int rejected = 0;
+
+        for (int i = 0; i < lines.size(); i++) {
+            StockMovementCreateRequest line = lines.get(i);
+            MovementBatchLineResult rejection = check(i, line, branchId, products, balances, permitted);
+            if (rejection != null) {
+                results[i] = rejection;
+                rejected++;
+                continue;
+            }
+
+            int delta = increasesStock(line.type(), line.reason()) ? line.quantity() : -line.quantity();
+            balances.merge(line.productId(), delta, Integer::sum);
+            deltas.merge(line.productId(), delta, Integer::sum);
+
+            movements.add(new StockMovement(tenantId, branchId, line.productId(), line.type(),
+                line.reason(), line.quantity(), line.note(), userId));
+            movementLines.add(i);
+        }
+
+        if (rejected > 0 && mode == MovementBatchMode.ALL_OR_NOTHING) {
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null) {
+                    results[i] = MovementBatchLineResult.skipped(i, lines.get(i).productId());
+                }
+            }
+            logger.info("Movement batch for branch {} rejected: {} of {} lines invalid",
+                branchId, rejected, lines.size());
+            return new MovementBatchResult(branchId, mode, 0, rejected, Arrays.asList(results));
+        }
+
+        applyDeltas(tenantId, branchId, stocked, deltas);
+        stockLedgerRepository.insertMovements(movements);
+        dashboardMovementRecorder.record(movements);
+
+        for (int m = 0; m < movements.size(); m++) {
+            int i = movementLines.get(m);
+            results[i] = MovementBatchLineResult.applied(i, lines.get(i).productId(), movements.get(m).getId());
+        }
+
+        logger.debug("Applied {} movements over {} products to branch {}",
+            movements.size(), deltas.size(), branchId);
+
+        return new MovementBatchResult(branchId, mode, movements.size(), rejected, Arrays.asList(results));
+    }
+
+    /**
+     * Checks if a movement increases stock.
+     *
+     * @param type   the movement type
+     * @param reason the movement reason
+     * @return true if the movement adds quantity to the branch
+     */
+    static boolean increasesStock(MovementType type, MovementReason reason) {
+        return type == MovementType.IN ||
+               reason == MovementReason.ADJUSTMENT_IN ||
+               reason == MovementReason.TRANSFER_IN ||
+               reason == MovementReason.PURCHASE ||
+               reason == MovementReason.RETURN;
+    }
+
+    /**
+     * Checks one line against the permission rule, the product state and the running balance.
+     *
+     * @return the rejection, or null if the line can be applied
+     */
+    private MovementBatchLineResult check(int index, StockMovementCreateRequest line, Long branchId,
+                                          Map<Long, Boolean> products, Map<Long, Integer> balances,
+                                          Predicate<StockMovementCreateRequest> permitted) {
+        Long productId = line.productId();
+
+        if (!permitted.test(line)) {
+            return MovementBatchLineResult.rejected(index, productId, "INSUFFICIENT_PRIVILEGES",
+                "STAFF users can only create IN or OUT movements");
+        }
+
+        Boolean active = products.get(productId);
+        if (active == null) {
+            return MovementBatchLineResult.rejected(index, productId, "PRODUCT_NOT_FOUND",
+                "Product not found with ID: " + productId);
+        }
+        if (!active) {
+            return MovementBatchLineResult.rejected(index, productId, "PRODUCT_ACTIVE_REQUIRED",
+                "Product must be active for this operation");
+        }
+
+        if (!increasesStock(line.type(), line.reason())) {
+            int available = balances.getOrDefault(productId, 0);
+            if (available < line.quantity()) {
+                return MovementBatchLineResult.rejected(index, productId, "STOCK_INSUFFICIENT",
+                    String.format("Insufficient stock for product %d at branch %d. Requested: %d, Available: %d",
+                        productId, branchId, line.quantity(), available));
+            }
+        }
+
+        return null;
+    }
+
+    private void applyDeltas(Long tenantId, Long branchId, Map<Long, Integer> stocked, Map<Long, Integer> deltas) {
+        Map<Long, Integer> updates = new LinkedHashMap<>();
+        deltas.forEach((productId, delta) -> {
+            if (delta == 0) {
+                return;
+            }
+            if (stocked.containsKey(productId)) {
+                updates.put(productId, delta);
+            } else {
+                // First stock for this product in the branch; the net delta is positive here
+                stockLedgerRepository.increaseQuantity(tenantId, branchId, productId, delta);
+            }
+        });
+        stockLedgerRepository.addQuantities(tenantId, branchId, updates);
+    }
+
+    private void validateBranch(Long tenantId, Long branchId) {
+        Boolean active = stockLedgerRepository.findBranchActiveStates(tenantId, List.of(branchId)).get(branchId);
+        if (active == null) {
+            throw new NotFoundException("BRANCH_NOT_FOUND", "Branch not found with ID: " + branchId);
+        }
+        if (!active) {
+            throw new ValidationException("BRANCH_ACTIVE_REQUIRED", "Branch must be active for this operation");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.stockflow.modules.inventory.application.service;
+
+import com.stockflow.modules.inventory.domain.repository.StockSnapshotRepository;
+import com.stockflow.modules.tenants.domain.model.Tenant;
+import com.stockflow.modules.tenants.domain.repository.TenantRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Writes the daily closing stock balances of closed days.
+ *
+ * <p>Like {@code MovementRollupBackfill}, the job walks forward per tenant from the day
+ * after the snapshot horizon (or from the oldest movement on the first run) up to the
+ * last closed day, one day per transaction together with the new horizon, so an
+ * interrupted run resumes where it stopped. Each day costs one day of movements.</p>
+ *
+ * <p>A day counts as closed {@code app.inventory.snapshots.settle-minutes} after
+ * midnight, so transactions still committing movements of the previous day are
+ * included. Schedule: every {@code app.inventory.snapshots.catch-up-interval-ms}
+ * (default one hour), at most {@code app.inventory.snapshots.max-days-per-run} days
+ * per tenant.</p>
+ */
+@Component
+public class StockSnapshotBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockSnapshotBackfill.class);
+
+    private final StockSnapshotRepository snapshotRepository;
+    private final TenantRepository tenantRepository;
+    private final TransactionTemplate writeTemplate;
+    private final Counter snapshotDays;
+
+    @Value("${app.inventory.snapshots.max-days-per-run:366}")
+    private int maxDaysPerRun = 366;
+
+    @Value("${app.inventory.snapshots.settle-minutes:10}")
+    private long settleMinutes = 10;
+
+    public StockSnapshotBackfill(StockSnapshotRepository snapshotRepository,
+                                 TenantRepository tenantRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.snapshotRepository = snapshotRepository;
+        this.tenantRepository = tenantRepository;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotDays = Counter.builder("stockflow.inventory.snapshots.days")
+            .description("Tenant days of closing stock balances written")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Catches up the snapshots of every tenant.
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.snapshots.catch-up-interval-ms:3600000}",
+               initialDelayString = "${app.inventory.snapshots.catch-up-initial-delay-ms:90000}")
+    public void catchUpAll() {
+        int days = 0;
+        for (Tenant tenant : tenantRepository.findAll()) {
+            try {
+                days += catchUp(tenant.getId());
+            } catch (RuntimeException e) {
+                logger.error("Stock snapshot catch-up failed for tenant {}", tenant.getId(), e);
+            }
+        }
+        if (days > 0) {
+            logger.info("Stock snapshots caught up: {} tenant days written", days);
+        }
+    }
+
+    /**
+     * Snapshots the closed days of one tenant that were not snapshotted yet.
+     *
+     * @param tenantId the tenant ID
+     * @return number of days snapshotted
+     */
+    public int catchUp(Long tenantId) {
+        LocalDate lastClosed = LocalDateTime.now().minusMinutes(settleMinutes).toLocalDate().minusDays(1);
+        Optional<LocalDate> snapshottedThrough = snapshotRepository.findSnapshottedThrough(tenantId);
+        LocalDate next = snapshottedThrough
+            .map(day -> day.plusDays(1))
+            .orElseGet(() -> snapshotRepository.findFirstMovementDay(tenantId).orElse(lastClosed.plusDays(1)));
+
+        if (next.isAfter(lastClosed)) {
+            if (snapshottedThrough.isEmpty()) {
+                // Nothing to snapshot yet; set the horizon so queries replay from here only
+                writeTemplate.executeWithoutResult(status -> snapshotRepository.saveSnapshottedThrough(tenantId, lastClosed));
+            }
+            return 0;
+        }
+
+        int days = 0;
+        for (LocalDate day = next; !day.isAfter(lastClosed) && days < maxDaysPerRun; day = day.plusDays(1)) {
+            LocalDate snapshot = day;
+            writeTemplate.executeWithoutResult(status -> {
+                snapshotRepository.snapshotDay(tenantId, snapshot);
+                snapshotRepository.saveSnapshottedThrough(tenantId, snapshot);
+            });
+            days++;
+        }
+
+        snapshotDays.increment(days);
+        logger.debug("Snapshotted {} days of stock balances for tenant {} from {}", days, tenantId, next);
+        return days;
+    }
+}
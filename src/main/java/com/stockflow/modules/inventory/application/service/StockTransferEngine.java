@@ -0,0 +1,170 @@
+package com.stockflow.modules.inventory.application.service;
+
+import com.stockflow.modules.dashboard.application.service.DashboardMovementRecorder;
+import com.stockflow.modules.inventory.application.dto.TransferLineRequest;
+import com.stockflow.modules.inventory.application.dto.TransferLineResult;
+import com.stockflow.modules.inventory.domain.model.BranchProductStock;
+import com.stockflow.modules.inventory.domain.model.MovementReason;
+import com.stockflow.modules.inventory.domain.model.MovementType;
+import com.stockflow.modules.inventory.domain.model.StockMovement;
+import com.stockflow.modules.inventory.domain.repository.BranchProductStockRepository;
+import com.stockflow.modules.inventory.domain.repository.StockLedgerRepository;
+import com.stockflow.shared.domain.exception.InsufficientStockException;
+import com.stockflow.shared.domain.exception.NotFoundException;
+import com.stockflow.shared.domain.exception.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies transfers between two branches for one or many products.
+ *
+ * <p>A transfer of N lines costs a fixed number of round trips regardless of N:</p>
+ * <ol>
+ *   <li>One query validating both branches and one validating all products</li>
+ *   <li>One {@code SELECT ... FOR UPDATE} locking every involved stock row in
+ *       (branch, product) order, which prevents deadlocks between A&rarr;B and B&rarr;A transfers</li>
+ *   <li>One batched insert of the 2N movement rows and one batched update of the dashboard counters</li>
+ *   <li>One batched round of balance updates, flushed before returning so that
+ *       later SQL in the same transaction sees the new balances</li>
+ * </ol>
+ *
+ * <p>Destination rows that do not exist yet are created with the transferred quantity.
+ * The engine must run inside the caller's transaction and does not evict caches.</p>
+ */
+@Component
+public class StockTransferEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockTransferEngine.class);
+
+    private final BranchProductStockRepository stockRepository;
+    private final StockLedgerRepository stockLedgerRepository;
+    private final DashboardMovementRecorder dashboardMovementRecorder;
+
+    public StockTransferEngine(BranchProductStockRepository stockRepository,
+                               StockLedgerRepository stockLedgerRepository,
+                               DashboardMovementRecorder dashboardMovementRecorder) {
+        this.stockRepository = stockRepository;
+        this.stockLedgerRepository = stockLedgerRepository;
+        this.dashboardMovementRecorder = dashboardMovementRecorder;
+    }
+
+    /**
+     * Transfers every line from the source to the destination branch.
+     *
+     * @param tenantId            the tenant ID
+     * @param userId              the user performing the transfer
+     * @param sourceBranchId      the source branch ID
+     * @param destinationBranchId the destination branch ID
+     * @param lines               the product lines (each product at most once)
+     * @param note                optional note copied to every movement
+     * @return one result per line, in request order
+     * @throws NotFoundException          if a branch or product does not exist for the tenant
+     * @throws ValidationException        if a branch or product is inactive, or a product is repeated
+     * @throws InsufficientStockException if any line exceeds the source stock
+     */
+    public List<TransferLineResult> transfer(Long tenantId, Long userId, Long sourceBranchId,
+                                             Long destinationBranchId, List<TransferLineRequest> lines,
+                                             String note) {
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (TransferLineRequest line : lines) {
+            if (!productIds.add(line.productId())) {
+                throw new ValidationException("TRANSFER_DUPLICATE_PRODUCT",
+                    "Product " + line.productId() + " appears more than once in the transfer");
+            }
+        }
+
+        validateBranches(tenantId, sourceBranchId, destinationBranchId);
+        validateProducts(tenantId, productIds);
+
+        // Lock every involved row in a deterministic order
+        Map<Long, BranchProductStock> sourceStocks = new HashMap<>();
+        Map<Long, BranchProductStock> destinationStocks = new HashMap<>();
+        for (BranchProductStock stock : stockRepository.findAllForUpdate(
+                tenantId, List.of(sourceBranchId, destinationBranchId), productIds)) {
+            (stock.getBranchId().equals(sourceBranchId) ? sourceStocks : destinationStocks)
+                .put(stock.getProductId(), stock);
+        }
+
+        // Check every line before changing anything
+        for (TransferLineRequest line : lines) {
+            BranchProductStock source = sourceStocks.get(line.productId());
+            int available = source != null ? source.getQuantity() : 0;
+            if (available < line.quantity()) {
+                logger.warn("Insufficient stock for transfer: product={}, available={}, requested={}",
+                    line.productId(), available, line.quantity());
+                throw InsufficientStockException.of(line.productId(), sourceBranchId, line.quantity(), available);
+            }
+        }
+
+        List<StockMovement> movements = new ArrayList<>(lines.size() * 2);
+        for (TransferLineRequest line : lines) {
+            sourceStocks.get(line.productId()).subtractQuantity(line.quantity());
+
+            BranchProductStock destination = destinationStocks.get(line.productId());
+            if (destination != null) {
+                destination.addQuantity(line.quantity());
+            } else {
+                stockRepository.save(new BranchProductStock(
+                    tenantId, destinationBranchId, line.productId(), line.quantity()));
+            }
+
+            movements.add(new StockMovement(tenantId, sourceBranchId, line.productId(), MovementType.OUT,
+                MovementReason.TRANSFER_OUT, line.quantity(), note, userId));
+            movements.add(new StockMovement(tenantId, destinationBranchId, line.productId(), MovementType.IN,
+                MovementReason.TRANSFER_IN, line.quantity(), note, userId));
+        }
+
+        stockLedgerRepository.insertMovements(movements);
+        dashboardMovementRecorder.record(movements);
+        stockRepository.flush();
+
+        List<TransferLineResult> results = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            TransferLineRequest line = lines.get(i);
+            results.add(new TransferLineResult(line.productId(), line.quantity(),
+                movements.get(2 * i).getId(), movements.get(2 * i + 1).getId()));
+        }
+
+        logger.debug("Transferred {} lines from branch {} to branch {}",
+            lines.size(), sourceBranchId, destinationBranchId);
+
+        return results;
+    }
+
+    private void validateBranches(Long tenantId, Long sourceBranchId, Long destinationBranchId) {
+        Map<Long, Boolean> branches = stockLedgerRepository.findBranchActiveStates(
+            tenantId, List.of(sourceBranchId, destinationBranchId));
+
+        for (Long branchId : List.of(sourceBranchId, destinationBranchId)) {
+            Boolean active = branches.get(branchId);
+            if (active == null) {
+                throw new NotFoundException("BRANCH_NOT_FOUND", "Branch not found with ID: " + branchId);
+            }
+            if (!active) {
+                throw new ValidationException("BRANCH_ACTIVE_REQUIRED", "Branch must be active for this operation");
+            }
+        }
+    }
+
+    private void validateProducts(Long tenantId, Set<Long> productIds) {
+        Map<Long, Boolean> products = stockLedgerRepository.findProductActiveStates(tenantId, productIds);
+
+        for (Long productId : productIds) {
+            Boolean active = products.get(productId);
+            if (active == null) {
+                throw new NotFoundException("PRODUCT_NOT_FOUND", "Product not found with ID: " + productId);
+            }
+            if (!active) {
+                throw new ValidationException("PRODUCT_ACTIVE_REQUIRED", "Product must be active for this operation");
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.stockflow.modules.inventory.application.service;
+
+/**
+ * Strategy used to apply stock deltas when a single movement is created.
+ * Transfers and movement batches use {@link StockTransferEngine} and
+ * {@link StockMovementBatchEngine} regardless of the mode.
+ *
+ * <p>Selected through the {@code app.inventory.write-mode} property.</p>
+ */
+public enum StockWriteMode {
+
+    /**
+     * Read-modify-write through JPA, guarded by the {@code version} column.
+     * Concurrent writers on the same stock row fail with a concurrent modification error.
+     */
+    OPTIMISTIC,
+
+    /**
+     * Conditional in-database delta ({@code quantity = quantity - ? WHERE quantity >= ?}).
+     * Concurrent writers serialize on the row lock instead of failing, and the
+     * affected-row count decides whether stock was sufficient.
+     */
+    ATOMIC,
+
+    /**
+     * Atomic deltas applied by {@link MovementSequencer} lanes: one writer per stock
+     * key, with queued movements group-committed in a single transaction.
+     * Transfers always run inline through {@link StockTransferEngine}.
+     */
+    SEQUENCED
+}
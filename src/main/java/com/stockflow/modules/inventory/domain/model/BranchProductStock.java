@@ -1,6 +1,6 @@
 package com.stockflow.modules.inventory.domain.model;
 
-import com.stockflow.shared.domain.model.BaseEntity;
+import com.stockflow.shared.domain.model.TimeSortedEntity;
 import jakarta.persistence.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
@@ -34,7 +34,7 @@ import java.util.Objects;
     }
 )
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
-public class BranchProductStock extends BaseEntity {
+public class BranchProductStock extends TimeSortedEntity {
 
     /**
      * The branch ID where this stock is located.
@@ -0,0 +1,10 @@
+package com.stockflow.modules.inventory.domain.model;
+
+/**
+ * Stored outcome of a request executed under an {@code Idempotency-Key}.
+ *
+ * @param fingerprint hash of the original request payload, used to detect key reuse
+ * @param body        the serialized response returned to the original caller
+ */
+public record IdempotencyRecord(String fingerprint, String body) {
+}
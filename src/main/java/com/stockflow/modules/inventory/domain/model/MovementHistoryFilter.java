@@ -0,0 +1,62 @@
+package com.stockflow.modules.inventory.domain.model;
+
+import com.stockflow.shared.domain.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Filters of a movement history query.
+ *
+ * <p>Empty sets and null bounds do not filter. Values of a set are alternatives
+ * ({@code IN}); different filters are combined ({@code AND}). The time range is
+ * half-open: {@code from <= createdAt < to}.</p>
+ *
+ * @param productIds product IDs to include
+ * @param types      movement types to include
+ * @param reasons    movement reasons to include
+ * @param from       first creation timestamp included, or null
+ * @param to         creation timestamp excluded onwards, or null
+ * @throws ValidationException if {@code from} is not before {@code to}
+ */
+public record MovementHistoryFilter(
+    Set<Long> productIds,
+    Set<MovementType> types,
+    Set<MovementReason> reasons,
+    LocalDateTime from,
+    LocalDateTime to
+) {
+
+    public MovementHistoryFilter {
+        productIds = productIds == null ? Set.of() : Set.copyOf(productIds);
+        types = types == null ? Set.of() : Set.copyOf(types);
+        reasons = reasons == null ? Set.of() : Set.copyOf(reasons);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ValidationException("INVALID_DATE_RANGE", "The start of the range must be before its end");
+        }
+    }
+
+    /**
+     * Creates a filter from request parameters, any of which may be null.
+     */
+    public static MovementHistoryFilter of(Collection<Long> productIds,
+                                           Collection<MovementType> types,
+                                           Collection<MovementReason> reasons,
+                                           LocalDateTime from,
+                                           LocalDateTime to) {
+        return new MovementHistoryFilter(
+            productIds == null ? null : Set.copyOf(productIds),
+            types == null ? null : Set.copyOf(types),
+            reasons == null ? null : Set.copyOf(reasons),
+            from,
+            to);
+    }
+
+    /**
+     * Returns a filter that matches every movement.
+     */
+    public static MovementHistoryFilter none() {
+        return new MovementHistoryFilter(null, null, null, null, null);
+    }
+}
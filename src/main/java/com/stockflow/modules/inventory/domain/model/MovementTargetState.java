@@ -0,0 +1,21 @@
+package com.stockflow.modules.inventory.domain.model;
+
+/**
+ * Existence and activity flags of the branch and product targeted by a movement,
+ * resolved together in a single query.
+ *
+ * <p>A {@code null} flag means the entity does not exist for the tenant.</p>
+ *
+ * @param branchActive  whether the branch is active, or null if not found
+ * @param productActive whether the product is active, or null if not found
+ */
+public record MovementTargetState(Boolean branchActive, Boolean productActive) {
+
+    public boolean branchFound() {
+        return branchActive != null;
+    }
+
+    public boolean productFound() {
+        return productActive != null;
+    }
+}
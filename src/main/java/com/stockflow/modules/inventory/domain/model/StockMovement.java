@@ -1,6 +1,6 @@
 package com.stockflow.modules.inventory.domain.model;
 
-import com.stockflow.shared.domain.model.BaseEntity;
+import com.stockflow.shared.domain.model.TimeSortedEntity;
 import jakarta.persistence.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
@@ -41,7 +41,7 @@ import java.util.Objects;
 @Table(name = "stock_movements")
 @Immutable
 @Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
-public class StockMovement extends BaseEntity {
+public class StockMovement extends TimeSortedEntity {
 
     /**
      * The branch ID where the movement occurred.
@@ -0,0 +1,14 @@
+package com.stockflow.modules.inventory.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * Closing balance of a product in a branch at the end of a day on which it moved.
+ *
+ * @param branchId  the branch ID
+ * @param productId the product ID
+ * @param day       the day closed by the balance
+ * @param quantity  the balance at the end of the day
+ */
+public record StockSnapshot(Long branchId, Long productId, LocalDate day, long quantity) {
+}
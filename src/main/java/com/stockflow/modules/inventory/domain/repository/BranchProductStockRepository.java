@@ -1,13 +1,17 @@
 package com.stockflow.modules.inventory.domain.repository;
 
 import com.stockflow.modules.inventory.domain.model.BranchProductStock;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -115,4 +119,24 @@ public interface BranchProductStockRepository extends JpaRepository<BranchProduc
      */
     @Query("SELECT COUNT(s) FROM BranchProductStock s WHERE s.branchId = :branchId AND s.tenantId = :tenantId")
     long countByTenantIdAndBranchId(@Param("branchId") Long branchId, @Param("tenantId") Long tenantId);
+
+    /**
+     * Locks the stock entries of the given products in the given branches.
+     *
+     * <p>Rows are returned and locked ({@code SELECT ... FOR UPDATE}) in
+     * (branch, product) order, following the unique key. Every multi-row writer
+     * takes its locks in the same order, so two transfers in opposite directions
+     * cannot deadlock on each other.</p>
+     *
+     * @param tenantId   the tenant ID
+     * @param branchIds  the branch IDs
+     * @param productIds the product IDs
+     * @return existing stock entries, ordered by branch and product
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BranchProductStock s WHERE s.tenantId = :tenantId AND s.branchId IN :branchIds " +
+           "AND s.productId IN :productIds ORDER BY s.branchId, s.productId")
+    List<BranchProductStock> findAllForUpdate(@Param("tenantId") Long tenantId,
+                                              @Param("branchIds") Collection<Long> branchIds,
+                                              @Param("productIds") Collection<Long> productIds);
 }
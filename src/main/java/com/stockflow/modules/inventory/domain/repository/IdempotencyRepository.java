@@ -0,0 +1,47 @@
+package com.stockflow.modules.inventory.domain.repository;
+
+import com.stockflow.modules.inventory.domain.model.IdempotencyRecord;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Store of completed idempotent requests, keyed by tenant-scoped idempotency key.
+ *
+ * <p>Records expire after a configured TTL. Implementations must tolerate the
+ * loss of a record: the worst case is that a late retry executes again.</p>
+ */
+public interface IdempotencyRepository {
+
+    /**
+     * Finds the stored outcome of a key.
+     *
+     * @param key the scoped idempotency key
+     * @return the record, or empty if the key is unknown or expired
+     */
+    Optional<IdempotencyRecord> find(String key);
+
+    /**
+     * Claims a key for execution across instances.
+     *
+     * @param key   the scoped idempotency key
+     * @param lease how long the claim holds if it is never released
+     * @return true if the caller may execute the request, false if another instance holds the key
+     */
+    boolean reserve(String key, Duration lease);
+
+    /**
+     * Stores the outcome of a key and releases its claim.
+     *
+     * @param key    the scoped idempotency key
+     * @param record the outcome to replay for duplicates
+     */
+    void save(String key, IdempotencyRecord record);
+
+    /**
+     * Releases the claim on a key without storing an outcome, so that a retry can execute.
+     *
+     * @param key the scoped idempotency key
+     */
+    void release(String key);
+}
@@ -0,0 +1,60 @@
+package com.stockflow.modules.inventory.domain.repository;
+
+import com.stockflow.modules.inventory.domain.model.MovementHistoryFilter;
+import com.stockflow.shared.infrastructure.export.RowWriter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Streams inventory tables row by row for exports.
+ *
+ * <p>Rows are read through a forward-only cursor and handed to the writer as they
+ * arrive; nothing is collected, so memory does not grow with the size of the export.
+ * A slow client slows the read down: the writer blocks on the response, which stops
+ * the cursor from fetching.</p>
+ *
+ * <p>Must not run inside a transaction that also writes: on MySQL the connection is
+ * busy until the last row was read.</p>
+ */
+public interface InventoryExportRepository {
+
+    /**
+     * Columns of the movement export, in {@link RowWriter} order.
+     */
+    List<String> MOVEMENT_COLUMNS = List.of("id", "branchId", "productId", "type", "reason", "quantity",
+        "note", "createdByUserId", "createdAt");
+
+    /**
+     * Columns of the stock export, in {@link RowWriter} order.
+     */
+    List<String> STOCK_COLUMNS = List.of("branchId", "productId", "sku", "productName", "quantity", "updatedAt");
+
+    /**
+     * Streams movements ordered by branch, creation time and ID.
+     *
+     * @param tenantId the tenant ID
+     * @param branchId the branch ID, or null for every branch
+     * @param filter   the filters
+     * @param writer   receives the rows
+     * @return number of rows written
+     * @throws IOException if the writer fails
+     */
+    long streamMovements(Long tenantId, Long branchId, MovementHistoryFilter filter, RowWriter writer)
+        throws IOException;
+
+    /**
+     * Streams stock balances ordered by branch and product.
+     *
+     * @param tenantId    the tenant ID
+     * @param branchId    the branch ID, or null for every branch
+     * @param updatedFrom first update timestamp included, or null
+     * @param updatedTo   update timestamp excluded onwards, or null
+     * @param writer      receives the rows
+     * @return number of rows written
+     * @throws IOException if the writer fails
+     */
+    long streamStock(Long tenantId, Long branchId, LocalDateTime updatedFrom, LocalDateTime updatedTo,
+                     RowWriter writer) throws IOException;
+}
@@ -0,0 +1,78 @@
+package com.stockflow.modules.inventory.domain.repository;
+
+import com.stockflow.modules.inventory.domain.model.MovementHistoryFilter;
+import com.stockflow.modules.inventory.domain.model.StockMovement;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read side of the movement history of a branch, newest first.
+ *
+ * <p>Queries contain only the predicates of the filters actually set, so the database
+ * can pick the composite index matching them ({@code idx_movements_tenant_branch_*}).
+ * The page is first resolved to movement IDs on the index alone, then only the rows of
+ * the page are loaded.</p>
+ *
+ * <p>Results are always ordered by {@code createdAt DESC, id DESC}; the sort of
+ * {@code pageable} is ignored.</p>
+ */
+public interface MovementHistoryRepository {
+
+    /**
+     * Finds a numbered page of movements, with the total count.
+     *
+     * @param tenantId the tenant ID
+     * @param branchId the branch ID
+     * @param filter   the filters
+     * @param pageable page number and size
+     * @return page of movements
+     */
+    Page<StockMovement> findPage(Long tenantId, Long branchId, MovementHistoryFilter filter, Pageable pageable);
+
+    /**
+     * Finds a numbered page of movements, without counting them.
+     *
+     * @param tenantId the tenant ID
+     * @param branchId the branch ID
+     * @param filter   the filters
+     * @param pageable page number and size
+     * @return slice of movements
+     */
+    Slice<StockMovement> findSlice(Long tenantId, Long branchId, MovementHistoryFilter filter, Pageable pageable);
+
+    /**
+     * Finds the movements created before a cursor (keyset pagination).
+     *
+     * @param tenantId  the tenant ID
+     * @param branchId  the branch ID
+     * @param filter    the filters
+     * @param createdAt creation timestamp of the last movement read
+     * @param id        ID of the last movement read
+     * @param pageSize  page size
+     * @return slice of movements following the cursor
+     */
+    Slice<StockMovement> findSliceAfter(Long tenantId, Long branchId, MovementHistoryFilter filter,
+                                        LocalDateTime createdAt, Long id, int pageSize);
+
+    /**
+     * Finds archived movements, optionally after a cursor.
+     *
+     * <p>Months past the retention horizon are moved out of {@code stock_movements} by
+     * {@code MovementPartitionMaintenance}; this reads them from the compressed archive,
+     * which is slower and only indexed on {@code (tenant_id, branch_id, created_at, id)}
+     * and {@code (tenant_id, branch_id, product_id, created_at, id)}.</p>
+     *
+     * @param tenantId  the tenant ID
+     * @param branchId  the branch ID
+     * @param filter    the filters
+     * @param createdAt creation timestamp of the last movement read, or null for the first page
+     * @param id        ID of the last movement read, or null for the first page
+     * @param pageSize  page size
+     * @return slice of archived movements
+     */
+    Slice<StockMovement> findArchivedSliceAfter(Long tenantId, Long branchId, MovementHistoryFilter filter,
+                                                LocalDateTime createdAt, Long id, int pageSize);
+}
@@ -0,0 +1,49 @@
+package com.stockflow.modules.inventory.domain.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Monthly partitions of {@code stock_movements} and their archive.
+ *
+ * <p>Each partition holds the movements created in one month; a catch-all partition
+ * after the last month receives anything newer. Archiving a month copies its rows to
+ * {@code stock_movements_archive} and then drops the partition, which is instant
+ * compared with deleting the rows.</p>
+ */
+public interface MovementPartitionRepository {
+
+    /**
+     * Checks whether {@code stock_movements} is partitioned (MySQL only).
+     *
+     * @return true if partitions can be managed
+     */
+    boolean isPartitioned();
+
+    /**
+     * Finds the months that have their own partition.
+     *
+     * @return first days of the months, ascending
+     */
+    List<LocalDate> findPartitionMonths();
+
+    /**
+     * Adds partitions for months after the last partitioned one, splitting them off
+     * the catch-all partition.
+     *
+     * @param months first days of the months, ascending, all after the last partition
+     */
+    void addMonths(List<LocalDate> months);
+
+    /**
+     * Moves a month to the archive and drops its partition.
+     *
+     * <p>Safe to retry: rows already archived are skipped, and the partition is only
+     * dropped once every row of it is found in the archive.</p>
+     *
+     * @param month first day of the month
+     * @return number of movements the month held
+     * @throws IllegalStateException if rows are missing from the archive after the copy
+     */
+    long archiveMonth(LocalDate month);
+}
@@ -0,0 +1,118 @@
+package com.stockflow.modules.inventory.domain.repository;
+
+import com.stockflow.modules.inventory.domain.model.MovementTargetState;
+import com.stockflow.modules.inventory.domain.model.StockMovement;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository for set-based stock writes that bypass the JPA read-modify-write cycle.
+ *
+ * <p>Quantities are changed with relative updates evaluated by the database, so
+ * concurrent writers on the same stock row queue on the row lock instead of
+ * failing with an optimistic locking conflict. Every update also bumps the
+ * {@code version} column, keeping JPA writers on the same rows consistent.</p>
+ *
+ * <p>All methods must run inside an existing transaction.</p>
+ */
+public interface StockLedgerRepository {
+
+    /**
+     * Resolves the branch and product of a movement in one round trip.
+     *
+     * @param tenantId  the tenant ID
+     * @param branchId  the branch ID
+     * @param productId the product ID
+     * @return the activity flags of both entities
+     */
+    MovementTargetState findMovementTargetState(Long tenantId, Long branchId, Long productId);
+
+    /**
+     * Adds quantity to a stock row, creating the row when it does not exist yet.
+     *
+     * @param tenantId  the tenant ID
+     * @param branchId  the branch ID
+     * @param productId the product ID
+     * @param quantity  the quantity to add (positive)
+     */
+    void increaseQuantity(Long tenantId, Long branchId, Long productId, int quantity);
+
+    /**
+     * Subtracts quantity from a stock row only if enough stock is available.
+     *
+     * @param tenantId  the tenant ID
+     * @param branchId  the branch ID
+     * @param productId the product ID
+     * @param quantity  the quantity to subtract (positive)
+     * @return true if the row was updated, false if stock was insufficient or missing
+     */
+    boolean decreaseQuantity(Long tenantId, Long branchId, Long productId, int quantity);
+
+    /**
+     * Reads the current quantity of a stock row.
+     *
+     * @param tenantId  the tenant ID
+     * @param branchId  the branch ID
+     * @param productId the product ID
+     * @return the quantity, or 0 if the row does not exist
+     */
+    int findQuantity(Long tenantId, Long branchId, Long productId);
+
+    /**
+     * Inserts a movement row, assigning its time-sorted ID and audit timestamps.
+     *
+     * @param movement the movement to insert
+     * @return the same movement instance with ID and timestamps set
+     */
+    StockMovement insertMovement(StockMovement movement);
+
+    /**
+     * Resolves the activity flag of several branches in one query.
+     *
+     * @param tenantId  the tenant ID
+     * @param branchIds the branch IDs
+     * @return active flag per branch ID; branches not found for the tenant are absent
+     */
+    Map<Long, Boolean> findBranchActiveStates(Long tenantId, Collection<Long> branchIds);
+
+    /**
+     * Resolves the activity flag of several products in one query.
+     *
+     * @param tenantId   the tenant ID
+     * @param productIds the product IDs
+     * @return active flag per product ID; products not found for the tenant are absent
+     */
+    Map<Long, Boolean> findProductActiveStates(Long tenantId, Collection<Long> productIds);
+
+    /**
+     * Inserts movement rows in a single JDBC batch, assigning their time-sorted
+     * IDs and audit timestamps.
+     *
+     * @param movements the movements to insert
+     * @return the same movement instances, in order
+     */
+    List<StockMovement> insertMovements(List<StockMovement> movements);
+
+    /**
+     * Locks the stock rows of one branch for the given products, in product order,
+     * and returns their current quantities.
+     *
+     * @param tenantId   the tenant ID
+     * @param branchId   the branch ID
+     * @param productIds the product IDs
+     * @return quantity per product ID; products without a stock row are absent
+     */
+    Map<Long, Integer> lockQuantities(Long tenantId, Long branchId, Collection<Long> productIds);
+
+    /**
+     * Applies net quantity deltas to existing stock rows of one branch in a single JDBC batch.
+     * Callers must have checked that no resulting quantity is negative.
+     *
+     * @param tenantId the tenant ID
+     * @param branchId the branch ID
+     * @param deltas   signed delta per product ID; every row must exist
+     */
+    void addQuantities(Long tenantId, Long branchId, Map<Long, Integer> deltas);
+}
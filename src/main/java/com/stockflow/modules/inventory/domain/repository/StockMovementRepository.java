@@ -1,7 +1,5 @@
 package com.stockflow.modules.inventory.domain.repository;
 
-import com.stockflow.modules.inventory.domain.model.MovementReason;
-import com.stockflow.modules.inventory.domain.model.MovementType;
 import com.stockflow.modules.inventory.domain.model.StockMovement;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,6 +8,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repository interface for StockMovement entity.
  *
@@ -18,6 +20,11 @@ import org.springframework.stereotype.Repository;
  *
  * <p>Stock movements are immutable records that provide a complete audit trail
  * of all stock changes in the system.</p>
+ *
+ * <p>On MySQL the table is partitioned by month of {@code created_at}. Queries bounded
+ * on {@code createdAt} only read the partitions of that range; lookups by ID alone
+ * probe every partition, so prefer {@link #findAllByIdCreatedBetween} when the
+ * creation timestamps are known.</p>
  */
 @Repository
 public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
@@ -45,29 +52,6 @@ public interface StockMovementRepository extends JpaRepository<StockMovement, Lo
                                                    @Param("tenantId") Long tenantId,
                                                    Pageable pageable);
 
-    /**
-     * Finds stock movements for a branch with optional filters.
-     *
-     * @param branchId the branch ID
-     * @param tenantId the tenant ID
-     * @param productId optional product ID filter
-     * @param type optional movement type filter
-     * @param reason optional movement reason filter
-     * @param pageable pagination parameters
-     * @return page of stock movements
-     */
-    @Query("SELECT m FROM StockMovement m WHERE m.branchId = :branchId AND m.tenantId = :tenantId " +
-           "AND (:productId IS NULL OR m.productId = :productId) " +
-           "AND (:type IS NULL OR m.type = :type) " +
-           "AND (:reason IS NULL OR m.reason = :reason) " +
-           "ORDER BY m.createdAt DESC")
-    Page<StockMovement> findByBranchWithFilters(@Param("branchId") Long branchId,
-                                                @Param("tenantId") Long tenantId,
-                                                @Param("productId") Long productId,
-                                                @Param("type") MovementType type,
-                                                @Param("reason") MovementReason reason,
-                                                Pageable pageable);
-
     /**
      * Finds all stock movements for a specific product within a tenant with pagination.
      *
@@ -138,4 +122,17 @@ public interface StockMovementRepository extends JpaRepository<StockMovement, Lo
      */
     @Query("SELECT COUNT(m) FROM StockMovement m WHERE m.tenantId = :tenantId")
     long countByTenantId(@Param("tenantId") Long tenantId);
+
+    /**
+     * Finds movements by ID within a creation range, reading only its partitions.
+     *
+     * @param ids  the movement IDs
+     * @param from creation timestamp of the oldest movement, inclusive
+     * @param to   creation timestamp of the newest movement, inclusive
+     * @return the movements found, in no particular order
+     */
+    @Query("SELECT m FROM StockMovement m WHERE m.id IN :ids AND m.createdAt BETWEEN :from AND :to")
+    List<StockMovement> findAllByIdCreatedBetween(@Param("ids") Collection<Long> ids,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
 }
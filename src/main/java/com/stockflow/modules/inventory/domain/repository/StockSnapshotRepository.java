@@ -0,0 +1,112 @@
+package com.stockflow.modules.inventory.domain.repository;
+
+import com.stockflow.modules.inventory.domain.model.StockSnapshot;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Daily closing stock balances per (tenant, branch, product), and the replay of the
+ * movements they do not cover yet.
+ *
+ * <p>Snapshots are sparse: a day has a row for a product only if the product moved
+ * in the branch that day, and a day without a row keeps the latest earlier balance.
+ * The balance at any instant is therefore the latest snapshot up to the snapshot
+ * horizon (the last day snapshotted for the tenant) plus the movements after it.</p>
+ *
+ * <p>Movements are read from {@code stock_movements} and {@code stock_movements_archive},
+ * so archived months still count.</p>
+ */
+public interface StockSnapshotRepository {
+
+    /**
+     * Replaces the snapshots of a tenant and day with the balances of the day before
+     * plus the movements of the day.
+     *
+     * <p>Snapshots of earlier days must be complete.</p>
+     *
+     * @param tenantId the tenant ID
+     * @param day      the closed day
+     * @return number of snapshot rows written
+     */
+    int snapshotDay(Long tenantId, LocalDate day);
+
+    /**
+     * Finds the day of the oldest movement of a tenant, archived or not.
+     *
+     * @param tenantId the tenant ID
+     * @return the day, or empty if the tenant has no movements
+     */
+    Optional<LocalDate> findFirstMovementDay(Long tenantId);
+
+    /**
+     * Finds the snapshot horizon of a tenant.
+     *
+     * @param tenantId the tenant ID
+     * @return the last day snapshotted, or empty if the tenant was never snapshotted
+     */
+    Optional<LocalDate> findSnapshottedThrough(Long tenantId);
+
+    /**
+     * Records the snapshot horizon of a tenant.
+     *
+     * @param tenantId the tenant ID
+     * @param day      the last day snapshotted
+     */
+    void saveSnapshottedThrough(Long tenantId, LocalDate day);
+
+    /**
+     * Finds the latest snapshot of a product in a branch up to a day.
+     *
+     * @param tenantId  the tenant ID
+     * @param branchId  the branch ID
+     * @param productId the product ID
+     * @param day       last day considered, inclusive
+     * @return the snapshot, or empty if the product never moved in the branch until then
+     */
+    Optional<StockSnapshot> findLatest(Long tenantId, Long branchId, Long productId, LocalDate day);
+
+    /**
+     * Finds the closing balances of every product of a branch at the end of a day.
+     *
+     * @param tenantId the tenant ID
+     * @param branchId the branch ID
+     * @param day      the day
+     * @return balances by product ID; products that never moved are absent
+     */
+    Map<Long, Long> findBalances(Long tenantId, Long branchId, LocalDate day);
+
+    /**
+     * Sums the signed movements of a product in a branch over a time range.
+     *
+     * @param tenantId  the tenant ID
+     * @param branchId  the branch ID
+     * @param productId the product ID
+     * @param from      start of the range, inclusive, or null for the beginning
+     * @param to        end of the range, exclusive
+     * @return net quantity and number of movements
+     */
+    Replay replay(Long tenantId, Long branchId, Long productId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Sums the signed movements of a branch per product over a time range.
+     *
+     * @param tenantId the tenant ID
+     * @param branchId the branch ID
+     * @param from     start of the range, inclusive, or null for the beginning
+     * @param to       end of the range, exclusive
+     * @return net quantity by product ID, for the products that moved
+     */
+    Map<Long, Long> replayByProduct(Long tenantId, Long branchId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Net effect of replayed movements.
+     *
+     * @param quantity  net quantity (increases minus decreases)
+     * @param movements number of movements replayed
+     */
+    record Replay(long quantity, long movements) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.stockflow.modules.inventory.infrastructure.persistence;
+
+import com.stockflow.modules.inventory.domain.model.MovementHistoryFilter;
+import com.stockflow.modules.inventory.domain.repository.InventoryExportRepository;
+import com.stockflow.shared.infrastructure.export.RowWriter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JDBC implementation of InventoryExportRepository.
+ *
+ * <p>Queries run on a dedicated {@link JdbcTemplate} whose statements are forward-only
+ * and read-only (JdbcTemplate's defaults) with a streaming fetch size:</p>
+ * <ul>
+ *   <li><strong>MySQL:</strong> {@code Integer.MIN_VALUE}, which makes Connector/J
+ *       stream rows one by one instead of buffering the whole result set. Connector/J
+ *       raises {@code net_write_timeout} to {@code netTimeoutForStreamingResults}
+ *       (600 s by default) for the duration of the read.</li>
+ *   <li><strong>Other databases:</strong> {@code app.inventory.export.fetch-size}
+ *       (default 1000) rows per round trip.</li>
+ * </ul>
+ */
+@Repository
+public class InventoryExportRepositoryImpl implements InventoryExportRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryExportRepositoryImpl.class);
+
+    private static final String SELECT_MOVEMENTS = """
+            SELECT id, branch_id, product_id, type, reason, quantity, note, created_by_user_id, created_at
+            FROM stock_movements""";
+
+    private static final String ORDER_MOVEMENTS = " ORDER BY branch_id, created_at, id";
+
+    private static final String SELECT_STOCK = """
+            SELECT s.branch_id, s.product_id, p.sku, p.name, s.quantity, s.updated_at
+            FROM branch_product_stock s
+            JOIN products p ON p.id = s.product_id AND p.tenant_id = s.tenant_id
+            WHERE s.tenant_id = :tenantId""";
+
+    private static final String ORDER_STOCK = " ORDER BY s.branch_id, s.product_id";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Value("${app.inventory.export.fetch-size:1000}")
+    private int fetchSize = 1000;
+
+    public InventoryExportRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(streamingJdbcTemplate);
+    }
+
+    @PostConstruct
+    void configureFetchSize() {
+        streamingJdbcTemplate.setFetchSize(isMySql() ? Integer.MIN_VALUE : fetchSize);
+        log.debug("Inventory exports use fetch size {}", streamingJdbcTemplate.getFetchSize());
+    }
+
+    @Override
+    public long streamMovements(Long tenantId, Long branchId, MovementHistoryFilter filter, RowWriter writer)
+            throws IOException {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder(SELECT_MOVEMENTS);
+        MovementHistoryRepositoryImpl.appendWhere(sql, params, tenantId, branchId, filter);
+        sql.append(ORDER_MOVEMENTS);
+
+        return stream(sql.toString(), params, writer, rs -> writer.write(
+            rs.getLong("id"),
+            rs.getLong("branch_id"),
+            rs.getLong("product_id"),
+            rs.getString("type"),
+            rs.getString("reason"),
+            rs.getInt("quantity"),
+            rs.getString("note"),
+            rs.getObject("created_by_user_id", Long.class),
+            toLocalDateTime(rs.getTimestamp("created_at"))));
+    }
+
+    @Override
+    public long streamStock(Long tenantId, Long branchId, LocalDateTime updatedFrom, LocalDateTime updatedTo,
+                            RowWriter writer) throws IOException {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder(SELECT_STOCK);
+        params.put("tenantId", tenantId);
+        if (branchId != null) {
+            sql.append(" AND s.branch_id = :branchId");
+            params.put("branchId", branchId);
+        }
+        if (updatedFrom != null) {
+            sql.append(" AND s.updated_at >= :updatedFrom");
+            params.put("updatedFrom", Timestamp.valueOf(updatedFrom));
+        }
+        if (updatedTo != null) {
+            sql.append(" AND s.updated_at < :updatedTo");
+            params.put("updatedTo", Timestamp.valueOf(updatedTo));
+        }
+        sql.append(ORDER_STOCK);
+
+        return stream(sql.toString(), params, writer, rs -> writer.write(
+            rs.getLong("branch_id"),
+            rs.getLong("product_id"),
+            rs.getString("sku"),
+            rs.getString("name"),
+            rs.getInt("quantity"),
+            toLocalDateTime(rs.getTimestamp("updated_at"))));
+    }
+
+    private long stream(String sql, Map<String, Object> params, RowWriter writer, RowExporter exporter)
+            throws IOException {
+        long[] rows = {0};
+        try {
+            namedJdbcTemplate.query(sql, params, (RowCallbackHandler) rs -> {
+                try {
+                    exporter.export(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        return rows[0];
+    }
+
+    private boolean isMySql() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(streamingJdbcTemplate.getDataSource(),
+                DatabaseMetaData::getDatabaseProductName);
+            return "MySQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not detect the database for export streaming: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * Writes the current row of a result set.
+     */
+    @FunctionalInterface
+    private interface RowExporter {
+        void export(ResultSet rs) throws SQLException, IOException;
+    }
+}
@@ -0,0 +1,234 @@
+package com.stockflow.modules.inventory.infrastructure.persistence;
+
+import com.stockflow.modules.inventory.domain.model.MovementHistoryFilter;
+import com.stockflow.modules.inventory.domain.model.StockMovement;
+import com.stockflow.modules.inventory.domain.repository.MovementHistoryRepository;
+import com.stockflow.modules.inventory.domain.repository.StockMovementRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Native SQL implementation of MovementHistoryRepository.
+ *
+ * <p>The WHERE clause is assembled from the filters that are set instead of
+ * {@code (:x IS NULL OR ...)} predicates, which the optimizer has to plan for every
+ * value and therefore cannot match to an index. Each page is read in two steps:</p>
+ * <ol>
+ *   <li>{@code SELECT id, created_at} with the filters, ordered and limited. When the
+ *       filters set are a time range plus either products or types/reasons, it is
+ *       answered from the matching composite index without touching the rows.</li>
+ *   <li>The movements of the page are loaded by ID through JPA, bounded by the
+ *       creation timestamps of the page so only the partitions holding it are read.</li>
+ * </ol>
+ *
+ * <p>Archived months ({@code stock_movements_archive}) are read by
+ * {@link #findArchivedSliceAfter} in one step: the archive keeps fewer indexes and is
+ * compressed, so it is only queried on request.</p>
+ *
+ * <p>Queries run through the persistence context, synchronized on {@link StockMovement},
+ * so movements written earlier in the same transaction are flushed before they are read.</p>
+ */
+@Repository
+public class MovementHistoryRepositoryImpl implements MovementHistoryRepository {
+
+    private static final String ORDER = " ORDER BY created_at DESC, id DESC";
+
+    private static final String ARCHIVE_TABLE = "stock_movements_archive";
+
+    private final EntityManager entityManager;
+    private final StockMovementRepository movementRepository;
+
+    public MovementHistoryRepositoryImpl(EntityManager entityManager, StockMovementRepository movementRepository) {
+        this.entityManager = entityManager;
+        this.movementRepository = movementRepository;
+    }
+
+    @Override
+    public Page<StockMovement> findPage(Long tenantId, Long branchId, MovementHistoryFilter filter, Pageable pageable) {
+        Query ids = idQuery(tenantId, branchId, filter, null, null, pageable.getOffset(), pageable.getPageSize());
+        List<StockMovement> content = load(queryForKeys(ids));
+
+        Query count = countQuery(tenantId, branchId, filter);
+        long total = ((Number) nativeQuery(count).getSingleResult()).longValue();
+        return new PageImpl<>(content, unsorted(pageable), total);
+    }
+
+    @Override
+    public Slice<StockMovement> findSlice(Long tenantId, Long branchId, MovementHistoryFilter filter, Pageable pageable) {
+        Query ids = idQuery(tenantId, branchId, filter, null, null, pageable.getOffset(), pageable.getPageSize() + 1);
+        return slice(queryForKeys(ids), unsorted(pageable));
+    }
+
+    @Override
+    public Slice<StockMovement> findSliceAfter(Long tenantId, Long branchId, MovementHistoryFilter filter,
+                                               LocalDateTime createdAt, Long id, int pageSize) {
+        Query ids = idQuery(tenantId, branchId, filter, createdAt, id, 0, pageSize + 1);
+        return slice(queryForKeys(ids), PageRequest.of(0, pageSize));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Slice<StockMovement> findArchivedSliceAfter(Long tenantId, Long branchId, MovementHistoryFilter filter,
+                                                       LocalDateTime createdAt, Long id, int pageSize) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT * FROM ").append(ARCHIVE_TABLE);
+        appendWhere(sql, params, tenantId, branchId, filter);
+        appendCursor(sql, params, createdAt, id);
+        sql.append(ORDER).append(" LIMIT :limit");
+        params.put("limit", pageSize + 1);
+
+        jakarta.persistence.Query query = entityManager.createNativeQuery(sql.toString(), StockMovement.class);
+        params.forEach(query::setParameter);
+        List<StockMovement> rows = query.getResultList();
+
+        boolean hasNext = rows.size() > pageSize;
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageSize) : rows, PageRequest.of(0, pageSize), hasNext);
+    }
+
+    /**
+     * Builds the ID query of a page; package-private so its plan can be verified.
+     */
+    Query idQuery(Long tenantId, Long branchId, MovementHistoryFilter filter,
+                  LocalDateTime afterCreatedAt, Long afterId, long offset, int limit) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT id, created_at FROM stock_movements");
+        appendWhere(sql, params, tenantId, branchId, filter);
+        appendCursor(sql, params, afterCreatedAt, afterId);
+        sql.append(ORDER).append(" LIMIT :limit OFFSET :offset");
+        params.put("limit", limit);
+        params.put("offset", offset);
+        return new Query(sql.toString(), params);
+    }
+
+    private Query countQuery(Long tenantId, Long branchId, MovementHistoryFilter filter) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM stock_movements");
+        appendWhere(sql, params, tenantId, branchId, filter);
+        return new Query(sql.toString(), params);
+    }
+
+    /**
+     * Appends the WHERE clause of the active filters; also used by the streaming export.
+     *
+     * @param branchId the branch ID, or null for every branch of the tenant
+     */
+    static void appendWhere(StringBuilder sql, Map<String, Object> params,
+                            Long tenantId, Long branchId, MovementHistoryFilter filter) {
+        sql.append(" WHERE tenant_id = :tenantId");
+        params.put("tenantId", tenantId);
+        if (branchId != null) {
+            sql.append(" AND branch_id = :branchId");
+            params.put("branchId", branchId);
+        }
+
+        if (!filter.productIds().isEmpty()) {
+            sql.append(" AND product_id IN (:productIds)");
+            params.put("productIds", filter.productIds());
+        }
+        if (!filter.types().isEmpty()) {
+            sql.append(" AND type IN (:types)");
+            params.put("types", filter.types().stream().map(Enum::name).toList());
+        }
+        if (!filter.reasons().isEmpty()) {
+            sql.append(" AND reason IN (:reasons)");
+            params.put("reasons", filter.reasons().stream().map(Enum::name).toList());
+        }
+        if (filter.from() != null) {
+            sql.append(" AND created_at >= :from");
+            params.put("from", Timestamp.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append(" AND created_at < :to");
+            params.put("to", Timestamp.valueOf(filter.to()));
+        }
+    }
+
+    private static void appendCursor(StringBuilder sql, Map<String, Object> params,
+                                     LocalDateTime afterCreatedAt, Long afterId) {
+        if (afterCreatedAt != null) {
+            sql.append(" AND (created_at < :afterCreatedAt OR (created_at = :afterCreatedAt AND id < :afterId))");
+            params.put("afterCreatedAt", Timestamp.valueOf(afterCreatedAt));
+            params.put("afterId", afterId);
+        }
+    }
+
+    private List<MovementKey> queryForKeys(Query query) {
+        List<?> rows = nativeQuery(query).getResultList();
+        return rows.stream()
+            .map(row -> (Object[]) row)
+            .map(row -> new MovementKey(((Number) row[0]).longValue(), toLocalDateTime(row[1])))
+            .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private NativeQuery<?> nativeQuery(Query query) {
+        NativeQuery<?> nativeQuery = entityManager.createNativeQuery(query.sql()).unwrap(NativeQuery.class);
+        nativeQuery.addSynchronizedEntityClass(StockMovement.class);
+        query.params().forEach(nativeQuery::setParameter);
+        return nativeQuery;
+    }
+
+    /**
+     * Loads movements by ID, keeping the order of the keys.
+     *
+     * <p>Keys are ordered newest first, so the last and first keys bound the partitions
+     * to read.</p>
+     */
+    private List<StockMovement> load(List<MovementKey> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            positions.put(keys.get(i).id(), i);
+        }
+        return movementRepository.findAllByIdCreatedBetween(positions.keySet(),
+                keys.get(keys.size() - 1).createdAt(), keys.get(0).createdAt()).stream()
+            .sorted(Comparator.comparing(movement -> positions.get(movement.getId())))
+            .toList();
+    }
+
+    /**
+     * Builds a slice from IDs read with one extra row to detect the next page.
+     */
+    private Slice<StockMovement> slice(List<MovementKey> keys, Pageable pageable) {
+        boolean hasNext = keys.size() > pageable.getPageSize();
+        List<MovementKey> pageKeys = hasNext ? keys.subList(0, pageable.getPageSize()) : keys;
+        return new SliceImpl<>(load(pageKeys), pageable, hasNext);
+    }
+
+    private static Pageable unsorted(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    /**
+     * Primary key of a movement, as read by the ID query.
+     */
+    private record MovementKey(Long id, LocalDateTime createdAt) {
+    }
+
+    /**
+     * SQL with its named parameters.
+     */
+    record Query(String sql, Map<String, Object> params) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.stockflow.modules.inventory.infrastructure.persistence;
+
+import com.stockflow.modules.inventory.domain.repository.MovementPartitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * MySQL implementation of MovementPartitionRepository.
+ *
+ * <p>Partitions are named {@code pYYYYMM} and bounded with
+ * {@code UNIX_TIMESTAMP('YYYY-MM-01')} of the following month, as created by the
+ * V014 migration; {@code p_future} is the catch-all partition. DDL statements commit
+ * implicitly, so these methods must not run inside a transaction that writes.</p>
+ *
+ * <p>Archived rows are copied in chunks of {@code app.inventory.partitions.archive-chunk-size}
+ * IDs, each its own statement, to keep undo logs and replication events small.</p>
+ */
+@Repository
+public class MovementPartitionRepositoryImpl implements MovementPartitionRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(MovementPartitionRepositoryImpl.class);
+
+    private static final String FUTURE_PARTITION = "p_future";
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private static final String SELECT_PARTITIONS = """
+            SELECT PARTITION_NAME FROM information_schema.PARTITIONS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'stock_movements' AND PARTITION_NAME IS NOT NULL
+            ORDER BY PARTITION_ORDINAL_POSITION
+            """;
+
+    private static final String INSERT_ARCHIVED_MONTH = """
+            INSERT INTO movement_archived_months (month_start, movements, archived_at) VALUES (?, ?, ?)
+            ON DUPLICATE KEY UPDATE movements = VALUES(movements), archived_at = VALUES(archived_at)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.inventory.partitions.archive-chunk-size:10000}")
+    private int archiveChunkSize = 10000;
+
+    public MovementPartitionRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean isPartitioned() {
+        return isMySql() && !jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class).isEmpty();
+    }
+
+    @Override
+    public List<LocalDate> findPartitionMonths() {
+        return jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class).stream()
+            .filter(name -> !FUTURE_PARTITION.equals(name))
+            .map(name -> LocalDate.of(Integer.parseInt(name.substring(1, 5)), Integer.parseInt(name.substring(5, 7)), 1))
+            .toList();
+    }
+
+    @Override
+    public void addMonths(List<LocalDate> months) {
+        if (months.isEmpty()) {
+            return;
+        }
+        String partitions = months.stream()
+            .map(month -> "PARTITION " + partitionName(month)
+                + " VALUES LESS THAN (UNIX_TIMESTAMP('" + month.plusMonths(1) + "'))")
+            .collect(Collectors.joining(", "));
+        jdbcTemplate.execute("ALTER TABLE stock_movements REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO ("
+            + partitions + ", PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE)");
+        log.info("Added stock movement partitions for {}", months);
+    }
+
+    @Override
+    public long archiveMonth(LocalDate month) {
+        String partition = partitionName(month);
+        String source = "stock_movements PARTITION (" + partition + ")";
+
+        long copied = 0;
+        Long lastId = Long.MIN_VALUE;
+        while (true) {
+            // Upper bound of the next chunk, or the last ID of the partition
+            List<Long> bounds = jdbcTemplate.queryForList(
+                "SELECT id FROM " + source + " WHERE id > ? ORDER BY id LIMIT 1 OFFSET ?",
+                Long.class, lastId, archiveChunkSize - 1);
+            Long upper = !bounds.isEmpty() ? bounds.get(0)
+                : jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + source + " WHERE id > ?", Long.class, lastId);
+            if (upper == null) {
+                break;
+            }
+            copied += jdbcTemplate.update("INSERT IGNORE INTO stock_movements_archive SELECT * FROM " + source
+                + " WHERE id > ? AND id <= ?", lastId, upper);
+            lastId = upper;
+        }
+
+        Long missing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + source + " m"
+            + " LEFT JOIN stock_movements_archive a ON a.id = m.id AND a.created_at = m.created_at"
+            + " WHERE a.id IS NULL", Long.class);
+        if (!Objects.equals(missing, 0L)) {
+            throw new IllegalStateException(missing + " movements of " + partition + " are missing from the archive");
+        }
+
+        long movements = Objects.requireNonNull(
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + source, Long.class));
+        jdbcTemplate.update(INSERT_ARCHIVED_MONTH, Date.valueOf(month), movements, Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.execute("ALTER TABLE stock_movements DROP PARTITION " + partition);
+
+        log.info("Archived {} stock movements of {} ({} copied by this run)", movements, partition, copied);
+        return movements;
+    }
+
+    private static String partitionName(LocalDate month) {
+        return month.withDayOfMonth(1).format(PARTITION_NAME);
+    }
+
+    private boolean isMySql() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                DatabaseMetaData::getDatabaseProductName);
+            return "MySQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not detect the database for partition maintenance: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.stockflow.modules.inventory.infrastructure.persistence;
+
+import com.stockflow.modules.inventory.domain.model.MovementTargetState;
+import com.stockflow.modules.inventory.domain.model.StockMovement;
+import com.stockflow.modules.inventory.domain.repository.StockLedgerRepository;
+import com.stockflow.shared.infrastructure.persistence.TimeSortedIds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of StockLedgerRepository.
+ *
+ * <p>Uses plain SQL so that stock deltas are evaluated by the database under the
+ * row lock. A movement costs three statements: target validation, the conditional
+ * stock update and the movement insert.</p>
+ *
+ * <p><strong>Portability:</strong> the upsert is written as update-then-insert
+ * instead of {@code ON DUPLICATE KEY UPDATE}, so the same SQL runs on MySQL and H2.
+ * The insert only happens the first time a product is stocked in a branch.</p>
+ */
+@Repository
+public class StockLedgerRepositoryImpl implements StockLedgerRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedgerRepositoryImpl.class);
+
+    private static final String SELECT_TARGET_STATE = """
+            SELECT
+                (SELECT b.is_active FROM branches b WHERE b.id = ? AND b.tenant_id = ?) AS branch_active,
+                (SELECT p.is_active FROM products p WHERE p.id = ? AND p.tenant_id = ?) AS product_active
+            """;
+
+    private static final String INCREASE_QUANTITY = """
+            UPDATE branch_product_stock
+            SET quantity = quantity + ?, version = version + 1, updated_at = ?
+            WHERE tenant_id = ? AND branch_id = ? AND product_id = ?
+            """;
+
+    private static final String INSERT_STOCK = """
+            INSERT INTO branch_product_stock
+                (id, tenant_id, branch_id, product_id, quantity, version, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, 0, ?, ?)
+            """;
+
+    private static final String DECREASE_QUANTITY = """
+            UPDATE branch_product_stock
+            SET quantity = quantity - ?, version = version + 1, updated_at = ?
+            WHERE tenant_id = ? AND branch_id = ? AND product_id = ? AND quantity >= ?
+            """;
+
+    private static final String SELECT_QUANTITY = """
+            SELECT quantity FROM branch_product_stock
+            WHERE tenant_id = ? AND branch_id = ? AND product_id = ?
+            """;
+
+    private static final String INSERT_MOVEMENT = """
+            INSERT INTO stock_movements
+                (id, tenant_id, branch_id, product_id, type, reason, quantity, note,
+                 created_by_user_id, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private static final String SELECT_BRANCH_STATES = """
+            SELECT id, is_active FROM branches WHERE tenant_id = :tenantId AND id IN (:ids)
+            """;
+
+    private static final String SELECT_PRODUCT_STATES = """
+            SELECT id, is_active FROM products WHERE tenant_id = :tenantId AND id IN (:ids)
+            """;
+
+    private static final String LOCK_QUANTITIES = """
+            SELECT product_id, quantity FROM branch_product_stock
+            WHERE tenant_id = :tenantId AND branch_id = :branchId AND product_id IN (:productIds)
+            ORDER BY product_id
+            FOR UPDATE
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public StockLedgerRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public MovementTargetState findMovementTargetState(Long tenantId, Long branchId, Long productId) {
+        return jdbcTemplate.queryForObject(SELECT_TARGET_STATE,
+                (rs, rowNum) -> new MovementTargetState(
+                        rs.getObject("branch_active", Boolean.class),
+                        rs.getObject("product_active", Boolean.class)),
+                branchId, tenantId, productId, tenantId);
+    }
+
+    @Override
+    public void increaseQuantity(Long tenantId, Long branchId, Long productId, int quantity) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (jdbcTemplate.update(INCREASE_QUANTITY, quantity, now, tenantId, branchId, productId) > 0) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.update(INSERT_STOCK, TimeSortedIds.next(), tenantId, branchId, productId, quantity, now, now);
+            log.debug("Created stock row for branch {} and product {}", branchId, productId);
+        } catch (DuplicateKeyException e) {
+            // Another transaction created the row in between; apply the delta to it
+            jdbcTemplate.update(INCREASE_QUANTITY, quantity, now, tenantId, branchId, productId);
+        }
+    }
+
+    @Override
+    public boolean decreaseQuantity(Long tenantId, Long branchId, Long productId, int quantity) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.update(DECREASE_QUANTITY,
+                quantity, now, tenantId, branchId, productId, quantity) > 0;
+    }
+
+    @Override
+    public int findQuantity(Long tenantId, Long branchId, Long productId) {
+        List<Integer> quantities = jdbcTemplate.queryForList(SELECT_QUANTITY, Integer.class,
+                tenantId, branchId, productId);
+        return quantities.isEmpty() || quantities.get(0) == null ? 0 : quantities.get(0);
+    }
+
+    @Override
+    public StockMovement insertMovement(StockMovement movement) {
+        prepareForInsert(movement, LocalDateTime.now());
+        jdbcTemplate.update(INSERT_MOVEMENT, ps -> bindMovement(ps, movement));
+        return movement;
+    }
+
+    @Override
+    public Map<Long, Boolean> findBranchActiveStates(Long tenantId, Collection<Long> branchIds) {
+        return findActiveStates(SELECT_BRANCH_STATES, tenantId, branchIds);
+    }
+
+    @Override
+    public Map<Long, Boolean> findProductActiveStates(Long tenantId, Collection<Long> productIds) {
+        return findActiveStates(SELECT_PRODUCT_STATES, tenantId, productIds);
+    }
+
+    @Override
+    public List<StockMovement> insertMovements(List<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            return movements;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (StockMovement movement : movements) {
+            prepareForInsert(movement, now);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_MOVEMENT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                bindMovement(ps, movements.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return movements.size();
+            }
+        });
+
+        log.debug("Inserted {} movements in one batch", movements.size());
+        return movements;
+    }
+
+    @Override
+    public Map<Long, Integer> lockQuantities(Long tenantId, Long branchId, Collection<Long> productIds) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return quantities;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("tenantId", tenantId)
+                .addValue("branchId", branchId)
+                .addValue("productIds", productIds);
+        namedJdbcTemplate.query(LOCK_QUANTITIES, params,
+                rs -> {
+                    quantities.put(rs.getLong("product_id"), rs.getInt("quantity"));
+                });
+        return quantities;
+    }
+
+    @Override
+    public void addQuantities(Long tenantId, Long branchId, Map<Long, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((productId, delta) -> args.add(new Object[]{delta, now, tenantId, branchId, productId}));
+
+        jdbcTemplate.batchUpdate(INCREASE_QUANTITY, args);
+        log.debug("Applied {} stock deltas to branch {} in one batch", deltas.size(), branchId);
+    }
+
+    private Map<Long, Boolean> findActiveStates(String sql, Long tenantId, Collection<Long> ids) {
+        Map<Long, Boolean> states = new HashMap<>();
+        if (ids.isEmpty()) {
+            return states;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("tenantId", tenantId)
+                .addValue("ids", ids);
+        namedJdbcTemplate.query(sql, params,
+                rs -> {
+                    states.put(rs.getLong("id"), rs.getBoolean("is_active"));
+                });
+        return states;
+    }
+
+    private void bindMovement(PreparedStatement ps, StockMovement movement) throws SQLException {
+        ps.setLong(1, movement.getId());
+        ps.setLong(2, movement.getTenantId());
+        ps.setLong(3, movement.getBranchId());
+        ps.setLong(4, movement.getProductId());
+        ps.setString(5, movement.getType().name());
+        ps.setString(6, movement.getReason().name());
+        ps.setInt(7, movement.getQuantity());
+        ps.setString(8, movement.getNote());
+        if (movement.getCreatedByUserId() != null) {
+            ps.setLong(9, movement.getCreatedByUserId());
+        } else {
+            ps.setNull(9, Types.BIGINT);
+        }
+        ps.setTimestamp(10, Timestamp.valueOf(movement.getCreatedAt()));
+        ps.setTimestamp(11, Timestamp.valueOf(movement.getUpdatedAt()));
+    }
+
+    private void prepareForInsert(StockMovement movement, LocalDateTime now) {
+        movement.setId(TimeSortedIds.next());
+        movement.setCreatedAt(now);
+        movement.setUpdatedAt(now);
+    }
+}
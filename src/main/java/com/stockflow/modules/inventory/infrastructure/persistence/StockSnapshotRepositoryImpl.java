@@ -0,0 +1,212 @@
+package com.stockflow.modules.inventory.infrastructure.persistence;
+
+import com.stockflow.modules.inventory.domain.model.StockSnapshot;
+import com.stockflow.modules.inventory.domain.repository.StockSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of StockSnapshotRepository.
+ *
+ * <p>Movements are summed with their sign: type IN and PURCHASE, RETURN, ADJUSTMENT_IN
+ * and TRANSFER_IN increase stock, everything else decreases it, the same rule the ledger
+ * applies ({@code StockMovementBatchEngine.increasesStock}). Type and reason are not
+ * validated as a pair, so the rule must match for mixed pairs such as IN/SALE too. Live and archived movements are read with one
+ * {@code UNION ALL} whose branches carry the predicates themselves, so each side is
+ * bounded by its own indexes (and partitions).</p>
+ */
+@Repository
+public class StockSnapshotRepositoryImpl implements StockSnapshotRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(StockSnapshotRepositoryImpl.class);
+
+    private static final String SIGNED_QUANTITY = """
+            CASE WHEN type = 'IN' OR reason IN ('PURCHASE', 'RETURN', 'ADJUSTMENT_IN', 'TRANSFER_IN')
+                 THEN quantity ELSE -quantity END""";
+
+    private static final String DELETE_DAY = """
+            DELETE FROM stock_balance_snapshots WHERE tenant_id = ? AND snapshot_day = ?
+            """;
+
+    private static final String SNAPSHOT_DAY = """
+            INSERT INTO stock_balance_snapshots (tenant_id, branch_id, product_id, snapshot_day, quantity, created_at)
+            SELECT d.tenant_id, d.branch_id, d.product_id, ?,
+                   COALESCE((SELECT p.quantity FROM stock_balance_snapshots p
+                             WHERE p.tenant_id = d.tenant_id AND p.branch_id = d.branch_id
+                               AND p.product_id = d.product_id AND p.snapshot_day < ?
+                             ORDER BY p.snapshot_day DESC LIMIT 1), 0) + d.delta,
+                   ?
+            FROM (SELECT tenant_id, branch_id, product_id, SUM(signed_quantity) AS delta
+                  FROM (%s) day_movements
+                  GROUP BY tenant_id, branch_id, product_id) d
+            """.formatted(movementsUnion("tenant_id, branch_id, product_id, " + SIGNED_QUANTITY + " AS signed_quantity",
+                "tenant_id = ? AND created_at >= ? AND created_at < ?"));
+
+    private static final String SELECT_FIRST_MOVEMENT = """
+            SELECT MIN(first_created_at) FROM (%s) firsts
+            """.formatted(movementsUnion("MIN(created_at) AS first_created_at", "tenant_id = ?"));
+
+    private static final String SELECT_PROGRESS = """
+            SELECT snapshotted_through FROM stock_snapshot_progress WHERE tenant_id = ?
+            """;
+
+    private static final String UPDATE_PROGRESS = """
+            UPDATE stock_snapshot_progress SET snapshotted_through = ?, updated_at = ? WHERE tenant_id = ?
+            """;
+
+    private static final String INSERT_PROGRESS = """
+            INSERT INTO stock_snapshot_progress (tenant_id, snapshotted_through, created_at, updated_at)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String SELECT_LATEST = """
+            SELECT snapshot_day, quantity FROM stock_balance_snapshots
+            WHERE tenant_id = ? AND branch_id = ? AND product_id = ? AND snapshot_day <= ?
+            ORDER BY snapshot_day DESC
+            LIMIT 1
+            """;
+
+    private static final String SELECT_BALANCES = """
+            SELECT s.product_id, s.quantity
+            FROM stock_balance_snapshots s
+            JOIN (SELECT product_id, MAX(snapshot_day) AS snapshot_day
+                  FROM stock_balance_snapshots
+                  WHERE tenant_id = ? AND branch_id = ? AND snapshot_day <= ?
+                  GROUP BY product_id) latest
+              ON latest.product_id = s.product_id AND latest.snapshot_day = s.snapshot_day
+            WHERE s.tenant_id = ? AND s.branch_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockSnapshotRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int snapshotDay(Long tenantId, LocalDate day) {
+        Timestamp start = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+
+        jdbcTemplate.update(DELETE_DAY, tenantId, Date.valueOf(day));
+        int rows = jdbcTemplate.update(SNAPSHOT_DAY, Date.valueOf(day), Date.valueOf(day),
+                Timestamp.valueOf(LocalDateTime.now()), tenantId, start, end, tenantId, start, end);
+        log.debug("Wrote {} stock snapshots for tenant {} on {}", rows, tenantId, day);
+        return rows;
+    }
+
+    @Override
+    public Optional<LocalDate> findFirstMovementDay(Long tenantId) {
+        Timestamp first = jdbcTemplate.queryForObject(SELECT_FIRST_MOVEMENT, Timestamp.class, tenantId, tenantId);
+        return Optional.ofNullable(first).map(timestamp -> timestamp.toLocalDateTime().toLocalDate());
+    }
+
+    @Override
+    public Optional<LocalDate> findSnapshottedThrough(Long tenantId) {
+        return jdbcTemplate.queryForList(SELECT_PROGRESS, Date.class, tenantId).stream()
+                .findFirst()
+                .map(Date::toLocalDate);
+    }
+
+    @Override
+    public void saveSnapshottedThrough(Long tenantId, LocalDate day) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (jdbcTemplate.update(UPDATE_PROGRESS, Date.valueOf(day), now, tenantId) > 0) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.update(INSERT_PROGRESS, tenantId, Date.valueOf(day), now, now);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update(UPDATE_PROGRESS, Date.valueOf(day), now, tenantId);
+        }
+    }
+
+    @Override
+    public Optional<StockSnapshot> findLatest(Long tenantId, Long branchId, Long productId, LocalDate day) {
+        return jdbcTemplate.query(SELECT_LATEST,
+                (rs, rowNum) -> new StockSnapshot(branchId, productId,
+                        rs.getDate("snapshot_day").toLocalDate(), rs.getLong("quantity")),
+                tenantId, branchId, productId, Date.valueOf(day)).stream().findFirst();
+    }
+
+    @Override
+    public Map<Long, Long> findBalances(Long tenantId, Long branchId, LocalDate day) {
+        Map<Long, Long> balances = new HashMap<>();
+        jdbcTemplate.query(SELECT_BALANCES,
+                rs -> {
+                    balances.put(rs.getLong("product_id"), rs.getLong("quantity"));
+                },
+                tenantId, branchId, Date.valueOf(day), tenantId, branchId);
+        return balances;
+    }
+
+    @Override
+    public Replay replay(Long tenantId, Long branchId, Long productId, LocalDateTime from, LocalDateTime to) {
+        List<Object> args = new ArrayList<>();
+        String where = rangeWhere("tenant_id = ? AND branch_id = ? AND product_id = ?", from, to);
+        String sql = "SELECT COALESCE(SUM(signed_quantity), 0) AS quantity, COUNT(*) AS movements FROM ("
+                + movementsUnion(SIGNED_QUANTITY + " AS signed_quantity", where) + ") replayed";
+        for (int side = 0; side < 2; side++) {
+            args.add(tenantId);
+            args.add(branchId);
+            args.add(productId);
+            addRange(args, from, to);
+        }
+
+        return jdbcTemplate.queryForObject(sql,
+                (rs, rowNum) -> new Replay(rs.getLong("quantity"), rs.getLong("movements")), args.toArray());
+    }
+
+    @Override
+    public Map<Long, Long> replayByProduct(Long tenantId, Long branchId, LocalDateTime from, LocalDateTime to) {
+        List<Object> args = new ArrayList<>();
+        String where = rangeWhere("tenant_id = ? AND branch_id = ?", from, to);
+        String sql = "SELECT product_id, SUM(signed_quantity) AS quantity FROM ("
+                + movementsUnion("product_id, " + SIGNED_QUANTITY + " AS signed_quantity", where)
+                + ") replayed GROUP BY product_id";
+        for (int side = 0; side < 2; side++) {
+            args.add(tenantId);
+            args.add(branchId);
+            addRange(args, from, to);
+        }
+
+        Map<Long, Long> deltas = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            deltas.put(rs.getLong("product_id"), rs.getLong("quantity"));
+        }, args.toArray());
+        return deltas;
+    }
+
+    /**
+     * Selects the same columns from live and archived movements with the same predicates.
+     */
+    private static String movementsUnion(String columns, String where) {
+        return "SELECT " + columns + " FROM stock_movements WHERE " + where
+                + " UNION ALL SELECT " + columns + " FROM stock_movements_archive WHERE " + where;
+    }
+
+    private static String rangeWhere(String where, LocalDateTime from, LocalDateTime to) {
+        return where + (from != null ? " AND created_at >= ?" : "") + " AND created_at < ?";
+    }
+
+    private static void addRange(List<Object> args, LocalDateTime from, LocalDateTime to) {
+        if (from != null) {
+            args.add(Timestamp.valueOf(from));
+        }
+        args.add(Timestamp.valueOf(to));
+    }
+}
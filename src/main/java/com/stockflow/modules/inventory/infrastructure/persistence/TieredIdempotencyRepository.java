@@ -0,0 +1,150 @@
+package com.stockflow.modules.inventory.infrastructure.persistence;
+
+import com.stockflow.modules.inventory.domain.model.IdempotencyRecord;
+import com.stockflow.modules.inventory.domain.repository.IdempotencyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Two-tier idempotency store: an in-process map in front of Redis.
+ *
+ * <p>The in-process tier answers retries that land on the instance that served the
+ * original request without any network call. The Redis tier shares outcomes and
+ * execution claims between instances. Both tiers expire records after
+ * {@code app.inventory.idempotency.ttl-seconds}.</p>
+ *
+ * <p>The in-process tier is bounded by {@code max-local-entries}: when full, expired
+ * records are purged and, if still full, arbitrary records are dropped (they remain
+ * in Redis). Redis errors are logged and treated as misses, like cache errors.</p>
+ */
+@Repository
+public class TieredIdempotencyRepository implements IdempotencyRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(TieredIdempotencyRepository.class);
+
+    private static final String KEY_PREFIX = "stockflow:idempotency:";
+    private static final String CLAIM_SUFFIX = ":claim";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, LocalEntry> local = new ConcurrentHashMap<>();
+
+    @Value("${app.inventory.idempotency.ttl-seconds:86400}")
+    private long ttlSeconds = 86400;
+
+    @Value("${app.inventory.idempotency.max-local-entries:10000}")
+    private int maxLocalEntries = 10000;
+
+    @Value("${app.inventory.idempotency.redis-enabled:true}")
+    private boolean redisEnabled = true;
+
+    public TieredIdempotencyRepository(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key) {
+        LocalEntry entry = local.get(key);
+        if (entry != null) {
+            if (!entry.isExpired()) {
+                return Optional.of(entry.record());
+            }
+            local.remove(key, entry);
+        }
+
+        if (!redisEnabled) {
+            return Optional.empty();
+        }
+
+        try {
+            String value = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+            if (value == null) {
+                return Optional.empty();
+            }
+            int separator = value.indexOf('\n');
+            IdempotencyRecord record = new IdempotencyRecord(value.substring(0, separator), value.substring(separator + 1));
+            putLocal(key, record);
+            return Optional.of(record);
+        } catch (RuntimeException e) {
+            log.warn("Idempotency lookup failed in Redis for key '{}': {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public boolean reserve(String key, Duration lease) {
+        if (!redisEnabled) {
+            return true;
+        }
+
+        try {
+            Boolean claimed = redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key + CLAIM_SUFFIX, "1", lease);
+            return !Boolean.FALSE.equals(claimed);
+        } catch (RuntimeException e) {
+            log.warn("Idempotency claim failed in Redis for key '{}': {}", key, e.getMessage());
+            return true;
+        }
+    }
+
+    @Override
+    public void save(String key, IdempotencyRecord record) {
+        putLocal(key, record);
+
+        if (!redisEnabled) {
+            return;
+        }
+
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, record.fingerprint() + '\n' + record.body(),
+                Duration.ofSeconds(ttlSeconds));
+            redisTemplate.delete(KEY_PREFIX + key + CLAIM_SUFFIX);
+        } catch (RuntimeException e) {
+            log.warn("Idempotency save failed in Redis for key '{}': {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        if (!redisEnabled) {
+            return;
+        }
+
+        try {
+            redisTemplate.delete(KEY_PREFIX + key + CLAIM_SUFFIX);
+        } catch (RuntimeException e) {
+            log.warn("Idempotency release failed in Redis for key '{}': {}", key, e.getMessage());
+        }
+    }
+
+    private void putLocal(String key, IdempotencyRecord record) {
+        if (local.size() >= maxLocalEntries) {
+            evictLocal();
+        }
+        local.put(key, new LocalEntry(record, System.nanoTime() + Duration.ofSeconds(ttlSeconds).toNanos()));
+    }
+
+    private void evictLocal() {
+        local.values().removeIf(LocalEntry::isExpired);
+
+        Iterator<String> keys = local.keySet().iterator();
+        while (local.size() >= maxLocalEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record LocalEntry(IdempotencyRecord record, long expiresAtNanos) {
+
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+}
@@ -1,17 +1,25 @@
 package com.stockflow.modules.inventory.infrastructure.web;
 
 import com.stockflow.modules.inventory.application.dto.BranchStockResponse;
+import com.stockflow.modules.inventory.application.dto.MovementBatchRequest;
+import com.stockflow.modules.inventory.application.dto.MovementBatchResult;
+import com.stockflow.modules.inventory.application.dto.MovementCursor;
 import com.stockflow.modules.inventory.application.dto.StockMovementCreateRequest;
 import com.stockflow.modules.inventory.application.dto.StockMovementRequest;
 import com.stockflow.modules.inventory.application.dto.StockMovementResponse;
+import com.stockflow.modules.inventory.application.dto.TransferDocumentRequest;
+import com.stockflow.modules.inventory.application.dto.TransferDocumentResult;
 import com.stockflow.modules.inventory.application.dto.TransferResult;
 import com.stockflow.modules.inventory.application.dto.TransferStockRequest;
+import com.stockflow.modules.inventory.application.service.IdempotentRequestExecutor;
 import com.stockflow.modules.inventory.application.service.InventoryService;
+import com.stockflow.modules.inventory.domain.model.MovementHistoryFilter;
 import com.stockflow.modules.inventory.domain.model.MovementReason;
 import com.stockflow.modules.inventory.domain.model.MovementType;
 import com.stockflow.shared.application.dto.ApiResponse;
 import com.stockflow.shared.application.dto.ItemsResponse;
 import com.stockflow.shared.application.dto.PageMeta;
+import com.stockflow.shared.application.dto.SliceMeta;
 import com.stockflow.shared.infrastructure.security.BranchAccess;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,12 +28,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * REST controller for inventory operations.
  */
@@ -35,10 +48,22 @@ import org.springframework.web.bind.annotation.*;
 @SecurityRequirement(name = "bearerAuth")
 public class InventoryController {
 
+    /**
+     * Request header carrying the client-generated idempotency key.
+     */
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Response header set when a stored response is replayed for a duplicate request.
+     */
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final InventoryService inventoryService;
+    private final IdempotentRequestExecutor idempotentExecutor;
 
-    public InventoryController(InventoryService inventoryService) {
+    public InventoryController(InventoryService inventoryService, IdempotentRequestExecutor idempotentExecutor) {
         this.inventoryService = inventoryService;
+        this.idempotentExecutor = idempotentExecutor;
     }
 
     /**
@@ -88,8 +113,12 @@ public class InventoryController {
     /**
      * Creates a new stock movement (IN, OUT, or ADJUSTMENT).
      *
-     * @param branchId the branch ID
-     * @param request  the stock movement request
+     * <p>Retries carrying the same {@code Idempotency-Key} replay the first response
+     * instead of creating another movement.</p>
+     *
+     * @param branchId       the branch ID
+     * @param idempotencyKey optional client key making retries safe
+     * @param request        the stock movement request
      * @return the created stock movement response
      */
     @BranchAccess
@@ -100,6 +129,8 @@ public class InventoryController {
             @BranchAccess
             @Parameter(description = "Branch ID", required = true)
             @PathVariable Long branchId,
+            @Parameter(description = "Client-generated key making retries safe")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody StockMovementCreateRequest request) {
         StockMovementRequest serviceRequest = new StockMovementRequest(
             branchId,
@@ -109,19 +140,62 @@ public class InventoryController {
             request.quantity(),
             request.note()
         );
-        StockMovementResponse response = inventoryService.createMovement(serviceRequest);
-        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.of(response));
+        IdempotentRequestExecutor.Outcome<StockMovementResponse> outcome = idempotentExecutor.execute(
+            "movements.create", idempotencyKey, serviceRequest, StockMovementResponse.class,
+            () -> inventoryService.createMovement(serviceRequest));
+        return created(outcome);
+    }
+
+    /**
+     * Creates many stock movements for a branch in one request, e.g. a POS end-of-day upload.
+     *
+     * <p>Responds with 201 when every line was applied and 200 otherwise; the body
+     * reports the outcome of each line.</p>
+     *
+     * @param branchId       the branch ID
+     * @param idempotencyKey optional client key making retries safe
+     * @param request        the movement batch
+     * @return the outcome of every line
+     */
+    @BranchAccess
+    @PostMapping("/branches/{branchId}/movements/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'STAFF')")
+    @Operation(summary = "Create stock movement batch", description = "Creates many stock movements for a branch in a single transaction")
+    public ResponseEntity<ApiResponse<MovementBatchResult>> createMovements(
+            @BranchAccess
+            @Parameter(description = "Branch ID", required = true)
+            @PathVariable Long branchId,
+            @Parameter(description = "Client-generated key making retries safe")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody MovementBatchRequest request) {
+        IdempotentRequestExecutor.Outcome<MovementBatchResult> outcome = idempotentExecutor.execute(
+            "movements.batch", idempotencyKey, List.of(branchId, request), MovementBatchResult.class,
+            () -> inventoryService.createMovements(branchId, request));
+        HttpStatus status = outcome.value().rejected() == 0 ? HttpStatus.CREATED : HttpStatus.OK;
+        return respond(status, outcome);
     }
 
     /**
      * Gets movement history for a specific branch with optional filters.
      *
+     * <p>Product, type and reason accept several values, repeated or comma-separated.
+     * The time range is half-open: {@code from <= createdAt < to}.</p>
+     *
+     * <p>Pages are numbered and counted by default. With {@code count=false} the total is
+     * not computed, and with a {@code cursor} (the {@code nextCursor} of the previous
+     * response) the page is read by seeking past it, which keeps deep pages as fast as
+     * the first one.</p>
+     *
      * @param branchId the branch ID
-     * @param productId optional product ID filter
-     * @param type optional movement type filter
-     * @param reason optional movement reason filter
+     * @param productIds optional product ID filter
+     * @param types optional movement type filter
+     * @param reasons optional movement reason filter
+     * @param from optional start of the time range, inclusive
+     * @param to optional end of the time range, exclusive
+     * @param cursor optional cursor of the last movement already read
+     * @param count whether to compute the total count, ignored with a cursor
      * @param pageable pagination parameters
-     * @return paginated list of stock movement responses
+     * @return list of stock movement responses with page or slice metadata
      */
     @BranchAccess
     @GetMapping("/branches/{branchId}/movements")
@@ -131,19 +205,85 @@ public class InventoryController {
             @BranchAccess
             @Parameter(description = "Branch ID", required = true)
             @PathVariable Long branchId,
-            @Parameter(description = "Filter by product ID")
-            @RequestParam(required = false) Long productId,
-            @Parameter(description = "Filter by movement type")
-            @RequestParam(required = false) MovementType type,
-            @Parameter(description = "Filter by movement reason")
-            @RequestParam(required = false) MovementReason reason,
+            @Parameter(description = "Filter by product IDs")
+            @RequestParam(name = "productId", required = false) List<Long> productIds,
+            @Parameter(description = "Filter by movement types")
+            @RequestParam(name = "type", required = false) List<MovementType> types,
+            @Parameter(description = "Filter by movement reasons")
+            @RequestParam(name = "reason", required = false) List<MovementReason> reasons,
+            @Parameter(description = "Movements created at or after this timestamp")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Movements created before this timestamp")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Whether to compute the total count")
+            @RequestParam(defaultValue = "true") boolean count,
+            @Parameter(description = "Pagination parameters")
+            @PageableDefault(size = 20) Pageable pageable) {
+        MovementHistoryFilter filter = MovementHistoryFilter.of(productIds, types, reasons, from, to);
+        if (cursor == null && count) {
+            Page<StockMovementResponse> response = inventoryService.getMovementsByBranch(branchId, filter, pageable);
+            return ResponseEntity.ok(
+                ApiResponse.of(new ItemsResponse<>(response.getContent()), PageMeta.of(response))
+            );
+        }
+
+        MovementCursor after = cursor != null ? MovementCursor.decode(cursor) : null;
+        Slice<StockMovementResponse> response = inventoryService.getMovementSliceByBranch(
+            branchId, filter, after, pageable);
+        String nextCursor = response.hasNext()
+            ? MovementCursor.after(response.getContent().get(response.getNumberOfElements() - 1)).encode()
+            : null;
+        SliceMeta meta = after != null ? SliceMeta.ofCursor(response, nextCursor) : SliceMeta.of(response, nextCursor);
+        return ResponseEntity.ok(ApiResponse.of(new ItemsResponse<>(response.getContent()), meta));
+    }
+
+    /**
+     * Gets archived movement history for a branch.
+     *
+     * @param branchId the branch ID
+     * @param productIds optional product filter
+     * @param types optional movement type filter
+     * @param reasons optional movement reason filter
+     * @param from optional start of the range, inclusive
+     * @param to optional end of the range, exclusive
+     * @param cursor optional cursor of the last movement already read
+     * @param pageable page size
+     * @return list of archived stock movement responses with slice metadata
+     */
+    @BranchAccess
+    @GetMapping("/branches/{branchId}/movements/archive")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get archived movement history",
+               description = "Retrieves movements moved to the archive past the retention horizon (slower)")
+    public ResponseEntity<ApiResponse<ItemsResponse<StockMovementResponse>>> getArchivedMovementHistory(
+            @BranchAccess
+            @Parameter(description = "Branch ID", required = true)
+            @PathVariable Long branchId,
+            @Parameter(description = "Filter by product IDs")
+            @RequestParam(name = "productId", required = false) List<Long> productIds,
+            @Parameter(description = "Filter by movement types")
+            @RequestParam(name = "type", required = false) List<MovementType> types,
+            @Parameter(description = "Filter by movement reasons")
+            @RequestParam(name = "reason", required = false) List<MovementReason> reasons,
+            @Parameter(description = "Movements created at or after this timestamp")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Movements created before this timestamp")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
             @Parameter(description = "Pagination parameters")
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<StockMovementResponse> response = inventoryService.getMovementsByBranch(
-            branchId, productId, type, reason, pageable);
+        MovementHistoryFilter filter = MovementHistoryFilter.of(productIds, types, reasons, from, to);
+        MovementCursor after = cursor != null ? MovementCursor.decode(cursor) : null;
+        Slice<StockMovementResponse> response = inventoryService.getArchivedMovementSliceByBranch(
+            branchId, filter, after, pageable);
+        String nextCursor = response.hasNext()
+            ? MovementCursor.after(response.getContent().get(response.getNumberOfElements() - 1)).encode()
+            : null;
         return ResponseEntity.ok(
-            ApiResponse.of(new ItemsResponse<>(response.getContent()), PageMeta.of(response))
-        );
+            ApiResponse.of(new ItemsResponse<>(response.getContent()), SliceMeta.ofCursor(response, nextCursor)));
     }
 
     /**
@@ -151,7 +291,8 @@ public class InventoryController {
      *
      * <p>This creates two movements: TRANSFER_OUT for source branch and TRANSFER_IN for destination branch.</p>
      *
-     * @param request the transfer stock request
+     * @param idempotencyKey optional client key making retries safe
+     * @param request        the transfer stock request
      * @return the transfer result containing movement IDs
      */
     @BranchAccess
@@ -159,8 +300,48 @@ public class InventoryController {
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Transfer stock", description = "Transfers stock between branches")
     public ResponseEntity<ApiResponse<TransferResult>> transferStock(
+            @Parameter(description = "Client-generated key making retries safe")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody TransferStockRequest request) {
-        TransferResult response = inventoryService.transferStock(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.of(response));
+        IdempotentRequestExecutor.Outcome<TransferResult> outcome = idempotentExecutor.execute(
+            "transfers.create", idempotencyKey, request, TransferResult.class,
+            () -> inventoryService.transferStock(request));
+        return created(outcome);
+    }
+
+    /**
+     * Transfers many products between two branches in one transaction.
+     *
+     * <p>Creates a TRANSFER_OUT and a TRANSFER_IN movement per line. The document is
+     * all-or-nothing.</p>
+     *
+     * @param idempotencyKey optional client key making retries safe
+     * @param request        the transfer document
+     * @return the movement IDs created for each line
+     */
+    @BranchAccess
+    @PostMapping("/transfers/documents")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Transfer stock document", description = "Transfers many products between branches in a single transaction")
+    public ResponseEntity<ApiResponse<TransferDocumentResult>> transferDocument(
+            @Parameter(description = "Client-generated key making retries safe")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody TransferDocumentRequest request) {
+        IdempotentRequestExecutor.Outcome<TransferDocumentResult> outcome = idempotentExecutor.execute(
+            "transfers.document", idempotencyKey, request, TransferDocumentResult.class,
+            () -> inventoryService.transferDocument(request));
+        return created(outcome);
+    }
+
+    private static <T> ResponseEntity<ApiResponse<T>> created(IdempotentRequestExecutor.Outcome<T> outcome) {
+        return respond(HttpStatus.CREATED, outcome);
+    }
+
+    private static <T> ResponseEntity<ApiResponse<T>> respond(HttpStatus status, IdempotentRequestExecutor.Outcome<T> outcome) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        if (outcome.replayed()) {
+            builder.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+        }
+        return builder.body(ApiResponse.of(outcome.value()));
     }
 }
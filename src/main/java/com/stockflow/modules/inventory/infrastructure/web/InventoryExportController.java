@@ -0,0 +1,212 @@
+package com.stockflow.modules.inventory.infrastructure.web;
+
+import com.stockflow.modules.inventory.application.service.InventoryExportService;
+import com.stockflow.modules.inventory.domain.model.MovementHistoryFilter;
+import com.stockflow.modules.inventory.domain.model.MovementReason;
+import com.stockflow.modules.inventory.domain.model.MovementType;
+import com.stockflow.shared.infrastructure.export.ExportFormat;
+import com.stockflow.shared.infrastructure.security.BranchAccess;
+import com.stockflow.shared.infrastructure.security.TenantContext;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * REST controller for streamed inventory exports.
+ *
+ * <p>Parameters are validated before the response starts, so invalid requests get the
+ * usual JSON error, and an export slot is taken ({@link InventoryExportService#acquireSlot()}),
+ * so a saturated bulkhead answers 503 instead of streaming. Rows are then written by {@link StreamingResponseBody} on an async
+ * thread; the tenant is captured on the request thread and passed explicitly. With
+ * {@code gzip=true} the attachment is an {@code application/gzip} file named {@code *.gz}.</p>
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Inventory", description = "Inventory and stock management endpoints")
+@SecurityRequirement(name = "bearerAuth")
+public class InventoryExportController {
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final InventoryExportService exportService;
+
+    public InventoryExportController(InventoryExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Exports the movement history of a branch.
+     *
+     * @param branchId   the branch ID
+     * @param productIds optional product filter
+     * @param types      optional movement type filter
+     * @param reasons    optional movement reason filter
+     * @param from       optional start of the range, inclusive
+     * @param to         optional end of the range, exclusive
+     * @param format     CSV or NDJSON
+     * @param gzip       whether to gzip the response
+     * @return the streamed movements, ordered by creation
+     */
+    @BranchAccess
+    @GetMapping("/branches/{branchId}/movements/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Export branch movements", description = "Streams the movement history of a branch as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportBranchMovements(
+            @BranchAccess
+            @Parameter(description = "Branch ID", required = true)
+            @PathVariable Long branchId,
+            @Parameter(description = "Filter by product IDs")
+            @RequestParam(name = "productId", required = false) List<Long> productIds,
+            @Parameter(description = "Filter by movement types")
+            @RequestParam(name = "type", required = false) List<MovementType> types,
+            @Parameter(description = "Filter by movement reasons")
+            @RequestParam(name = "reason", required = false) List<MovementReason> reasons,
+            @Parameter(description = "Movements created at or after this timestamp")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Movements created before this timestamp")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Output format")
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @Parameter(description = "Whether to gzip the response")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportMovements(branchId, MovementHistoryFilter.of(productIds, types, reasons, from, to), format, gzip);
+    }
+
+    /**
+     * Exports the movement history of every branch of the tenant.
+     *
+     * @param productIds optional product filter
+     * @param types      optional movement type filter
+     * @param reasons    optional movement reason filter
+     * @param from       optional start of the range, inclusive
+     * @param to         optional end of the range, exclusive
+     * @param format     CSV or NDJSON
+     * @param gzip       whether to gzip the response
+     * @return the streamed movements, ordered by branch and creation
+     */
+    @GetMapping("/movements/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export tenant movements", description = "Streams the movement history of every branch as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportTenantMovements(
+            @Parameter(description = "Filter by product IDs")
+            @RequestParam(name = "productId", required = false) List<Long> productIds,
+            @Parameter(description = "Filter by movement types")
+            @RequestParam(name = "type", required = false) List<MovementType> types,
+            @Parameter(description = "Filter by movement reasons")
+            @RequestParam(name = "reason", required = false) List<MovementReason> reasons,
+            @Parameter(description = "Movements created at or after this timestamp")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Movements created before this timestamp")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Output format")
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @Parameter(description = "Whether to gzip the response")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportMovements(null, MovementHistoryFilter.of(productIds, types, reasons, from, to), format, gzip);
+    }
+
+    /**
+     * Exports the stock balances of a branch.
+     *
+     * @param branchId the branch ID
+     * @param from     optional start of the last update range, inclusive
+     * @param to       optional end of the last update range, exclusive
+     * @param format   CSV or NDJSON
+     * @param gzip     whether to gzip the response
+     * @return the streamed balances, ordered by product
+     */
+    @BranchAccess
+    @GetMapping("/branches/{branchId}/stock/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Export branch stock", description = "Streams the stock balances of a branch as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportBranchStock(
+            @BranchAccess
+            @Parameter(description = "Branch ID", required = true)
+            @PathVariable Long branchId,
+            @Parameter(description = "Balances updated at or after this timestamp")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Balances updated before this timestamp")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Output format")
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @Parameter(description = "Whether to gzip the response")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportStock(branchId, from, to, format, gzip);
+    }
+
+    /**
+     * Exports the stock balances of every branch of the tenant.
+     *
+     * @param from   optional start of the last update range, inclusive
+     * @param to     optional end of the last update range, exclusive
+     * @param format CSV or NDJSON
+     * @param gzip   whether to gzip the response
+     * @return the streamed balances, ordered by branch and product
+     */
+    @GetMapping("/stock/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export tenant stock", description = "Streams the stock balances of every branch as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportTenantStock(
+            @Parameter(description = "Balances updated at or after this timestamp")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Balances updated before this timestamp")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Output format")
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @Parameter(description = "Whether to gzip the response")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportStock(null, from, to, format, gzip);
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportMovements(Long branchId, MovementHistoryFilter filter,
+                                                                  ExportFormat format, boolean gzip) {
+        Long tenantId = TenantContext.requireTenantId();
+        exportService.validate(tenantId, branchId, filter.from(), filter.to());
+        InventoryExportService.ExportSlot slot = exportService.acquireSlot();
+        return stream("movements", branchId, format, gzip, out -> {
+            try (slot) {
+                exportService.writeMovements(tenantId, branchId, filter, format, gzip, out);
+            }
+        });
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportStock(Long branchId, LocalDateTime from, LocalDateTime to,
+                                                              ExportFormat format, boolean gzip) {
+        Long tenantId = TenantContext.requireTenantId();
+        exportService.validate(tenantId, branchId, from, to);
+        InventoryExportService.ExportSlot slot = exportService.acquireSlot();
+        return stream("stock", branchId, format, gzip, out -> {
+            try (slot) {
+                exportService.writeStock(tenantId, branchId, from, to, format, gzip, out);
+            }
+        });
+    }
+
+    private static ResponseEntity<StreamingResponseBody> stream(String dataset, Long branchId, ExportFormat format,
+                                                                boolean gzip, StreamingResponseBody body) {
+        String filename = dataset + (branchId != null ? "-branch-" + branchId : "") + "." + format.getExtension()
+            + (gzip ? ".gz" : "");
+        // A gzip export is a .gz file, not a compressed transfer: no Content-Encoding, so clients
+        // that decode transfer encodings do not unpack it under its .gz name
+        return ResponseEntity.ok()
+            .contentType(gzip ? GZIP : MediaType.parseMediaType(format.getMediaType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
+    }
+}
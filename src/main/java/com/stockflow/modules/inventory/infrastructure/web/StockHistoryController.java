@@ -0,0 +1,87 @@
+package com.stockflow.modules.inventory.infrastructure.web;
+
+import com.stockflow.modules.inventory.application.dto.StockAsOfResponse;
+import com.stockflow.modules.inventory.application.dto.StockDiffResponse;
+import com.stockflow.modules.inventory.application.service.StockHistoryService;
+import com.stockflow.shared.application.dto.ApiResponse;
+import com.stockflow.shared.infrastructure.security.BranchAccess;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * REST controller for point-in-time stock queries, answered from daily balance snapshots.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Inventory", description = "Inventory and stock management endpoints")
+@SecurityRequirement(name = "bearerAuth")
+public class StockHistoryController {
+
+    private final StockHistoryService stockHistoryService;
+
+    public StockHistoryController(StockHistoryService stockHistoryService) {
+        this.stockHistoryService = stockHistoryService;
+    }
+
+    /**
+     * Gets the stock of a product in a branch at a point in time.
+     *
+     * @param branchId  the branch ID
+     * @param productId the product ID
+     * @param at        optional point in time, defaults to now
+     * @return the quantity in stock at that time
+     */
+    @BranchAccess
+    @GetMapping("/branches/{branchId}/stock/{productId}/as-of")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get stock as of", description = "Retrieves the stock of a product in a branch at a point in time")
+    public ResponseEntity<ApiResponse<StockAsOfResponse>> getStockAsOf(
+            @BranchAccess
+            @Parameter(description = "Branch ID", required = true)
+            @PathVariable Long branchId,
+            @Parameter(description = "Product ID", required = true)
+            @PathVariable Long productId,
+            @Parameter(description = "Point in time; movements created before it are counted")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        StockAsOfResponse response = stockHistoryService.getStockAsOf(branchId, productId,
+            at != null ? at : LocalDateTime.now());
+        return ResponseEntity.ok(ApiResponse.of(response));
+    }
+
+    /**
+     * Compares the closing balances of a branch at the end of two days.
+     *
+     * @param branchId the branch ID
+     * @param from     the first day
+     * @param to       the second day
+     * @return the products whose balance changed
+     */
+    @BranchAccess
+    @GetMapping("/branches/{branchId}/stock/diff")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Diff stock between dates", description = "Compares the closing stock of a branch at the end of two days")
+    public ResponseEntity<ApiResponse<StockDiffResponse>> diffStock(
+            @BranchAccess
+            @Parameter(description = "Branch ID", required = true)
+            @PathVariable Long branchId,
+            @Parameter(description = "First day", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Second day", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        StockDiffResponse response = stockHistoryService.diffStock(branchId, from, to);
+        return ResponseEntity.ok(ApiResponse.of(response));
+    }
+}
@@ -0,0 +1,154 @@
+package com.stockflow.modules.users.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stockflow.modules.users.domain.model.LoginDirectoryEntry;
+import com.stockflow.modules.users.domain.model.User;
+import com.stockflow.modules.users.domain.repository.LoginDirectoryRepository;
+import com.stockflow.shared.infrastructure.cache.NearCaches;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Resolves the tenant of an email for login and signup.
+ *
+ * <p>Reads go through a per-instance cache of active entries, so a returning user
+ * resolves its tenant without a query and an unknown email costs one indexed probe of
+ * {@code user_login_directory}. Emails are compared lower-cased.</p>
+ *
+ * <p>Writers call {@link #record(User)} after saving a user; the entry is written in
+ * their transaction. The cached email is dropped right away and again once the
+ * transaction completes, on this instance and on the others through {@link NearCaches},
+ * so neither a lookup made in between nor an entry of a rolled back transaction stays
+ * cached. Cached entries can still be stale for up to
+ * {@code app.users.login-directory.ttl-seconds} when an invalidation is not delivered;
+ * callers check the user they load and {@link #reload(String)} on a mismatch.</p>
+ */
+@Component
+public class LoginDirectory {
+
+    /**
+     * Near cache region of invalidation messages.
+     */
+    static final String REGION = "login-directory";
+
+    private final LoginDirectoryRepository repository;
+    private final NearCaches nearCaches;
+    private final Counter hits;
+    private final Counter misses;
+    private Cache<String, LoginDirectoryEntry> entries;
+
+    @Value("${app.users.login-directory.ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    @Value("${app.users.login-directory.max-entries:100000}")
+    private long maxEntries = 100000;
+
+    public LoginDirectory(LoginDirectoryRepository repository,
+                          NearCaches nearCaches,
+                          MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.nearCaches = nearCaches;
+        this.hits = lookups(meterRegistry, "hit");
+        this.misses = lookups(meterRegistry, "miss");
+    }
+
+    @PostConstruct
+    void init() {
+        this.entries = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+        nearCaches.subscribe(REGION, key -> {
+            if (key != null) {
+                entries.invalidate(key);
+            } else {
+                entries.invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Finds the active user of an email across tenants.
+     *
+     * @param email the email, in any case
+     * @return the entry, or empty if no active user has the email
+     */
+    public Optional<LoginDirectoryEntry> findActive(String email) {
+        String key = LoginDirectoryEntry.normalize(email);
+        LoginDirectoryEntry entry = entries.getIfPresent(key);
+        if (entry != null) {
+            hits.increment();
+            return Optional.of(entry);
+        }
+
+        misses.increment();
+        Optional<LoginDirectoryEntry> found = repository.findActiveByEmail(key);
+        found.ifPresent(value -> entries.put(key, value));
+        return found;
+    }
+
+    /**
+     * Finds the active user of an email, bypassing the cached entry.
+     *
+     * @param email the email, in any case
+     * @return the entry, or empty if no active user has the email
+     */
+    public Optional<LoginDirectoryEntry> reload(String email) {
+        entries.invalidate(LoginDirectoryEntry.normalize(email));
+        return findActive(email);
+    }
+
+    /**
+     * Checks whether an active user already has an email, in any tenant.
+     *
+     * @param email the email, in any case
+     * @return true if an active user has the email
+     */
+    public boolean existsActive(String email) {
+        return findActive(email).isPresent();
+    }
+
+    /**
+     * Writes the entry of a saved user in the current transaction. Call after creating a
+     * user or changing its email or active status.
+     *
+     * @param user the saved user
+     */
+    public void record(User user) {
+        LoginDirectoryEntry entry = LoginDirectoryEntry.of(user);
+        repository.save(entry);
+
+        entries.invalidate(entry.email());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(entry.email());
+                }
+            });
+        } else {
+            evict(entry.email());
+        }
+    }
+
+    private void evict(String email) {
+        entries.invalidate(email);
+        nearCaches.publish(REGION, email);
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("stockflow.users.login-directory.lookups")
+            .description("Email lookups of the login directory")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
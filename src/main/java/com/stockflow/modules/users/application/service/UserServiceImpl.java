@@ -1,5 +1,6 @@
 package com.stockflow.modules.users.application.service;
 
+import com.stockflow.modules.auth.domain.repository.RefreshTokenStore;
 import com.stockflow.modules.users.application.dto.*;
 import com.stockflow.modules.branches.domain.model.Branch;
 import com.stockflow.modules.users.domain.model.Role;
@@ -12,6 +13,7 @@ import com.stockflow.shared.domain.exception.ConflictException;
 import com.stockflow.shared.domain.exception.NotFoundException;
 import com.stockflow.shared.domain.exception.UnauthorizedException;
 import com.stockflow.shared.domain.exception.ValidationException;
+import com.stockflow.shared.infrastructure.security.AccessTokenRevocationCheck;
 import com.stockflow.shared.infrastructure.security.CustomUserDetails;
 import com.stockflow.shared.infrastructure.security.TenantContext;
 import org.slf4j.Logger;
@@ -40,15 +42,24 @@ public class UserServiceImpl implements UserService {
     private final RoleRepository roleRepository;
     private final BranchRepository branchRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AccessTokenRevocationCheck revocationCheck;
+    private final LoginDirectory loginDirectory;
+    private final RefreshTokenStore refreshTokenStore;
 
     public UserServiceImpl(UserRepository userRepository,
                           RoleRepository roleRepository,
                           BranchRepository branchRepository,
-                          PasswordEncoder passwordEncoder) {
+                          PasswordEncoder passwordEncoder,
+                          AccessTokenRevocationCheck revocationCheck,
+                          LoginDirectory loginDirectory,
+                          RefreshTokenStore refreshTokenStore) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.branchRepository = branchRepository;
         this.passwordEncoder = passwordEncoder;
+        this.revocationCheck = revocationCheck;
+        this.loginDirectory = loginDirectory;
+        this.refreshTokenStore = refreshTokenStore;
     }
 
     @Override
@@ -57,7 +68,7 @@ public class UserServiceImpl implements UserService {
         Long tenantId = TenantContext.requireTenantId();
 
         // Check if email already exists
-        if (userRepository.existsActiveByEmail(request.email())) {
+        if (loginDirectory.existsActive(request.email())) {
             throw new ConflictException("USER_EMAIL_ALREADY_EXISTS",
                 "User with this email already exists");
         }
@@ -98,6 +109,7 @@ public class UserServiceImpl implements UserService {
         }
 
         user = userRepository.save(user);
+        loginDirectory.record(user);
         logger.info("Created user: {} in tenant: {}", user.getEmail(), tenantId);
 
         return mapToUserResponse(user);
@@ -135,6 +147,11 @@ public class UserServiceImpl implements UserService {
 
         user.setActive(isActive);
         user = userRepository.save(user);
+        loginDirectory.record(user);
+        revocationCheck.invalidate(userId);
+        if (Boolean.FALSE.equals(isActive)) {
+            refreshTokenStore.revokeAllByUserId(userId);
+        }
 
         logger.info("Updated user {} active status to: {}", user.getEmail(), isActive);
 
@@ -170,6 +187,7 @@ public class UserServiceImpl implements UserService {
         }
 
         user = userRepository.save(user);
+        revocationCheck.invalidate(userId);
 
         logger.info("Updated roles for user: {} to: {}", user.getEmail(), request.roles());
 
@@ -197,6 +215,7 @@ public class UserServiceImpl implements UserService {
         }
 
         user = userRepository.save(user);
+        revocationCheck.invalidate(userId);
 
         logger.info("Updated branches for user: {} to: {}", user.getEmail(), request.branchIds());
 
@@ -227,6 +246,9 @@ public class UserServiceImpl implements UserService {
         // Set new password
         user.setPasswordHash(passwordEncoder.encode(request.newPassword()));
         userRepository.save(user);
+        revocationCheck.invalidate(user.getId());
+        // Sign out the other sessions; the client logs in again with the new password
+        refreshTokenStore.revokeAllByUserId(user.getId());
 
         logger.info("Password changed for user: {}", user.getEmail());
     }
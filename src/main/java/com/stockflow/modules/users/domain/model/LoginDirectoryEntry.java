@@ -0,0 +1,34 @@
+package com.stockflow.modules.users.domain.model;
+
+import java.util.Locale;
+
+/**
+ * Maps the email of a user to its tenant, for lookups made before the tenant is known.
+ *
+ * @param email    the lower-cased email
+ * @param tenantId the tenant ID
+ * @param userId   the user ID
+ * @param active   whether the user is active
+ */
+public record LoginDirectoryEntry(String email, Long tenantId, Long userId, boolean active) {
+
+    /**
+     * Builds the entry of a saved user.
+     *
+     * @param user the user, with its ID assigned
+     * @return the directory entry
+     */
+    public static LoginDirectoryEntry of(User user) {
+        return new LoginDirectoryEntry(normalize(user.getEmail()), user.getTenantId(), user.getId(), user.isActive());
+    }
+
+    /**
+     * Normalizes an email the way the directory stores it.
+     *
+     * @param email the email
+     * @return the lower-cased email
+     */
+    public static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
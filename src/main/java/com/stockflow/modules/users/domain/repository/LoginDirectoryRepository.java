@@ -0,0 +1,31 @@
+package com.stockflow.modules.users.domain.repository;
+
+import com.stockflow.modules.users.domain.model.LoginDirectoryEntry;
+
+import java.util.Optional;
+
+/**
+ * Global directory of user emails (email to tenant and user).
+ *
+ * <p>Login and signup look users up by email before a tenant is known. {@code users}
+ * is only indexed per tenant, so those lookups read the directory instead, which is
+ * indexed by email. Services write the entry of a user in the same transaction as the
+ * user itself.</p>
+ */
+public interface LoginDirectoryRepository {
+
+    /**
+     * Finds the active entry of an email.
+     *
+     * @param email the normalized email ({@link LoginDirectoryEntry#normalize(String)})
+     * @return the entry, or empty if no active user has the email
+     */
+    Optional<LoginDirectoryEntry> findActiveByEmail(String email);
+
+    /**
+     * Inserts or replaces the entry of a user.
+     *
+     * @param entry the entry
+     */
+    void save(LoginDirectoryEntry entry);
+}
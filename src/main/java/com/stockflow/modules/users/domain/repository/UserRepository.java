@@ -28,25 +28,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.email = :email AND u.tenantId = :tenantId AND u.isActive = true")
     Optional<User> findByEmailAndTenantId(@Param("email") String email, @Param("tenantId") Long tenantId);
 
-    /**
-     * Finds a user by email across all tenants.
-     * Used during login when tenant context is not yet available.
-     *
-     * @param email the user's email
-     * @return Optional containing the user if found
-     */
-    @Query("SELECT u FROM User u WHERE u.email = :email AND u.isActive = true")
-    Optional<User> findByEmail(@Param("email") String email);
-
-    /**
-     * Checks if an active user with the given email exists across all tenants.
-     *
-     * @param email the email to check
-     * @return true if an active user with the email exists
-     */
-    @Query("SELECT COUNT(u) > 0 FROM User u WHERE u.email = :email AND u.isActive = true")
-    boolean existsActiveByEmail(@Param("email") String email);
-
     /**
      * Checks if a user with the given email exists in the tenant.
      *
@@ -116,4 +97,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles LEFT JOIN FETCH u.branches WHERE u.id = :id AND u.tenantId = :tenantId AND u.isActive = true")
     Optional<User> findByIdWithRolesAndBranches(@Param("id") Long id, @Param("tenantId") Long tenantId);
+
+    /**
+     * Finds the row version of an active user.
+     * Used to check access tokens without loading the user and its relationships.
+     *
+     * @param id       the user ID
+     * @param tenantId the tenant ID
+     * @return Optional containing the version if the user exists and is active
+     */
+    @Query("SELECT u.version FROM User u WHERE u.id = :id AND u.tenantId = :tenantId AND u.isActive = true")
+    Optional<Long> findActiveVersion(@Param("id") Long id, @Param("tenantId") Long tenantId);
 }
@@ -0,0 +1,70 @@
+package com.stockflow.modules.users.infrastructure.persistence;
+
+import com.stockflow.modules.users.domain.model.LoginDirectoryEntry;
+import com.stockflow.modules.users.domain.repository.LoginDirectoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of LoginDirectoryRepository.
+ *
+ * <p>Lookups are answered from {@code idx_login_directory_email (email, is_active, tenant_id)}
+ * and the primary key it carries, without reading the rows. Entries are saved with an
+ * {@code UPDATE} followed by an insert when the user has no entry yet, so the same SQL
+ * runs on MySQL and H2.</p>
+ */
+@Repository
+public class LoginDirectoryRepositoryImpl implements LoginDirectoryRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginDirectoryRepositoryImpl.class);
+
+    private static final String SELECT_ACTIVE = """
+            SELECT user_id, tenant_id FROM user_login_directory
+            WHERE email = ? AND is_active = TRUE
+            """;
+
+    private static final String UPDATE_ENTRY = """
+            UPDATE user_login_directory SET email = ?, tenant_id = ?, is_active = ?, updated_at = ?
+            WHERE user_id = ?
+            """;
+
+    private static final String INSERT_ENTRY = """
+            INSERT INTO user_login_directory (user_id, email, tenant_id, is_active, updated_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LoginDirectoryRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<LoginDirectoryEntry> findActiveByEmail(String email) {
+        return jdbcTemplate.query(SELECT_ACTIVE,
+                (rs, rowNum) -> new LoginDirectoryEntry(email, rs.getLong("tenant_id"), rs.getLong("user_id"), true),
+                email).stream().findFirst();
+    }
+
+    @Override
+    public void save(LoginDirectoryEntry entry) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (jdbcTemplate.update(UPDATE_ENTRY, entry.email(), entry.tenantId(), entry.active(), now, entry.userId()) > 0) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.update(INSERT_ENTRY, entry.userId(), entry.email(), entry.tenantId(), entry.active(), now);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update(UPDATE_ENTRY, entry.email(), entry.tenantId(), entry.active(), now, entry.userId());
+        }
+        log.debug("Saved login directory entry of user {} in tenant {}", entry.userId(), entry.tenantId());
+    }
+}
@@ -0,0 +1,32 @@
+package com.stockflow.shared.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Pagination metadata for list responses served without a total count.
+ *
+ * <p>Used by cursor (keyset) pagination, where {@code page} is omitted and the next
+ * page is requested with {@code nextCursor}.</p>
+ */
+@Schema(description = "Pagination metadata without total count")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SliceMeta(
+    @Schema(description = "Current page number (0-indexed), absent in cursor mode", example = "0")
+    Integer page,
+    @Schema(description = "Page size", example = "20")
+    int size,
+    @Schema(description = "Indicates if there is a next page", example = "true")
+    boolean hasNext,
+    @Schema(description = "Opaque cursor of the next page, absent on the last page")
+    String nextCursor
+) {
+    public static SliceMeta of(Slice<?> slice, String nextCursor) {
+        return new SliceMeta(slice.getNumber(), slice.getSize(), slice.hasNext(), nextCursor);
+    }
+
+    public static SliceMeta ofCursor(Slice<?> slice, String nextCursor) {
+        return new SliceMeta(null, slice.getSize(), slice.hasNext(), nextCursor);
+    }
+}
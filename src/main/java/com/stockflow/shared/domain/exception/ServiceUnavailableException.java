@@ -0,0 +1,38 @@
+package com.stockflow.shared.domain.exception;
+
+/**
+ * Exception thrown when the server has no capacity left for a request right now.
+ *
+ * <p>This exception indicates a temporary condition: the same request may succeed
+ * once running work completes. Common scenarios:</p>
+ * <ul>
+ *   <li>All slots of a bulkhead (e.g. concurrent inventory exports) are taken</li>
+ * </ul>
+ *
+ * <p>Maps to HTTP 503 Service Unavailable with a {@code Retry-After} header.</p>
+ */
+public class ServiceUnavailableException extends BaseDomainException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new service unavailable exception.
+     *
+     * @param errorCode         the error code (e.g., "EXPORT_CAPACITY_EXCEEDED")
+     * @param message           the detail message explaining what is saturated
+     * @param retryAfterSeconds how long clients should wait before retrying
+     */
+    public ServiceUnavailableException(String errorCode, String message, long retryAfterSeconds) {
+        super(errorCode, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Returns how long clients should wait before retrying.
+     *
+     * @return the delay in seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,34 @@
+package com.stockflow.shared.domain.model;
+
+import com.stockflow.shared.infrastructure.persistence.TimeSortedId;
+import com.stockflow.shared.infrastructure.persistence.TimeSortedIds;
+import jakarta.persistence.*;
+
+/**
+ * Base class for high-volume entities whose IDs are assigned before the insert.
+ *
+ * <p>IDENTITY columns force Hibernate to execute every insert immediately to learn
+ * the generated key, which silently disables {@code hibernate.jdbc.batch_size}.
+ * Entities extending this class get a {@link TimeSortedIds time-sorted ID} at persist
+ * time, so their inserts are queued and sent in JDBC batches at flush.</p>
+ *
+ * <p>Plain SQL inserts into these tables must assign {@link TimeSortedIds#next()}
+ * themselves; the columns have no AUTO_INCREMENT.</p>
+ */
+@MappedSuperclass
+public abstract class TimeSortedEntity extends AuditableEntity {
+
+    @Id
+    @TimeSortedId
+    private Long id;
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(Long id) {
+        this.id = id;
+    }
+}
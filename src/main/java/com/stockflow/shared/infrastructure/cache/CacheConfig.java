@@ -6,9 +6,12 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.CacheErrorHandler;
@@ -17,6 +20,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -34,6 +39,7 @@ import java.util.Map;
  * <ul>
  * <li>Dashboard overview: 5 minutes (300 seconds)</li>
  * <li>Top products: 10 minutes (600 seconds)</li>
+ * <li>Closed trend buckets: no expiry; open trend buckets: 5 minutes</li>
  * <li>Default cache: 10 minutes (600 seconds)</li>
  * </ul>
  *
@@ -41,9 +47,23 @@ import java.util.Map;
  * <strong>Cache Invalidation Strategy:</strong>
  * </p>
  * <ul>
- * <li>Dashboard cache is invalidated on any stock movement or transfer</li>
  * <li>Cache keys include tenant ID for multi-tenancy isolation</li>
  * <li>Branch-specific caches include branch ID in the key</li>
+ * <li>Dashboard keys embed a tenant or branch generation; a stock movement or transfer
+ * bumps the generations of its tenant and branches ({@link DashboardCacheKeys})
+ * instead of clearing the caches of every tenant</li>
+ * </ul>
+ *
+ * <p>
+ * <strong>Near Caches:</strong>
+ * </p>
+ * <ul>
+ * <li>Every Redis cache is fronted by a size and TTL bounded in-process cache
+ * ({@link TwoTierCache}), so hot dashboard reads stay in the JVM</li>
+ * <li>Writes and evictions are broadcast on {@link NearCaches#CHANNEL}; other
+ * instances drop their copy</li>
+ * <li>Hits and misses are published per cache and tier as
+ * {@code stockflow.cache.gets{cache,tier,result}}</li>
  * </ul>
  *
  * @see com.stockflow.modules.dashboard.application.service.DashboardService
@@ -73,6 +93,18 @@ public class CacheConfig implements CachingConfigurer {
          */
         public static final String DASHBOARD_BRANCH = "dashboardBranch";
 
+        /**
+         * Cache name for closed movement trend buckets.
+         * No TTL: a bucket is cached once its days are closed and rebuilt, and never changes.
+         */
+        public static final String TREND_BUCKETS = "dashboardTrendBuckets";
+
+        /**
+         * Cache name for movement trend buckets that are still open (usually the current one).
+         * TTL: 5 minutes (300 seconds).
+         */
+        public static final String OPEN_TREND_BUCKETS = "dashboardOpenTrendBuckets";
+
         /**
          * Default TTL for dashboard cache in seconds.
          */
@@ -119,13 +151,17 @@ public class CacheConfig implements CachingConfigurer {
         }
 
         /**
-         * Configures RedisCacheManager with custom TTL settings per cache.
+         * Configures the cache manager: Redis caches with custom TTL settings per cache,
+         * fronted by in-process near caches unless {@code app.cache.near.enabled=false}.
          *
          * @param connectionFactory Redis connection factory
-         * @return configured RedisCacheManager
+         * @param nearCaches        near cache factory and invalidation channel
+         * @param meterRegistry     registry for per-tier hit rates
+         * @return configured cache manager
          */
         @Bean
-        public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+        public CacheManager cacheManager(RedisConnectionFactory connectionFactory, NearCaches nearCaches,
+                        MeterRegistry meterRegistry) {
                 // Create serializer with properly configured ObjectMapper
                 GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(
                                 createRedisObjectMapper());
@@ -158,11 +194,44 @@ public class CacheConfig implements CachingConfigurer {
                 cacheConfigs.put(TOP_PRODUCTS, defaultConfig
                                 .entryTtl(Duration.ofSeconds(TOP_PRODUCTS_TTL_SECONDS)));
 
-                return RedisCacheManager.builder(connectionFactory)
+                // Closed trend buckets: immutable, no TTL (bounded by the Redis eviction policy)
+                cacheConfigs.put(TREND_BUCKETS, defaultConfig
+                                .entryTtl(Duration.ZERO));
+
+                // Open trend buckets: 5 minutes TTL
+                cacheConfigs.put(OPEN_TREND_BUCKETS, defaultConfig
+                                .entryTtl(Duration.ofSeconds(DASHBOARD_TTL_SECONDS)));
+
+                RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
                                 .cacheDefaults(defaultConfig)
                                 .withInitialCacheConfigurations(cacheConfigs)
-                                .transactionAware()
-                                .build();
+                                .enableStatistics();
+
+                if (!nearCaches.isEnabled()) {
+                        return builder.transactionAware().build();
+                }
+
+                // The two-tier manager applies transaction awareness to both tiers at once
+                RedisCacheManager redisCacheManager = builder.build();
+                redisCacheManager.initializeCaches();
+                return new TwoTierCacheManager(redisCacheManager, nearCaches, meterRegistry);
+        }
+
+        /**
+         * Subscribes near caches to invalidations published by other instances.
+         *
+         * @param connectionFactory Redis connection factory
+         * @param nearCaches        near caches to keep coherent
+         * @return listener container for {@link NearCaches#CHANNEL}
+         */
+        @Bean
+        @ConditionalOnProperty(name = "app.cache.near.enabled", havingValue = "true", matchIfMissing = true)
+        public RedisMessageListenerContainer nearCacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                        NearCaches nearCaches) {
+                RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+                container.setConnectionFactory(connectionFactory);
+                container.addMessageListener(nearCaches, new ChannelTopic(NearCaches.CHANNEL));
+                return container;
         }
 
         /**
@@ -0,0 +1,176 @@
+package com.stockflow.shared.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Generation-based keys for the dashboard caches.
+ *
+ * <p>Every tenant and every (tenant, branch) pair owns a counter in Redis. Cache keys
+ * embed the current value of the counter, so invalidating a scope is a single
+ * {@code INCR}: entries written under the previous generation are no longer reachable
+ * and expire with their TTL. A stock movement therefore invalidates the tenant-wide
+ * segments and the segments of the affected branches only, in O(1) per scope, instead
+ * of clearing the dashboard caches of every tenant.</p>
+ *
+ * <ul>
+ *   <li>Tenant scope: {@link CacheConfig#DASHBOARD_OVERVIEW} and tenant-wide {@link CacheConfig#TOP_PRODUCTS}</li>
+ *   <li>Branch scope: {@link CacheConfig#DASHBOARD_BRANCH} and branch {@link CacheConfig#TOP_PRODUCTS}</li>
+ * </ul>
+ *
+ * <p>Generations are also held in a near cache ({@link NearCaches}), so building a key
+ * usually does not leave the JVM. A bump updates the local value and tells the other
+ * instances to drop theirs. A generation read from Redis is kept locally only if no
+ * invalidation of its scope arrived during the read ({@link InvalidationStamps}), so a
+ * slow read cannot reinstate the generation a bump just replaced.</p>
+ *
+ * <p>Redis errors are logged like cache errors. An unreadable counter is treated as
+ * generation 0; since the counters live next to the cached entries, an outage affects
+ * both alike and the dashboard falls back to the database.</p>
+ */
+@Component("dashboardCacheKeys")
+public class DashboardCacheKeys {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardCacheKeys.class);
+
+    private static final String GENERATION_PREFIX = "stockflow:generation:";
+
+    private static final String NEAR_CACHE_REGION = "dashboardGenerations";
+
+    private final StringRedisTemplate redisTemplate;
+    private final NearCaches nearCaches;
+    private final Cache<String, Long> localGenerations;
+    private final InvalidationStamps stamps = new InvalidationStamps();
+
+    public DashboardCacheKeys(StringRedisTemplate redisTemplate, NearCaches nearCaches) {
+        this.redisTemplate = redisTemplate;
+        this.nearCaches = nearCaches;
+        this.localGenerations = nearCaches.build();
+        nearCaches.subscribe(NEAR_CACHE_REGION, scope -> {
+            stamps.invalidate(scope);
+            if (scope != null) {
+                localGenerations.invalidate(scope);
+            } else {
+                localGenerations.invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Builds the key of a tenant-wide dashboard segment.
+     *
+     * @param tenantId the tenant ID
+     * @return the key for the current tenant generation
+     */
+    public String tenant(Long tenantId) {
+        return "t" + tenantId + ":g" + generation(tenantScope(tenantId));
+    }
+
+    /**
+     * Builds the key of a branch dashboard segment.
+     *
+     * @param tenantId the tenant ID
+     * @param branchId the branch ID
+     * @return the key for the current branch generation
+     */
+    public String branch(Long tenantId, Long branchId) {
+        return "t" + tenantId + ":b" + branchId + ":g" + generation(branchScope(tenantId, branchId));
+    }
+
+    /**
+     * Strips the generation from a key built by this class.
+     *
+     * @param key a tenant or branch key
+     * @return the scope part of the key, identical across generations
+     */
+    public static String withoutGeneration(String key) {
+        int generation = key.lastIndexOf(":g");
+        return generation >= 0 ? key.substring(0, generation) : key;
+    }
+
+    /**
+     * Invalidates the tenant-wide segments and the segments of the given branches.
+     *
+     * <p>Inside a transaction the generations are bumped after commit, so a rolled back
+     * write invalidates nothing and readers cannot cache the pre-commit state under the
+     * new generation.</p>
+     *
+     * @param tenantId  the tenant ID
+     * @param branchIds the branches whose stock changed
+     */
+    public void invalidate(Long tenantId, Collection<Long> branchIds) {
+        Set<String> scopes = new LinkedHashSet<>();
+        scopes.add(tenantScope(tenantId));
+        for (Long branchId : branchIds) {
+            scopes.add(branchScope(tenantId, branchId));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(scopes);
+                }
+            });
+        } else {
+            bump(scopes);
+        }
+    }
+
+    private long generation(String scope) {
+        Long local = nearCaches.isEnabled() ? localGenerations.getIfPresent(scope) : null;
+        if (local != null) {
+            return local;
+        }
+
+        long stamp = stamps.stamp(scope);
+        try {
+            String value = redisTemplate.opsForValue().get(GENERATION_PREFIX + scope);
+            long generation = value != null ? Long.parseLong(value) : 0L;
+            if (nearCaches.isEnabled()) {
+                stamps.putIfCurrent(localGenerations, scope, generation, stamp);
+            }
+            return generation;
+        } catch (RuntimeException e) {
+            logger.warn("Cache generation lookup failed for '{}': {}", scope, e.getMessage());
+            return 0L;
+        }
+    }
+
+    private void bump(Set<String> scopes) {
+        for (String scope : scopes) {
+            stamps.invalidate(scope);
+            long stamp = stamps.stamp(scope);
+            try {
+                Long generation = redisTemplate.opsForValue().increment(GENERATION_PREFIX + scope);
+                if (generation != null && nearCaches.isEnabled()
+                        && !stamps.putIfCurrent(localGenerations, scope, generation, stamp)) {
+                    // Bumped concurrently: drop the previous generation, the next read fetches the latest
+                    localGenerations.invalidate(scope);
+                }
+            } catch (RuntimeException e) {
+                localGenerations.invalidate(scope);
+                logger.warn("Cache generation bump failed for '{}': {}", scope, e.getMessage());
+            }
+            nearCaches.publish(NEAR_CACHE_REGION, scope);
+        }
+        logger.debug("Invalidated dashboard cache scopes {}", scopes);
+    }
+
+    private static String tenantScope(Long tenantId) {
+        return "tenant:" + tenantId;
+    }
+
+    private static String branchScope(Long tenantId, Long branchId) {
+        return "branch:" + tenantId + ":" + branchId;
+    }
+}
@@ -0,0 +1,82 @@
+package com.stockflow.shared.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Invalidation counters guarding a near cache against put-after-invalidate races.
+ *
+ * <p>A reader that misses the near cache reads the shared tier and copies the value
+ * into the near cache. If an invalidation for the key arrives while the shared read is
+ * in flight, the value read may be older than the invalidation, and copying it would
+ * pin it until the near cache TTL. Readers therefore {@link #stamp} the key before the
+ * shared read and copy the value with {@link #putIfCurrent}, which skips the copy, or
+ * drops it again, when the key was invalidated in the meantime.</p>
+ *
+ * <p>Counters are striped by key hash rather than kept per key, so memory does not grow
+ * with the key space; an invalidation of a colliding key only costs a skipped copy.</p>
+ */
+final class InvalidationStamps {
+
+    private static final int STRIPES = 1024;
+
+    private final AtomicLongArray stripes = new AtomicLongArray(STRIPES);
+    private final AtomicLong all = new AtomicLong();
+
+    /**
+     * Captures the invalidation state of a key before reading it from the shared tier.
+     *
+     * @param key the near cache key
+     * @return a stamp that changes whenever the key, or the whole cache, is invalidated
+     */
+    long stamp(String key) {
+        // Both counters only grow, so their sum changes whenever either does
+        return all.get() + stripes.get(stripe(key));
+    }
+
+    /**
+     * Records an invalidation; call it before dropping the near cache entry.
+     *
+     * @param key the invalidated key, or null when the whole cache is invalidated
+     */
+    void invalidate(String key) {
+        if (key != null) {
+            stripes.incrementAndGet(stripe(key));
+        } else {
+            all.incrementAndGet();
+        }
+    }
+
+    /**
+     * Copies a value into a near cache unless the key was invalidated since the stamp.
+     *
+     * <p>The stamp is checked again after the put: an invalidation landing between the
+     * check and the put has either already dropped the entry (and bumped the stamp, so
+     * the copy is dropped here) or drops it right after.</p>
+     *
+     * @param cache the near cache
+     * @param key   the key
+     * @param value the value read from the shared tier
+     * @param stamp the stamp captured before the shared read
+     * @param <V>   the value type
+     * @return whether the value was kept
+     */
+    <V> boolean putIfCurrent(Cache<String, V> cache, String key, V value, long stamp) {
+        if (stamp(key) != stamp) {
+            return false;
+        }
+        cache.put(key, value);
+        if (stamp(key) != stamp) {
+            cache.invalidate(key);
+            return false;
+        }
+        return true;
+    }
+
+    private static int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
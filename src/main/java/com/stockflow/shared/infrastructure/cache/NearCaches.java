@@ -0,0 +1,121 @@
+package com.stockflow.shared.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process caches kept coherent across instances through Redis pub/sub.
+ *
+ * <p>Near caches are Caffeine caches (W-TinyLFU eviction) bounded by
+ * {@code app.cache.near.max-entries} per region and expiring
+ * {@code app.cache.near.ttl-seconds} after write. When an instance changes or drops
+ * an entry it publishes the region and key on {@value #CHANNEL}; the other instances
+ * drop their local copy. Pub/sub does not redeliver messages missed during a
+ * disconnect, so the TTL bounds how long such a copy can stay stale.</p>
+ *
+ * <p>With {@code app.cache.near.enabled=false} nothing is cached in-process and
+ * nothing is published.</p>
+ */
+@Component
+public class NearCaches implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(NearCaches.class);
+
+    /**
+     * Redis channel carrying invalidation messages.
+     */
+    public static final String CHANNEL = "stockflow:cache:invalidation";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    @Value("${app.cache.near.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.cache.near.max-entries:10000}")
+    private long maxEntries = 10000;
+
+    @Value("${app.cache.near.ttl-seconds:30}")
+    private long ttlSeconds = 30;
+
+    public NearCaches(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Builds an empty near cache.
+     *
+     * @param <V> the value type
+     * @return a size and TTL bounded cache
+     */
+    public <V> Cache<String, V> build() {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Registers a listener for invalidations published by other instances.
+     *
+     * @param region   the region, such as a cache name
+     * @param listener receives the invalidated key, or null when the whole region is invalidated
+     */
+    public void subscribe(String region, Consumer<String> listener) {
+        listeners.computeIfAbsent(region, name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Tells the other instances to drop a key.
+     *
+     * @param region the region
+     * @param key    the key, or null to drop the whole region
+     */
+    public void publish(String region, String key) {
+        if (!enabled) {
+            return;
+        }
+
+        String message = key != null ? origin + '\n' + region + '\n' + key : origin + '\n' + region;
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (RuntimeException e) {
+            logger.warn("Near cache invalidation of '{}' in '{}' not published: {}", key, region, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 3);
+        if (parts.length < 2 || origin.equals(parts[0])) {
+            return;
+        }
+
+        String key = parts.length == 3 ? parts[2] : null;
+        for (Consumer<String> listener : listeners.getOrDefault(parts[1], List.of())) {
+            listener.accept(key);
+        }
+        logger.debug("Near cache invalidation received for '{}' in '{}'", key, parts[1]);
+    }
+}
@@ -0,0 +1,211 @@
+package com.stockflow.shared.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache reading from an in-process tier before the shared Redis tier.
+ *
+ * <p>Values found in Redis are copied into the near cache, so repeated reads of a key
+ * are served from memory without a round trip or deserialization. Writes go to both
+ * tiers and are announced through {@link NearCaches} so the other instances drop
+ * their copy.</p>
+ *
+ * <p>Every local change and every invalidation received from another instance bumps
+ * the key's {@link InvalidationStamps stamp}; a Redis value is copied into the near cache
+ * only if the stamp taken before the Redis read is unchanged, so a read racing an
+ * invalidation cannot reinstate the value the invalidation dropped.
+ * {@link #get(Object, Callable)} runs one loader per key at a time on an instance;
+ * concurrent callers wait for its value.</p>
+ *
+ * <p>Lookups are counted per tier as {@code stockflow.cache.gets{cache,tier,result}}:
+ * {@code tier=local} for every lookup and {@code tier=redis} for lookups that missed
+ * the near cache.</p>
+ */
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final NearCaches nearCaches;
+    private final InvalidationStamps stamps = new InvalidationStamps();
+    private final Map<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+
+    public TwoTierCache(Cache remote, NearCaches nearCaches, MeterRegistry meterRegistry) {
+        this.name = remote.getName();
+        this.local = nearCaches.build();
+        this.remote = remote;
+        this.nearCaches = nearCaches;
+        this.localHits = gets(meterRegistry, "local", "hit");
+        this.localMisses = gets(meterRegistry, "local", "miss");
+        this.remoteHits = gets(meterRegistry, "redis", "hit");
+        this.remoteMisses = gets(meterRegistry, "redis", "miss");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        localMisses.increment();
+
+        long stamp = stamps.stamp(localKey);
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            remoteHits.increment();
+            stamps.putIfCurrent(local, localKey, wrapper.get(), stamp);
+        } else {
+            remoteMisses.increment();
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            return (T) wrapper.get();
+        }
+
+        String localKey = localKey(key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = loading.putIfAbsent(localKey, flight);
+        if (running != null) {
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            // A load of the key may have completed between the miss and taking the flight
+            wrapper = get(key);
+            T value = wrapper != null && wrapper.get() != null ? (T) wrapper.get() : load(key, valueLoader);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(localKey, flight);
+        }
+    }
+
+    private <T> T load(Object key, Callable<T> valueLoader) {
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        // Kept locally even if Redis rejects the write; the TTL bounds the copy
+        stamps.invalidate(localKey(key));
+        if (value != null) {
+            local.put(localKey(key), value);
+        }
+        remote.put(key, value);
+        nearCaches.publish(name, localKey(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        Object current = existing != null && existing.get() != null ? existing.get() : value;
+        stamps.invalidate(localKey(key));
+        local.put(localKey(key), current);
+        nearCaches.publish(name, localKey(key));
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        stamps.invalidate(localKey(key));
+        local.invalidate(localKey(key));
+        remote.evict(key);
+        nearCaches.publish(name, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        stamps.invalidate(null);
+        local.invalidateAll();
+        remote.clear();
+        nearCaches.publish(name, null);
+    }
+
+    /**
+     * Drops a key from the near cache only, after another instance changed it.
+     *
+     * @param key the key, or null to drop every key
+     */
+    void invalidateLocal(String key) {
+        stamps.invalidate(key);
+        if (key != null) {
+            local.invalidate(key);
+        } else {
+            local.invalidateAll();
+        }
+    }
+
+    /**
+     * Keys are compared by their string form, as in Redis.
+     */
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private Counter gets(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("stockflow.cache.gets")
+                .description("Cache lookups per tier")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,59 @@
+package com.stockflow.shared.infrastructure.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Cache manager placing a {@link TwoTierCache} near cache in front of every Redis cache.
+ *
+ * <p>Puts and evictions are applied after commit when called inside a transaction,
+ * like with a transaction-aware {@link RedisCacheManager}.</p>
+ */
+public class TwoTierCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final RedisCacheManager redisCacheManager;
+    private final NearCaches nearCaches;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Creates the manager.
+     *
+     * @param redisCacheManager an initialized, non transaction-aware Redis cache manager
+     * @param nearCaches        the near cache factory and invalidation channel
+     * @param meterRegistry     registry for per-tier hit rates
+     */
+    public TwoTierCacheManager(RedisCacheManager redisCacheManager, NearCaches nearCaches,
+                               MeterRegistry meterRegistry) {
+        this.redisCacheManager = redisCacheManager;
+        this.nearCaches = nearCaches;
+        this.meterRegistry = meterRegistry;
+        setTransactionAware(true);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>();
+        for (String name : redisCacheManager.getCacheNames()) {
+            caches.add(twoTier(redisCacheManager.getCache(name)));
+        }
+        return caches;
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache remote = redisCacheManager.getCache(name);
+        return remote != null ? twoTier(remote) : null;
+    }
+
+    private Cache twoTier(Cache remote) {
+        TwoTierCache cache = new TwoTierCache(remote, nearCaches, meterRegistry);
+        nearCaches.subscribe(cache.getName(), cache::invalidateLocal);
+        return cache;
+    }
+}
@@ -0,0 +1,66 @@
+package com.stockflow.shared.infrastructure.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * CSV row writer (RFC 4180).
+ *
+ * <p>Fields containing a separator, a quote or a line break are quoted. Text starting
+ * with {@code = + - @} is prefixed with a quote so spreadsheets do not evaluate it as a
+ * formula; numbers are written unchanged.</p>
+ */
+class CsvRowWriter implements RowWriter {
+
+    private final Writer out;
+    private final int columns;
+
+    CsvRowWriter(Writer out, List<String> columns) throws IOException {
+        this.out = out;
+        this.columns = columns.size();
+        write(columns.toArray());
+    }
+
+    @Override
+    public void write(Object... values) throws IOException {
+        if (values.length != columns) {
+            throw new IllegalArgumentException("Expected " + columns + " values, got " + values.length);
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeField(values[i]);
+        }
+        out.write("\r\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            out.write(value.toString());
+            return;
+        }
+
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            out.write(text);
+            return;
+        }
+
+        out.write('"');
+        out.write(text.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -0,0 +1,57 @@
+package com.stockflow.shared.infrastructure.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Formats of streamed exports.
+ */
+public enum ExportFormat {
+
+    /**
+     * RFC 4180 comma-separated values with a header row.
+     */
+    CSV("text/csv;charset=UTF-8", "csv") {
+        @Override
+        public RowWriter open(Writer out, List<String> columns) throws IOException {
+            return new CsvRowWriter(out, columns);
+        }
+    },
+
+    /**
+     * Newline-delimited JSON: one object per row, keyed by column.
+     */
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        public RowWriter open(Writer out, List<String> columns) throws IOException {
+            return new NdjsonRowWriter(out, columns);
+        }
+    };
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    /**
+     * Opens a row writer on a character stream.
+     *
+     * @param out     the stream, which the writer does not close
+     * @param columns the column names
+     * @return the row writer
+     * @throws IOException if the header cannot be written
+     */
+    public abstract RowWriter open(Writer out, List<String> columns) throws IOException;
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
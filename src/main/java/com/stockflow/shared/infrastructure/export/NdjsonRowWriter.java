@@ -0,0 +1,68 @@
+package com.stockflow.shared.infrastructure.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Newline-delimited JSON row writer.
+ *
+ * <p>Rows are written with a streaming {@link JsonGenerator}, so no tree or map is
+ * built per row.</p>
+ */
+class NdjsonRowWriter implements RowWriter {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder().build();
+
+    private final Writer out;
+    private final List<String> columns;
+    private final JsonGenerator generator;
+
+    NdjsonRowWriter(Writer out, List<String> columns) throws IOException {
+        this.out = out;
+        this.columns = List.copyOf(columns);
+        this.generator = JSON_FACTORY.createGenerator(out)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+            .setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(Object... values) throws IOException {
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " values, got " + values.length);
+        }
+        generator.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            generator.writeFieldName(columns.get(i));
+            writeValue(values[i]);
+        }
+        generator.writeEndObject();
+        // Hand the row to the buffered stream; the stream itself is flushed by flush()
+        generator.flush();
+        out.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Long || value instanceof Integer) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof BigDecimal decimal) {
+            generator.writeNumber(decimal);
+        } else if (value instanceof Boolean bool) {
+            generator.writeBoolean(bool);
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+}
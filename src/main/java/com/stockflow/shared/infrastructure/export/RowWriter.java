@@ -0,0 +1,28 @@
+package com.stockflow.shared.infrastructure.export;
+
+import java.io.IOException;
+
+/**
+ * Writes the rows of an export one at a time, without holding them.
+ *
+ * <p>Values are written in the order of the columns the writer was opened with
+ * ({@link ExportFormat#open}). Supported values are {@code null}, numbers, booleans,
+ * strings and {@code java.time} values, which are written in ISO-8601.</p>
+ */
+public interface RowWriter {
+
+    /**
+     * Writes one row.
+     *
+     * @param values the column values
+     * @throws IOException if the underlying stream fails, e.g. the client disconnected
+     */
+    void write(Object... values) throws IOException;
+
+    /**
+     * Pushes buffered rows to the underlying stream.
+     *
+     * @throws IOException if the underlying stream fails
+     */
+    void flush() throws IOException;
+}
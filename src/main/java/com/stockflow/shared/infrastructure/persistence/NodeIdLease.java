@@ -0,0 +1,192 @@
+package com.stockflow.shared.infrastructure.persistence;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+/**
+ * Leases the node ID used by {@link TimeSortedIds}.
+ *
+ * <p>Every instance writing to the same database must use a distinct node ID (0-15),
+ * otherwise two instances could issue the same ID within the same millisecond, which
+ * the partitioned {@code stock_movements} primary key no longer rejects. At startup the
+ * instance leases a row of {@code id_node_leases}: the configured {@code app.ids.node-id},
+ * or the first free one when it is not set. Startup fails when the configured node is
+ * held by another instance or all 16 are taken. The lease lasts
+ * {@code app.ids.lease.ttl-seconds} (default 60 s), is renewed every
+ * {@code app.ids.lease.renew-interval-ms} (default 15 s) and released on shutdown, so a
+ * crashed instance frees its node once the lease expires. Expiry is compared against
+ * each instance's clock, which must agree within the TTL.</p>
+ *
+ * <p>With {@code app.ids.lease.enabled=false} (single-instance setups, tests) no lease is
+ * taken and {@code app.ids.node-id} is required.</p>
+ *
+ * <p>Before the first ID is issued, the generator is advanced past the highest persisted
+ * ID, so IDs borrowed ahead of the clock before a restart are not issued again.</p>
+ */
+@Component
+public class NodeIdLease {
+
+    private static final Logger log = LoggerFactory.getLogger(NodeIdLease.class);
+
+    private static final String LEASE = """
+            UPDATE id_node_leases SET holder = ?, expires_at = ?, updated_at = ?
+            WHERE node_id = ? AND (holder IS NULL OR holder = ? OR expires_at < ?)
+            """;
+
+    private static final String RENEW = """
+            UPDATE id_node_leases SET expires_at = ?, updated_at = ?
+            WHERE node_id = ? AND holder = ?
+            """;
+
+    private static final String RELEASE = """
+            UPDATE id_node_leases SET holder = NULL, expires_at = NULL, updated_at = ?
+            WHERE node_id = ? AND holder = ?
+            """;
+
+    private static final String SELECT_MAX_ID = """
+            SELECT MAX(max_id) FROM (
+                SELECT MAX(id) AS max_id FROM stock_movements
+                UNION ALL SELECT MAX(id) FROM stock_movements_archive
+                UNION ALL SELECT MAX(id) FROM branch_product_stock
+                UNION ALL SELECT MAX(id) FROM refresh_tokens
+            ) ids
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String holder;
+
+    @Value("${app.ids.node-id:}")
+    private String configuredNodeId = "";
+
+    @Value("${app.ids.lease.enabled:true}")
+    private boolean leaseEnabled = true;
+
+    @Value("${app.ids.lease.ttl-seconds:60}")
+    private long ttlSeconds = 60;
+
+    private volatile Integer nodeId;
+
+    public NodeIdLease(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        String name = ManagementFactory.getRuntimeMXBean().getName();
+        this.holder = (name.length() > 60 ? name.substring(0, 60) : name) + "/" + UUID.randomUUID();
+    }
+
+    /**
+     * Takes the node ID and advances the generator past the persisted IDs.
+     *
+     * @throws IllegalStateException if no node ID can be leased or none is configured
+     */
+    @PostConstruct
+    void acquire() {
+        Integer configured = configuredNodeId == null || configuredNodeId.isBlank()
+                ? null : Integer.valueOf(configuredNodeId.trim());
+        int node;
+        if (!leaseEnabled) {
+            if (configured == null) {
+                throw new IllegalStateException("app.ids.node-id must be set when app.ids.lease.enabled is false");
+            }
+            node = configured;
+        } else if (configured != null) {
+            if (!tryLease(configured)) {
+                throw new IllegalStateException("Node ID " + configured + " is leased by another instance");
+            }
+            node = configured;
+        } else {
+            node = leaseAny().orElseThrow(() -> new IllegalStateException(
+                    "All " + (TimeSortedIds.MAX_NODE_ID + 1) + " node IDs are leased by running instances"));
+        }
+
+        TimeSortedIds.setNodeId(node);
+        Long maxId = jdbcTemplate.queryForObject(SELECT_MAX_ID, Long.class);
+        if (maxId != null) {
+            TimeSortedIds.advancePast(maxId);
+        }
+        nodeId = node;
+        log.info("Time-sorted ID generation using node {} ({})", node, leaseEnabled ? "leased" : "configured");
+    }
+
+    /**
+     * Extends the lease; leases another node ID if it expired and was taken over.
+     */
+    @Scheduled(fixedDelayString = "${app.ids.lease.renew-interval-ms:15000}",
+               initialDelayString = "${app.ids.lease.renew-interval-ms:15000}")
+    public void renew() {
+        Integer current = nodeId;
+        if (!leaseEnabled || current == null) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (jdbcTemplate.update(RENEW, Timestamp.valueOf(now.plusSeconds(ttlSeconds)),
+                    Timestamp.valueOf(now), current, holder) == 1) {
+                return;
+            }
+            OptionalInt next = leaseAny();
+            if (next.isPresent()) {
+                TimeSortedIds.setNodeId(next.getAsInt());
+                nodeId = next.getAsInt();
+                log.error("Lease on node ID {} expired and was taken over, now using node {}", current, nodeId);
+            } else {
+                log.error("Lease on node ID {} expired and was taken over, and no node ID is free", current);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to renew the lease on node ID {}: {}", current, e.getMessage());
+        }
+    }
+
+    /**
+     * Frees the node ID for the next instance.
+     */
+    @PreDestroy
+    void release() {
+        Integer current = nodeId;
+        if (!leaseEnabled || current == null) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(RELEASE, Timestamp.valueOf(LocalDateTime.now()), current, holder);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release node ID {}, it frees up when the lease expires: {}", current, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the node ID in use.
+     *
+     * @return the node ID, or null before startup completed
+     */
+    public Integer getNodeId() {
+        return nodeId;
+    }
+
+    private OptionalInt leaseAny() {
+        for (int node = 0; node <= TimeSortedIds.MAX_NODE_ID; node++) {
+            if (tryLease(node)) {
+                return OptionalInt.of(node);
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    private boolean tryLease(int node) {
+        if (node < 0 || node > TimeSortedIds.MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + TimeSortedIds.MAX_NODE_ID + ": " + node);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.update(LEASE, holder, Timestamp.valueOf(now.plusSeconds(ttlSeconds)),
+                Timestamp.valueOf(now), node, holder, Timestamp.valueOf(now)) == 1;
+    }
+}
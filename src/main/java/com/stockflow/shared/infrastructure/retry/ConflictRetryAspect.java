@@ -0,0 +1,126 @@
+package com.stockflow.shared.infrastructure.retry;
+
+import com.stockflow.shared.domain.exception.BaseDomainException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Aspect that retries methods annotated with {@link RetryOnConflict}.
+ *
+ * <p>Backoff is exponential with full jitter: before attempt {@code n} the caller
+ * sleeps a random time between zero and {@code min(maxBackoff, initialBackoff * 2^(n-1))}.
+ * Jitter spreads competing writers apart so they do not collide again on the next attempt.</p>
+ *
+ * <p>The aspect runs before the transaction interceptor, so every attempt gets its
+ * own transaction. When all attempts fail, the last exception is rethrown unchanged.</p>
+ *
+ * <p><strong>Metrics</strong> (tagged with {@code operation}):</p>
+ * <ul>
+ *   <li>{@code stockflow.retry.attempts} - retries performed (first call not counted)</li>
+ *   <li>{@code stockflow.retry.recovered} - calls that succeeded after at least one retry</li>
+ *   <li>{@code stockflow.retry.exhausted} - calls that gave up after the last attempt</li>
+ * </ul>
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+public class ConflictRetryAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConflictRetryAspect.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.retry.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.retry.max-attempts:4}")
+    private int maxAttempts = 4;
+
+    @Value("${app.retry.initial-backoff-ms:10}")
+    private long initialBackoffMs = 10;
+
+    @Value("${app.retry.max-backoff-ms:200}")
+    private long maxBackoffMs = 200;
+
+    public ConflictRetryAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Invokes the target method, retrying on conflicts.
+     *
+     * @param joinPoint       the join point
+     * @param retryOnConflict the annotation on the target method
+     * @return the method result
+     * @throws Throwable the last failure when retries are exhausted, or any non-conflict failure
+     */
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        if (!enabled || maxAttempts <= 1 || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String operation = retryOnConflict.operation();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = joinPoint.proceed();
+                if (attempt > 1) {
+                    counter("stockflow.retry.recovered", operation).increment();
+                    logger.debug("{} succeeded on attempt {}", operation, attempt);
+                }
+                return result;
+            } catch (RuntimeException ex) {
+                if (!isConflict(ex, retryOnConflict)) {
+                    throw ex;
+                }
+                if (attempt >= maxAttempts) {
+                    counter("stockflow.retry.exhausted", operation).increment();
+                    logger.warn("{} gave up after {} attempts: {}", operation, attempt, ex.getMessage());
+                    throw ex;
+                }
+
+                long backoff = backoffMillis(attempt);
+                logger.debug("{} conflicted on attempt {}, retrying in {}ms", operation, attempt, backoff);
+                counter("stockflow.retry.attempts", operation).increment();
+
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private boolean isConflict(RuntimeException ex, RetryOnConflict retryOnConflict) {
+        if (ex instanceof ConcurrencyFailureException) {
+            return true;
+        }
+        return ex instanceof BaseDomainException domainException
+            && Arrays.asList(retryOnConflict.errorCodes()).contains(domainException.getErrorCode());
+    }
+
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private Counter counter(String name, String operation) {
+        return meterRegistry.counter(name, "operation", operation);
+    }
+}
@@ -0,0 +1,44 @@
+package com.stockflow.shared.infrastructure.retry;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs the annotated method when it fails because of a write conflict.
+ *
+ * <p>The retry wraps the whole transactional call, so each attempt starts a fresh
+ * transaction and re-reads the current state. Conflicts are
+ * {@link org.springframework.dao.ConcurrencyFailureException} (optimistic locking,
+ * deadlock victims, lock timeouts) and domain exceptions whose error code is listed
+ * in {@link #errorCodes()}.</p>
+ *
+ * <p>Usage:</p>
+ * <pre>
+ * {@code @RetryOnConflict(operation = "inventory.createMovement", errorCodes = "STOCK_CONCURRENT_MODIFICATION")}
+ * {@code @Transactional}
+ * public StockMovementResponse createMovement(StockMovementRequest request) { ... }
+ * </pre>
+ *
+ * <p>Attempts and backoff are configured under {@code app.retry.*}. The retry is
+ * skipped when the method joins an outer transaction, since that transaction is
+ * already marked for rollback.</p>
+ *
+ * @see ConflictRetryAspect
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+
+    /**
+     * Name used as the {@code operation} tag of the retry metrics.
+     */
+    String operation();
+
+    /**
+     * Domain error codes that are treated as conflicts in addition to
+     * {@link org.springframework.dao.ConcurrencyFailureException}.
+     */
+    String[] errorCodes() default {};
+}
@@ -0,0 +1,132 @@
+package com.stockflow.shared.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stockflow.modules.users.domain.repository.UserRepository;
+import com.stockflow.shared.infrastructure.cache.NearCaches;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Rejects access tokens of users deactivated or changed since the token was issued.
+ *
+ * <p>Requests are authenticated from the token claims, so a token would otherwise stay
+ * valid for its whole TTL. Access tokens carry the version of the user row
+ * ({@link JwtService#USER_VERSION_CLAIM}); every update of the user, including its
+ * roles, branches and password, increments that version. A token is revoked when the
+ * user is missing, inactive or at a newer version.</p>
+ *
+ * <p>Versions are cached per user for {@code app.jwt.revocation-check.ttl-seconds}
+ * (default 30), so a busy user costs one primary key lookup per TTL instead of one user
+ * load per request. User writes drop the cached version after commit on this instance
+ * and on the others through {@link NearCaches}; the TTL bounds staleness when the
+ * invalidation is not delivered.</p>
+ */
+@Component
+public class AccessTokenRevocationCheck {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessTokenRevocationCheck.class);
+
+    /**
+     * Near cache region of invalidation messages.
+     */
+    static final String REGION = "user-versions";
+
+    private static final long INACTIVE = -1L;
+
+    private final UserRepository userRepository;
+    private final NearCaches nearCaches;
+    private final Counter loads;
+    private final Counter revoked;
+    private Cache<Long, Long> versions;
+
+    @Value("${app.jwt.revocation-check.ttl-seconds:30}")
+    private long ttlSeconds = 30;
+
+    @Value("${app.jwt.revocation-check.max-entries:100000}")
+    private long maxEntries = 100000;
+
+    public AccessTokenRevocationCheck(UserRepository userRepository,
+                                      NearCaches nearCaches,
+                                      MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.nearCaches = nearCaches;
+        this.loads = Counter.builder("stockflow.security.revocation.loads")
+            .description("User versions loaded to check access tokens")
+            .register(meterRegistry);
+        this.revoked = Counter.builder("stockflow.security.revocation.rejected")
+            .description("Access tokens rejected because the user was deactivated or changed")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        this.versions = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+        nearCaches.subscribe(REGION, key -> {
+            if (key != null) {
+                versions.invalidate(Long.valueOf(key));
+            } else {
+                versions.invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Checks whether an access token may no longer be used.
+     *
+     * @param tenantId     the tenant ID of the token
+     * @param userId       the user ID of the token
+     * @param tokenVersion the user version of the token, or null if it carries none
+     * @return true if the user is missing, inactive or changed since the token was issued
+     */
+    public boolean isRevoked(Long tenantId, Long userId, Long tokenVersion) {
+        long current = versions.get(userId, id -> {
+            loads.increment();
+            return userRepository.findActiveVersion(id, tenantId).orElse(INACTIVE);
+        });
+
+        boolean isRevoked = current == INACTIVE || (tokenVersion != null && tokenVersion < current);
+        if (isRevoked) {
+            revoked.increment();
+            logger.debug("Access token of user {} revoked: token version {}, current {}",
+                userId, tokenVersion, current == INACTIVE ? "inactive" : current);
+        }
+        return isRevoked;
+    }
+
+    /**
+     * Drops the cached version of a user once the current transaction commits, on every
+     * instance. Call after deactivating a user or changing what its tokens grant.
+     *
+     * @param userId the user ID
+     */
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        } else {
+            evict(userId);
+        }
+    }
+
+    private void evict(Long userId) {
+        versions.invalidate(userId);
+        nearCaches.publish(REGION, userId.toString());
+    }
+}
@@ -11,11 +11,17 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
-import java.util.Arrays;
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Aspect for validating branch access based on {@link BranchAccess} annotation.
@@ -25,9 +31,16 @@ import java.util.Set;
  *
  * <p>The branch ID can be:</p>
  * <ul>
- *   <li>A method parameter annotated with {@code @PathVariable} or {@code @RequestParam}</li>
- *   <li>A field in a request DTO</li>
+ *   <li>A method parameter annotated with {@code @BranchAccess}, or named
+ *       {@code branchId}, {@code sourceBranchId} or {@code destinationBranchId}</li>
+ *   <li>A {@code branchId}, {@code sourceBranchId} or {@code destinationBranchId}
+ *       accessor (record component or getter) of a request DTO</li>
  * </ul>
+ *
+ * <p>Where to look is resolved once per method: the first call builds a plan holding
+ * the indexes of the branch ID parameters and method handles for the accessors of the
+ * other parameters, so later calls do no reflection. Accessors of parameters whose
+ * declared type is not final are resolved per runtime class, also once.</p>
  */
 @Aspect
 @Component
@@ -35,6 +48,29 @@ public class BranchAccessAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(BranchAccessAspect.class);
 
+    private static final Set<String> BRANCH_ID_NAMES = Set.of("branchId", "sourceBranchId", "destinationBranchId");
+
+    private static final List<String> BRANCH_ID_ACCESSORS = List.of(
+        "branchId", "getBranchId",
+        "sourceBranchId", "getSourceBranchId",
+        "destinationBranchId", "getDestinationBranchId");
+
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodHandle[] NO_ACCESSORS = new MethodHandle[0];
+
+    /**
+     * Branch ID accessors of payload classes, for parameters whose declared type is not final.
+     */
+    private static final ClassValue<MethodHandle[]> PAYLOAD_ACCESSORS = new ClassValue<>() {
+        @Override
+        protected MethodHandle[] computeValue(Class<?> type) {
+            return findAccessors(type);
+        }
+    };
+
+    private final Map<Method, ResolutionPlan> plans = new ConcurrentHashMap<>();
+
     /**
      * Validates branch access before method execution.
      *
@@ -51,99 +87,139 @@ public class BranchAccessAspect {
         }
 
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
-        Parameter[] parameters = method.getParameters();
-        Object[] args = joinPoint.getArgs();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        ResolutionPlan plan = plans.computeIfAbsent(method, ResolutionPlan::of);
 
-        // Find branchIds in parameters or request payloads
-        Set<Long> branchIds = extractBranchIds(parameters, args);
+        // Validate access to every referenced branch, in parameter order
+        int checked = plan.check(joinPoint.getArgs(), userDetails);
 
-        if (branchIds.isEmpty()) {
+        if (checked == 0) {
             logger.warn("Branch access validation failed - no branch ID found in method parameters");
             throw new ForbiddenException("FORBIDDEN_BRANCH_ACCESS",
                 "Branch ID is required for this operation");
         }
 
-        // Validate access to every referenced branch
-        for (Long branchId : branchIds) {
-            if (!userDetails.hasAccessToBranch(branchId)) {
-                logger.warn("User {} does not have access to branch {}",
-                    userDetails.getEmail(), branchId);
-                throw new ForbiddenException("FORBIDDEN_BRANCH_ACCESS",
-                    String.format("You do not have access to branch %d", branchId));
-            }
+        logger.debug("Branch access validated for user {} on {} branch IDs of {}",
+            userDetails.getEmail(), checked, method.getName());
+    }
+
+    /**
+     * Finds the branch ID accessors of a payload type.
+     */
+    private static MethodHandle[] findAccessors(Class<?> type) {
+        if (type.isPrimitive() || type.isArray()) {
+            return NO_ACCESSORS;
         }
 
-        logger.debug("Branch access validated for user {} on branches {}",
-            userDetails.getEmail(), branchIds);
+        List<MethodHandle> accessors = new ArrayList<>();
+        for (String name : BRANCH_ID_ACCESSORS) {
+            try {
+                Method accessor = type.getMethod(name);
+                Class<?> returnType = accessor.getReturnType();
+                if (returnType == long.class || (!returnType.isPrimitive() && returnType.isAssignableFrom(Long.class))) {
+                    accessors.add(MethodHandles.publicLookup().unreflect(accessor).asType(ACCESSOR_TYPE));
+                }
+            } catch (NoSuchMethodException ignored) {
+                // Ignore missing accessors
+            } catch (IllegalAccessException ex) {
+                logger.debug("Branch ID accessor {} of {} is not accessible", name, type.getName(), ex);
+            }
+        }
+        return accessors.toArray(NO_ACCESSORS);
     }
 
     /**
-     * Extracts branch IDs from method parameters or request payloads.
+     * Where the branch IDs of one intercepted method are found, in parameter order.
      *
-     * @param parameters the method parameters
-     * @param args       the argument values
-     * @return set of branch IDs (empty if none found)
+     * @param indexes   indexes of the parameters holding or carrying branch IDs
+     * @param accessors per parameter: null if it holds a branch ID itself, its accessors,
+     *                  or {@link #RUNTIME_CLASS} to resolve them from the argument
      */
-    private Set<Long> extractBranchIds(Parameter[] parameters, Object[] args) {
-        Set<Long> branchIds = new LinkedHashSet<>();
-
-        for (int i = 0; i < parameters.length; i++) {
-            Parameter parameter = parameters[i];
-            Object arg = args[i];
-
-            if (arg == null) {
-                continue;
+    private record ResolutionPlan(int[] indexes, MethodHandle[][] accessors) {
+
+        static final MethodHandle[] RUNTIME_CLASS = new MethodHandle[0];
+
+        static ResolutionPlan of(Method method) {
+            Parameter[] parameters = method.getParameters();
+            List<Integer> indexes = new ArrayList<>();
+            List<MethodHandle[]> accessors = new ArrayList<>();
+
+            for (int i = 0; i < parameters.length; i++) {
+                Parameter parameter = parameters[i];
+                Class<?> type = parameter.getType();
+
+                if ((type == Long.class || type == long.class)
+                    && (parameter.isAnnotationPresent(BranchAccess.class) || BRANCH_ID_NAMES.contains(parameter.getName()))) {
+                    indexes.add(i);
+                    accessors.add(null);
+                } else if (!type.isPrimitive() && !Modifier.isFinal(type.getModifiers())) {
+                    // Subclasses may declare accessors; resolve them from the argument
+                    indexes.add(i);
+                    accessors.add(RUNTIME_CLASS);
+                } else {
+                    MethodHandle[] found = findAccessors(type);
+                    if (found.length > 0) {
+                        indexes.add(i);
+                        accessors.add(found);
+                    }
+                }
             }
 
-            // Check if parameter is explicitly annotated with BranchAccess
-            boolean annotated = Arrays.stream(parameter.getAnnotations())
-                .anyMatch(ann -> ann.annotationType().equals(BranchAccess.class));
+            logger.debug("Branch access plan for {}: parameters {}", method, indexes);
+            return new ResolutionPlan(
+                indexes.stream().mapToInt(Integer::intValue).toArray(),
+                accessors.toArray(new MethodHandle[0][]));
+        }
 
-            if (arg instanceof Long && annotated) {
-                branchIds.add((Long) arg);
-                continue;
+        /**
+         * Checks every branch ID of the arguments.
+         *
+         * @return number of branch IDs checked
+         * @throws ForbiddenException on the first branch the user cannot access
+         */
+        int check(Object[] args, CustomUserDetails userDetails) {
+            int checked = 0;
+            for (int p = 0; p < indexes.length; p++) {
+                Object arg = args[indexes[p]];
+                if (arg == null) {
+                    continue;
+                }
+
+                MethodHandle[] handles = accessors[p];
+                if (handles == null) {
+                    checkBranch((Long) arg, userDetails);
+                    checked++;
+                    continue;
+                }
+                if (handles == RUNTIME_CLASS) {
+                    handles = PAYLOAD_ACCESSORS.get(arg.getClass());
+                }
+                for (MethodHandle handle : handles) {
+                    if (read(handle, arg) instanceof Long branchId) {
+                        checkBranch(branchId, userDetails);
+                        checked++;
+                    }
+                }
             }
+            return checked;
+        }
 
-            // Fallback: check common parameter names when available
-            if (arg instanceof Long &&
-                (parameter.getName().equals("branchId") ||
-                 parameter.getName().equals("sourceBranchId") ||
-                 parameter.getName().equals("destinationBranchId"))) {
-                branchIds.add((Long) arg);
-                continue;
+        private static Object read(MethodHandle handle, Object payload) {
+            try {
+                return (Object) handle.invokeExact(payload);
+            } catch (Throwable ex) {
+                logger.debug("Failed to extract branch ID from payload accessor {}", handle, ex);
+                return null;
             }
-
-            // Inspect request payloads for branch identifiers
-            branchIds.addAll(extractBranchIdsFromPayload(arg));
         }
 
-        return branchIds;
-    }
-
-    private Set<Long> extractBranchIdsFromPayload(Object payload) {
-        Set<Long> branchIds = new LinkedHashSet<>();
-        extractBranchIdFromAccessor(payload, "branchId", branchIds);
-        extractBranchIdFromAccessor(payload, "getBranchId", branchIds);
-        extractBranchIdFromAccessor(payload, "sourceBranchId", branchIds);
-        extractBranchIdFromAccessor(payload, "getSourceBranchId", branchIds);
-        extractBranchIdFromAccessor(payload, "destinationBranchId", branchIds);
-        extractBranchIdFromAccessor(payload, "getDestinationBranchId", branchIds);
-        return branchIds;
-    }
-
-    private void extractBranchIdFromAccessor(Object payload, String accessor, Set<Long> branchIds) {
-        try {
-            Method method = payload.getClass().getMethod(accessor);
-            Object value = method.invoke(payload);
-            if (value instanceof Long) {
-                branchIds.add((Long) value);
+        private static void checkBranch(Long branchId, CustomUserDetails userDetails) {
+            if (!userDetails.hasAccessToBranch(branchId.longValue())) {
+                logger.warn("User {} does not have access to branch {}",
+                    userDetails.getEmail(), branchId);
+                throw new ForbiddenException("FORBIDDEN_BRANCH_ACCESS",
+                    String.format("You do not have access to branch %d", branchId));
             }
-        } catch (NoSuchMethodException ignored) {
-            // Ignore missing accessors
-        } catch (Exception ex) {
-            logger.debug("Failed to extract branch ID from payload accessor {}", accessor, ex);
         }
     }
 }
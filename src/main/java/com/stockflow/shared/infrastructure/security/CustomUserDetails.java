@@ -5,6 +5,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
@@ -22,6 +23,11 @@ import java.util.Set;
  * Unlike the default UserDetailsService implementation, this is a lightweight
  * wrapper that doesn't require database access on every request.
  * </p>
+ *
+ * <p>
+ * Branch IDs are also kept as a sorted primitive array, so the access check run on
+ * every branch-scoped request is a binary search without boxing.
+ * </p>
  */
 public class CustomUserDetails implements UserDetails {
 
@@ -31,6 +37,8 @@ public class CustomUserDetails implements UserDetails {
     private final String password;
     private final Set<RoleEnum> roles;
     private final List<Long> branchIds;
+    private final long[] sortedBranchIds;
+    private final boolean admin;
 
     /**
      * Constructor for creating custom user details.
@@ -50,6 +58,8 @@ public class CustomUserDetails implements UserDetails {
         this.password = password;
         this.roles = roles;
         this.branchIds = branchIds;
+        this.sortedBranchIds = branchIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        this.admin = roles.contains(RoleEnum.ADMIN);
     }
 
     /**
@@ -134,10 +144,20 @@ public class CustomUserDetails implements UserDetails {
      * @return true if the user has access
      */
     public boolean hasAccessToBranch(Long branchId) {
+        return branchId != null ? hasAccessToBranch(branchId.longValue()) : admin;
+    }
+
+    /**
+     * Checks if the user has access to a specific branch.
+     *
+     * @param branchId the branch ID
+     * @return true if the user has access
+     */
+    public boolean hasAccessToBranch(long branchId) {
         // ADMIN has access to all branches
-        if (roles.contains(RoleEnum.ADMIN)) {
+        if (admin) {
             return true;
         }
-        return branchIds.contains(branchId);
+        return Arrays.binarySearch(sortedBranchIds, branchId) >= 0;
     }
 }
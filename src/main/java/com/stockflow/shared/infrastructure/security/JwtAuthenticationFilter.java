@@ -1,5 +1,6 @@
 package com.stockflow.shared.infrastructure.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,8 +9,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -23,9 +22,12 @@ import java.io.IOException;
  * <p>This filter:</p>
  * <ul>
  *   <li>Extracts the JWT token from the Authorization header</li>
- *   <li>Validates the token signature and expiration</li>
- *   <li>Extracts tenant ID and sets it in TenantContext</li>
- *   <li>Loads user details and sets up SecurityContext</li>
+ *   <li>Verifies the token signature and expiration once, keeping its claims</li>
+ *   <li>Builds the user details from the roles, branches and user ID claims,
+ *       without loading the user from the database</li>
+ *   <li>Rejects tokens of users deactivated or changed since the token was issued
+ *       ({@link AccessTokenRevocationCheck})</li>
+ *   <li>Sets the tenant ID in TenantContext and sets up SecurityContext</li>
  * </ul>
  *
  * <p>The filter only processes requests with a valid Authorization header.
@@ -40,11 +42,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String BEARER_PREFIX = "Bearer ";
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final AccessTokenRevocationCheck revocationCheck;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService, AccessTokenRevocationCheck revocationCheck) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.revocationCheck = revocationCheck;
     }
 
     @Override
@@ -53,36 +55,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                    FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = extractJwtFromRequest(request);
-
-            if (StringUtils.hasText(jwt) && jwtService.validateToken(jwt)) {
-                // Extract tenant ID and set in context
-                Long tenantId = jwtService.extractTenantId(jwt);
-                TenantContext.setTenantId(tenantId);
-
-                // Extract email and load user details
-                String email = jwtService.extractEmail(jwt);
-
-                // Only load if not already authenticated
-                if (SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
+            Claims claims = StringUtils.hasText(jwt) ? jwtService.parseToken(jwt) : null;
+
+            if (claims != null) {
+                CustomUserDetails userDetails = jwtService.toUserDetails(claims);
+
+                if (revocationCheck.isRevoked(userDetails.getTenantId(), userDetails.getUserId(),
+                        jwtService.extractUserVersion(claims))) {
+                    logger.debug("Rejected revoked token of user: {}", userDetails.getEmail());
+                } else {
+                    TenantContext.setTenantId(userDetails.getTenantId());
+
+                    // Only authenticate if not already authenticated
+                    if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                        UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                userDetails,
+                                null,
+                                userDetails.getAuthorities()
+                            );
+
+                        authentication.setDetails(
+                            new WebAuthenticationDetailsSource().buildDetails(request)
                         );
 
-                    authentication.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                    );
-
-                    // Set authentication in security context
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                        // Set authentication in security context
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                    logger.debug("Set authentication for user: {} in tenant: {}",
-                        email, tenantId);
+                        logger.debug("Set authentication for user: {} in tenant: {}",
+                            userDetails.getEmail(), userDetails.getTenantId());
+                    }
                 }
             } else {
                 logger.trace("No valid JWT token found in request");
@@ -1,8 +1,14 @@
 package com.stockflow.shared.infrastructure.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.stockflow.modules.users.domain.model.RoleEnum;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,8 +17,15 @@ import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -28,6 +41,13 @@ import java.util.stream.Collectors;
  *
  * <p>Following ADR-0003, access tokens have a short TTL (15 minutes) and
  * contain tenant, user, roles, and branch IDs as claims.</p>
+ *
+ * <p>Clients reuse an access token for many requests, so verified claims are cached
+ * until the token expires, keyed by the SHA-256 digest of the token. A hit skips the
+ * signature verification and JSON decoding; the digest must be collision resistant
+ * since a colliding token would be accepted without verification. The cache holds
+ * {@code app.jwt.claims-cache.max-entries} tokens (0 disables it) and reports hits and
+ * misses as {@code stockflow.security.claims.cache}.</p>
  */
 @Service
 public class JwtService {
@@ -59,6 +79,11 @@ public class JwtService {
      */
     public static final String BRANCHES_CLAIM = "branches";
 
+    /**
+     * Claim key for the version of the user row the token was issued from.
+     */
+    public static final String USER_VERSION_CLAIM = "userVersion";
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
@@ -68,13 +93,36 @@ public class JwtService {
     @Value("${app.jwt.refresh-expiration:604800000}") // 7 days default
     private long refreshExpiration;
 
+    @Value("${app.jwt.claims-cache.max-entries:50000}")
+    private long claimsCacheMaxEntries = 50000;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter claimsCacheHits;
+    private final Counter claimsCacheMisses;
+
     private SecretKey signingKey;
+    private JwtParser parser;
+    private Cache<String, Claims> verifiedClaims;
+
+    public JwtService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.claimsCacheHits = claimsCacheLookups(meterRegistry, "hit");
+        this.claimsCacheMisses = claimsCacheLookups(meterRegistry, "miss");
+    }
 
     @PostConstruct
     public void init() {
         // Ensure the secret is long enough for HS256
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
         this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.verifiedClaims = Caffeine.newBuilder()
+            .maximumSize(claimsCacheMaxEntries)
+            .expireAfter(new UntilTokenExpiry())
+            .build();
+        Gauge.builder("stockflow.security.claims.cache.size", verifiedClaims, Cache::estimatedSize)
+            .description("Verified access tokens cached")
+            .register(meterRegistry);
         logger.info("JWT Service initialized with access token TTL: {} ms ({} minutes)",
             jwtExpiration, jwtExpiration / 60000);
     }
@@ -91,6 +139,26 @@ public class JwtService {
      */
     public String generateAccessToken(Long tenantId, Long userId, String email,
                                       List<String> roles, List<Long> branchIds) {
+        return generateAccessToken(tenantId, userId, email, roles, branchIds, null);
+    }
+
+    /**
+     * Generates an access token for a user, recording the version of the user row.
+     *
+     * <p>Requests are authenticated from the claims alone; the version lets
+     * {@link AccessTokenRevocationCheck} reject tokens issued before the user was
+     * deactivated or had their roles, branches or password changed.</p>
+     *
+     * @param tenantId    the tenant ID
+     * @param userId      the user ID
+     * @param email       the user's email
+     * @param roles       list of role names
+     * @param branchIds   list of branch IDs the user has access to
+     * @param userVersion the version of the user row, or null to skip the version check
+     * @return the JWT access token
+     */
+    public String generateAccessToken(Long tenantId, Long userId, String email,
+                                      List<String> roles, List<Long> branchIds, Long userVersion) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
@@ -106,6 +174,7 @@ public class JwtService {
             .claim(EMAIL_CLAIM, email)
             .claim(ROLES_CLAIM, rolesString)
             .claim(BRANCHES_CLAIM, branchesString)
+            .claim(USER_VERSION_CLAIM, userVersion)
             .issuedAt(now)
             .expiration(expiryDate)
             .signWith(signingKey)
@@ -124,7 +193,9 @@ public class JwtService {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + refreshExpiration);
 
+        // Random ID so tokens issued within the same second are distinct
         return Jwts.builder()
+            .id(UUID.randomUUID().toString())
             .claim(TENANT_ID_CLAIM, tenantId)
             .claim(USER_ID_CLAIM, userId)
             .issuedAt(now)
@@ -140,12 +211,19 @@ public class JwtService {
      * @return true if the token is valid
      */
     public boolean validateToken(String token) {
+        return parseToken(token) != null;
+    }
+
+    /**
+     * Verifies a JWT token and returns its claims, so callers needing several claims
+     * verify the signature once.
+     *
+     * @param token the token to parse
+     * @return the claims, or null if the token is invalid or expired
+     */
+    public Claims parseToken(String token) {
         try {
-            Jwts.parser()
-                .verifyWith(signingKey)
-                .build()
-                .parseSignedClaims(token);
-            return true;
+            return extractAllClaims(token);
         } catch (SecurityException ex) {
             logger.error("Invalid JWT signature: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
@@ -156,24 +234,75 @@ public class JwtService {
             logger.error("Unsupported JWT token: {}", ex.getMessage());
         } catch (IllegalArgumentException ex) {
             logger.error("JWT claims string is empty: {}", ex.getMessage());
+        } catch (JwtException ex) {
+            logger.error("Invalid JWT token: {}", ex.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * Builds the authenticated user from the claims of an access token, without
+     * loading the user from the database.
+     *
+     * @param claims the verified claims
+     * @return the user details, with no password
+     * @throws IllegalArgumentException if the claims hold an unknown role
+     */
+    public CustomUserDetails toUserDetails(Claims claims) {
+        Set<RoleEnum> roles = parseRoles(claims.get(ROLES_CLAIM, String.class)).stream()
+            .map(RoleEnum::valueOf)
+            .collect(Collectors.toCollection(() -> EnumSet.noneOf(RoleEnum.class)));
+
+        return new CustomUserDetails(
+            claims.get(USER_ID_CLAIM, Long.class),
+            claims.get(TENANT_ID_CLAIM, Long.class),
+            claims.get(EMAIL_CLAIM, String.class),
+            null,
+            roles,
+            parseBranchIds(claims.get(BRANCHES_CLAIM, String.class))
+        );
+    }
+
+    /**
+     * Extracts the user version from the claims of an access token.
+     *
+     * @param claims the verified claims
+     * @return the version, or null for tokens issued without one
+     */
+    public Long extractUserVersion(Claims claims) {
+        return claims.get(USER_VERSION_CLAIM, Long.class);
     }
 
     /**
      * Extracts all claims from a token.
      *
+     * <p>Claims of tokens verified before are served from the cache until the token
+     * expires; other tokens are verified and, if they expire, cached.</p>
+     *
      * @param token the JWT token
      * @return the claims
      * @throws ExpiredJwtException if the token is expired
      * @throws JwtException       if the token is invalid
      */
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-            .verifyWith(signingKey)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT token is empty");
+        }
+
+        String key = digest(token);
+        Claims claims = verifiedClaims.getIfPresent(key);
+        if (claims != null) {
+            claimsCacheHits.increment();
+            return claims;
+        }
+
+        claimsCacheMisses.increment();
+        claims = parser.parseSignedClaims(token).getPayload();
+        // A zero-size Caffeine cache still holds entries until its async eviction runs
+        if (claimsCacheMaxEntries > 0 && claims.getExpiration() != null) {
+            verifiedClaims.put(key, claims);
+        }
+        return claims;
     }
 
     /**
@@ -217,11 +346,7 @@ public class JwtService {
      */
     public List<String> extractRoles(String token) {
         Claims claims = extractAllClaims(token);
-        String rolesString = claims.get(ROLES_CLAIM, String.class);
-        if (rolesString == null || rolesString.isEmpty()) {
-            return List.of();
-        }
-        return List.of(rolesString.split(","));
+        return parseRoles(claims.get(ROLES_CLAIM, String.class));
     }
 
     /**
@@ -232,13 +357,7 @@ public class JwtService {
      */
     public List<Long> extractBranchIds(String token) {
         Claims claims = extractAllClaims(token);
-        String branchesString = claims.get(BRANCHES_CLAIM, String.class);
-        if (branchesString == null || branchesString.isEmpty()) {
-            return List.of();
-        }
-        return List.of(branchesString.split(",")).stream()
-            .map(Long::valueOf)
-            .collect(Collectors.toList());
+        return parseBranchIds(claims.get(BRANCHES_CLAIM, String.class));
     }
 
     /**
@@ -283,4 +402,58 @@ public class JwtService {
     public long getRefreshTokenExpiration() {
         return refreshExpiration;
     }
+
+    private static List<String> parseRoles(String rolesString) {
+        if (rolesString == null || rolesString.isEmpty()) {
+            return List.of();
+        }
+        return List.of(rolesString.split(","));
+    }
+
+    private static List<Long> parseBranchIds(String branchesString) {
+        if (branchesString == null || branchesString.isEmpty()) {
+            return List.of();
+        }
+        return List.of(branchesString.split(",")).stream()
+            .map(Long::valueOf)
+            .collect(Collectors.toList());
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Counter claimsCacheLookups(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("stockflow.security.claims.cache")
+            .description("Access token verifications served from or added to the verified claims cache")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Expires cached claims when their token expires.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long millis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
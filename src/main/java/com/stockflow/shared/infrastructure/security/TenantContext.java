@@ -1,5 +1,7 @@
 package com.stockflow.shared.infrastructure.security;
 
+import java.util.function.Supplier;
+
 /**
  * Thread-local context for storing tenant information throughout the request lifecycle.
  *
@@ -80,4 +82,35 @@ public class TenantContext {
         }
         return tenantId;
     }
+
+    /**
+     * Wraps a task so that it runs with the tenant of the calling thread.
+     *
+     * <p>Use when handing work to another thread, such as a virtual thread fanning out
+     * queries. The executing thread's previous tenant is restored afterwards.</p>
+     *
+     * @param task the task
+     * @param <T>  the result type
+     * @return a task that runs in the captured tenant context
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Long tenantId = getTenantId();
+        return () -> {
+            Long previous = getTenantId();
+            if (tenantId != null) {
+                CURRENT_TENANT.set(tenantId);
+            } else {
+                CURRENT_TENANT.remove();
+            }
+            try {
+                return task.get();
+            } finally {
+                if (previous != null) {
+                    CURRENT_TENANT.set(previous);
+                } else {
+                    CURRENT_TENANT.remove();
+                }
+            }
+        };
+    }
 }
@@ -0,0 +1,8 @@
+-- Switch high-volume tables from AUTO_INCREMENT to application-assigned time-sorted IDs
+-- (see TimeSortedIds), so Hibernate can batch their inserts.
+-- Existing rows keep their IDs. New IDs are orders of magnitude larger than any
+-- AUTO_INCREMENT value issued so far, so ordering by id stays chronological.
+-- No foreign keys reference these primary keys.
+ALTER TABLE stock_movements MODIFY id BIGINT NOT NULL;
+ALTER TABLE branch_product_stock MODIFY id BIGINT NOT NULL;
+ALTER TABLE refresh_tokens MODIFY id BIGINT NOT NULL;
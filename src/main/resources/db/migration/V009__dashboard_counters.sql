@@ -0,0 +1,46 @@
+-- Incrementally maintained dashboard counters (see DashboardCounterRepository).
+-- Movement counters are split into 16 slots by product_id so that concurrent
+-- movements of different products in one branch rarely update the same row.
+-- No foreign keys: the rows are written on every movement and are rebuilt by
+-- reconciliation if they ever drift.
+CREATE TABLE dashboard_counters (
+    tenant_id BIGINT NOT NULL,
+    branch_id BIGINT NOT NULL,
+    slot TINYINT NOT NULL,
+    movements BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (tenant_id, branch_id, slot)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE dashboard_daily_counters (
+    tenant_id BIGINT NOT NULL,
+    branch_id BIGINT NOT NULL,
+    bucket_day DATE NOT NULL,
+    slot TINYINT NOT NULL,
+    movements BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (tenant_id, branch_id, bucket_day, slot),
+    INDEX idx_daily_counters_tenant_day (tenant_id, bucket_day)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE dashboard_tenant_counters (
+    tenant_id BIGINT PRIMARY KEY,
+    active_products BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Seed the counters from existing data
+INSERT INTO dashboard_counters (tenant_id, branch_id, slot, movements)
+SELECT tenant_id, branch_id, MOD(product_id, 16), COUNT(*)
+FROM stock_movements
+GROUP BY tenant_id, branch_id, MOD(product_id, 16);
+
+INSERT INTO dashboard_daily_counters (tenant_id, branch_id, bucket_day, slot, movements)
+SELECT tenant_id, branch_id, CAST(created_at AS DATE), MOD(product_id, 16), COUNT(*)
+FROM stock_movements
+WHERE created_at >= CURRENT_DATE - INTERVAL 7 DAY
+GROUP BY tenant_id, branch_id, CAST(created_at AS DATE), MOD(product_id, 16);
+
+INSERT INTO dashboard_tenant_counters (tenant_id, active_products)
+SELECT t.id, (SELECT COUNT(*) FROM products p WHERE p.tenant_id = t.id AND p.is_active = TRUE)
+FROM tenants t;
@@ -0,0 +1,14 @@
+-- Persisted Space-Saving summaries of the most moved products (see TopProductsSketch).
+-- One row per tenant (branch_id = 0) and per branch. Entries are stored as a JSON
+-- array of [product_id, count, error, quantity]; the nightly exact recompute
+-- rewrites a row from stock_movements and resets its error to zero.
+CREATE TABLE dashboard_top_products (
+    tenant_id BIGINT NOT NULL,
+    branch_id BIGINT NOT NULL,
+    capacity INT NOT NULL,
+    stream_length BIGINT NOT NULL DEFAULT 0,
+    entries TEXT NOT NULL,
+    recomputed_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (tenant_id, branch_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,29 @@
+-- Daily movement rollups (see MovementRollupRepository): one row per
+-- (tenant, day, branch, product, type, reason) with the number of movements and
+-- the quantity moved. Analytics read these instead of scanning stock_movements.
+-- Rows of the current day are maintained in the writer's transaction; closed days
+-- are rebuilt from stock_movements once by MovementRollupBackfill, which also
+-- backfills the history that existed before this migration.
+CREATE TABLE movement_daily_rollups (
+    tenant_id BIGINT NOT NULL,
+    bucket_day DATE NOT NULL,
+    branch_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    type ENUM('IN', 'OUT', 'ADJUSTMENT', 'TRANSFER') NOT NULL,
+    reason ENUM('PURCHASE', 'SALE', 'LOSS', 'RETURN', 'ADJUSTMENT_IN', 'ADJUSTMENT_OUT', 'TRANSFER_IN', 'TRANSFER_OUT') NOT NULL,
+    movements BIGINT NOT NULL DEFAULT 0,
+    quantity BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (tenant_id, bucket_day, branch_id, product_id, type, reason),
+    INDEX idx_rollups_tenant_branch_day (tenant_id, branch_id, bucket_day),
+    INDEX idx_rollups_tenant_product (tenant_id, product_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Last closed day rebuilt per tenant. created_at tells whether the writers already
+-- maintained the rollups for the whole current day.
+CREATE TABLE movement_rollup_progress (
+    tenant_id BIGINT PRIMARY KEY,
+    rolled_up_through DATE NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
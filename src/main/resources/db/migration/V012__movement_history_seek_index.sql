@@ -0,0 +1,6 @@
+-- Seek index for keyset pagination of movement history: rows after a
+-- (created_at, id) cursor are read in index order, so a deep page costs
+-- the same as the first one. Supersedes idx_movements_tenant_branch_date.
+ALTER TABLE stock_movements
+    ADD INDEX idx_movements_tenant_branch_date_id (tenant_id, branch_id, created_at DESC, id DESC),
+    DROP INDEX idx_movements_tenant_branch_date;
@@ -0,0 +1,9 @@
+-- Composite indexes for filtered movement history. Each extends the
+-- (tenant_id, branch_id) prefix with a filter column followed by the
+-- history order, so the page IDs are read from the index alone:
+--   product filter      -> idx_movements_branch_product_date
+--   type/reason filter  -> idx_movements_branch_type_reason_date
+--   time range only     -> idx_movements_tenant_branch_date_id (V012)
+ALTER TABLE stock_movements
+    ADD INDEX idx_movements_branch_product_date (tenant_id, branch_id, product_id, created_at DESC, id DESC),
+    ADD INDEX idx_movements_branch_type_reason_date (tenant_id, branch_id, type, reason, created_at DESC, id DESC);
@@ -0,0 +1,77 @@
+-- Monthly range partitioning of stock_movements by created_at, plus the archive tier.
+--
+-- Partitions are named pYYYYMM and hold the rows created in that month (in the
+-- session time zone); p_future catches everything after the last month and is split
+-- by MovementPartitionMaintenance ahead of time, while it is still empty.
+-- Queries bounded on created_at only read the matching partitions.
+--
+-- MySQL requirements for partitioned tables:
+--   * every unique key includes the partitioning column: the primary key becomes
+--     (id, created_at); the database no longer rejects a duplicate id, so IDs rely on
+--     every instance holding its own node ID (see NodeIdLease, V018)
+--   * no foreign keys: tenant, branch, product and user references are enforced by
+--     the services, which already validate them before writing a movement
+
+ALTER TABLE stock_movements
+    DROP FOREIGN KEY fk_movements_tenant,
+    DROP FOREIGN KEY fk_movements_branch,
+    DROP FOREIGN KEY fk_movements_product,
+    DROP FOREIGN KEY fk_movements_user;
+
+ALTER TABLE stock_movements
+    MODIFY created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_at);
+
+-- One partition per month from the oldest movement up to three months ahead
+SET SESSION group_concat_max_len = 1048576;
+
+SELECT GROUP_CONCAT(
+           CONCAT('PARTITION p', DATE_FORMAT(month_start, '%Y%m'),
+                  ' VALUES LESS THAN (UNIX_TIMESTAMP(''', month_start + INTERVAL 1 MONTH, '''))')
+           ORDER BY month_start SEPARATOR ', ')
+INTO @movement_partitions
+FROM (
+    WITH RECURSIVE months (month_start) AS (
+        SELECT CAST(DATE_FORMAT(COALESCE(MIN(created_at), CURRENT_DATE), '%Y-%m-01') AS DATE)
+        FROM stock_movements
+        UNION ALL
+        SELECT month_start + INTERVAL 1 MONTH
+        FROM months
+        WHERE month_start < CAST(DATE_FORMAT(CURRENT_DATE, '%Y-%m-01') AS DATE) + INTERVAL 3 MONTH
+    )
+    SELECT month_start FROM months
+) partition_months;
+
+SET @partition_ddl = CONCAT(
+    'ALTER TABLE stock_movements PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (',
+    @movement_partitions,
+    ', PARTITION p_future VALUES LESS THAN MAXVALUE)');
+
+PREPARE partition_stmt FROM @partition_ddl;
+EXECUTE partition_stmt;
+DEALLOCATE PREPARE partition_stmt;
+
+-- Archive tier: partitions past the retention horizon are copied here, compressed,
+-- before being dropped. Only the indexes of the archive read path are kept.
+CREATE TABLE stock_movements_archive LIKE stock_movements;
+
+ALTER TABLE stock_movements_archive REMOVE PARTITIONING;
+
+ALTER TABLE stock_movements_archive
+    DROP INDEX idx_tenant_product,
+    DROP INDEX idx_branch_date,
+    DROP INDEX fk_movements_tenant,
+    DROP INDEX fk_movements_branch,
+    DROP INDEX fk_movements_product,
+    DROP INDEX fk_movements_user,
+    DROP INDEX idx_movements_branch_type_reason_date,
+    ROW_FORMAT = COMPRESSED,
+    KEY_BLOCK_SIZE = 8;
+
+-- Months moved to the archive; every month up to the latest one is archived
+CREATE TABLE movement_archived_months (
+    month_start DATE NOT NULL PRIMARY KEY,
+    movements BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,23 @@
+-- Daily closing stock balances (see StockSnapshotRepository). A row holds the
+-- balance of a (tenant, branch, product) at the end of a day on which it moved;
+-- a day without a row keeps the balance of the latest earlier row. "Stock as of"
+-- reads the latest row before the requested day and replays the movements after
+-- the snapshot horizon instead of summing stock_movements from the beginning.
+CREATE TABLE stock_balance_snapshots (
+    tenant_id BIGINT NOT NULL,
+    branch_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    snapshot_day DATE NOT NULL,
+    quantity BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (tenant_id, branch_id, product_id, snapshot_day),
+    INDEX idx_snapshots_tenant_day (tenant_id, snapshot_day)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Last closed day snapshotted per tenant (the snapshot horizon).
+CREATE TABLE stock_snapshot_progress (
+    tenant_id BIGINT PRIMARY KEY,
+    snapshotted_through DATE NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,17 @@
+-- Global login directory (see LoginDirectoryRepository). Login and signup look users
+-- up by email before the tenant is known; users is only indexed by (tenant_id, email),
+-- so those lookups scanned the table. A directory row maps the lower-cased email of a
+-- user to its tenant and is written by the services in the same transaction as the user.
+CREATE TABLE user_login_directory (
+    user_id BIGINT PRIMARY KEY,
+    email VARCHAR(255) NOT NULL,
+    tenant_id BIGINT NOT NULL,
+    is_active BOOLEAN NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_login_directory_email (email, is_active, tenant_id),
+    CONSTRAINT fk_login_directory_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO user_login_directory (user_id, email, tenant_id, is_active, updated_at)
+SELECT id, LOWER(email), tenant_id, COALESCE(is_active, TRUE), CURRENT_TIMESTAMP
+FROM users;
@@ -0,0 +1,7 @@
+-- Refresh tokens are looked up, consumed and revoked by hash alone (see
+-- RefreshTokenStore); idx_user_token (user_id, token_hash) could not serve those
+-- lookups, so each refresh scanned the table. revokeAllByUserId uses
+-- fk_refresh_tokens_user and the purge uses idx_expires.
+ALTER TABLE refresh_tokens
+    ADD INDEX idx_refresh_tokens_hash (token_hash),
+    DROP INDEX idx_user_token;
@@ -0,0 +1,13 @@
+-- Node IDs embedded in time-sorted IDs (see TimeSortedIds, NodeIdLease). Each
+-- instance leases one row at startup and renews it while running, so two
+-- instances never issue IDs with the same node ID. An expired lease may be taken
+-- over by another instance.
+CREATE TABLE id_node_leases (
+    node_id INT PRIMARY KEY,
+    holder VARCHAR(100) NULL,
+    expires_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO id_node_leases (node_id) VALUES
+    (0), (1), (2), (3), (4), (5), (6), (7), (8), (9), (10), (11), (12), (13), (14), (15);
@@ -0,0 +1,102 @@
+package com.stockflow.modules.auth.infrastructure.persistence;
+
+import com.stockflow.modules.auth.application.service.RefreshTokenPurge;
+import com.stockflow.modules.auth.domain.model.RefreshToken;
+import com.stockflow.modules.auth.domain.repository.RefreshTokenRepository;
+import com.stockflow.modules.auth.domain.repository.RefreshTokenStore;
+import com.stockflow.shared.testing.H2IntegrationTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the database refresh token store against the H2 schema.
+ */
+@SpringBootTest
+@Transactional
+@DisplayName("DatabaseRefreshTokenStore - Integration Tests")
+class DatabaseRefreshTokenStoreIntegrationTest extends H2IntegrationTest {
+
+    private static final Long TENANT_ID = 1L;
+    private static final Long USER_ID = 9001L;
+
+    @Autowired
+    private RefreshTokenStore refreshTokenStore;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Test
+    @DisplayName("Should use the database store by default")
+    void store_Default_ShouldBeDatabase() {
+        assertThat(refreshTokenStore).isInstanceOf(DatabaseRefreshTokenStore.class);
+    }
+
+    @Test
+    @DisplayName("Should consume a token only once")
+    void consume_ShouldRotateOnce() {
+        refreshTokenStore.save(token("hash-a", LocalDateTime.now().plusDays(7)));
+
+        assertThat(refreshTokenStore.consume("hash-a"))
+            .hasValueSatisfying(token -> assertThat(token.getUserId()).isEqualTo(USER_ID));
+        assertThat(refreshTokenStore.consume("hash-a")).isEmpty();
+        assertThat(refreshTokenStore.revoke("hash-a")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not consume expired or unknown tokens")
+    void consume_ExpiredToken_ShouldBeEmpty() {
+        refreshTokenStore.save(token("hash-expired", LocalDateTime.now().minusMinutes(1)));
+
+        assertThat(refreshTokenStore.consume("hash-expired")).isEmpty();
+        assertThat(refreshTokenStore.consume("hash-unknown")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should revoke every valid token of a user")
+    void revokeAllByUserId_ShouldRevokeValidTokens() {
+        refreshTokenStore.save(token("hash-1", LocalDateTime.now().plusDays(7)));
+        refreshTokenStore.save(token("hash-2", LocalDateTime.now().plusDays(7)));
+        refreshTokenStore.save(token("hash-3", LocalDateTime.now().plusDays(7)));
+        refreshTokenStore.consume("hash-3");
+
+        assertThat(refreshTokenStore.revokeAllByUserId(USER_ID)).isEqualTo(2);
+        assertThat(refreshTokenStore.consume("hash-1")).isEmpty();
+        assertThat(refreshTokenStore.consume("hash-2")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should purge expired tokens in chunks and keep the others")
+    void purgeExpired_ShouldDeleteInChunks() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            refreshTokenStore.save(token("hash-old-" + i, now.minusDays(3).plusMinutes(i)));
+        }
+        refreshTokenStore.save(token("hash-recent", now.minusHours(1)));
+        refreshTokenStore.save(token("hash-valid", now.plusDays(7)));
+
+        RefreshTokenPurge purge = new RefreshTokenPurge(refreshTokenStore, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(purge, "chunkSize", 2);
+        ReflectionTestUtils.setField(purge, "pauseMillis", 0L);
+
+        assertThat(refreshTokenStore.purgeExpired(now.minusDays(1), 2)).isEqualTo(2);
+        assertThat(purge.purgeExpired(now.minusDays(1))).isEqualTo(3);
+        assertThat(purge.purgeExpired(now.minusDays(1))).isZero();
+
+        assertThat(refreshTokenRepository.findByUserId(USER_ID))
+            .extracting(RefreshToken::getTokenHash)
+            .containsExactlyInAnyOrder("hash-recent", "hash-valid");
+    }
+
+    private static RefreshToken token(String hash, LocalDateTime expiresAt) {
+        return new RefreshToken(TENANT_ID, USER_ID, hash, expiresAt);
+    }
+}
@@ -0,0 +1,94 @@
+package com.stockflow.modules.auth.infrastructure.persistence;
+
+import com.stockflow.modules.auth.domain.model.RefreshToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("RedisRefreshTokenStore - Unit Tests")
+class RedisRefreshTokenStoreTest {
+
+    private static final String TOKEN_KEY = RedisRefreshTokenStore.TOKEN_PREFIX + "hash-a";
+    private static final String USER_KEY = RedisRefreshTokenStore.USER_PREFIX + "10";
+
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> values;
+    private SetOperations<String, String> sets;
+    private RedisRefreshTokenStore store;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        values = mock(ValueOperations.class);
+        sets = mock(SetOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(redisTemplate.opsForSet()).thenReturn(sets);
+        store = new RedisRefreshTokenStore(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should store a token under a key expiring with it")
+    void save_ShouldExpireWithToken() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(7).withNano(0);
+
+        store.save(new RefreshToken(1L, 10L, "hash-a", expiresAt));
+
+        verify(values).set(eq(TOKEN_KEY), eq("1:10:" + expiresAt),
+            argThat(ttl -> ttl.compareTo(Duration.ofDays(7)) <= 0 && ttl.compareTo(Duration.ofDays(6)) > 0));
+        verify(sets).add(USER_KEY, "hash-a");
+        verify(redisTemplate).expire(eq(USER_KEY), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Should not store expired tokens")
+    void save_ExpiredToken_ShouldSkip() {
+        store.save(new RefreshToken(1L, 10L, "hash-a", LocalDateTime.now().minusSeconds(1)));
+
+        verify(values, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Should consume a token with GETDEL")
+    void consume_ShouldReadAndDelete() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(7).withNano(0);
+        when(values.getAndDelete(TOKEN_KEY)).thenReturn("1:10:" + expiresAt, (String) null);
+
+        assertThat(store.consume("hash-a")).hasValueSatisfying(token -> {
+            assertThat(token.getTenantId()).isEqualTo(1L);
+            assertThat(token.getUserId()).isEqualTo(10L);
+            assertThat(token.getExpiresAt()).isEqualTo(expiresAt);
+            assertThat(token.isRevoked()).isTrue();
+        });
+        assertThat(store.consume("hash-a")).isEmpty();
+        verify(sets).remove(USER_KEY, "hash-a");
+    }
+
+    @Test
+    @DisplayName("Should delete every token of a user")
+    void revokeAllByUserId_ShouldDeleteTokens() {
+        when(sets.members(USER_KEY)).thenReturn(Set.of("hash-a"));
+        when(redisTemplate.delete(List.of(TOKEN_KEY))).thenReturn(1L);
+
+        assertThat(store.revokeAllByUserId(10L)).isEqualTo(1);
+        verify(sets).remove(USER_KEY, new Object[]{"hash-a"});
+    }
+}
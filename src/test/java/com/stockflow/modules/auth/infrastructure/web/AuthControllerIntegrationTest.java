@@ -7,6 +7,7 @@ import com.stockflow.modules.auth.application.dto.LogoutRequest;
 import com.stockflow.modules.auth.application.dto.SignupRequest;
 import com.stockflow.modules.auth.application.dto.SignupResponse;
 import com.stockflow.modules.tenants.domain.repository.TenantRepository;
+import com.stockflow.modules.users.domain.model.User;
 import com.stockflow.modules.users.domain.repository.UserRepository;
 import com.stockflow.shared.testing.H2IntegrationTest;
 import org.springframework.test.annotation.DirtiesContext;
@@ -189,6 +190,31 @@ class AuthControllerIntegrationTest extends H2IntegrationTest {
                                 .andExpect(jsonPath("$.error.code").value("AUTH_INVALID_CREDENTIALS"));
         }
 
+        @Test
+        @DisplayName("POST /api/v1/auth/login - Should resolve the tenant of an email in any case")
+        void testLogin_EmailInAnotherCase() throws Exception {
+                SignupResponse signupResponse = signup();
+
+                mockMvc.perform(post("/api/v1/auth/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(
+                                                new LoginRequest("Admin@TestCompany.com", "SecurePassword123!"))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.user.id").value(signupResponse.user().id()))
+                                .andExpect(jsonPath("$.data.user.email").value("admin@testcompany.com"));
+
+                mockMvc.perform(post("/api/v1/auth/signup")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new SignupRequest(
+                                                "Other Company",
+                                                "other-company",
+                                                "Other Admin",
+                                                "ADMIN@testcompany.com",
+                                                "SecurePassword123!"))))
+                                .andExpect(status().isConflict())
+                                .andExpect(jsonPath("$.error.code").value("USER_EMAIL_ALREADY_EXISTS"));
+        }
+
         @Test
         @DisplayName("POST /api/v1/auth/refresh - Should refresh access token")
         void testRefreshToken_Success() throws Exception {
@@ -225,6 +251,32 @@ class AuthControllerIntegrationTest extends H2IntegrationTest {
                                 .andExpect(jsonPath("$.data.expiresIn").value(900L));
         }
 
+        @Test
+        @DisplayName("POST /api/v1/auth/refresh - Should reject a refresh token already rotated")
+        void testRefreshToken_Rotated() throws Exception {
+                String refreshToken = signup().tokens().refreshToken();
+                String request = objectMapper.writeValueAsString(new RefreshTokenRequest(refreshToken));
+
+                MvcResult refreshResult = mockMvc.perform(post("/api/v1/auth/refresh")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(request))
+                                .andExpect(status().isOk())
+                                .andReturn();
+                String rotatedToken = objectMapper.readTree(refreshResult.getResponse().getContentAsString())
+                                .get("data").get("refreshToken").asText();
+
+                mockMvc.perform(post("/api/v1/auth/refresh")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(request))
+                                .andExpect(status().isUnauthorized())
+                                .andExpect(jsonPath("$.error.code").value("AUTH_REFRESH_TOKEN_INVALID"));
+
+                mockMvc.perform(post("/api/v1/auth/refresh")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new RefreshTokenRequest(rotatedToken))))
+                                .andExpect(status().isOk());
+        }
+
         @Test
         @DisplayName("POST /api/v1/auth/logout - Should revoke refresh token")
         void testLogout_Success() throws Exception {
@@ -300,6 +352,45 @@ class AuthControllerIntegrationTest extends H2IntegrationTest {
                                 .andExpect(jsonPath("$.data.isActive").value(true));
         }
 
+        @Test
+        @DisplayName("GET /api/v1/tenants/me - Should reject tokens of deactivated users")
+        void testGetCurrentTenant_DeactivatedUser() throws Exception {
+                SignupResponse signupResponse = signup();
+                User admin = userRepository.findById(signupResponse.user().id()).orElseThrow();
+                admin.deactivate();
+                userRepository.saveAndFlush(admin);
+
+                mockMvc.perform(get("/api/v1/tenants/me")
+                                .header("Authorization", "Bearer " + signupResponse.tokens().accessToken()))
+                                .andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/tenants/me - Should reject tokens issued before the user changed")
+        void testGetCurrentTenant_ChangedUser() throws Exception {
+                SignupResponse signupResponse = signup();
+                User admin = userRepository.findById(signupResponse.user().id()).orElseThrow();
+                admin.setName("Renamed Admin");
+                userRepository.saveAndFlush(admin);
+
+                mockMvc.perform(get("/api/v1/tenants/me")
+                                .header("Authorization", "Bearer " + signupResponse.tokens().accessToken()))
+                                .andExpect(status().isUnauthorized());
+
+                MvcResult loginResult = mockMvc.perform(post("/api/v1/auth/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(
+                                                new LoginRequest("admin@testcompany.com", "SecurePassword123!"))))
+                                .andExpect(status().isOk())
+                                .andReturn();
+                String accessToken = objectMapper.readTree(loginResult.getResponse().getContentAsString())
+                                .get("data").get("accessToken").asText();
+
+                mockMvc.perform(get("/api/v1/tenants/me")
+                                .header("Authorization", "Bearer " + accessToken))
+                                .andExpect(status().isOk());
+        }
+
         @Test
         @DisplayName("GET /api/v1/tenants/me - Should fail without authentication")
         void testGetCurrentTenant_Unauthorized() throws Exception {
@@ -309,4 +400,21 @@ class AuthControllerIntegrationTest extends H2IntegrationTest {
                                 .andExpect(jsonPath("$.success").value(false))
                                 .andExpect(jsonPath("$.error.code").value("AUTH_TOKEN_INVALID"));
         }
+
+        private SignupResponse signup() throws Exception {
+                MvcResult signupResult = mockMvc.perform(post("/api/v1/auth/signup")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new SignupRequest(
+                                                "Test Company",
+                                                "test-company",
+                                                "Admin User",
+                                                "admin@testcompany.com",
+                                                "SecurePassword123!"))))
+                                .andExpect(status().isCreated())
+                                .andReturn();
+
+                return objectMapper.treeToValue(
+                                objectMapper.readTree(signupResult.getResponse().getContentAsString()).get("data"),
+                                SignupResponse.class);
+        }
 }
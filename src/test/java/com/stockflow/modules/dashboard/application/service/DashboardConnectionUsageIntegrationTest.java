@@ -0,0 +1,168 @@
+package com.stockflow.modules.dashboard.application.service;
+
+import com.stockflow.modules.dashboard.application.dto.DashboardOverviewResponse;
+import com.stockflow.modules.dashboard.domain.model.DashboardMetrics;
+import com.stockflow.modules.dashboard.domain.repository.DashboardRepository;
+import com.stockflow.shared.testing.H2IntegrationTest;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Connection pool usage of dashboard reads against the H2 schema.
+ *
+ * <p>Not transactional: the reads must run the way a request does, outside any
+ * transaction, so that only loaders take a pooled connection.</p>
+ */
+@SpringBootTest(properties = "app.dashboard.top-products.flush-interval-ms=86400000")
+@DisplayName("Dashboard - Connection Usage Integration Tests")
+class DashboardConnectionUsageIntegrationTest extends H2IntegrationTest {
+
+    private static final int CALLERS = 16;
+
+    @Autowired
+    private DashboardCacheService dashboardCacheService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @SpyBean
+    private DashboardRepository dashboardRepository;
+
+    private HikariPoolMXBean pool;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        callers = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Concurrent misses on one segment should hold a single connection")
+    void getMetrics_ConcurrentMisses_ShouldHoldOneConnection() throws Exception {
+        Long tenantId = 1L;
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        doAnswer(invocation -> {
+            loads.incrementAndGet();
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(dashboardRepository).getMetrics(anyLong());
+
+        double coalescedBefore = loads("coalesced");
+        PeakSampler sampler = new PeakSampler(pool);
+        List<Future<DashboardMetrics>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> dashboardCacheService.getMetrics(tenantId)));
+        }
+        awaitCoalesced(coalescedBefore, CALLERS - 1);
+        release.countDown();
+
+        for (Future<DashboardMetrics> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isNotNull();
+        }
+        int peak = sampler.stop();
+
+        assertThat(loads).hasValue(1);
+        assertThat(peak).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Concurrent cold overviews should hold at most one connection per segment")
+    void getOverview_ConcurrentMisses_ShouldStayWithinPool() throws Exception {
+        Long tenantId = 1L;
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(dashboardRepository).getMetrics(anyLong());
+
+        double coalescedBefore = loads("coalesced");
+        PeakSampler sampler = new PeakSampler(pool);
+        List<Future<DashboardOverviewResponse>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> dashboardService.getOverview(tenantId)));
+        }
+        awaitCoalesced(coalescedBefore, CALLERS - 1);
+        release.countDown();
+
+        for (Future<DashboardOverviewResponse> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isNotNull();
+        }
+        int peak = sampler.stop();
+
+        // Two forks per overview, but only the metrics and top products loaders take a connection
+        assertThat(peak).isLessThanOrEqualTo(2);
+    }
+
+    private double loads(String outcome) {
+        return meterRegistry.get("stockflow.dashboard.cache.loads").tag("outcome", outcome).counter().count();
+    }
+
+    private void awaitCoalesced(double before, int waiters) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (loads("coalesced") - before < waiters && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(loads("coalesced") - before).isGreaterThanOrEqualTo(waiters);
+    }
+
+    /**
+     * Polls the pool for its highest number of active connections.
+     */
+    static final class PeakSampler {
+
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private final AtomicInteger peak = new AtomicInteger();
+        private final Thread thread;
+
+        PeakSampler(HikariPoolMXBean pool) {
+            thread = Thread.ofPlatform().daemon().start(() -> {
+                while (running.get()) {
+                    peak.accumulateAndGet(pool.getActiveConnections(), Math::max);
+                    Thread.onSpinWait();
+                }
+            });
+        }
+
+        int stop() throws InterruptedException {
+            running.set(false);
+            thread.join();
+            return peak.get();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.stockflow.modules.dashboard.application.service;
+
+import com.stockflow.shared.infrastructure.cache.NearCaches;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link DashboardSegmentCache}.
+ *
+ * <p>Uses an in-memory cache manager; transactions are mocked away.</p>
+ */
+@DisplayName("DashboardSegmentCache - Unit Tests")
+class DashboardSegmentCacheTest {
+
+    private static final String CACHE = "dashboardOverview";
+    private static final long TTL_SECONDS = 300;
+
+    private DashboardSegmentCache segmentCache;
+    private ExecutorService readers;
+
+    @BeforeEach
+    void setUp() {
+        segmentCache = new DashboardSegmentCache(
+            new ConcurrentMapCacheManager(CACHE),
+            new NearCaches(mock(StringRedisTemplate.class)),
+            mock(PlatformTransactionManager.class),
+            new SimpleMeterRegistry());
+        readers = Executors.newFixedThreadPool(16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        readers.shutdownNow();
+        segmentCache.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run one computation for concurrent misses on the same key")
+    void get_ConcurrentMisses_ShouldCoalesce() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            results.add(readers.submit(() -> segmentCache.get(CACHE, "t1:g0", TTL_SECONDS, () -> {
+                computations.incrementAndGet();
+                await(release);
+                return "metrics";
+            })));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("metrics");
+        }
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should serve the previous generation while the new one is computed")
+    void get_NewGeneration_ShouldServeStaleAndRefresh() throws Exception {
+        segmentCache.get(CACHE, "t1:g0", TTL_SECONDS, () -> "before");
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch refreshed = new CountDownLatch(1);
+        String served = segmentCache.get(CACHE, "t1:g1", TTL_SECONDS, () -> {
+            await(release);
+            refreshed.countDown();
+            return "after";
+        });
+        assertThat(served).isEqualTo("before");
+
+        release.countDown();
+        assertThat(refreshed.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+
+        assertThat(segmentCache.get(CACHE, "t1:g1", TTL_SECONDS, () -> "unexpected")).isEqualTo("after");
+    }
+
+    @Test
+    @DisplayName("Should refresh a hit in the background when it is about to expire")
+    void get_NearExpiry_ShouldRefreshEarly() throws Exception {
+        segmentCache.get(CACHE, "t1:g0", 0, () -> "first");
+
+        CountDownLatch refreshed = new CountDownLatch(1);
+        String served = segmentCache.get(CACHE, "t1:g0", 0, () -> {
+            refreshed.countDown();
+            return "second";
+        });
+
+        assertThat(served).isEqualTo("first");
+        assertThat(refreshed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not refresh a hit far from expiry")
+    void get_FreshHit_ShouldNotRefresh() throws Exception {
+        segmentCache.get(CACHE, "t1:g0", TTL_SECONDS, () -> "first");
+
+        AtomicInteger computations = new AtomicInteger();
+        String served = segmentCache.get(CACHE, "t1:g0", TTL_SECONDS, () -> {
+            computations.incrementAndGet();
+            return "second";
+        });
+        Thread.sleep(100);
+
+        assertThat(served).isEqualTo("first");
+        assertThat(computations).hasValue(0);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.stockflow.modules.branches.domain.repository.BranchRepository;
 import com.stockflow.modules.dashboard.application.dto.DashboardOverviewResponse;
 import com.stockflow.modules.dashboard.domain.model.DashboardMetrics;
 import com.stockflow.modules.dashboard.domain.model.TopProductMovement;
+import com.stockflow.shared.infrastructure.security.TenantContext;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,9 +14,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -97,6 +103,11 @@ class DashboardServiceImplTest {
         );
     }
 
+    @AfterEach
+    void tearDown() {
+        dashboardService.shutdown();
+    }
+
     @Test
     @DisplayName("getOverview() - Should return metrics from repository")
     void getOverview_ShouldReturnMetricsFromRepository() {
@@ -298,11 +309,10 @@ class DashboardServiceImplTest {
         // When - Service is called
         dashboardService.getOverview(tenantId);
 
-        // Then - Repository methods are called in correct order
-        var inOrder = inOrder(dashboardCacheService);
-        inOrder.verify(dashboardCacheService).getMetrics(tenantId);
-        inOrder.verify(dashboardCacheService).getTopProducts(tenantId);
-        inOrder.verifyNoMoreInteractions();
+        // Then - Both segments are fetched once; they run concurrently, so in no set order
+        verify(dashboardCacheService).getMetrics(tenantId);
+        verify(dashboardCacheService).getTopProducts(tenantId);
+        verifyNoMoreInteractions(dashboardCacheService);
         verifyNoInteractions(branchRepository);
     }
 
@@ -321,11 +331,87 @@ class DashboardServiceImplTest {
         // When - Service is called
         dashboardService.getOverviewByBranch(tenantId, branchId);
 
-        // Then - Repository methods are called in correct order
-        var inOrder = inOrder(branchRepository, dashboardCacheService);
-        inOrder.verify(branchRepository).findByIdAndTenantIdIncludingInactive(branchId, tenantId);
-        inOrder.verify(dashboardCacheService).getMetricsByBranch(tenantId, branchId);
-        inOrder.verify(dashboardCacheService).getTopProductsByBranch(tenantId, branchId);
-        inOrder.verifyNoMoreInteractions();
+        // Then - The branch is validated before either segment is fetched
+        var metricsOrder = inOrder(branchRepository, dashboardCacheService);
+        metricsOrder.verify(branchRepository).findByIdAndTenantIdIncludingInactive(branchId, tenantId);
+        metricsOrder.verify(dashboardCacheService).getMetricsByBranch(tenantId, branchId);
+        var topProductsOrder = inOrder(branchRepository, dashboardCacheService);
+        topProductsOrder.verify(branchRepository).findByIdAndTenantIdIncludingInactive(branchId, tenantId);
+        topProductsOrder.verify(dashboardCacheService).getTopProductsByBranch(tenantId, branchId);
+        verifyNoMoreInteractions(dashboardCacheService);
+    }
+
+    @Test
+    @DisplayName("getOverview() - Should fetch segments concurrently")
+    void getOverview_ShouldFetchSegmentsConcurrently() {
+        // Given - Each segment only completes once the other one has started
+        CountDownLatch started = new CountDownLatch(2);
+        when(dashboardCacheService.getMetrics(tenantId)).thenAnswer(invocation -> {
+            started.countDown();
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            return tenantMetrics;
+        });
+        when(dashboardCacheService.getTopProducts(tenantId)).thenAnswer(invocation -> {
+            started.countDown();
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            return topProducts;
+        });
+
+        // When - Service is called
+        DashboardOverviewResponse response = dashboardService.getOverview(tenantId);
+
+        // Then - Both segments ran at the same time
+        assertThat(response.metrics().totalActiveProducts()).isEqualTo(150);
+        assertThat(response.topProducts()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("getOverview() - Should fall back to the last cached segment after the deadline")
+    void getOverview_ShouldFallBackToLastCachedSegmentAfterDeadline() {
+        // Given - Metrics are slower than the deadline, and an older value is cached
+        ReflectionTestUtils.setField(dashboardService, "deadlineMs", 50L);
+        DashboardMetrics lastMetrics = new DashboardMetrics(149, 12, 5429, 229);
+        when(dashboardCacheService.getMetrics(tenantId)).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return tenantMetrics;
+        });
+        when(dashboardCacheService.getLastMetrics(tenantId)).thenReturn(lastMetrics);
+        when(dashboardCacheService.getTopProducts(tenantId)).thenReturn(topProducts);
+
+        // When - Service is called
+        DashboardOverviewResponse response = dashboardService.getOverview(tenantId);
+
+        // Then - The late segment is answered from cache, the other one is fresh
+        assertThat(response.metrics().totalMovements()).isEqualTo(5429);
+        assertThat(response.topProducts()).hasSize(3);
+        verify(dashboardCacheService, never()).getLastTopProducts(tenantId);
+    }
+
+    @Test
+    @DisplayName("getOverview() - Should run segments in the caller's tenant context")
+    void getOverview_ShouldPropagateTenantContext() {
+        // Given - The caller has a tenant context
+        AtomicReference<Long> metricsTenant = new AtomicReference<>();
+        AtomicReference<Long> topProductsTenant = new AtomicReference<>();
+        when(dashboardCacheService.getMetrics(tenantId)).thenAnswer(invocation -> {
+            metricsTenant.set(TenantContext.getTenantId());
+            return tenantMetrics;
+        });
+        when(dashboardCacheService.getTopProducts(tenantId)).thenAnswer(invocation -> {
+            topProductsTenant.set(TenantContext.getTenantId());
+            return topProducts;
+        });
+
+        // When - Service is called
+        TenantContext.setTenantId(tenantId);
+        try {
+            dashboardService.getOverview(tenantId);
+        } finally {
+            TenantContext.clear();
+        }
+
+        // Then - Segment threads saw the same tenant
+        assertThat(metricsTenant).hasValue(tenantId);
+        assertThat(topProductsTenant).hasValue(tenantId);
     }
 }
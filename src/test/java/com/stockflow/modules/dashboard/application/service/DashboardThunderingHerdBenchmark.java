@@ -0,0 +1,179 @@
+package com.stockflow.modules.dashboard.application.service;
+
+import com.stockflow.modules.branches.domain.model.Branch;
+import com.stockflow.modules.branches.domain.repository.BranchRepository;
+import com.stockflow.modules.catalog.domain.model.Product;
+import com.stockflow.modules.catalog.domain.repository.ProductRepository;
+import com.stockflow.modules.dashboard.domain.repository.DashboardRepository;
+import com.stockflow.modules.inventory.application.dto.StockMovementRequest;
+import com.stockflow.modules.inventory.application.service.InventoryService;
+import com.stockflow.modules.inventory.domain.model.BranchProductStock;
+import com.stockflow.modules.inventory.domain.model.MovementReason;
+import com.stockflow.modules.inventory.domain.model.MovementType;
+import com.stockflow.modules.inventory.domain.repository.BranchProductStockRepository;
+import com.stockflow.modules.inventory.domain.repository.StockMovementRepository;
+import com.stockflow.modules.tenants.domain.model.Tenant;
+import com.stockflow.modules.tenants.domain.repository.TenantRepository;
+import com.stockflow.shared.infrastructure.security.TenantContext;
+import com.stockflow.shared.testing.TestcontainersIntegrationTest;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import javax.sql.DataSource;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * Thundering herd load test for the dashboard overview.
+ *
+ * <p>Each round commits one movement, which moves the tenant to a new cache
+ * generation, then releases a burst of concurrent overview requests. Without
+ * coalescing every request of the burst would run the metrics aggregation; with
+ * single flight and stale-while-revalidate the aggregation runs about once per
+ * round, however large the burst. Only those loads take a pooled connection, so the
+ * peak number of active connections stays at one per segment instead of draining
+ * the pool.</p>
+ *
+ * <p>Not part of the regular test run (the class name does not match the
+ * surefire includes). Run explicitly with Docker available:</p>
+ * <pre>
+ * mvn -B test -Dtest=DashboardThunderingHerdBenchmark
+ * </pre>
+ */
+@SpringBootTest
+@DisplayName("DashboardService - Thundering Herd Benchmark")
+class DashboardThunderingHerdBenchmark extends TestcontainersIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardThunderingHerdBenchmark.class);
+
+    private static final int ROUNDS = 20;
+    private static final int BURST = 200;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @SpyBean
+    private DashboardRepository dashboardRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BranchProductStockRepository stockRepository;
+
+    @Autowired
+    private StockMovementRepository movementRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Long tenantId;
+    private Long branchId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        movementRepository.deleteAll();
+        stockRepository.deleteAll();
+        productRepository.deleteAll();
+        branchRepository.deleteAll();
+        tenantRepository.deleteAll();
+
+        tenantId = tenantRepository.save(new Tenant("Herd Tenant", "herd-tenant")).getId();
+        branchId = branchRepository.save(new Branch(tenantId, "Herd Branch", "HERD")).getId();
+
+        Product product = new Product(tenantId, "Herd Product", "HERD-1", Product.UnitOfMeasure.UN);
+        product.setActive(true);
+        productId = productRepository.save(product).getId();
+
+        stockRepository.save(new BranchProductStock(tenantId, branchId, productId, ROUNDS));
+    }
+
+    @Test
+    @DisplayName("Overview bursts after each movement run the aggregation about once")
+    void overviewBurstsAfterMovements() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        dashboardService.getOverview(tenantId);
+
+        int aggregations = 0;
+        int peakConnections = 0;
+        long startedAt = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            TenantContext.setTenantId(tenantId);
+            try {
+                inventoryService.createMovement(new StockMovementRequest(
+                    branchId, productId, MovementType.OUT, MovementReason.SALE, 1, null));
+            } finally {
+                TenantContext.clear();
+            }
+
+            clearInvocations(dashboardRepository);
+            DashboardConnectionUsageIntegrationTest.PeakSampler sampler =
+                new DashboardConnectionUsageIntegrationTest.PeakSampler(
+                    dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean());
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(BURST);
+            for (int i = 0; i < BURST; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        dashboardService.getOverview(tenantId);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            start.countDown();
+            assertThat(done.await(1, TimeUnit.MINUTES)).isTrue();
+            // Let the background refresh of this round finish before counting
+            Thread.sleep(200);
+            int roundPeak = sampler.stop();
+            peakConnections = Math.max(peakConnections, roundPeak);
+
+            int roundAggregations = metricsQueries();
+            aggregations += roundAggregations;
+            log.info("[round {}] burst={} metrics aggregations={} peak connections={}",
+                round, BURST, roundAggregations, roundPeak);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        executor.shutdownNow();
+
+        log.info("rounds={} burst={} requests={} aggregations={} peak connections={} elapsed={}ms",
+            ROUNDS, BURST, ROUNDS * BURST, aggregations, peakConnections, elapsedMillis);
+
+        // Flat query rate: at most a couple of aggregations per round instead of one per request
+        assertThat(aggregations).isLessThanOrEqualTo(ROUNDS * 2);
+        // One connection per loading segment (metrics and top products), however large the burst
+        assertThat(peakConnections).isLessThanOrEqualTo(2);
+    }
+
+    private int metricsQueries() {
+        return (int) mockingDetails(dashboardRepository).getInvocations().stream()
+            .filter(invocation -> invocation.getMethod().getName().equals("getMetrics"))
+            .count();
+    }
+}
@@ -0,0 +1,56 @@
+package com.stockflow.modules.dashboard.domain.model;
+
+import com.stockflow.modules.inventory.domain.model.MovementReason;
+import com.stockflow.modules.inventory.domain.model.MovementType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link MovementTrendBucket} and {@link TrendGranularity}.
+ */
+@DisplayName("MovementTrendBucket - Unit Tests")
+class MovementTrendBucketTest {
+
+    @Test
+    @DisplayName("Should align buckets on days, ISO weeks and months")
+    void starts_ShouldCoverRangeWithAlignedBuckets() {
+        LocalDate from = LocalDate.of(2026, 9, 30);  // Wednesday
+        LocalDate to = LocalDate.of(2026, 10, 13);   // Tuesday
+
+        assertThat(TrendGranularity.DAY.starts(from, to)).hasSize(14).startsWith(from).endsWith(to);
+        assertThat(TrendGranularity.WEEK.starts(from, to)).containsExactly(
+                LocalDate.of(2026, 9, 28), LocalDate.of(2026, 10, 5), LocalDate.of(2026, 10, 12));
+        assertThat(TrendGranularity.MONTH.starts(from, to)).containsExactly(
+                LocalDate.of(2026, 9, 1), LocalDate.of(2026, 10, 1));
+        assertThat(TrendGranularity.MONTH.end(LocalDate.of(2026, 2, 1))).isEqualTo(LocalDate.of(2026, 2, 28));
+    }
+
+    @Test
+    @DisplayName("Should sum inbound, outbound and sales of the days inside the bucket")
+    void of_ShouldSumRollupsInsideBucket() {
+        LocalDate start = LocalDate.of(2026, 10, 5);
+        LocalDate end = TrendGranularity.WEEK.end(start);
+        List<MovementRollup> totals = List.of(
+                total(start, MovementType.IN, MovementReason.PURCHASE, 2, 30),
+                total(start.plusDays(1), MovementType.OUT, MovementReason.SALE, 3, 12),
+                total(end, MovementType.OUT, MovementReason.LOSS, 1, 4),
+                total(end, MovementType.ADJUSTMENT, MovementReason.ADJUSTMENT_IN, 1, 9),
+                total(end.plusDays(1), MovementType.IN, MovementReason.PURCHASE, 5, 50));
+
+        MovementTrendBucket bucket = MovementTrendBucket.of(start, end, totals);
+
+        assertThat(bucket).isEqualTo(new MovementTrendBucket(start, end, 2, 30, 4, 16, 3, 12));
+        assertThat(MovementTrendBucket.of(start, end, List.of()))
+                .isEqualTo(new MovementTrendBucket(start, end, 0, 0, 0, 0, 0, 0));
+    }
+
+    private static MovementRollup total(LocalDate day, MovementType type, MovementReason reason,
+                                        long movements, long quantity) {
+        return new MovementRollup(day, null, null, type, reason, movements, quantity);
+    }
+}
@@ -0,0 +1,141 @@
+package com.stockflow.modules.dashboard.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link TopProductsSketch}.
+ *
+ * <p>Checks the Space-Saving guarantees against exact counts of a skewed stream,
+ * both for a single summary and for summaries merged from partitions of the stream.</p>
+ */
+@DisplayName("TopProductsSketch - Unit Tests")
+class TopProductsSketchTest {
+
+    private static final int CAPACITY = 20;
+
+    @Test
+    @DisplayName("Should count exactly while fewer products than capacity are moved")
+    void offer_BelowCapacity_ShouldBeExact() {
+        TopProductsSketch sketch = new TopProductsSketch(CAPACITY);
+        sketch.offer(1L, 5);
+        sketch.offer(2L, 3);
+        sketch.offer(1L, 2);
+
+        assertThat(sketch.ranked()).containsExactly(
+                new TopProductsSketch.Entry(1L, 2, 0, 7),
+                new TopProductsSketch.Entry(2L, 1, 0, 3));
+        assertThat(sketch.getStreamLength()).isEqualTo(3);
+        assertThat(sketch.maxError()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should monitor every product only until the summary fills up")
+    void monitorsEveryProduct_ShouldHoldUntilFull() {
+        TopProductsSketch sketch = new TopProductsSketch(CAPACITY);
+        for (long productId = 1; productId < CAPACITY; productId++) {
+            sketch.offer(productId, 1);
+        }
+        assertThat(sketch.monitorsEveryProduct()).isTrue();
+
+        sketch.offer((long) CAPACITY, 1);
+        assertThat(sketch.monitorsEveryProduct()).isFalse();
+
+        // Full summaries merge into a full summary: products may have been dropped
+        TopProductsSketch merged = new TopProductsSketch(CAPACITY);
+        merged.merge(sketch);
+        assertThat(merged.monitorsEveryProduct()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep counts within the error bound on a skewed stream")
+    void offer_SkewedStream_ShouldRespectErrorBound() {
+        List<Long> stream = skewedStream(new Random(42), 20_000);
+        TopProductsSketch sketch = new TopProductsSketch(CAPACITY);
+        stream.forEach(productId -> sketch.offer(productId, 1));
+
+        assertBounds(sketch, exactCounts(stream), stream.size());
+    }
+
+    @Test
+    @DisplayName("Should keep the error bound when merging summaries of partitions")
+    void merge_Partitions_ShouldRespectErrorBound() {
+        List<Long> stream = skewedStream(new Random(7), 30_000);
+        TopProductsSketch merged = new TopProductsSketch(CAPACITY);
+        for (int from = 0; from < stream.size(); from += 1_000) {
+            TopProductsSketch delta = new TopProductsSketch(CAPACITY);
+            stream.subList(from, from + 1_000).forEach(productId -> delta.offer(productId, 1));
+            merged.merge(delta);
+        }
+
+        assertThat(merged.getStreamLength()).isEqualTo(stream.size());
+        assertBounds(merged, exactCounts(stream), stream.size());
+    }
+
+    @Test
+    @DisplayName("Should rank the heaviest products first")
+    void ranked_ShouldFindHeavyHitters() {
+        List<Long> stream = skewedStream(new Random(1), 10_000);
+        TopProductsSketch sketch = new TopProductsSketch(CAPACITY);
+        stream.forEach(productId -> sketch.offer(productId, 1));
+
+        assertThat(sketch.ranked().subList(0, 3))
+                .extracting(TopProductsSketch.Entry::productId)
+                .containsExactly(1L, 2L, 3L);
+    }
+
+    private static void assertBounds(TopProductsSketch sketch, Map<Long, Long> exact, long streamLength) {
+        long bound = streamLength / CAPACITY;
+        assertThat(sketch.ranked()).hasSize(CAPACITY);
+        assertThat(sketch.maxError()).isLessThanOrEqualTo(bound);
+
+        for (TopProductsSketch.Entry entry : sketch.ranked()) {
+            long actual = exact.getOrDefault(entry.productId(), 0L);
+            assertThat(entry.count()).isGreaterThanOrEqualTo(actual);
+            assertThat(entry.count() - entry.error()).isLessThanOrEqualTo(actual);
+        }
+
+        exact.forEach((productId, count) -> {
+            if (count > bound) {
+                assertThat(sketch.ranked()).extracting(TopProductsSketch.Entry::productId).contains(productId);
+            }
+        });
+    }
+
+    /**
+     * Zipf-like stream over 1000 products: product k is drawn with weight 1/k.
+     */
+    private static List<Long> skewedStream(Random random, int length) {
+        int products = 1_000;
+        double[] cumulative = new double[products];
+        double total = 0;
+        for (int k = 1; k <= products; k++) {
+            total += 1.0 / k;
+            cumulative[k - 1] = total;
+        }
+
+        Long[] stream = new Long[length];
+        for (int i = 0; i < length; i++) {
+            double draw = random.nextDouble() * total;
+            int k = 0;
+            while (cumulative[k] < draw) {
+                k++;
+            }
+            stream[i] = (long) k + 1;
+        }
+        return List.of(stream);
+    }
+
+    private static Map<Long, Long> exactCounts(List<Long> stream) {
+        Map<Long, Long> counts = new HashMap<>();
+        stream.forEach(productId -> counts.merge(productId, 1L, Long::sum));
+        return counts;
+    }
+}
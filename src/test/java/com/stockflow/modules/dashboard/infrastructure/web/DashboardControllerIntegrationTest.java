@@ -3,6 +3,16 @@ package com.stockflow.modules.dashboard.infrastructure.web;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.stockflow.modules.catalog.domain.model.Product;
 import com.stockflow.modules.catalog.domain.repository.ProductRepository;
+import com.stockflow.modules.dashboard.application.service.DashboardCounterReconciler;
+import com.stockflow.modules.dashboard.application.service.MovementRollupBackfill;
+import com.stockflow.modules.dashboard.application.service.TopProductsTracker;
+import com.stockflow.modules.dashboard.domain.model.CounterDrift;
+import com.stockflow.modules.dashboard.domain.model.DashboardMetrics;
+import com.stockflow.modules.dashboard.domain.model.MovementRollup;
+import com.stockflow.modules.dashboard.domain.model.TopProductsSketch;
+import com.stockflow.modules.dashboard.domain.model.TrendGranularity;
+import com.stockflow.modules.dashboard.domain.repository.MovementRollupRepository;
+import com.stockflow.modules.dashboard.domain.repository.TopProductsSketchRepository;
 import com.stockflow.modules.inventory.application.dto.StockMovementCreateRequest;
 import com.stockflow.modules.inventory.domain.model.BranchProductStock;
 import com.stockflow.modules.inventory.domain.model.MovementReason;
@@ -22,14 +32,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.RequestPostProcessor;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -82,6 +96,24 @@ class DashboardControllerIntegrationTest {
     @Autowired
     private StockMovementRepository movementRepository;
 
+    @Autowired
+    private DashboardCounterReconciler counterReconciler;
+
+    @Autowired
+    private TopProductsTracker topProductsTracker;
+
+    @Autowired
+    private TopProductsSketchRepository sketchRepository;
+
+    @Autowired
+    private MovementRollupBackfill rollupBackfill;
+
+    @Autowired
+    private MovementRollupRepository rollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Long testTenantId = 1L;
     private Long branch1Id; // CENTRO
     private Long branch2Id; // NORTE
@@ -168,6 +200,10 @@ class DashboardControllerIntegrationTest {
         // Product2 will have fewer movements
         createMovement(branch1Id, product2Id, MovementType.IN, MovementReason.PURCHASE, 50, "Initial stock");
         createMovement(branch1Id, product2Id, MovementType.OUT, MovementReason.SALE, 45, "Sale");
+
+        // Fixtures are written around the services; bring the dashboard counters up to date
+        movementRepository.flush();
+        counterReconciler.reconcile(testTenantId);
     }
 
     @Test
@@ -347,6 +383,260 @@ class DashboardControllerIntegrationTest {
                 .andExpect(jsonPath("$.error.code").value("BRANCH_NOT_FOUND"));
     }
 
+    @Test
+    @DisplayName("Dashboard counters - Should stay exact through API writes and be repaired after direct writes")
+    void counters_ShouldBeMaintainedAndReconciled() throws Exception {
+        StockMovementCreateRequest movementRequest = new StockMovementCreateRequest(
+            product1Id, MovementType.OUT, MovementReason.SALE, 5, "Counted sale");
+
+        mockMvc.perform(post("/api/v1/branches/" + branch2Id + "/movements")
+                .with(adminUser)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(movementRequest)))
+                .andExpect(status().isCreated());
+
+        // Written through the service: counters are already exact
+        movementRepository.flush();
+        assertThat(counterReconciler.reconcile(testTenantId).isEmpty()).isTrue();
+
+        mockMvc.perform(get("/api/v1/dashboard/overview")
+                        .with(adminUser)
+                        .param("branchId", branch2Id.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.metrics.totalMovements").value(1))
+                .andExpect(jsonPath("$.data.metrics.recentMovements").value(1));
+
+        // Written around the service: reconciliation adds the missing count
+        createMovement(branch2Id, product2Id, MovementType.IN, MovementReason.PURCHASE, 3, "Import");
+        movementRepository.flush();
+
+        CounterDrift drift = counterReconciler.reconcile(testTenantId);
+        assertThat(drift.movements()).isNotEmpty();
+        assertThat(drift.movements().values()).containsOnly(1L);
+
+        mockMvc.perform(get("/api/v1/dashboard/overview")
+                        .with(adminUser))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.metrics.totalMovements").value(7))
+                .andExpect(jsonPath("$.data.metrics.recentMovements").value(7));
+    }
+
+    @Test
+    @DisplayName("Dashboard counters - Should count today and the 6 previous days as recent")
+    void counters_RecentMovements_ShouldCoverSevenCalendarDays() throws Exception {
+        backdate(createMovement(branch2Id, product1Id, MovementType.IN, MovementReason.PURCHASE, 2, "First recent day"),
+            LocalDate.now().minusDays(DashboardMetrics.RECENT_DAYS - 1).atStartOfDay());
+        backdate(createMovement(branch2Id, product1Id, MovementType.IN, MovementReason.PURCHASE, 2, "Day before"),
+            LocalDate.now().minusDays(DashboardMetrics.RECENT_DAYS).atTime(23, 59));
+        counterReconciler.reconcile(testTenantId);
+
+        mockMvc.perform(get("/api/v1/dashboard/overview")
+                        .with(adminUser)
+                        .param("branchId", branch2Id.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.metrics.totalMovements").value(2))
+                .andExpect(jsonPath("$.data.metrics.recentMovements").value(1));
+    }
+
+    @Test
+    @DisplayName("Dashboard counters - Should keep totals when a month is moved to the archive")
+    void counters_ShouldCountArchivedMovements() throws Exception {
+        LocalDateTime archivedAt = LocalDate.now().minusMonths(30).withDayOfMonth(1).atTime(9, 0);
+        backdate(createMovement(branch1Id, product1Id, MovementType.IN, MovementReason.PURCHASE, 8, "Old"), archivedAt);
+        counterReconciler.reconcile(testTenantId);
+
+        mockMvc.perform(get("/api/v1/dashboard/overview")
+                        .with(adminUser))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.metrics.totalMovements").value(6));
+
+        // Archive the month of the old movement, as MovementPartitionMaintenance does on MySQL
+        String columns = "id, tenant_id, branch_id, product_id, type, reason, quantity, note, created_by_user_id, created_at";
+        LocalDateTime monthStart = archivedAt.toLocalDate().atStartOfDay();
+        Object[] month = {testTenantId, Timestamp.valueOf(monthStart), Timestamp.valueOf(monthStart.plusMonths(1))};
+        assertThat(jdbcTemplate.update("INSERT INTO stock_movements_archive (" + columns + ") SELECT " + columns
+            + " FROM stock_movements WHERE tenant_id = ? AND created_at >= ? AND created_at < ?", month)).isEqualTo(1);
+        jdbcTemplate.update("DELETE FROM stock_movements WHERE tenant_id = ? AND created_at >= ? AND created_at < ?", month);
+
+        assertThat(counterReconciler.reconcile(testTenantId).isEmpty()).isTrue();
+
+        mockMvc.perform(get("/api/v1/dashboard/overview")
+                        .with(adminUser))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.metrics.totalMovements").value(6));
+    }
+
+    @Test
+    @DisplayName("Top products - Should be served from persisted summaries merged with flushed movements")
+    void topProducts_ShouldBeServedFromFlushedSummaries() throws Exception {
+        // Persist exact summaries of the movements created in setUp
+        assertThat(topProductsTracker.recompute(testTenantId)).isEqualTo(2);  // tenant + branch1
+
+        // Movements reported after commit are merged on the next flush
+        List<StockMovement> committed = List.of(
+            createMovement(branch1Id, product2Id, MovementType.IN, MovementReason.PURCHASE, 4, "Restock"),
+            createMovement(branch1Id, product2Id, MovementType.IN, MovementReason.PURCHASE, 6, "Restock"));
+        movementRepository.flush();
+        topProductsTracker.offer(committed);
+        topProductsTracker.flush();
+
+        mockMvc.perform(get("/api/v1/dashboard/overview")
+                        .with(adminUser)
+                        .param("branchId", branch1Id.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.topProducts", hasSize(2)))
+                .andExpect(jsonPath("$.data.topProducts[0].productId").value(product2Id))
+                .andExpect(jsonPath("$.data.topProducts[0].movementCount").value(4))
+                .andExpect(jsonPath("$.data.topProducts[1].productId").value(product1Id))
+                .andExpect(jsonPath("$.data.topProducts[1].movementCount").value(3));
+    }
+
+    @Test
+    @DisplayName("Top products - Should bootstrap a missing summary once, on the next flush")
+    void topProducts_WithoutSummary_ShouldBootstrapOnNextFlush() throws Exception {
+        assertThat(sketchRepository.find(testTenantId, branch1Id)).isEmpty();
+
+        mockMvc.perform(get("/api/v1/dashboard/overview")
+                        .with(adminUser)
+                        .param("branchId", branch1Id.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.topProducts[0].movementCount").value(3));
+        assertThat(sketchRepository.find(testTenantId, branch1Id)).isEmpty();
+
+        topProductsTracker.flush();
+
+        assertThat(sketchRepository.find(testTenantId, branch1Id)).hasValueSatisfying(sketch -> {
+            assertThat(sketch.getStreamLength()).isEqualTo(5);
+            assertThat(sketch.ranked()).extracting(TopProductsSketch.Entry::productId)
+                .containsExactly(product1Id, product2Id);
+        });
+    }
+
+    @Test
+    @DisplayName("Top products - Should not list products as unmoved once the summary is full")
+    void topProducts_FullSummary_ShouldNotPadWithUnmovedProducts() throws Exception {
+        // Capacity 1: product2 may have been dropped from the summary, so its count is unknown
+        sketchRepository.save(testTenantId, branch1Id, new TopProductsSketch(1, 5,
+            List.of(new TopProductsSketch.Entry(product1Id, 3, 2, 150))), false);
+
+        mockMvc.perform(get("/api/v1/dashboard/overview")
+                        .with(adminUser)
+                        .param("branchId", branch1Id.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.topProducts", hasSize(1)))
+                .andExpect(jsonPath("$.data.topProducts[0].productId").value(product1Id));
+
+        // A summary below capacity monitors every moved product: the others never moved
+        sketchRepository.save(testTenantId, branch2Id, new TopProductsSketch(2, 1,
+            List.of(new TopProductsSketch.Entry(product1Id, 1, 0, 5))), false);
+
+        mockMvc.perform(get("/api/v1/dashboard/overview")
+                        .with(adminUser)
+                        .param("branchId", branch2Id.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.topProducts", hasSize(2)))
+                .andExpect(jsonPath("$.data.topProducts[1].productId").value(product2Id))
+                .andExpect(jsonPath("$.data.topProducts[1].movementCount").value(0));
+    }
+
+    @Test
+    @DisplayName("Movement rollups - Should be maintained by writers and backfilled for closed days")
+    void rollups_ShouldBeMaintainedAndBackfilled() throws Exception {
+        StockMovementCreateRequest movementRequest = new StockMovementCreateRequest(
+            product1Id, MovementType.OUT, MovementReason.SALE, 5, "Rolled up sale");
+
+        mockMvc.perform(post("/api/v1/branches/" + branch2Id + "/movements")
+                .with(adminUser)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(movementRequest)))
+                .andExpect(status().isCreated());
+        movementRepository.flush();
+
+        // Written through the service: today's rollup is already there
+        LocalDate today = LocalDate.now();
+        assertThat(rollupRepository.findRollups(testTenantId, branch2Id, today, today))
+            .containsExactly(new MovementRollup(today, branch2Id, product1Id,
+                MovementType.OUT, MovementReason.SALE, 1, 5));
+
+        // History written before the rollups existed is backfilled once its day is closed
+        LocalDate yesterday = today.minusDays(1);
+        StockMovement imported = createMovement(branch2Id, product2Id, MovementType.IN, MovementReason.PURCHASE, 7, "Import");
+        movementRepository.flush();
+        jdbcTemplate.update("UPDATE stock_movements SET created_at = ? WHERE id = ?",
+            Timestamp.valueOf(yesterday.atTime(10, 0)), imported.getId());
+
+        assertThat(rollupBackfill.catchUp(testTenantId)).isEqualTo(1);
+        assertThat(rollupRepository.findRolledUpThrough(testTenantId)).contains(yesterday);
+        assertThat(rollupRepository.findRollups(testTenantId, null, yesterday, yesterday))
+            .containsExactly(new MovementRollup(yesterday, branch2Id, product2Id,
+                MovementType.IN, MovementReason.PURCHASE, 1, 7));
+
+        // Caught up: the next run has nothing to rebuild until another day closes
+        assertThat(rollupBackfill.catchUp(testTenantId)).isZero();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/dashboard/trends - Should return gap-filled buckets from rollups")
+    void getTrends_ShouldReturnGapFilledBuckets() throws Exception {
+        StockMovementCreateRequest movementRequest = new StockMovementCreateRequest(
+            product1Id, MovementType.OUT, MovementReason.SALE, 5, "Trend sale");
+
+        mockMvc.perform(post("/api/v1/branches/" + branch2Id + "/movements")
+                .with(adminUser)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(movementRequest)))
+                .andExpect(status().isCreated());
+
+        // Yesterday is closed and rebuilt, so its bucket is sealed
+        LocalDate today = LocalDate.now();
+        StockMovement imported = createMovement(branch2Id, product2Id, MovementType.IN, MovementReason.PURCHASE, 7, "Import");
+        movementRepository.flush();
+        jdbcTemplate.update("UPDATE stock_movements SET created_at = ? WHERE id = ?",
+            Timestamp.valueOf(today.minusDays(1).atTime(10, 0)), imported.getId());
+        rollupBackfill.catchUp(testTenantId);
+
+        mockMvc.perform(get("/api/v1/dashboard/trends")
+                        .with(adminUser)
+                        .param("from", today.minusDays(2).toString())
+                        .param("to", today.toString())
+                        .param("branchId", branch2Id.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.granularity").value("DAY"))
+                .andExpect(jsonPath("$.data.buckets", hasSize(3)))
+                .andExpect(jsonPath("$.data.buckets[0].start").value(today.minusDays(2).toString()))
+                .andExpect(jsonPath("$.data.buckets[0].inMovements").value(0))
+                .andExpect(jsonPath("$.data.buckets[0].outMovements").value(0))
+                .andExpect(jsonPath("$.data.buckets[1].inMovements").value(1))
+                .andExpect(jsonPath("$.data.buckets[1].inQuantity").value(7))
+                .andExpect(jsonPath("$.data.buckets[2].outMovements").value(1))
+                .andExpect(jsonPath("$.data.buckets[2].saleMovements").value(1))
+                .andExpect(jsonPath("$.data.buckets[2].saleQuantity").value(5));
+
+        mockMvc.perform(get("/api/v1/dashboard/trends")
+                        .with(adminUser)
+                        .param("from", today.toString())
+                        .param("to", today.toString())
+                        .param("granularity", "WEEK"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.buckets", hasSize(1)))
+                .andExpect(jsonPath("$.data.from").value(TrendGranularity.WEEK.start(today).toString()))
+                .andExpect(jsonPath("$.data.buckets[0].outQuantity").value(5));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/dashboard/trends - Should reject an inverted range")
+    void getTrends_WithInvertedRange_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/dashboard/trends")
+                        .with(adminUser)
+                        .param("from", "2026-10-10")
+                        .param("to", "2026-10-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.code").value("INVALID_DATE_RANGE"));
+    }
+
     /**
      * Helper method to create a stock movement.
      *
@@ -356,8 +646,9 @@ class DashboardControllerIntegrationTest {
      * @param reason    the movement reason
      * @param quantity  the movement quantity
      * @param notes     movement notes
+     * @return the saved movement
      */
-    private void createMovement(Long branchId, Long productId, MovementType type,
+    private StockMovement createMovement(Long branchId, Long productId, MovementType type,
                                MovementReason reason, int quantity, String notes) {
         StockMovement movement = new StockMovement(
             testTenantId,
@@ -370,6 +661,13 @@ class DashboardControllerIntegrationTest {
             1L  // createdByUserId
         );
         movement.setCreatedAt(LocalDateTime.now());
-        movementRepository.save(movement);
+        return movementRepository.save(movement);
+    }
+
+    private void backdate(StockMovement movement, LocalDateTime createdAt) {
+        // Auditing overwrites createdAt on save
+        movementRepository.flush();
+        jdbcTemplate.update("UPDATE stock_movements SET created_at = ? WHERE id = ?",
+            Timestamp.valueOf(createdAt), movement.getId());
     }
 }
@@ -0,0 +1,148 @@
+package com.stockflow.modules.inventory.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockflow.modules.inventory.application.dto.TransferResult;
+import com.stockflow.modules.inventory.infrastructure.persistence.TieredIdempotencyRepository;
+import com.stockflow.shared.domain.exception.ConflictException;
+import com.stockflow.shared.domain.exception.InsufficientStockException;
+import com.stockflow.shared.infrastructure.security.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("IdempotentRequestExecutor - Unit Tests")
+class IdempotentRequestExecutorTest {
+
+    private IdempotentRequestExecutor executor;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        TieredIdempotencyRepository repository = new TieredIdempotencyRepository(null);
+        ReflectionTestUtils.setField(repository, "redisEnabled", false);
+        executor = new IdempotentRequestExecutor(repository, new ObjectMapper(), new SimpleMeterRegistry());
+        executions = new AtomicInteger();
+        TenantContext.setTenantId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should execute once and replay the stored response")
+    void shouldReplayDuplicates() {
+        IdempotentRequestExecutor.Outcome<TransferResult> first = transfer("key-1", "payload");
+        IdempotentRequestExecutor.Outcome<TransferResult> second = transfer("key-1", "payload");
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(first.replayed()).isFalse();
+        assertThat(second.replayed()).isTrue();
+        assertThat(second.value()).isEqualTo(first.value());
+    }
+
+    @Test
+    @DisplayName("Should scope keys by tenant")
+    void shouldScopeByTenant() {
+        transfer("key-1", "payload");
+        TenantContext.setTenantId(2L);
+        IdempotentRequestExecutor.Outcome<TransferResult> other = transfer("key-1", "payload");
+
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(other.replayed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with another payload")
+    void shouldRejectKeyReuse() {
+        transfer("key-1", "payload");
+
+        assertThatThrownBy(() -> transfer("key-1", "other payload"))
+            .isInstanceOf(ConflictException.class)
+            .hasFieldOrPropertyWithValue("errorCode", "IDEMPOTENCY_KEY_REUSED");
+    }
+
+    @Test
+    @DisplayName("Should not store failures so that a retry executes again")
+    void shouldNotStoreFailures() {
+        assertThatThrownBy(() -> executor.execute("transfers.create", "key-1", "payload", TransferResult.class,
+            () -> {
+                executions.incrementAndGet();
+                throw InsufficientStockException.of(1L, 1L, 5, 0);
+            })).isInstanceOf(InsufficientStockException.class);
+
+        IdempotentRequestExecutor.Outcome<TransferResult> retry = transfer("key-1", "payload");
+
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(retry.replayed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("In-flight duplicates should wait for the original instead of executing")
+    void shouldJoinInFlightDuplicates() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        Future<IdempotentRequestExecutor.Outcome<TransferResult>> original = pool.submit(() -> {
+            TenantContext.setTenantId(1L);
+            return executor.execute("transfers.create", "key-1", "payload", TransferResult.class, () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                await(release);
+                return new TransferResult(10L, 11L);
+            });
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Future<IdempotentRequestExecutor.Outcome<TransferResult>>> duplicates = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            duplicates.add(pool.submit(() -> {
+                TenantContext.setTenantId(1L);
+                return transfer("key-1", "payload");
+            }));
+        }
+        release.countDown();
+
+        assertThat(original.get(5, TimeUnit.SECONDS).replayed()).isFalse();
+        for (Future<IdempotentRequestExecutor.Outcome<TransferResult>> duplicate : duplicates) {
+            IdempotentRequestExecutor.Outcome<TransferResult> outcome = duplicate.get(5, TimeUnit.SECONDS);
+            assertThat(outcome.replayed()).isTrue();
+            assertThat(outcome.value()).isEqualTo(new TransferResult(10L, 11L));
+        }
+        pool.shutdownNow();
+
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    private IdempotentRequestExecutor.Outcome<TransferResult> transfer(String key, String payload) {
+        return executor.execute("transfers.create", key, payload, TransferResult.class, () -> {
+            int n = executions.incrementAndGet();
+            return new TransferResult((long) n, (long) n + 1);
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.stockflow.modules.inventory.application.service;
+
+import com.stockflow.modules.branches.domain.model.Branch;
+import com.stockflow.modules.branches.domain.repository.BranchRepository;
+import com.stockflow.modules.catalog.domain.model.Product;
+import com.stockflow.modules.catalog.domain.repository.ProductRepository;
+import com.stockflow.modules.inventory.application.dto.StockMovementRequest;
+import com.stockflow.modules.inventory.application.dto.StockMovementResponse;
+import com.stockflow.modules.inventory.application.dto.TransferResult;
+import com.stockflow.modules.inventory.application.dto.TransferStockRequest;
+import com.stockflow.modules.inventory.domain.model.MovementReason;
+import com.stockflow.modules.inventory.domain.model.MovementType;
+import com.stockflow.modules.inventory.domain.repository.StockLedgerRepository;
+import com.stockflow.modules.tenants.domain.model.Tenant;
+import com.stockflow.modules.tenants.domain.repository.TenantRepository;
+import com.stockflow.shared.domain.exception.InsufficientStockException;
+import com.stockflow.shared.domain.exception.ValidationException;
+import com.stockflow.shared.infrastructure.security.TenantContext;
+import com.stockflow.shared.testing.H2IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the ATOMIC stock write mode against the H2 schema.
+ */
+@SpringBootTest(properties = "app.inventory.write-mode=ATOMIC")
+@Transactional
+@DisplayName("InventoryService - Atomic Write Mode")
+class InventoryAtomicWriteModeIntegrationTest extends H2IntegrationTest {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private StockLedgerRepository stockLedgerRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Long tenantId;
+    private Long branchId;
+    private Long otherBranchId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        Tenant tenant = tenantRepository.save(new Tenant("Atomic Tenant", "atomic-tenant-" + System.nanoTime()));
+        tenantId = tenant.getId();
+        TenantContext.setTenantId(tenantId);
+
+        branchId = branchRepository.save(new Branch(tenantId, "Branch A", "BR-A")).getId();
+        otherBranchId = branchRepository.save(new Branch(tenantId, "Branch B", "BR-B")).getId();
+
+        Product product = new Product(tenantId, "Product A", "SKU-ATOMIC", Product.UnitOfMeasure.UN);
+        product.setActive(true);
+        productId = productRepository.save(product).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("IN movement should create the stock row and record the movement")
+    void createMovement_InShouldUpsertStock() {
+        StockMovementResponse first = inventoryService.createMovement(new StockMovementRequest(
+            branchId, productId, MovementType.IN, MovementReason.PURCHASE, 7, "First purchase"));
+        inventoryService.createMovement(new StockMovementRequest(
+            branchId, productId, MovementType.IN, MovementReason.PURCHASE, 3, null));
+
+        assertThat(first.id()).isNotNull();
+        assertThat(first.createdAt()).isNotNull();
+        assertThat(stockLedgerRepository.findQuantity(tenantId, branchId, productId)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("OUT movement beyond available stock should fail without changing stock")
+    void createMovement_OutBeyondStockShouldFail() {
+        inventoryService.createMovement(new StockMovementRequest(
+            branchId, productId, MovementType.IN, MovementReason.PURCHASE, 5, null));
+
+        assertThatThrownBy(() -> inventoryService.createMovement(new StockMovementRequest(
+            branchId, productId, MovementType.OUT, MovementReason.SALE, 6, null)))
+            .isInstanceOf(InsufficientStockException.class)
+            .hasMessageContaining("Available: 5");
+
+        assertThat(stockLedgerRepository.findQuantity(tenantId, branchId, productId)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Transfer should move quantity between branches")
+    void transferStock_ShouldMoveQuantity() {
+        inventoryService.createMovement(new StockMovementRequest(
+            branchId, productId, MovementType.IN, MovementReason.PURCHASE, 8, null));
+
+        TransferResult result = inventoryService.transferStock(
+            new TransferStockRequest(branchId, otherBranchId, productId, 5, "Rebalance"));
+
+        assertThat(result.sourceMovementId()).isNotNull();
+        assertThat(result.destinationMovementId()).isNotNull();
+        assertThat(stockLedgerRepository.findQuantity(tenantId, branchId, productId)).isEqualTo(3);
+        assertThat(stockLedgerRepository.findQuantity(tenantId, otherBranchId, productId)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Movement on inactive branch should be rejected")
+    void createMovement_InactiveBranchShouldFail() {
+        Branch branch = branchRepository.findById(branchId).orElseThrow();
+        branch.setActive(false);
+        branchRepository.saveAndFlush(branch);
+
+        assertThatThrownBy(() -> inventoryService.createMovement(new StockMovementRequest(
+            branchId, productId, MovementType.IN, MovementReason.PURCHASE, 1, null)))
+            .isInstanceOf(ValidationException.class)
+            .hasMessageContaining("Branch must be active");
+    }
+}
@@ -0,0 +1,155 @@
+package com.stockflow.modules.inventory.application.service;
+
+import com.stockflow.modules.branches.domain.model.Branch;
+import com.stockflow.modules.branches.domain.repository.BranchRepository;
+import com.stockflow.modules.catalog.domain.model.Product;
+import com.stockflow.modules.catalog.domain.repository.ProductRepository;
+import com.stockflow.modules.inventory.domain.model.BranchProductStock;
+import com.stockflow.modules.inventory.domain.model.MovementHistoryFilter;
+import com.stockflow.modules.inventory.domain.model.MovementReason;
+import com.stockflow.modules.inventory.domain.model.MovementType;
+import com.stockflow.modules.inventory.domain.model.StockMovement;
+import com.stockflow.modules.inventory.domain.repository.BranchProductStockRepository;
+import com.stockflow.modules.inventory.domain.repository.StockMovementRepository;
+import com.stockflow.modules.tenants.domain.model.Tenant;
+import com.stockflow.modules.tenants.domain.repository.TenantRepository;
+import com.stockflow.shared.domain.exception.NotFoundException;
+import com.stockflow.shared.domain.exception.ServiceUnavailableException;
+import com.stockflow.shared.infrastructure.export.ExportFormat;
+import com.stockflow.shared.testing.H2IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for streamed inventory exports against the H2 schema.
+ */
+@SpringBootTest
+@Transactional
+@DisplayName("InventoryExportService - Integration Tests")
+class InventoryExportServiceIntegrationTest extends H2IntegrationTest {
+
+    @Autowired
+    private InventoryExportService exportService;
+
+    @Autowired
+    private StockMovementRepository movementRepository;
+
+    @Autowired
+    private BranchProductStockRepository stockRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Long tenantId;
+    private Long branchId;
+    private Long otherBranchId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = tenantRepository.save(new Tenant("Export Tenant", "export-" + System.nanoTime())).getId();
+        branchId = branchRepository.save(new Branch(tenantId, "Export Branch", "EXP")).getId();
+        otherBranchId = branchRepository.save(new Branch(tenantId, "Other Branch", "OTH")).getId();
+        productId = productRepository.save(
+            new Product(tenantId, "Export, \"Product\"", "EXP-001", Product.UnitOfMeasure.UN)).getId();
+
+        movementRepository.saveAllAndFlush(List.of(
+            new StockMovement(tenantId, branchId, productId, MovementType.IN, MovementReason.PURCHASE, 10, "first", null),
+            new StockMovement(tenantId, branchId, productId, MovementType.OUT, MovementReason.SALE, 4, null, null),
+            new StockMovement(tenantId, otherBranchId, productId, MovementType.IN, MovementReason.PURCHASE, 7, null, null)));
+        stockRepository.saveAllAndFlush(List.of(
+            new BranchProductStock(tenantId, branchId, productId, 6),
+            new BranchProductStock(tenantId, otherBranchId, productId, 7)));
+    }
+
+    @Test
+    @DisplayName("Should stream the movements of a branch as CSV, oldest first")
+    void writeMovements_BranchCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.writeMovements(tenantId, branchId, MovementHistoryFilter.none(), ExportFormat.CSV, false, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).isEqualTo("id,branchId,productId,type,reason,quantity,note,createdByUserId,createdAt");
+        assertThat(lines.get(1)).contains("," + branchId + "," + productId + ",IN,PURCHASE,10,first,,");
+        assertThat(lines.get(2)).contains(",OUT,SALE,4,,,");
+    }
+
+    @Test
+    @DisplayName("Should apply the history filters to a tenant-wide export")
+    void writeMovements_TenantFiltered() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MovementHistoryFilter filter = MovementHistoryFilter.of(null, List.of(MovementType.IN), null, null, null);
+
+        exportService.writeMovements(tenantId, null, filter, ExportFormat.NDJSON, false, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(2).allMatch(line -> line.contains("\"type\":\"IN\""));
+        assertThat(lines.get(0)).contains("\"branchId\":" + Math.min(branchId, otherBranchId));
+    }
+
+    @Test
+    @DisplayName("Should stream gzipped stock balances with product details")
+    void writeStock_Gzip() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.writeStock(tenantId, branchId, null, null, ExportFormat.CSV, true, out);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            List<String> lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            assertThat(lines).hasSize(2);
+            assertThat(lines.get(0)).isEqualTo("branchId,productId,sku,productName,quantity,updatedAt");
+            assertThat(lines.get(1)).startsWith(branchId + "," + productId + ",EXP-001,\"Export, \"\"Product\"\"\",6,");
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject exports of unknown branches")
+    void validate_UnknownBranch() {
+        assertThatThrownBy(() -> exportService.validate(tenantId, -1L, null, null))
+            .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject exports beyond the bulkhead until a slot is released")
+    void acquireSlot_Saturated_ShouldRejectUntilReleased() {
+        List<InventoryExportService.ExportSlot> slots = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                slots.add(exportService.acquireSlot());
+            }
+            assertThatThrownBy(() -> exportService.acquireSlot())
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessageContaining("4 exports are already running");
+
+            slots.get(0).close();
+            slots.get(0).close();
+            slots.set(0, exportService.acquireSlot());
+            assertThatThrownBy(() -> exportService.acquireSlot())
+                .isInstanceOf(ServiceUnavailableException.class);
+        } finally {
+            slots.forEach(InventoryExportService.ExportSlot::close);
+        }
+    }
+}
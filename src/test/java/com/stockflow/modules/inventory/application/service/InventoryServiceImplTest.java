@@ -4,16 +4,24 @@ import com.stockflow.modules.branches.domain.model.Branch;
 import com.stockflow.modules.branches.domain.repository.BranchRepository;
 import com.stockflow.modules.catalog.domain.model.Product;
 import com.stockflow.modules.catalog.domain.repository.ProductRepository;
+import com.stockflow.modules.dashboard.application.service.DashboardMovementRecorder;
 import com.stockflow.modules.inventory.application.dto.StockMovementRequest;
+import com.stockflow.modules.inventory.application.dto.StockMovementResponse;
 import com.stockflow.modules.inventory.application.dto.TransferStockRequest;
 import com.stockflow.modules.inventory.application.mapper.InventoryMapper;
 import com.stockflow.modules.inventory.domain.model.BranchProductStock;
 import com.stockflow.modules.inventory.domain.model.MovementReason;
+import com.stockflow.modules.inventory.domain.model.MovementTargetState;
 import com.stockflow.modules.inventory.domain.model.MovementType;
+import com.stockflow.modules.inventory.domain.model.StockMovement;
 import com.stockflow.modules.inventory.domain.repository.BranchProductStockRepository;
+import com.stockflow.modules.inventory.domain.repository.MovementHistoryRepository;
+import com.stockflow.modules.inventory.domain.repository.StockLedgerRepository;
 import com.stockflow.modules.inventory.domain.repository.StockMovementRepository;
 import com.stockflow.shared.domain.exception.InsufficientStockException;
+import com.stockflow.shared.domain.exception.NotFoundException;
 import com.stockflow.shared.domain.exception.ValidationException;
+import com.stockflow.shared.infrastructure.cache.DashboardCacheKeys;
 import com.stockflow.shared.infrastructure.security.TenantContext;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,9 +30,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
@@ -44,9 +58,33 @@ class InventoryServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private StockLedgerRepository stockLedgerRepository;
+
+    @Mock
+    private MovementHistoryRepository movementHistoryRepository;
+
+    @Mock
+    private DashboardMovementRecorder dashboardMovementRecorder;
+
+    @Mock
+    private MovementSequencer movementSequencer;
+
+    @Mock
+    private StockTransferEngine transferEngine;
+
+    @Mock
+    private StockMovementBatchEngine batchEngine;
+
     @Mock
     private InventoryMapper inventoryMapper;
 
+    @Mock
+    private DashboardCacheKeys dashboardCacheKeys;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private InventoryServiceImpl inventoryService;
 
@@ -118,4 +156,116 @@ class InventoryServiceImplTest {
 
         verifyNoInteractions(branchRepository, productRepository, stockRepository, movementRepository);
     }
+
+    @Test
+    @DisplayName("createMovement (ATOMIC) - Should apply conditional decrease and insert movement")
+    void createMovementAtomic_ShouldDecreaseAndInsertMovement() {
+        Long tenantId = 1L;
+        Long branchId = 10L;
+        Long productId = 20L;
+
+        TenantContext.setTenantId(tenantId);
+        ReflectionTestUtils.setField(inventoryService, "writeMode", StockWriteMode.ATOMIC);
+
+        StockMovementRequest request = new StockMovementRequest(
+            branchId, productId, MovementType.OUT, MovementReason.SALE, 3, "Sale");
+        StockMovement movement = new StockMovement(
+            tenantId, branchId, productId, MovementType.OUT, MovementReason.SALE, 3, "Sale", null);
+        StockMovementResponse response = new StockMovementResponse(
+            99L, tenantId, branchId, productId, MovementType.OUT, MovementReason.SALE, 3, "Sale", null,
+            LocalDateTime.now());
+
+        when(stockLedgerRepository.findMovementTargetState(tenantId, branchId, productId))
+            .thenReturn(new MovementTargetState(true, true));
+        when(stockLedgerRepository.decreaseQuantity(tenantId, branchId, productId, 3)).thenReturn(true);
+        when(inventoryMapper.toEntity(request, tenantId, null)).thenReturn(movement);
+        when(stockLedgerRepository.insertMovement(movement)).thenReturn(movement);
+        when(inventoryMapper.toResponse(movement)).thenReturn(response);
+
+        assertThat(inventoryService.createMovement(request)).isEqualTo(response);
+
+        verify(stockLedgerRepository, never()).findQuantity(any(), any(), any());
+        verifyNoInteractions(branchRepository, productRepository, stockRepository, movementRepository);
+    }
+
+    @Test
+    @DisplayName("createMovement (ATOMIC) - Should fail when conditional decrease affects no rows")
+    void createMovementAtomic_ShouldFailWhenDecreaseAffectsNoRows() {
+        Long tenantId = 1L;
+        Long branchId = 10L;
+        Long productId = 20L;
+
+        TenantContext.setTenantId(tenantId);
+        ReflectionTestUtils.setField(inventoryService, "writeMode", StockWriteMode.ATOMIC);
+
+        StockMovementRequest request = new StockMovementRequest(
+            branchId, productId, MovementType.OUT, MovementReason.SALE, 10, "Sale beyond stock");
+
+        when(stockLedgerRepository.findMovementTargetState(tenantId, branchId, productId))
+            .thenReturn(new MovementTargetState(true, true));
+        when(stockLedgerRepository.decreaseQuantity(tenantId, branchId, productId, 10)).thenReturn(false);
+        when(stockLedgerRepository.findQuantity(tenantId, branchId, productId)).thenReturn(4);
+
+        assertThatThrownBy(() -> inventoryService.createMovement(request))
+            .isInstanceOf(InsufficientStockException.class)
+            .hasMessageContaining("Available: 4");
+
+        verify(stockLedgerRepository, never()).insertMovement(any());
+        verifyNoInteractions(inventoryMapper);
+    }
+
+    @Test
+    @DisplayName("createMovement (ATOMIC) - Should fail when product does not belong to tenant")
+    void createMovementAtomic_ShouldFailWhenProductNotFound() {
+        Long tenantId = 1L;
+
+        TenantContext.setTenantId(tenantId);
+        ReflectionTestUtils.setField(inventoryService, "writeMode", StockWriteMode.ATOMIC);
+
+        StockMovementRequest request = new StockMovementRequest(
+            10L, 20L, MovementType.IN, MovementReason.PURCHASE, 5, null);
+
+        when(stockLedgerRepository.findMovementTargetState(tenantId, 10L, 20L))
+            .thenReturn(new MovementTargetState(true, null));
+
+        assertThatThrownBy(() -> inventoryService.createMovement(request))
+            .isInstanceOf(NotFoundException.class)
+            .hasMessageContaining("Product not found");
+
+        verify(stockLedgerRepository, never()).increaseQuantity(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("createMovement (SEQUENCED) - Should run the atomic path on the sequencer lane")
+    void createMovementSequenced_ShouldDelegateToSequencer() {
+        Long tenantId = 1L;
+        Long branchId = 10L;
+        Long productId = 20L;
+
+        TenantContext.setTenantId(tenantId);
+        ReflectionTestUtils.setField(inventoryService, "writeMode", StockWriteMode.SEQUENCED);
+
+        StockMovementRequest request = new StockMovementRequest(
+            branchId, productId, MovementType.IN, MovementReason.PURCHASE, 4, null);
+        StockMovement movement = new StockMovement(
+            tenantId, branchId, productId, MovementType.IN, MovementReason.PURCHASE, 4, null, null);
+        StockMovementResponse response = new StockMovementResponse(
+            7L, tenantId, branchId, productId, MovementType.IN, MovementReason.PURCHASE, 4, null, null,
+            LocalDateTime.now());
+
+        when(movementSequencer.submit(eq(tenantId), eq(branchId), eq(productId), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
+        when(stockLedgerRepository.findMovementTargetState(tenantId, branchId, productId))
+            .thenReturn(new MovementTargetState(true, true));
+        when(inventoryMapper.toEntity(request, tenantId, null)).thenReturn(movement);
+        when(stockLedgerRepository.insertMovement(movement)).thenReturn(movement);
+        when(inventoryMapper.toResponse(movement)).thenReturn(response);
+
+        assertThat(inventoryService.createMovement(request)).isEqualTo(response);
+
+        verify(stockLedgerRepository).increaseQuantity(tenantId, branchId, productId, 4);
+        verify(dashboardMovementRecorder).record(List.of(movement));
+        verify(dashboardCacheKeys).invalidate(tenantId, List.of(branchId));
+        verifyNoInteractions(transactionManager);
+    }
 }
@@ -0,0 +1,175 @@
+package com.stockflow.modules.inventory.application.service;
+
+import com.stockflow.modules.branches.domain.model.Branch;
+import com.stockflow.modules.branches.domain.repository.BranchRepository;
+import com.stockflow.modules.catalog.domain.model.Product;
+import com.stockflow.modules.catalog.domain.repository.ProductRepository;
+import com.stockflow.modules.inventory.application.dto.StockMovementRequest;
+import com.stockflow.modules.inventory.domain.model.BranchProductStock;
+import com.stockflow.modules.inventory.domain.model.MovementReason;
+import com.stockflow.modules.inventory.domain.model.MovementType;
+import com.stockflow.modules.inventory.domain.repository.BranchProductStockRepository;
+import com.stockflow.modules.inventory.domain.repository.StockMovementRepository;
+import com.stockflow.modules.tenants.domain.model.Tenant;
+import com.stockflow.modules.tenants.domain.repository.TenantRepository;
+import com.stockflow.shared.infrastructure.security.TenantContext;
+import com.stockflow.shared.testing.TestcontainersIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contention benchmark comparing the OPTIMISTIC, ATOMIC and SEQUENCED stock
+ * write modes on a single hot SKU.
+ *
+ * <p>Not part of the regular test run (the class name does not match the
+ * surefire includes). Run explicitly with Docker available:</p>
+ * <pre>
+ * mvn -B test -Dtest=InventoryWriteModeBenchmark
+ * </pre>
+ */
+@SpringBootTest
+@DisplayName("InventoryService - Write Mode Contention Benchmark")
+class InventoryWriteModeBenchmark extends TestcontainersIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryWriteModeBenchmark.class);
+
+    private static final int THREADS = 16;
+    private static final int MOVEMENTS_PER_THREAD = 100;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BranchProductStockRepository stockRepository;
+
+    @Autowired
+    private StockMovementRepository movementRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    private Long tenantId;
+    private Long branchId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        movementRepository.deleteAll();
+        stockRepository.deleteAll();
+        productRepository.deleteAll();
+        branchRepository.deleteAll();
+        tenantRepository.deleteAll();
+
+        tenantId = tenantRepository.save(new Tenant("Bench Tenant", "bench-tenant")).getId();
+        branchId = branchRepository.save(new Branch(tenantId, "Hot Branch", "HOT")).getId();
+
+        Product product = new Product(tenantId, "Hot Product", "HOT-1", Product.UnitOfMeasure.UN);
+        product.setActive(true);
+        productId = productRepository.save(product).getId();
+
+        stockRepository.save(new BranchProductStock(tenantId, branchId, productId, THREADS * MOVEMENTS_PER_THREAD));
+    }
+
+    @AfterEach
+    void tearDown() {
+        setWriteMode(StockWriteMode.OPTIMISTIC);
+    }
+
+    @Test
+    @DisplayName("Optimistic mode on a hot SKU")
+    void optimistic() throws Exception {
+        run(StockWriteMode.OPTIMISTIC);
+    }
+
+    @Test
+    @DisplayName("Atomic mode on a hot SKU")
+    void atomic() throws Exception {
+        Result result = run(StockWriteMode.ATOMIC);
+        assertThat(result.failures()).isZero();
+    }
+
+    @Test
+    @DisplayName("Sequenced mode on a hot SKU")
+    void sequenced() throws Exception {
+        Result result = run(StockWriteMode.SEQUENCED);
+        assertThat(result.failures()).isZero();
+    }
+
+    private Result run(StockWriteMode mode) throws Exception {
+        setWriteMode(mode);
+
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            executor.execute(() -> {
+                TenantContext.setTenantId(tenantId);
+                try {
+                    start.await();
+                    for (int j = 0; j < MOVEMENTS_PER_THREAD; j++) {
+                        try {
+                            inventoryService.createMovement(new StockMovementRequest(
+                                branchId, productId, MovementType.OUT, MovementReason.SALE, 1, null));
+                            successes.incrementAndGet();
+                        } catch (RuntimeException ex) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    TenantContext.clear();
+                    done.countDown();
+                }
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        assertThat(done.await(5, TimeUnit.MINUTES)).isTrue();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        executor.shutdownNow();
+
+        int remaining = stockRepository.findByTenantIdAndBranchIdAndProductId(branchId, productId, tenantId)
+            .orElseThrow().getQuantity();
+        assertThat(remaining).isEqualTo(THREADS * MOVEMENTS_PER_THREAD - successes.get());
+
+        Result result = new Result(successes.get(), failures.get(), elapsedMillis);
+        log.info("[{}] threads={} ok={} failed={} elapsed={}ms throughput={} movements/s",
+            mode, THREADS, result.successes(), result.failures(), elapsedMillis,
+            elapsedMillis == 0 ? 0 : result.successes() * 1000L / elapsedMillis);
+        return result;
+    }
+
+    private void setWriteMode(StockWriteMode mode) {
+        ReflectionTestUtils.setField(AopTestUtils.getTargetObject(inventoryService), "writeMode", mode);
+    }
+
+    private record Result(int successes, int failures, long elapsedMillis) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.stockflow.modules.inventory.application.service;
+
+import com.stockflow.modules.inventory.domain.repository.MovementPartitionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("MovementPartitionMaintenance - Unit Tests")
+class MovementPartitionMaintenanceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 17);
+
+    private MovementPartitionRepository partitionRepository;
+    private MovementPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        partitionRepository = mock(MovementPartitionRepository.class);
+        maintenance = new MovementPartitionMaintenance(partitionRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(maintenance, "monthsAhead", 3);
+        ReflectionTestUtils.setField(maintenance, "retentionMonths", 24);
+        ReflectionTestUtils.setField(maintenance, "maxArchivedPerRun", 2);
+    }
+
+    @Test
+    @DisplayName("Should create the months after the last partition up to the horizon")
+    void createFuturePartitions_ShouldFillTheGap() {
+        when(partitionRepository.findPartitionMonths())
+            .thenReturn(List.of(LocalDate.of(2026, 10, 1), LocalDate.of(2026, 11, 1)));
+
+        List<LocalDate> created = maintenance.createFuturePartitions(TODAY);
+
+        assertThat(created).containsExactly(LocalDate.of(2026, 12, 1), LocalDate.of(2027, 1, 1));
+        verify(partitionRepository).addMonths(created);
+    }
+
+    @Test
+    @DisplayName("Should not touch partitions that already cover the horizon")
+    void createFuturePartitions_WhenAhead_ShouldDoNothing() {
+        when(partitionRepository.findPartitionMonths()).thenReturn(List.of(LocalDate.of(2027, 1, 1)));
+
+        assertThat(maintenance.createFuturePartitions(TODAY)).isEmpty();
+        verify(partitionRepository, never()).addMonths(any());
+    }
+
+    @Test
+    @DisplayName("Should archive the oldest expired months, up to the per-run limit")
+    void archiveExpiredPartitions_ShouldArchiveOldestFirst() {
+        when(partitionRepository.findPartitionMonths()).thenReturn(List.of(
+            LocalDate.of(2024, 7, 1), LocalDate.of(2024, 8, 1), LocalDate.of(2024, 9, 1), LocalDate.of(2024, 10, 1)));
+
+        List<LocalDate> archived = maintenance.archiveExpiredPartitions(TODAY);
+
+        assertThat(archived).containsExactly(LocalDate.of(2024, 7, 1), LocalDate.of(2024, 8, 1));
+        verify(partitionRepository, never()).archiveMonth(LocalDate.of(2024, 9, 1));
+    }
+
+    @Test
+    @DisplayName("Should keep months inside the retention horizon")
+    void archiveExpiredPartitions_ShouldKeepRetainedMonths() {
+        when(partitionRepository.findPartitionMonths()).thenReturn(List.of(LocalDate.of(2024, 10, 1)));
+
+        assertThat(maintenance.archiveExpiredPartitions(TODAY)).isEmpty();
+        verify(partitionRepository, never()).archiveMonth(any());
+    }
+
+    @Test
+    @DisplayName("Should skip maintenance when the table is not partitioned")
+    void maintain_WhenNotPartitioned_ShouldSkip() {
+        when(partitionRepository.isPartitioned()).thenReturn(false);
+
+        maintenance.maintain();
+
+        verify(partitionRepository, never()).findPartitionMonths();
+    }
+}
@@ -0,0 +1,167 @@
+package com.stockflow.modules.inventory.application.service;
+
+import com.stockflow.shared.domain.exception.ConflictException;
+import com.stockflow.shared.domain.exception.InsufficientStockException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MovementSequencer - Unit Tests")
+class MovementSequencerTest {
+
+    private CountingTransactionManager transactionManager;
+    private MovementSequencer sequencer;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new CountingTransactionManager();
+        sequencer = new MovementSequencer(transactionManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(sequencer, "laneCount", 2);
+        ReflectionTestUtils.setField(sequencer, "maxBatch", 32);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sequencer.destroy();
+    }
+
+    @Test
+    @DisplayName("Should apply work for one key in order and group-commit bursts")
+    void shouldSerializeAndGroupCommit() throws Exception {
+        int callers = 200;
+        List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger concurrentWriters = new AtomicInteger();
+        AtomicInteger maxConcurrentWriters = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            int value = i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return sequencer.submit(1L, 2L, 3L, () -> {
+                    maxConcurrentWriters.accumulateAndGet(concurrentWriters.incrementAndGet(), Math::max);
+                    applied.add(value);
+                    concurrentWriters.decrementAndGet();
+                    return value;
+                });
+            }));
+        }
+
+        start.countDown();
+        for (int i = 0; i < callers; i++) {
+            assertThat(results.get(i).get(10, TimeUnit.SECONDS)).isEqualTo(i);
+        }
+        executor.shutdownNow();
+
+        assertThat(applied).hasSize(callers);
+        assertThat(maxConcurrentWriters.get()).isEqualTo(1);
+        assertThat(transactionManager.commits.get()).isLessThanOrEqualTo(callers);
+        assertThat(transactionManager.rollbacks.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Domain failures should fail only their own movement")
+    void domainFailureShouldNotFailBatch() {
+        assertThatThrownBy(() -> sequencer.submit(1L, 2L, 3L, () -> {
+            throw InsufficientStockException.of(3L, 2L, 5, 0);
+        })).isInstanceOf(InsufficientStockException.class);
+
+        assertThat(sequencer.submit(1L, 2L, 3L, () -> "ok")).isEqualTo("ok");
+        assertThat(transactionManager.rollbacks.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Unexpected failures should roll back and replay the batch individually")
+    void unexpectedFailureShouldReplayIndividually() {
+        assertThatThrownBy(() -> sequencer.submit(1L, 2L, 3L, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(transactionManager.rollbacks.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Work not started within the wait timeout should be withdrawn and rejected as busy")
+    void stuckLaneShouldRejectQueuedWork() throws Exception {
+        ReflectionTestUtils.setField(sequencer, "waitTimeoutMs", 100L);
+        CountDownLatch stuck = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        AtomicInteger withdrawnRuns = new AtomicInteger();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> blocker = executor.submit(() -> sequencer.submit(1L, 2L, 3L, () -> {
+            running.countDown();
+            try {
+                stuck.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "slow";
+        }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> sequencer.submit(1L, 2L, 3L, withdrawnRuns::incrementAndGet))
+            .isInstanceOf(ConflictException.class)
+            .hasFieldOrPropertyWithValue("errorCode", "INVENTORY_BUSY");
+
+        // The started work still completes, and the withdrawn work never runs
+        stuck.countDown();
+        assertThat(blocker.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+        assertThat(sequencer.submit(1L, 2L, 3L, () -> "next")).isEqualTo("next");
+        assertThat(withdrawnRuns).hasValue(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Same key should always map to the same lane")
+    void laneIndexShouldBeStable() {
+        int lane = sequencer.laneIndex(1L, 2L, 3L);
+        for (int i = 0; i < 10; i++) {
+            assertThat(sequencer.laneIndex(1L, 2L, 3L)).isEqualTo(lane);
+        }
+        assertThat(lane).isBetween(0, 1);
+    }
+
+    private static final class CountingTransactionManager implements PlatformTransactionManager {
+
+        private final AtomicInteger commits = new AtomicInteger();
+        private final AtomicInteger rollbacks = new AtomicInteger();
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            commits.incrementAndGet();
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            rollbacks.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.stockflow.modules.inventory.application.service;
+
+import com.stockflow.modules.branches.domain.model.Branch;
+import com.stockflow.modules.branches.domain.repository.BranchRepository;
+import com.stockflow.modules.catalog.domain.model.Product;
+import com.stockflow.modules.catalog.domain.repository.ProductRepository;
+import com.stockflow.modules.inventory.application.dto.StockAsOfResponse;
+import com.stockflow.modules.inventory.application.dto.StockDiffLine;
+import com.stockflow.modules.inventory.application.dto.StockDiffResponse;
+import com.stockflow.modules.inventory.application.dto.StockMovementRequest;
+import com.stockflow.modules.inventory.domain.model.MovementReason;
+import com.stockflow.modules.inventory.domain.model.MovementType;
+import com.stockflow.modules.inventory.domain.model.StockMovement;
+import com.stockflow.modules.inventory.domain.repository.StockMovementRepository;
+import com.stockflow.modules.tenants.domain.model.Tenant;
+import com.stockflow.modules.tenants.domain.repository.TenantRepository;
+import com.stockflow.shared.domain.exception.NotFoundException;
+import com.stockflow.shared.domain.exception.ValidationException;
+import com.stockflow.shared.infrastructure.security.TenantContext;
+import com.stockflow.shared.testing.H2IntegrationTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for point-in-time stock queries against the H2 schema.
+ */
+@SpringBootTest
+@Transactional
+@DisplayName("StockHistoryService - Integration Tests")
+class StockHistoryServiceIntegrationTest extends H2IntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private StockHistoryService stockHistoryService;
+
+    @Autowired
+    private StockSnapshotBackfill snapshotBackfill;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private StockMovementRepository movementRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long tenantId;
+    private Long branchId;
+    private Long productId;
+    private Long otherProductId;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = tenantRepository.save(new Tenant("Snapshot Tenant", "snapshot-" + System.nanoTime())).getId();
+        branchId = branchRepository.save(new Branch(tenantId, "Snapshot Branch", "SNP")).getId();
+        productId = productRepository.save(new Product(tenantId, "Snapshot Product", "SNP-001", Product.UnitOfMeasure.UN)).getId();
+        otherProductId = productRepository.save(new Product(tenantId, "Other Product", "SNP-002", Product.UnitOfMeasure.UN)).getId();
+        TenantContext.setTenantId(tenantId);
+
+        // Archived purchase ten days ago, then live movements on later days
+        jdbcTemplate.update("""
+                INSERT INTO stock_movements_archive (id, tenant_id, branch_id, product_id, type, reason, quantity, created_at)
+                VALUES (?, ?, ?, ?, 'IN', 'PURCHASE', 20, ?)
+                """, -tenantId, tenantId, branchId, productId, Timestamp.valueOf(TODAY.minusDays(10).atTime(9, 0)));
+        movement(productId, MovementType.IN, MovementReason.PURCHASE, 10, TODAY.minusDays(5).atTime(9, 0));
+        movement(productId, MovementType.OUT, MovementReason.SALE, 4, TODAY.minusDays(3).atTime(10, 0));
+        movement(otherProductId, MovementType.IN, MovementReason.PURCHASE, 5, TODAY.minusDays(3).atTime(11, 0));
+        movement(productId, MovementType.ADJUSTMENT, MovementReason.LOSS, 1, TODAY.atStartOfDay());
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should snapshot closed days once and only on days with movements")
+    void catchUp_SnapshotsClosedDays() {
+        assertThat(snapshotBackfill.catchUp(tenantId)).isGreaterThanOrEqualTo(9);
+        assertThat(snapshotBackfill.catchUp(tenantId)).isZero();
+
+        Long rows = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM stock_balance_snapshots WHERE tenant_id = ?", Long.class, tenantId);
+        Long balance = jdbcTemplate.queryForObject("""
+                SELECT quantity FROM stock_balance_snapshots
+                WHERE tenant_id = ? AND product_id = ? AND snapshot_day = ?
+                """, Long.class, tenantId, productId, java.sql.Date.valueOf(TODAY.minusDays(3)));
+        assertThat(rows).isEqualTo(4);
+        assertThat(balance).isEqualTo(26);
+    }
+
+    @Test
+    @DisplayName("Should answer stock as of any instant, with or without snapshots")
+    void getStockAsOf_MatchesHistory() {
+        assertAsOf(TODAY.minusDays(11).atStartOfDay(), 0);
+        assertAsOf(TODAY.minusDays(10).atTime(9, 0), 0);
+        assertAsOf(TODAY.minusDays(10).atTime(9, 1), 20);
+        assertAsOf(TODAY.minusDays(4).atStartOfDay(), 30);
+        assertAsOf(TODAY.minusDays(3).atTime(12, 0), 26);
+        assertAsOf(TODAY.atStartOfDay().plusSeconds(1), 25);
+
+        snapshotBackfill.catchUp(tenantId);
+
+        assertAsOf(TODAY.minusDays(11).atStartOfDay(), 0);
+        assertAsOf(TODAY.minusDays(10).atTime(9, 0), 0);
+        assertAsOf(TODAY.minusDays(10).atTime(9, 1), 20);
+        assertAsOf(TODAY.minusDays(4).atStartOfDay(), 30);
+        assertAsOf(TODAY.minusDays(3).atTime(12, 0), 26);
+        assertAsOf(TODAY.atStartOfDay().plusSeconds(1), 25);
+    }
+
+    @Test
+    @DisplayName("Should sign mixed type and reason pairs as the stock ledger does")
+    void getStockAsOf_MixedPairs_MatchesLiveBalance() {
+        Long mixedProductId = productRepository.save(
+            new Product(tenantId, "Mixed Product", "SNP-003", Product.UnitOfMeasure.UN)).getId();
+        List<StockMovementRequest> requests = List.of(
+            new StockMovementRequest(branchId, mixedProductId, MovementType.IN, MovementReason.PURCHASE, 10, null),
+            new StockMovementRequest(branchId, mixedProductId, MovementType.IN, MovementReason.SALE, 3, null),
+            new StockMovementRequest(branchId, mixedProductId, MovementType.OUT, MovementReason.PURCHASE, 2, null),
+            new StockMovementRequest(branchId, mixedProductId, MovementType.OUT, MovementReason.SALE, 4, null),
+            new StockMovementRequest(branchId, mixedProductId, MovementType.ADJUSTMENT, MovementReason.RETURN, 1, null),
+            new StockMovementRequest(branchId, mixedProductId, MovementType.TRANSFER, MovementReason.TRANSFER_OUT, 2, null));
+        for (StockMovementRequest request : requests) {
+            Long id = inventoryService.createMovement(request).id();
+            entityManager.flush();
+            // On a closed day, so the snapshots replay them as well
+            jdbcTemplate.update("UPDATE stock_movements SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(TODAY.minusDays(2).atTime(9, 0)), id);
+        }
+        Long live = jdbcTemplate.queryForObject(
+            "SELECT quantity FROM branch_product_stock WHERE tenant_id = ? AND branch_id = ? AND product_id = ?",
+            Long.class, tenantId, branchId, mixedProductId);
+        assertThat(live).isEqualTo(10);
+
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(stockHistoryService.getStockAsOf(branchId, mixedProductId, now).quantity()).isEqualTo(live);
+
+        snapshotBackfill.catchUp(tenantId);
+
+        assertThat(stockHistoryService.getStockAsOf(branchId, mixedProductId, now).quantity()).isEqualTo(live);
+        assertThat(stockHistoryService.diffStock(branchId, TODAY.minusDays(3), TODAY).items())
+            .contains(new StockDiffLine(mixedProductId, 0, live, live));
+    }
+
+    @Test
+    @DisplayName("Should replay only the movements after the snapshot horizon")
+    void getStockAsOf_BoundedReplay() {
+        snapshotBackfill.catchUp(tenantId);
+
+        StockAsOfResponse response = stockHistoryService.getStockAsOf(branchId, productId, TODAY.minusDays(3).atTime(12, 0));
+
+        assertThat(response.snapshotThrough()).isEqualTo(TODAY.minusDays(4));
+        assertThat(response.replayedMovements()).isEqualTo(1);
+        assertThat(response.quantity()).isEqualTo(26);
+    }
+
+    @Test
+    @DisplayName("Should diff the closing balances of two days")
+    void diffStock_ChangedProducts() {
+        snapshotBackfill.catchUp(tenantId);
+
+        StockDiffResponse response = stockHistoryService.diffStock(branchId, TODAY.minusDays(4), TODAY);
+
+        assertThat(response.items()).containsExactly(
+            new StockDiffLine(productId, 30, 25, -5),
+            new StockDiffLine(otherProductId, 0, 5, 5));
+        assertThat(stockHistoryService.diffStock(branchId, TODAY.minusDays(9), TODAY.minusDays(6)).items()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should diff from movements alone before the first snapshot")
+    void diffStock_WithoutSnapshots() {
+        StockDiffResponse response = stockHistoryService.diffStock(branchId, TODAY.minusDays(11), TODAY.minusDays(3));
+
+        assertThat(response.items()).containsExactly(
+            new StockDiffLine(productId, 0, 26, 26),
+            new StockDiffLine(otherProductId, 0, 5, 5));
+    }
+
+    @Test
+    @DisplayName("Should reject diffs whose first day is not before the second")
+    void diffStock_InvalidRange() {
+        assertThatThrownBy(() -> stockHistoryService.diffStock(branchId, TODAY, TODAY))
+            .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject queries on unknown branches and products")
+    void getStockAsOf_Unknown() {
+        assertThatThrownBy(() -> stockHistoryService.getStockAsOf(-1L, productId, LocalDateTime.now()))
+            .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> stockHistoryService.getStockAsOf(branchId, -1L, LocalDateTime.now()))
+            .isInstanceOf(NotFoundException.class);
+    }
+
+    private void assertAsOf(LocalDateTime at, long expected) {
+        assertThat(stockHistoryService.getStockAsOf(branchId, productId, at).quantity())
+            .as("stock as of %s", at)
+            .isEqualTo(expected);
+    }
+
+    private void movement(Long product, MovementType type, MovementReason reason, int quantity, LocalDateTime createdAt) {
+        StockMovement movement = movementRepository.saveAndFlush(
+            new StockMovement(tenantId, branchId, product, type, reason, quantity, null, null));
+        jdbcTemplate.update("UPDATE stock_movements SET created_at = ? WHERE id = ?",
+            Timestamp.valueOf(createdAt), movement.getId());
+    }
+}
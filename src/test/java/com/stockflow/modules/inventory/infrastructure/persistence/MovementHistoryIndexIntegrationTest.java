@@ -0,0 +1,149 @@
+package com.stockflow.modules.inventory.infrastructure.persistence;
+
+import com.stockflow.modules.branches.domain.model.Branch;
+import com.stockflow.modules.branches.domain.repository.BranchRepository;
+import com.stockflow.modules.catalog.domain.model.Product;
+import com.stockflow.modules.catalog.domain.repository.ProductRepository;
+import com.stockflow.modules.inventory.domain.model.MovementHistoryFilter;
+import com.stockflow.modules.inventory.domain.model.MovementReason;
+import com.stockflow.modules.inventory.domain.model.MovementType;
+import com.stockflow.modules.inventory.domain.repository.StockMovementRepository;
+import com.stockflow.modules.tenants.domain.model.Tenant;
+import com.stockflow.modules.tenants.domain.repository.TenantRepository;
+import com.stockflow.shared.infrastructure.persistence.TimeSortedIds;
+import com.stockflow.shared.testing.TestcontainersIntegrationTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies with MySQL {@code EXPLAIN} that filtered movement history queries read
+ * their page IDs from the matching composite index only.
+ *
+ * <p>This test requires Docker/Testcontainers. It will be skipped if Docker is not
+ * available.</p>
+ */
+@SpringBootTest
+@DisplayName("MovementHistoryRepositoryImpl - MySQL Index Tests")
+class MovementHistoryIndexIntegrationTest extends TestcontainersIntegrationTest {
+
+    private static final int ROWS = 20_000;
+    private static final int PRODUCTS = 20;
+
+    private static final String INSERT_MOVEMENT = """
+            INSERT INTO stock_movements
+                (id, tenant_id, branch_id, product_id, type, reason, quantity, note,
+                 created_by_user_id, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, 1, NULL, NULL, ?, ?, 0)
+            """;
+
+    private static final MovementReason[] REASONS = {
+        MovementReason.PURCHASE, MovementReason.SALE, MovementReason.LOSS, MovementReason.RETURN};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private StockMovementRepository movementRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private MovementHistoryRepositoryImpl repository;
+    private Long tenantId;
+    private Long branchId;
+    private final List<Long> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        repository = new MovementHistoryRepositoryImpl(entityManager, movementRepository);
+        tenantId = tenantRepository.save(new Tenant("Index Tenant", "index-" + System.nanoTime())).getId();
+        branchId = branchRepository.save(new Branch(tenantId, "Index Branch", "IDX")).getId();
+        Long otherBranchId = branchRepository.save(new Branch(tenantId, "Other Branch", "OTH")).getId();
+        productIds.clear();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product(tenantId, "Product " + i, "IDX-" + i, Product.UnitOfMeasure.UN);
+            productIds.add(productRepository.save(product).getId());
+        }
+
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            MovementReason reason = REASONS[i % REASONS.length];
+            MovementType type = reason == MovementReason.PURCHASE || reason == MovementReason.RETURN
+                ? MovementType.IN : MovementType.OUT;
+            Timestamp createdAt = Timestamp.valueOf(start.plusMinutes(i * 30L));
+            rows.add(new Object[]{TimeSortedIds.next(), tenantId, i % 2 == 0 ? branchId : otherBranchId,
+                productIds.get(i % PRODUCTS), type.name(), reason.name(), createdAt, createdAt});
+        }
+        jdbcTemplate.batchUpdate(INSERT_MOVEMENT, rows);
+        jdbcTemplate.execute("ANALYZE TABLE stock_movements");
+    }
+
+    @Test
+    @DisplayName("Product filters should be answered from the product index")
+    void productFilter_ShouldUseProductIndex() {
+        MovementHistoryFilter filter = new MovementHistoryFilter(
+            Set.of(productIds.get(0), productIds.get(2)), null, null, null, null);
+
+        Map<String, Object> plan = explain(repository.idQuery(tenantId, branchId, filter, null, null, 0, 21));
+
+        assertThat(plan.get("key")).isEqualTo("idx_movements_branch_product_date");
+        assertThat((String) plan.get("Extra")).contains("Using index");
+    }
+
+    @Test
+    @DisplayName("Type and reason filters should be answered from the type/reason index")
+    void typeAndReasonFilter_ShouldUseTypeReasonIndex() {
+        MovementHistoryFilter filter = new MovementHistoryFilter(null, Set.of(MovementType.OUT),
+            Set.of(MovementReason.LOSS), null, null);
+
+        Map<String, Object> plan = explain(repository.idQuery(tenantId, branchId, filter, null, null, 0, 21));
+
+        assertThat(plan.get("key")).isEqualTo("idx_movements_branch_type_reason_date");
+        assertThat((String) plan.get("Extra")).contains("Using index").doesNotContain("filesort");
+    }
+
+    @Test
+    @DisplayName("Time ranges and cursors should seek on the history index without sorting")
+    void timeRangeWithCursor_ShouldSeekWithoutSorting() {
+        MovementHistoryFilter filter = new MovementHistoryFilter(null, null, null,
+            LocalDateTime.of(2025, 2, 1, 0, 0), LocalDateTime.of(2025, 3, 1, 0, 0));
+
+        Map<String, Object> plan = explain(repository.idQuery(tenantId, branchId, filter,
+            LocalDateTime.of(2025, 2, 15, 0, 0), Long.MAX_VALUE, 0, 21));
+
+        assertThat(plan.get("key")).isEqualTo("idx_movements_tenant_branch_date_id");
+        assertThat(plan.get("type")).isEqualTo("range");
+        assertThat((String) plan.get("Extra")).contains("Using index").doesNotContain("filesort");
+    }
+
+    private Map<String, Object> explain(MovementHistoryRepositoryImpl.Query query) {
+        return new NamedParameterJdbcTemplate(jdbcTemplate)
+            .queryForList("EXPLAIN " + query.sql(), query.params())
+            .get(0);
+    }
+}
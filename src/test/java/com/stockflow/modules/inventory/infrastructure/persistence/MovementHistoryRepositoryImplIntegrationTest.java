@@ -0,0 +1,110 @@
+package com.stockflow.modules.inventory.infrastructure.persistence;
+
+import com.stockflow.modules.branches.domain.model.Branch;
+import com.stockflow.modules.branches.domain.repository.BranchRepository;
+import com.stockflow.modules.catalog.domain.model.Product;
+import com.stockflow.modules.catalog.domain.repository.ProductRepository;
+import com.stockflow.modules.inventory.domain.model.MovementHistoryFilter;
+import com.stockflow.modules.inventory.domain.model.MovementReason;
+import com.stockflow.modules.inventory.domain.model.MovementType;
+import com.stockflow.modules.inventory.domain.repository.StockMovementRepository;
+import com.stockflow.modules.tenants.domain.model.Tenant;
+import com.stockflow.modules.tenants.domain.repository.TenantRepository;
+import com.stockflow.shared.testing.H2IntegrationTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that movement history queries only carry the active predicates and that
+ * H2 plans them on the matching composite index.
+ */
+@SpringBootTest
+@Transactional
+@DisplayName("MovementHistoryRepositoryImpl - Integration Tests")
+class MovementHistoryRepositoryImplIntegrationTest extends H2IntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private StockMovementRepository movementRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private MovementHistoryRepositoryImpl repository;
+    private Long tenantId;
+    private Long branchId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        repository = new MovementHistoryRepositoryImpl(entityManager, movementRepository);
+        tenantId = tenantRepository.save(new Tenant("History Tenant", "history-" + System.nanoTime())).getId();
+        branchId = branchRepository.save(new Branch(tenantId, "History Branch", "HST")).getId();
+        Product product = new Product(tenantId, "History Product", "HST-001", Product.UnitOfMeasure.UN);
+        productId = productRepository.save(product).getId();
+    }
+
+    @Test
+    @DisplayName("Should plan product filters on the product index")
+    void productFilter_ShouldUseProductIndex() {
+        MovementHistoryFilter filter = new MovementHistoryFilter(Set.of(productId, productId + 1), null, null, null, null);
+
+        MovementHistoryRepositoryImpl.Query query = repository.idQuery(tenantId, branchId, filter, null, null, 0, 21);
+
+        assertThat(query.sql()).contains("product_id IN").doesNotContain("type IN", "reason IN", "created_at >=");
+        assertThat(explain(query)).contains("IDX_MOVEMENTS_BRANCH_PRODUCT_DATE");
+    }
+
+    @Test
+    @DisplayName("Should plan type and reason filters on the type/reason index")
+    void typeAndReasonFilter_ShouldUseTypeReasonIndex() {
+        MovementHistoryFilter filter = new MovementHistoryFilter(null, Set.of(MovementType.OUT),
+            Set.of(MovementReason.SALE, MovementReason.LOSS), null, null);
+
+        MovementHistoryRepositoryImpl.Query query = repository.idQuery(tenantId, branchId, filter, null, null, 0, 21);
+
+        assertThat(query.sql()).contains("type IN", "reason IN").doesNotContain("product_id IN");
+        assertThat(explain(query)).contains("IDX_MOVEMENTS_BRANCH_TYPE_REASON_DATE");
+    }
+
+    @Test
+    @DisplayName("Should plan time ranges and cursors on the seek index")
+    void timeRange_ShouldUseSeekIndex() {
+        MovementHistoryFilter filter = new MovementHistoryFilter(null, null, null,
+            LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2026, 2, 1, 0, 0));
+
+        MovementHistoryRepositoryImpl.Query query = repository.idQuery(tenantId, branchId, filter,
+            LocalDateTime.of(2026, 1, 20, 0, 0), 42L, 0, 21);
+
+        assertThat(query.sql()).contains("created_at >= :from", "created_at < :to", "id < :afterId");
+        assertThat(explain(query)).contains("IDX_MOVEMENTS_TENANT_BRANCH_DATE_ID");
+    }
+
+    private String explain(MovementHistoryRepositoryImpl.Query query) {
+        return String.join("\n", new NamedParameterJdbcTemplate(jdbcTemplate)
+            .queryForList("EXPLAIN " + query.sql(), query.params(), String.class));
+    }
+}
@@ -0,0 +1,138 @@
+package com.stockflow.modules.inventory.infrastructure.persistence;
+
+import com.stockflow.modules.branches.domain.model.Branch;
+import com.stockflow.modules.branches.domain.repository.BranchRepository;
+import com.stockflow.modules.catalog.domain.model.Product;
+import com.stockflow.modules.catalog.domain.repository.ProductRepository;
+import com.stockflow.modules.inventory.application.service.MovementPartitionMaintenance;
+import com.stockflow.modules.inventory.domain.model.MovementHistoryFilter;
+import com.stockflow.modules.inventory.domain.model.StockMovement;
+import com.stockflow.modules.inventory.domain.repository.MovementHistoryRepository;
+import com.stockflow.modules.inventory.domain.repository.MovementPartitionRepository;
+import com.stockflow.modules.tenants.domain.model.Tenant;
+import com.stockflow.modules.tenants.domain.repository.TenantRepository;
+import com.stockflow.shared.infrastructure.persistence.TimeSortedIds;
+import com.stockflow.shared.testing.TestcontainersIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the monthly partitioning of {@code stock_movements} on MySQL: pruning,
+ * creation of future partitions and archival.
+ *
+ * <p>This test requires Docker/Testcontainers. It will be skipped if Docker is not
+ * available.</p>
+ */
+@SpringBootTest
+@DisplayName("MovementPartitionRepositoryImpl - MySQL Partition Tests")
+class MovementPartitionIntegrationTest extends TestcontainersIntegrationTest {
+
+    private static final String INSERT_MOVEMENT = """
+            INSERT INTO stock_movements
+                (id, tenant_id, branch_id, product_id, type, reason, quantity, note,
+                 created_by_user_id, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, 'IN', 'PURCHASE', 1, NULL, NULL, ?, ?, 0)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MovementPartitionRepository partitionRepository;
+
+    @Autowired
+    private MovementPartitionMaintenance maintenance;
+
+    @Autowired
+    private MovementHistoryRepository historyRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Long tenantId;
+    private Long branchId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = tenantRepository.save(new Tenant("Partition Tenant", "partition-" + System.nanoTime())).getId();
+        branchId = branchRepository.save(new Branch(tenantId, "Partition Branch", "PRT")).getId();
+        productId = productRepository.save(
+            new Product(tenantId, "Partition Product", "PRT-001", Product.UnitOfMeasure.UN)).getId();
+    }
+
+    @Test
+    @DisplayName("Migration should partition by month up to three months ahead")
+    void migration_ShouldPartitionByMonth() {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+
+        assertThat(partitionRepository.isPartitioned()).isTrue();
+        assertThat(partitionRepository.findPartitionMonths())
+            .contains(currentMonth, currentMonth.plusMonths(3))
+            .isSorted();
+    }
+
+    @Test
+    @DisplayName("Queries bounded on created_at should only read the partitions of the range")
+    void boundedQuery_ShouldPrunePartitions() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1).plusMonths(1);
+
+        Map<String, Object> plan = jdbcTemplate.queryForList(
+            "EXPLAIN SELECT id FROM stock_movements WHERE tenant_id = ? AND created_at >= ? AND created_at < ?",
+            tenantId, Timestamp.valueOf(month.atStartOfDay()), Timestamp.valueOf(month.plusMonths(1).atStartOfDay()))
+            .get(0);
+
+        assertThat(plan.get("partitions")).isEqualTo("p" + month.toString().substring(0, 7).replace("-", ""));
+    }
+
+    @Test
+    @DisplayName("Maintenance should split future months off the catch-all partition")
+    void createFuturePartitions_ShouldAddMonths() {
+        LocalDate last = partitionRepository.findPartitionMonths().get(partitionRepository.findPartitionMonths().size() - 1);
+
+        List<LocalDate> created = maintenance.createFuturePartitions(last.minusMonths(1));
+
+        assertThat(created).isNotEmpty();
+        assertThat(partitionRepository.findPartitionMonths()).containsAll(created).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Archiving a month should move its rows to the archive and drop its partition")
+    void archiveMonth_ShouldMoveRowsToArchive() {
+        LocalDate oldest = partitionRepository.findPartitionMonths().get(0);
+        LocalDateTime createdAt = oldest.atStartOfDay().plusHours(1);
+        long id = TimeSortedIds.next();
+        jdbcTemplate.update(INSERT_MOVEMENT, id, tenantId, branchId, productId,
+            Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+
+        long movements = partitionRepository.archiveMonth(oldest);
+
+        assertThat(movements).isPositive();
+        assertThat(partitionRepository.findPartitionMonths()).doesNotContain(oldest);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stock_movements WHERE id = ?", Long.class, id))
+            .isZero();
+
+        Slice<StockMovement> archived = historyRepository.findArchivedSliceAfter(
+            tenantId, branchId, MovementHistoryFilter.none(), null, null, 20);
+        assertThat(archived.getContent()).extracting(StockMovement::getId).containsExactly(id);
+    }
+}
@@ -0,0 +1,153 @@
+package com.stockflow.modules.inventory.infrastructure.persistence;
+
+import com.stockflow.modules.branches.domain.model.Branch;
+import com.stockflow.modules.branches.domain.repository.BranchRepository;
+import com.stockflow.modules.catalog.domain.model.Product;
+import com.stockflow.modules.catalog.domain.repository.ProductRepository;
+import com.stockflow.modules.inventory.domain.model.MovementReason;
+import com.stockflow.modules.inventory.domain.model.MovementType;
+import com.stockflow.modules.inventory.domain.model.StockMovement;
+import com.stockflow.modules.inventory.domain.repository.BranchProductStockRepository;
+import com.stockflow.modules.inventory.domain.repository.StockLedgerRepository;
+import com.stockflow.modules.inventory.domain.repository.StockMovementRepository;
+import com.stockflow.modules.tenants.domain.model.Tenant;
+import com.stockflow.modules.tenants.domain.repository.TenantRepository;
+import com.stockflow.shared.infrastructure.persistence.TimeSortedIds;
+import com.stockflow.shared.testing.TestcontainersIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput benchmark for stock movements on MySQL.
+ *
+ * <p>Compares one statement per row (the pattern IDENTITY ids force on Hibernate)
+ * with Hibernate batching over time-sorted ids and with the ledger's explicit JDBC
+ * batch. The datasource uses {@code rewriteBatchedStatements=true}.</p>
+ *
+ * <p>Not part of the regular test run (the class name does not match the
+ * surefire includes). Run explicitly with Docker available:</p>
+ * <pre>
+ * mvn -B test -Dtest=StockMovementInsertBenchmark
+ * </pre>
+ */
+@SpringBootTest
+@DisplayName("StockMovement - Insert Throughput Benchmark")
+class StockMovementInsertBenchmark extends TestcontainersIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StockMovementInsertBenchmark.class);
+
+    private static final int ROWS = 5000;
+
+    private static final String INSERT_ONE = """
+            INSERT INTO stock_movements
+                (id, tenant_id, branch_id, product_id, type, reason, quantity, note,
+                 created_by_user_id, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, NULL, NULL, ?, ?, 0)
+            """;
+
+    @Autowired
+    private StockMovementRepository movementRepository;
+
+    @Autowired
+    private StockLedgerRepository stockLedgerRepository;
+
+    @Autowired
+    private BranchProductStockRepository stockRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long tenantId;
+    private Long branchId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        movementRepository.deleteAll();
+        stockRepository.deleteAll();
+        productRepository.deleteAll();
+        branchRepository.deleteAll();
+        tenantRepository.deleteAll();
+
+        tenantId = tenantRepository.save(new Tenant("Bench Tenant", "bench-tenant")).getId();
+        branchId = branchRepository.save(new Branch(tenantId, "Bench Branch", "BENCH")).getId();
+
+        Product product = new Product(tenantId, "Bench Product", "BENCH-1", Product.UnitOfMeasure.UN);
+        product.setActive(true);
+        productId = productRepository.save(product).getId();
+    }
+
+    @Test
+    @DisplayName("One statement per row")
+    void rowByRow() {
+        measure("row-by-row", () -> {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (int i = 0; i < ROWS; i++) {
+                jdbcTemplate.update(INSERT_ONE, TimeSortedIds.next(), tenantId, branchId, productId,
+                    MovementType.OUT.name(), MovementReason.SALE.name(), 1, now, now);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Hibernate batching with time-sorted ids")
+    void hibernateBatched() {
+        measure("hibernate-batched", () -> movementRepository.saveAll(movements()));
+    }
+
+    @Test
+    @DisplayName("Single JDBC batch through the stock ledger")
+    void ledgerBatched() {
+        measure("ledger-batched", () -> stockLedgerRepository.insertMovements(movements()));
+    }
+
+    private List<StockMovement> movements() {
+        List<StockMovement> movements = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            movements.add(new StockMovement(tenantId, branchId, productId, MovementType.OUT,
+                MovementReason.SALE, 1, null, null));
+        }
+        return movements;
+    }
+
+    private void measure(String label, Runnable inserts) {
+        long startedAt = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> inserts.run());
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        assertThat(movementRepository.count()).isEqualTo(ROWS);
+        log.info("[{}] rows={} elapsed={}ms throughput={} rows/s", label, ROWS, elapsedMillis,
+            elapsedMillis == 0 ? 0 : ROWS * 1000L / elapsedMillis);
+    }
+}
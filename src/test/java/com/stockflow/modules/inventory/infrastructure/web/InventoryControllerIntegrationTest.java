@@ -1,19 +1,30 @@
 package com.stockflow.modules.inventory.infrastructure.web;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockflow.modules.inventory.application.service.InventoryExportService;
+import com.stockflow.modules.inventory.application.dto.MovementBatchMode;
+import com.stockflow.modules.inventory.application.dto.MovementBatchRequest;
 import com.stockflow.modules.inventory.application.dto.StockMovementCreateRequest;
+import com.stockflow.modules.inventory.application.dto.TransferDocumentRequest;
+import com.stockflow.modules.inventory.application.dto.TransferLineRequest;
 import com.stockflow.modules.inventory.application.dto.TransferStockRequest;
 import com.stockflow.modules.inventory.domain.model.MovementReason;
 import com.stockflow.modules.inventory.domain.model.MovementType;
 import com.stockflow.modules.inventory.domain.repository.BranchProductStockRepository;
+import com.stockflow.modules.inventory.domain.repository.StockLedgerRepository;
 import com.stockflow.modules.inventory.domain.repository.StockMovementRepository;
 import com.stockflow.modules.branches.domain.model.Branch;
 import com.stockflow.modules.branches.domain.repository.BranchRepository;
+import com.stockflow.modules.catalog.domain.model.Product;
+import com.stockflow.modules.catalog.domain.repository.ProductRepository;
 import com.stockflow.modules.tenants.domain.model.Tenant;
 import com.stockflow.modules.tenants.domain.repository.TenantRepository;
 import com.stockflow.modules.users.domain.repository.UserRepository;
 import com.stockflow.shared.security.TestSecurityUtils;
 import com.stockflow.shared.testing.H2IntegrationTest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.test.annotation.DirtiesContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,13 +33,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.RequestPostProcessor;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -76,6 +98,21 @@ class InventoryControllerIntegrationTest extends H2IntegrationTest {
         @Autowired
         private UserRepository userRepository;
 
+        @Autowired
+        private ProductRepository productRepository;
+
+        @Autowired
+        private StockLedgerRepository stockLedgerRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private InventoryExportService exportService;
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
         private Long testTenantId;
         private Long branch1Id;
         private Long branch2Id;
@@ -148,6 +185,9 @@ class InventoryControllerIntegrationTest extends H2IntegrationTest {
                                 testProductId,
                                 50);
                 stockRepository.save(stock2);
+
+                // Stock IDs are assigned before the insert, so make the rows visible to plain SQL
+                stockRepository.flush();
         }
 
         @Test
@@ -332,6 +372,198 @@ class InventoryControllerIntegrationTest extends H2IntegrationTest {
                                 .andExpect(jsonPath("$.error.code").value("STOCK_INSUFFICIENT"));
         }
 
+        @Test
+        @DisplayName("POST /api/v1/transfers/documents - Should transfer many products in one request")
+        void testTransferDocument_Success() throws Exception {
+                // Arrange: a second product stocked only in branch 1
+                Product second = new Product(testTenantId, "Second Product", "TEST-002", Product.UnitOfMeasure.UN);
+                second.setActive(true);
+                Long secondProductId = productRepository.save(second).getId();
+                stockRepository.save(new com.stockflow.modules.inventory.domain.model.BranchProductStock(
+                                testTenantId, branch1Id, secondProductId, 12));
+
+                TransferDocumentRequest request = new TransferDocumentRequest(
+                                branch1Id,
+                                branch2Id,
+                                List.of(new TransferLineRequest(testProductId, 30),
+                                                new TransferLineRequest(secondProductId, 12)),
+                                "Replenishment");
+
+                // Act & Assert
+                mockMvc.perform(post("/api/v1/transfers/documents")
+                                .with(adminUser)
+                                .with(csrf())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isCreated())
+                                .andExpect(jsonPath("$.data.lines", hasSize(2)))
+                                .andExpect(jsonPath("$.data.lines[0].productId").value(testProductId))
+                                .andExpect(jsonPath("$.data.lines[0].sourceMovementId").isNumber())
+                                .andExpect(jsonPath("$.data.lines[1].destinationMovementId").isNumber());
+
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/stock/" + testProductId)
+                                .with(adminUser))
+                                .andExpect(jsonPath("$.data.quantity").value(70));
+
+                mockMvc.perform(get("/api/v1/branches/" + branch2Id + "/stock/" + secondProductId)
+                                .with(adminUser))
+                                .andExpect(jsonPath("$.data.quantity").value(12));
+
+                mockMvc.perform(get("/api/v1/branches/" + branch2Id + "/movements")
+                                .with(adminUser))
+                                .andExpect(jsonPath("$.data.items", hasSize(2)));
+        }
+
+        @Test
+        @DisplayName("POST /api/v1/transfers/documents - Should reject the whole document when one line lacks stock")
+        void testTransferDocument_InsufficientStockRollsBackAllLines() throws Exception {
+                Product second = new Product(testTenantId, "Second Product", "TEST-002", Product.UnitOfMeasure.UN);
+                second.setActive(true);
+                Long secondProductId = productRepository.save(second).getId();
+
+                TransferDocumentRequest request = new TransferDocumentRequest(
+                                branch1Id,
+                                branch2Id,
+                                List.of(new TransferLineRequest(testProductId, 30),
+                                                new TransferLineRequest(secondProductId, 1)),
+                                null);
+
+                mockMvc.perform(post("/api/v1/transfers/documents")
+                                .with(adminUser)
+                                .with(csrf())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isConflict())
+                                .andExpect(jsonPath("$.error.code").value("STOCK_INSUFFICIENT"));
+
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/stock/" + testProductId)
+                                .with(adminUser))
+                                .andExpect(jsonPath("$.data.quantity").value(100));
+        }
+
+        @Test
+        @DisplayName("POST /api/v1/branches/{branchId}/movements - Should replay a retry with the same Idempotency-Key")
+        void testCreateMovement_IdempotentRetry() throws Exception {
+                StockMovementCreateRequest request = new StockMovementCreateRequest(
+                                testProductId,
+                                MovementType.OUT,
+                                MovementReason.SALE,
+                                10,
+                                null);
+                String body = objectMapper.writeValueAsString(request);
+
+                var first = mockMvc.perform(post("/api/v1/branches/" + branch1Id + "/movements")
+                                .with(adminUser)
+                                .with(csrf())
+                                .header("Idempotency-Key", "pos-42-receipt-1001")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body))
+                                .andExpect(status().isCreated())
+                                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                                .andReturn();
+                long movementId = objectMapper.readTree(first.getResponse().getContentAsString())
+                                .get("data").get("id").asLong();
+
+                mockMvc.perform(post("/api/v1/branches/" + branch1Id + "/movements")
+                                .with(adminUser)
+                                .with(csrf())
+                                .header("Idempotency-Key", "pos-42-receipt-1001")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body))
+                                .andExpect(status().isCreated())
+                                .andExpect(header().string("Idempotent-Replayed", "true"))
+                                .andExpect(jsonPath("$.data.id").value(movementId));
+
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/movements")
+                                .with(adminUser))
+                                .andExpect(jsonPath("$.data.items", hasSize(1)));
+
+                // Same key with another payload is rejected
+                mockMvc.perform(post("/api/v1/branches/" + branch1Id + "/movements")
+                                .with(adminUser)
+                                .with(csrf())
+                                .header("Idempotency-Key", "pos-42-receipt-1001")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new StockMovementCreateRequest(
+                                                testProductId, MovementType.OUT, MovementReason.SALE, 11, null))))
+                                .andExpect(status().isConflict())
+                                .andExpect(jsonPath("$.error.code").value("IDEMPOTENCY_KEY_REUSED"));
+        }
+
+        @Test
+        @DisplayName("POST /api/v1/branches/{branchId}/movements/batch - Should apply valid lines in best-effort mode")
+        void testCreateMovementBatch_BestEffort() throws Exception {
+                // Arrange: a second product with no stock row in branch 1 yet
+                Product second = new Product(testTenantId, "Second Product", "TEST-002", Product.UnitOfMeasure.UN);
+                second.setActive(true);
+                Long secondProductId = productRepository.save(second).getId();
+
+                MovementBatchRequest request = new MovementBatchRequest(
+                                MovementBatchMode.BEST_EFFORT,
+                                List.of(new StockMovementCreateRequest(testProductId, MovementType.IN,
+                                                MovementReason.PURCHASE, 20, null),
+                                                new StockMovementCreateRequest(testProductId, MovementType.OUT,
+                                                                MovementReason.SALE, 110, null),
+                                                new StockMovementCreateRequest(testProductId, MovementType.OUT,
+                                                                MovementReason.SALE, 20, null),
+                                                new StockMovementCreateRequest(secondProductId, MovementType.IN,
+                                                                MovementReason.PURCHASE, 5, null)));
+
+                // Act & Assert
+                mockMvc.perform(post("/api/v1/branches/" + branch1Id + "/movements/batch")
+                                .with(adminUser)
+                                .with(csrf())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.applied").value(3))
+                                .andExpect(jsonPath("$.data.rejected").value(1))
+                                .andExpect(jsonPath("$.data.lines[0].status").value("APPLIED"))
+                                .andExpect(jsonPath("$.data.lines[0].movementId").isNumber())
+                                .andExpect(jsonPath("$.data.lines[1].status").value("APPLIED"))
+                                .andExpect(jsonPath("$.data.lines[2].status").value("REJECTED"))
+                                .andExpect(jsonPath("$.data.lines[2].errorCode").value("STOCK_INSUFFICIENT"))
+                                .andExpect(jsonPath("$.data.lines[3].status").value("APPLIED"));
+
+                // Balances are written with plain SQL, so read them the same way
+                assertThat(stockLedgerRepository.findQuantity(testTenantId, branch1Id, testProductId)).isEqualTo(10);
+                assertThat(stockLedgerRepository.findQuantity(testTenantId, branch1Id, secondProductId)).isEqualTo(5);
+
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/movements")
+                                .with(adminUser))
+                                .andExpect(jsonPath("$.data.items", hasSize(3)));
+        }
+
+        @Test
+        @DisplayName("POST /api/v1/branches/{branchId}/movements/batch - Should apply nothing when a line is rejected")
+        void testCreateMovementBatch_AllOrNothing() throws Exception {
+                MovementBatchRequest request = new MovementBatchRequest(
+                                null,
+                                List.of(new StockMovementCreateRequest(testProductId, MovementType.OUT,
+                                                MovementReason.SALE, 60, null),
+                                                new StockMovementCreateRequest(testProductId, MovementType.OUT,
+                                                                MovementReason.SALE, 60, null)));
+
+                mockMvc.perform(post("/api/v1/branches/" + branch1Id + "/movements/batch")
+                                .with(adminUser)
+                                .with(csrf())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.mode").value("ALL_OR_NOTHING"))
+                                .andExpect(jsonPath("$.data.applied").value(0))
+                                .andExpect(jsonPath("$.data.lines[0].status").value("SKIPPED"))
+                                .andExpect(jsonPath("$.data.lines[1].status").value("REJECTED"));
+
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/stock/" + testProductId)
+                                .with(adminUser))
+                                .andExpect(jsonPath("$.data.quantity").value(100));
+
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/movements")
+                                .with(adminUser))
+                                .andExpect(jsonPath("$.data.items", hasSize(0)));
+        }
+
         @Test
         @DisplayName("GET /api/v1/branches/{branchId}/movements - Should return movement history")
         void testGetMovementHistory_Success() throws Exception {
@@ -362,6 +594,295 @@ class InventoryControllerIntegrationTest extends H2IntegrationTest {
                                 .andExpect(jsonPath("$.data.items[0].quantity").value(25));
         }
 
+        @Test
+        @DisplayName("GET /api/v1/branches/{branchId}/movements - Should page with cursors without counting")
+        void testGetMovementHistory_CursorPagination() throws Exception {
+                for (int quantity = 1; quantity <= 5; quantity++) {
+                        mockMvc.perform(post("/api/v1/branches/" + branch1Id + "/movements")
+                                        .with(adminUser)
+                                        .with(csrf())
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(new StockMovementCreateRequest(
+                                                        testProductId, MovementType.IN, MovementReason.PURCHASE,
+                                                        quantity, null))))
+                                        .andExpect(status().isCreated());
+                }
+
+                // Same instant for every movement: the ID alone must order and split the pages
+                movementRepository.flush();
+                jdbcTemplate.update("UPDATE stock_movements SET created_at = ? WHERE branch_id = ?",
+                                Timestamp.valueOf(LocalDateTime.of(2026, 1, 15, 10, 0)), branch1Id);
+                entityManager.clear();
+
+                MvcResult first = mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/movements")
+                                .with(adminUser)
+                                .param("size", "2")
+                                .param("count", "false"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.items", hasSize(2)))
+                                .andExpect(jsonPath("$.meta.page").value(0))
+                                .andExpect(jsonPath("$.meta.hasNext").value(true))
+                                .andExpect(jsonPath("$.meta.totalItems").doesNotExist())
+                                .andReturn();
+
+                List<Long> ids = new ArrayList<>();
+                JsonNode body = objectMapper.readTree(first.getResponse().getContentAsString());
+                body.get("data").get("items").forEach(item -> ids.add(item.get("id").asLong()));
+                while (body.get("meta").get("hasNext").asBoolean()) {
+                        MvcResult next = mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/movements")
+                                        .with(adminUser)
+                                        .param("size", "2")
+                                        .param("cursor", body.get("meta").get("nextCursor").asText()))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.meta.page").doesNotExist())
+                                        .andReturn();
+                        body = objectMapper.readTree(next.getResponse().getContentAsString());
+                        body.get("data").get("items").forEach(item -> ids.add(item.get("id").asLong()));
+                }
+
+                assertThat(ids).hasSize(5).doesNotHaveDuplicates().isSortedAccordingTo(Comparator.reverseOrder());
+                assertThat(body.get("meta").has("nextCursor")).isFalse();
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/branches/{branchId}/movements/archive - Should read archived months")
+        void testGetArchivedMovementHistory() throws Exception {
+                for (int quantity = 1; quantity <= 3; quantity++) {
+                        mockMvc.perform(post("/api/v1/branches/" + branch1Id + "/movements")
+                                        .with(adminUser)
+                                        .with(csrf())
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(new StockMovementCreateRequest(
+                                                        testProductId, MovementType.IN, MovementReason.PURCHASE,
+                                                        quantity, null))))
+                                        .andExpect(status().isCreated());
+                }
+
+                // Archive two movements the way MovementPartitionMaintenance moves a month
+                movementRepository.flush();
+                jdbcTemplate.update("UPDATE stock_movements SET created_at = ? WHERE branch_id = ? AND quantity < 3",
+                                Timestamp.valueOf(LocalDateTime.of(2023, 3, 10, 8, 0)), branch1Id);
+                jdbcTemplate.update("""
+                                INSERT INTO stock_movements_archive
+                                    (id, tenant_id, branch_id, product_id, type, reason, quantity, note,
+                                     created_by_user_id, created_at, updated_at, version)
+                                SELECT id, tenant_id, branch_id, product_id, type, reason, quantity, note,
+                                       created_by_user_id, created_at, updated_at, version
+                                FROM stock_movements WHERE branch_id = ? AND quantity < 3
+                                """, branch1Id);
+                jdbcTemplate.update("DELETE FROM stock_movements WHERE branch_id = ? AND quantity < 3", branch1Id);
+                entityManager.clear();
+
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/movements")
+                                .with(adminUser))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.items", hasSize(1)))
+                                .andExpect(jsonPath("$.data.items[0].quantity").value(3));
+
+                MvcResult first = mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/movements/archive")
+                                .with(adminUser)
+                                .param("size", "1"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.items", hasSize(1)))
+                                .andExpect(jsonPath("$.data.items[0].quantity").value(2))
+                                .andExpect(jsonPath("$.meta.hasNext").value(true))
+                                .andReturn();
+
+                String cursor = objectMapper.readTree(first.getResponse().getContentAsString())
+                                .get("meta").get("nextCursor").asText();
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/movements/archive")
+                                .with(adminUser)
+                                .param("size", "1")
+                                .param("cursor", cursor))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.items", hasSize(1)))
+                                .andExpect(jsonPath("$.data.items[0].quantity").value(1))
+                                .andExpect(jsonPath("$.meta.hasNext").value(false));
+
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/movements/archive")
+                                .with(staffUser))
+                                .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("GET /branches/{id}/stock/{productId}/as-of and /stock/diff - Should answer point-in-time stock")
+        void testStockAsOfAndDiff() throws Exception {
+                mockMvc.perform(post("/api/v1/branches/" + branch1Id + "/movements")
+                                .with(adminUser)
+                                .with(csrf())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new StockMovementCreateRequest(
+                                                testProductId, MovementType.IN, MovementReason.PURCHASE, 7, null))))
+                                .andExpect(status().isCreated());
+                movementRepository.flush();
+
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/stock/" + testProductId + "/as-of")
+                                .with(adminUser))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.quantity").value(7));
+
+                LocalDate today = LocalDate.now();
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/stock/diff")
+                                .with(adminUser)
+                                .param("from", today.minusDays(1).toString())
+                                .param("to", today.toString()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.items", hasSize(1)))
+                                .andExpect(jsonPath("$.data.items[0].productId").value(testProductId))
+                                .andExpect(jsonPath("$.data.items[0].change").value(7));
+
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/stock/diff")
+                                .with(adminUser)
+                                .param("from", today.toString())
+                                .param("to", today.minusDays(1).toString()))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.error.code").value("INVALID_DATE_RANGE"));
+
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/stock/diff")
+                                .with(staffUser)
+                                .param("from", today.minusDays(1).toString())
+                                .param("to", today.toString()))
+                                .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/branches/{branchId}/movements - Should apply multi-value and time range filters")
+        void testGetMovementHistory_Filters() throws Exception {
+                Product second = new Product(testTenantId, "Second Product", "TEST-002", Product.UnitOfMeasure.UN);
+                second.setActive(true);
+                Long secondProductId = productRepository.save(second).getId();
+
+                List<StockMovementCreateRequest> requests = List.of(
+                                new StockMovementCreateRequest(testProductId, MovementType.OUT, MovementReason.SALE, 3, null),
+                                new StockMovementCreateRequest(testProductId, MovementType.OUT, MovementReason.LOSS, 2, null),
+                                new StockMovementCreateRequest(secondProductId, MovementType.IN, MovementReason.PURCHASE, 5, null),
+                                new StockMovementCreateRequest(testProductId, MovementType.IN, MovementReason.RETURN, 1, null));
+                List<Long> ids = new ArrayList<>();
+                for (StockMovementCreateRequest request : requests) {
+                        MvcResult result = mockMvc.perform(post("/api/v1/branches/" + branch1Id + "/movements")
+                                        .with(adminUser)
+                                        .with(csrf())
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(request)))
+                                        .andExpect(status().isCreated())
+                                        .andReturn();
+                        ids.add(objectMapper.readTree(result.getResponse().getContentAsString())
+                                        .get("data").get("id").asLong());
+                }
+
+                // The return happened in January
+                movementRepository.flush();
+                jdbcTemplate.update("UPDATE stock_movements SET created_at = ? WHERE id = ?",
+                                Timestamp.valueOf(LocalDateTime.of(2026, 1, 10, 9, 30)), ids.get(3));
+                entityManager.clear();
+
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/movements")
+                                .with(adminUser)
+                                .param("type", "OUT")
+                                .param("reason", "SALE,LOSS"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.items", hasSize(2)))
+                                .andExpect(jsonPath("$.meta.totalItems").value(2));
+
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/movements")
+                                .with(adminUser)
+                                .param("productId", testProductId.toString(), secondProductId.toString())
+                                .param("reason", "PURCHASE", "RETURN"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.items", hasSize(2)));
+
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/movements")
+                                .with(adminUser)
+                                .param("from", "2026-01-01T00:00:00")
+                                .param("to", "2026-02-01T00:00:00"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.items", hasSize(1)))
+                                .andExpect(jsonPath("$.data.items[0].id").value(ids.get(3)))
+                                .andExpect(jsonPath("$.data.items[0].reason").value("RETURN"));
+
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/movements")
+                                .with(adminUser)
+                                .param("from", "2026-02-01T00:00:00")
+                                .param("to", "2026-01-01T00:00:00"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.error.code").value("INVALID_DATE_RANGE"));
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/branches/{branchId}/movements - Should reject a malformed cursor")
+        void testGetMovementHistory_InvalidCursor() throws Exception {
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/movements")
+                                .with(adminUser)
+                                .param("cursor", "not-a-cursor"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.error.code").value("INVALID_CURSOR"));
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/branches/{branchId}/movements/export - Should stream a gzipped CSV attachment")
+        void testExportMovements_GzipCsv() throws Exception {
+                MvcResult started = mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/movements/export")
+                                .with(adminUser)
+                                .param("format", "CSV")
+                                .param("gzip", "true"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                started.getAsyncResult();
+
+                MvcResult result = mockMvc.perform(asyncDispatch(started))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("Content-Type", "application/gzip"))
+                                .andExpect(header().doesNotExist("Content-Encoding"))
+                                .andExpect(header().string("Content-Disposition",
+                                                containsString("movements-branch-" + branch1Id + ".csv.gz")))
+                                .andReturn();
+
+                // Rows of this uncommitted test transaction are invisible to the streaming thread
+                try (GZIPInputStream in = new GZIPInputStream(
+                                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+                        assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                                        .startsWith("id,branchId,productId,type,reason,quantity,note,createdByUserId,createdAt\r\n");
+                }
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/branches/{branchId}/movements/export - Should validate the range before streaming")
+        void testExportMovements_InvalidRange() throws Exception {
+                mockMvc.perform(get("/api/v1/branches/" + branch1Id + "/movements/export")
+                                .with(adminUser)
+                                .param("from", "2024-02-01T00:00:00")
+                                .param("to", "2024-01-01T00:00:00"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.error.code").value("INVALID_DATE_RANGE"));
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/stock/export - Should answer 503 when every export slot is taken")
+        void testExportStock_BulkheadFull() throws Exception {
+                List<InventoryExportService.ExportSlot> slots = new ArrayList<>();
+                try {
+                        for (int i = 0; i < 4; i++) {
+                                slots.add(exportService.acquireSlot());
+                        }
+
+                        mockMvc.perform(get("/api/v1/stock/export")
+                                        .with(adminUser))
+                                        .andExpect(status().isServiceUnavailable())
+                                        .andExpect(header().string("Retry-After", "30"))
+                                        .andExpect(jsonPath("$.error.code").value("EXPORT_CAPACITY_EXCEEDED"));
+                } finally {
+                        slots.forEach(InventoryExportService.ExportSlot::close);
+                }
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/stock/export - Should reserve tenant-wide exports to admins")
+        void testExportStock_TenantWideForbiddenForStaff() throws Exception {
+                mockMvc.perform(get("/api/v1/stock/export")
+                                .with(staffUser))
+                                .andExpect(status().isForbidden());
+        }
+
         @Test
         @DisplayName("GET /api/v1/branches/{branchId}/stock - Should allow authenticated users to view stock")
         void testGetStock_Authenticated() throws Exception {
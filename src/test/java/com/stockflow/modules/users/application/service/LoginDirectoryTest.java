@@ -0,0 +1,74 @@
+package com.stockflow.modules.users.application.service;
+
+import com.stockflow.modules.users.domain.model.LoginDirectoryEntry;
+import com.stockflow.modules.users.domain.model.User;
+import com.stockflow.modules.users.domain.repository.LoginDirectoryRepository;
+import com.stockflow.shared.infrastructure.cache.NearCaches;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("LoginDirectory - Unit Tests")
+class LoginDirectoryTest {
+
+    private static final String EMAIL = "manager@test.com";
+    private static final LoginDirectoryEntry ENTRY = new LoginDirectoryEntry(EMAIL, 1L, 10L, true);
+
+    private LoginDirectoryRepository repository;
+    private NearCaches nearCaches;
+    private LoginDirectory loginDirectory;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(LoginDirectoryRepository.class);
+        nearCaches = mock(NearCaches.class);
+        loginDirectory = new LoginDirectory(repository, nearCaches, new SimpleMeterRegistry());
+        loginDirectory.init();
+    }
+
+    @Test
+    @DisplayName("Should resolve an email once, whatever its case")
+    void findActive_RepeatedEmail_ShouldQueryOnce() {
+        when(repository.findActiveByEmail(EMAIL)).thenReturn(Optional.of(ENTRY));
+
+        assertThat(loginDirectory.findActive(EMAIL)).contains(ENTRY);
+        assertThat(loginDirectory.findActive(" Manager@Test.COM ")).contains(ENTRY);
+
+        verify(repository, times(1)).findActiveByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown emails")
+    void findActive_UnknownEmail_ShouldQueryEveryTime() {
+        when(repository.findActiveByEmail(EMAIL)).thenReturn(Optional.empty(), Optional.of(ENTRY));
+
+        assertThat(loginDirectory.existsActive(EMAIL)).isFalse();
+        assertThat(loginDirectory.existsActive(EMAIL)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should save the entry of a user, drop the cached one and tell the other instances")
+    void record_ShouldSaveEvictAndPublish() {
+        when(repository.findActiveByEmail(EMAIL)).thenReturn(Optional.of(ENTRY), Optional.empty());
+        assertThat(loginDirectory.findActive(EMAIL)).isPresent();
+
+        User user = new User(1L, "Manager", "Manager@Test.com", "hash");
+        ReflectionTestUtils.setField(user, "id", 10L);
+        user.deactivate();
+        loginDirectory.record(user);
+
+        verify(repository).save(new LoginDirectoryEntry(EMAIL, 1L, 10L, false));
+        verify(nearCaches).publish(LoginDirectory.REGION, EMAIL);
+        assertThat(loginDirectory.findActive(EMAIL)).isEmpty();
+    }
+}
@@ -0,0 +1,151 @@
+package com.stockflow.modules.users.infrastructure.persistence;
+
+import com.stockflow.modules.users.application.service.LoginDirectory;
+import com.stockflow.modules.users.domain.model.LoginDirectoryEntry;
+import com.stockflow.modules.users.domain.repository.LoginDirectoryRepository;
+import com.stockflow.shared.testing.TestcontainersIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Login lookup benchmark on MySQL with 1M users across 10k tenants.
+ *
+ * <p>Compares the previous lookup (users filtered on {@code email} alone, which
+ * {@code uk_tenant_email (tenant_id, email)} cannot serve) with a probe of
+ * {@code idx_login_directory_email} and with {@link LoginDirectory}, which caches the
+ * resolved entries.</p>
+ *
+ * <p>Not part of the regular test run (the class name does not match the
+ * surefire includes). Run explicitly with Docker available:</p>
+ * <pre>
+ * mvn -B test -Dtest=LoginDirectoryBenchmark
+ * </pre>
+ */
+@SpringBootTest
+@DisplayName("LoginDirectory - Email Lookup Benchmark")
+class LoginDirectoryBenchmark extends TestcontainersIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginDirectoryBenchmark.class);
+
+    private static final int TENANTS = 10_000;
+    private static final int USERS_PER_TENANT = 100;
+    private static final int BATCH = 5000;
+    private static final int SCAN_LOOKUPS = 100;
+    private static final int LOOKUPS = 20_000;
+
+    private static final String SELECT_USER_BY_EMAIL = """
+            SELECT id, tenant_id FROM users WHERE email = ? AND is_active = TRUE
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LoginDirectoryRepository loginDirectoryRepository;
+
+    @Autowired
+    private LoginDirectory loginDirectory;
+
+    private String run;
+    private List<Long> tenantIds;
+
+    @BeforeEach
+    void setUp() {
+        run = Long.toString(System.nanoTime(), 36);
+
+        List<Object[]> tenants = new ArrayList<>(BATCH);
+        for (int t = 0; t < TENANTS; t++) {
+            tenants.add(new Object[]{"Bench Tenant " + t, slug(t)});
+            if (tenants.size() == BATCH) {
+                jdbcTemplate.batchUpdate("INSERT INTO tenants (name, slug) VALUES (?, ?)", tenants);
+                tenants.clear();
+            }
+        }
+        tenantIds = new ArrayList<>(TENANTS);
+        for (int t = 0; t < TENANTS; t++) {
+            tenantIds.add(jdbcTemplate.queryForObject("SELECT id FROM tenants WHERE slug = ?", Long.class, slug(t)));
+        }
+
+        List<Object[]> users = new ArrayList<>(BATCH);
+        for (int t = 0; t < TENANTS; t++) {
+            for (int u = 0; u < USERS_PER_TENANT; u++) {
+                users.add(new Object[]{tenantIds.get(t), email(t, u)});
+                if (users.size() == BATCH) {
+                    jdbcTemplate.batchUpdate("""
+                        INSERT INTO users (tenant_id, name, email, password_hash, is_active, version)
+                        VALUES (?, 'Bench User', ?, '{noop}secret', TRUE, 0)
+                        """, users);
+                    users.clear();
+                }
+            }
+        }
+
+        jdbcTemplate.update("""
+            INSERT INTO user_login_directory (user_id, email, tenant_id, is_active, updated_at)
+            SELECT id, LOWER(email), tenant_id, is_active, CURRENT_TIMESTAMP FROM users WHERE email LIKE ?
+            """, "%@" + run + "-%");
+        jdbcTemplate.execute("ANALYZE TABLE users, user_login_directory");
+    }
+
+    @Test
+    @DisplayName("Directory lookups avoid scanning users")
+    void emailLookup() {
+        long scanNanos = lookups(SCAN_LOOKUPS, email -> jdbcTemplate.query(SELECT_USER_BY_EMAIL,
+            (rs, rowNum) -> rs.getLong("tenant_id"), email).stream().findFirst());
+
+        lookups(LOOKUPS / 10, email -> loginDirectoryRepository.findActiveByEmail(email)
+            .map(LoginDirectoryEntry::tenantId));
+        long probeNanos = lookups(LOOKUPS, email -> loginDirectoryRepository.findActiveByEmail(email)
+            .map(LoginDirectoryEntry::tenantId));
+
+        lookups(LOOKUPS, email -> loginDirectory.findActive(email).map(LoginDirectoryEntry::tenantId));
+        long cachedNanos = lookups(LOOKUPS, email -> loginDirectory.findActive(email)
+            .map(LoginDirectoryEntry::tenantId));
+
+        double scanMicros = scanNanos / 1000.0 / SCAN_LOOKUPS;
+        double probeMicros = probeNanos / 1000.0 / LOOKUPS;
+        double cachedMicros = cachedNanos / 1000.0 / LOOKUPS;
+        log.info("users={} tenants={} users scan: {} us/lookup, directory probe: {} us/lookup, cached: {} us/lookup",
+            TENANTS * USERS_PER_TENANT, TENANTS, scanMicros, probeMicros, cachedMicros);
+
+        assertThat(probeMicros).isLessThan(scanMicros);
+        assertThat(cachedMicros).isLessThan(probeMicros);
+    }
+
+    /**
+     * Looks up random users of the first tenth of the tenants, so the cached directory
+     * sees returning users.
+     */
+    private long lookups(int count, Function<String, Optional<Long>> lookup) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            int tenant = random.nextInt(TENANTS / 10);
+            int user = random.nextInt(USERS_PER_TENANT);
+            assertThat(lookup.apply(email(tenant, user))).contains(tenantIds.get(tenant));
+        }
+        return System.nanoTime() - startedAt;
+    }
+
+    private String slug(int tenant) {
+        return "bench-" + run + "-" + tenant;
+    }
+
+    private String email(int tenant, int user) {
+        return "user" + user + "@" + run + "-" + tenant + ".bench";
+    }
+}
@@ -0,0 +1,129 @@
+package com.stockflow.shared.infrastructure.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("DashboardCacheKeys - Unit Tests")
+class DashboardCacheKeysTest {
+
+    private final Map<String, Long> counters = new HashMap<>();
+    private ValueOperations<String, String> operations;
+    private NearCaches nearCaches;
+    private DashboardCacheKeys keys;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        operations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(operations);
+        when(operations.get(anyString())).thenAnswer(invocation -> {
+            Long value = counters.get(invocation.<String>getArgument(0));
+            return value != null ? value.toString() : null;
+        });
+        when(operations.increment(anyString()))
+            .thenAnswer(invocation -> counters.merge(invocation.getArgument(0), 1L, Long::sum));
+
+        nearCaches = new NearCaches(redisTemplate);
+        keys = new DashboardCacheKeys(redisTemplate, nearCaches);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should invalidate only the tenant and the affected branches")
+    void invalidate_ShouldBumpOnlyAffectedScopes() {
+        String tenant = keys.tenant(1L);
+        String branch = keys.branch(1L, 10L);
+        String otherBranch = keys.branch(1L, 11L);
+        String otherTenant = keys.tenant(2L);
+
+        keys.invalidate(1L, List.of(10L));
+
+        assertThat(keys.tenant(1L)).isNotEqualTo(tenant);
+        assertThat(keys.branch(1L, 10L)).isNotEqualTo(branch);
+        assertThat(keys.branch(1L, 11L)).isEqualTo(otherBranch);
+        assertThat(keys.tenant(2L)).isEqualTo(otherTenant);
+    }
+
+    @Test
+    @DisplayName("Should defer invalidation until the transaction commits")
+    void invalidate_ShouldWaitForCommit() {
+        String before = keys.branch(1L, 10L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        keys.invalidate(1L, List.of(10L, 20L));
+        assertThat(keys.branch(1L, 10L)).isEqualTo(before);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(keys.branch(1L, 10L)).isNotEqualTo(before);
+        assertThat(counters).containsEntry("stockflow:generation:branch:1:20", 1L);
+    }
+
+    @Test
+    @DisplayName("Should fall back to generation 0 when Redis is unavailable")
+    void tenant_ShouldTolerateRedisErrors() {
+        when(operations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(keys.tenant(1L)).isEqualTo("t1:g0");
+    }
+
+    @Test
+    @DisplayName("Should keep generations in process until another instance bumps them")
+    void branch_ShouldCacheGenerationsLocally() {
+        String before = keys.branch(1L, 10L);
+
+        // Bumped by another instance: still served from the near cache
+        counters.put("stockflow:generation:branch:1:10", 5L);
+        assertThat(keys.branch(1L, 10L)).isEqualTo(before);
+
+        nearCaches.onMessage(new DefaultMessage(
+            NearCaches.CHANNEL.getBytes(StandardCharsets.UTF_8),
+            "other-instance\ndashboardGenerations\nbranch:1:10".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(keys.branch(1L, 10L)).isEqualTo("t1:b10:g5");
+    }
+
+    @Test
+    @DisplayName("Should not keep a generation read while another instance bumped it")
+    void branch_BumpedDuringRead_ShouldNotKeepStaleGeneration() {
+        counters.put("stockflow:generation:branch:1:10", 4L);
+        when(operations.get("stockflow:generation:branch:1:10")).thenAnswer(invocation -> {
+            Long read = counters.get("stockflow:generation:branch:1:10");
+            // Another instance bumps the scope after the value was read, before it is cached
+            counters.put("stockflow:generation:branch:1:10", 5L);
+            nearCaches.onMessage(new DefaultMessage(
+                NearCaches.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "other-instance\ndashboardGenerations\nbranch:1:10".getBytes(StandardCharsets.UTF_8)), null);
+            return read.toString();
+        }).thenAnswer(invocation -> counters.get("stockflow:generation:branch:1:10").toString());
+
+        assertThat(keys.branch(1L, 10L)).isEqualTo("t1:b10:g4");
+        assertThat(keys.branch(1L, 10L)).isEqualTo("t1:b10:g5");
+    }
+}
@@ -0,0 +1,209 @@
+package com.stockflow.shared.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("TwoTierCache - Unit Tests")
+class TwoTierCacheTest {
+
+    private InterleavingCache remote;
+    private StringRedisTemplate redisTemplate;
+    private NearCaches nearCaches;
+    private SimpleMeterRegistry meterRegistry;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new InterleavingCache("dashboardOverview");
+        redisTemplate = mock(StringRedisTemplate.class);
+        nearCaches = new NearCaches(redisTemplate);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TwoTierCache(remote, nearCaches, meterRegistry);
+        nearCaches.subscribe(cache.getName(), cache::invalidateLocal);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the near cache")
+    void get_ShouldPromoteRemoteHitsToNearCache() {
+        remote.put("t1:g0", "metrics");
+
+        assertThat(cache.get("t1:g0").get()).isEqualTo("metrics");
+        remote.evict("t1:g0");
+        assertThat(cache.get("t1:g0").get()).isEqualTo("metrics");
+
+        assertThat(gets("local", "hit")).isEqualTo(1);
+        assertThat(gets("local", "miss")).isEqualTo(1);
+        assertThat(gets("redis", "hit")).isEqualTo(1);
+        assertThat(gets("redis", "miss")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should write both tiers and announce the key to other instances")
+    void put_ShouldWriteBothTiersAndPublish() {
+        cache.put("t1:g0", "metrics");
+
+        assertThat(remote.get("t1:g0").get()).isEqualTo("metrics");
+        assertThat(cache.get("t1:g0").get()).isEqualTo("metrics");
+        assertThat(gets("local", "hit")).isEqualTo(1);
+        assertThat(published()).endsWith("\ndashboardOverview\nt1:g0");
+    }
+
+    @Test
+    @DisplayName("Should drop the near copy when another instance changes the key")
+    void onMessage_ShouldInvalidateNearCopy() {
+        cache.put("t1:g0", "stale");
+        remote.put("t1:g0", "fresh");
+
+        nearCaches.onMessage(new DefaultMessage(
+            NearCaches.CHANNEL.getBytes(StandardCharsets.UTF_8),
+            "other-instance\ndashboardOverview\nt1:g0".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(cache.get("t1:g0").get()).isEqualTo("fresh");
+    }
+
+    @Test
+    @DisplayName("Should ignore its own invalidation messages")
+    void onMessage_ShouldIgnoreOwnMessages() {
+        cache.put("t1:g0", "metrics");
+        remote.clear();
+
+        nearCaches.onMessage(new DefaultMessage(
+            NearCaches.CHANNEL.getBytes(StandardCharsets.UTF_8),
+            published().getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(cache.get("t1:g0").get()).isEqualTo("metrics");
+    }
+
+    @Test
+    @DisplayName("Should evict both tiers")
+    void evict_ShouldEvictBothTiers() {
+        cache.put("t1:g0", "metrics");
+
+        cache.evict("t1:g0");
+
+        assertThat(cache.get("t1:g0")).isNull();
+        assertThat(gets("redis", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not copy a Redis read into the near cache after an invalidation raced it")
+    void get_InvalidatedDuringRemoteRead_ShouldNotReinstateStaleValue() {
+        remote.put("t1:g0", "stale");
+        // Another instance updates the key while this instance is reading it from Redis
+        remote.duringGet = () -> {
+            remote.duringGet = null;
+            remote.put("t1:g0", "fresh");
+            receive("other-instance\ndashboardOverview\nt1:g0");
+        };
+
+        assertThat(cache.get("t1:g0").get()).isEqualTo("stale");
+        assertThat(cache.get("t1:g0").get()).isEqualTo("fresh");
+        assertThat(gets("local", "hit")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not copy a Redis read into the near cache after the whole cache was invalidated")
+    void get_ClearedDuringRemoteRead_ShouldNotReinstateStaleValue() {
+        remote.put("t1:g0", "stale");
+        remote.duringGet = () -> {
+            remote.duringGet = null;
+            remote.put("t1:g0", "fresh");
+            receive("other-instance\ndashboardOverview");
+        };
+
+        cache.get("t1:g0");
+
+        assertThat(cache.get("t1:g0").get()).isEqualTo("fresh");
+    }
+
+    @Test
+    @DisplayName("Should run one loader for concurrent misses on the same key")
+    void getWithLoader_ConcurrentMisses_ShouldLoadOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> cache.get("t1:g0", () -> {
+                    loads.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "metrics";
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("metrics");
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    private double gets(String tier, String result) {
+        return meterRegistry.get("stockflow.cache.gets")
+            .tag("cache", "dashboardOverview")
+            .tag("tier", tier)
+            .tag("result", result)
+            .counter()
+            .count();
+    }
+
+    private void receive(String message) {
+        nearCaches.onMessage(new DefaultMessage(
+            NearCaches.CHANNEL.getBytes(StandardCharsets.UTF_8),
+            message.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    private String published() {
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(NearCaches.CHANNEL), message.capture());
+        return message.getValue();
+    }
+
+    /**
+     * Remote tier that can run an action in the middle of a read, after the value was fetched.
+     */
+    private static final class InterleavingCache extends ConcurrentMapCache {
+
+        private volatile Runnable duringGet;
+
+        InterleavingCache(String name) {
+            super(name);
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            ValueWrapper wrapper = super.get(key);
+            Runnable action = duringGet;
+            if (action != null) {
+                action.run();
+            }
+            return wrapper;
+        }
+    }
+}
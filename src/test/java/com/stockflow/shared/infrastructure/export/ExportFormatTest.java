@@ -0,0 +1,72 @@
+package com.stockflow.shared.infrastructure.export;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ExportFormat - Unit Tests")
+class ExportFormatTest {
+
+    private static final List<String> COLUMNS = List.of("id", "note", "quantity", "createdAt");
+
+    @Test
+    @DisplayName("Should write a CSV header and quote fields that need it")
+    void csvShouldQuoteFields() throws Exception {
+        StringWriter out = new StringWriter();
+        RowWriter writer = ExportFormat.CSV.open(out, COLUMNS);
+
+        writer.write(1L, "plain", 5, LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        writer.write(2L, "with, comma and \"quotes\"", -3, null);
+        writer.write(3L, "two\nlines", 0, null);
+        writer.flush();
+
+        assertThat(out.toString()).isEqualTo(
+            "id,note,quantity,createdAt\r\n"
+                + "1,plain,5,2024-01-02T03:04:05\r\n"
+                + "2,\"with, comma and \"\"quotes\"\"\",-3,\r\n"
+                + "3,\"two\nlines\",0,\r\n");
+    }
+
+    @Test
+    @DisplayName("Should neutralize spreadsheet formulas in CSV text but not negative numbers")
+    void csvShouldPrefixFormulas() throws Exception {
+        StringWriter out = new StringWriter();
+        RowWriter writer = ExportFormat.CSV.open(out, COLUMNS);
+
+        writer.write(1L, "=HYPERLINK(\"x\")", -1, null);
+        writer.write(2L, "@SUM(A1)", 1, null);
+
+        assertThat(out.toString()).contains("1,\"'=HYPERLINK(\"\"x\"\")\",-1,\r\n", "2,'@SUM(A1),1,\r\n");
+    }
+
+    @Test
+    @DisplayName("Should reject rows with the wrong number of values")
+    void csvShouldRejectWrongArity() throws Exception {
+        RowWriter writer = ExportFormat.CSV.open(new StringWriter(), COLUMNS);
+
+        assertThatThrownBy(() -> writer.write(1L, "too few"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line, keyed by column")
+    void ndjsonShouldWriteOneObjectPerLine() throws Exception {
+        StringWriter out = new StringWriter();
+        RowWriter writer = ExportFormat.NDJSON.open(out, COLUMNS);
+
+        writer.write(1L, "line\nbreak", 5, LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        writer.write(2L, null, new BigDecimal("1.50"), null);
+        writer.flush();
+
+        assertThat(out.toString()).isEqualTo(
+            "{\"id\":1,\"note\":\"line\\nbreak\",\"quantity\":5,\"createdAt\":\"2024-01-02T03:04:05\"}\n"
+                + "{\"id\":2,\"note\":null,\"quantity\":1.50,\"createdAt\":null}\n");
+    }
+}
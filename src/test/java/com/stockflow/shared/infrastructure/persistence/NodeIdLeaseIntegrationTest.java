@@ -0,0 +1,124 @@
+package com.stockflow.shared.infrastructure.persistence;
+
+import com.stockflow.shared.testing.H2IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for node ID leases against the H2 schema.
+ *
+ * <p>The test profile disables leasing for the application context; each test plays
+ * several instances with leases of its own.</p>
+ */
+@SpringBootTest
+@Transactional
+@DisplayName("NodeIdLease - Integration Tests")
+class NodeIdLeaseIntegrationTest extends H2IntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        TimeSortedIds.setNodeId(0);
+    }
+
+    @Test
+    @DisplayName("Instances without a configured node ID should lease distinct ones")
+    void acquire_ShouldLeaseDistinctNodes() {
+        NodeIdLease first = acquire("");
+        NodeIdLease second = acquire("");
+
+        assertThat(first.getNodeId()).isNotEqualTo(second.getNodeId());
+        assertThat(leasedNodes()).isEqualTo(2);
+
+        first.release();
+        assertThat(leasedNodes()).isEqualTo(1);
+        assertThat(acquire("").getNodeId()).isEqualTo(first.getNodeId());
+    }
+
+    @Test
+    @DisplayName("Should fail fast when the configured node ID is held or none is free")
+    void acquire_Unavailable_ShouldFailFast() {
+        NodeIdLease holder = acquire("3");
+        assertThat(holder.getNodeId()).isEqualTo(3);
+        assertThatThrownBy(() -> acquire("3"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("leased by another instance");
+
+        for (int node = 1; node <= TimeSortedIds.MAX_NODE_ID; node++) {
+            acquire("");
+        }
+        assertThat(leasedNodes()).isEqualTo(TimeSortedIds.MAX_NODE_ID + 1);
+        assertThatThrownBy(() -> acquire(""))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("node IDs are leased");
+    }
+
+    @Test
+    @DisplayName("Should require a node ID when leasing is disabled")
+    void acquire_LeaseDisabledWithoutNodeId_ShouldFail() {
+        NodeIdLease lease = new NodeIdLease(jdbcTemplate);
+        ReflectionTestUtils.setField(lease, "configuredNodeId", "");
+        ReflectionTestUtils.setField(lease, "leaseEnabled", false);
+
+        assertThatThrownBy(lease::acquire).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("An instance whose lease was taken over should move to a free node ID")
+    void renew_LeaseTakenOver_ShouldMoveToFreeNode() {
+        NodeIdLease paused = acquire("");
+        Integer node = paused.getNodeId();
+        jdbcTemplate.update("UPDATE id_node_leases SET expires_at = ? WHERE node_id = ?",
+            Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), node);
+
+        NodeIdLease successor = acquire(node.toString());
+        assertThat(successor.getNodeId()).isEqualTo(node);
+
+        paused.renew();
+        assertThat(paused.getNodeId()).isNotEqualTo(node);
+        assertThat(leasedNodes()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should issue IDs after the highest persisted ID")
+    void acquire_ShouldAdvancePastPersistedIds() {
+        // Borrowed two seconds ahead of the clock by a previous run
+        long borrowed = TimeSortedIds.next() + (2000L << (TimeSortedIds.NODE_BITS + TimeSortedIds.SEQUENCE_BITS));
+        jdbcTemplate.update("""
+                INSERT INTO stock_movements_archive (id, tenant_id, branch_id, product_id, type, reason, quantity, created_at)
+                VALUES (?, 1, 1, 1, 'IN', 'PURCHASE', 1, ?)
+                """, borrowed, Timestamp.valueOf(LocalDateTime.now()));
+
+        acquire("");
+
+        assertThat(TimeSortedIds.next()).isGreaterThan(borrowed);
+    }
+
+    private NodeIdLease acquire(String nodeId) {
+        NodeIdLease lease = new NodeIdLease(jdbcTemplate);
+        ReflectionTestUtils.setField(lease, "configuredNodeId", nodeId);
+        ReflectionTestUtils.setField(lease, "leaseEnabled", true);
+        lease.acquire();
+        return lease;
+    }
+
+    private int leasedNodes() {
+        Integer leased = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM id_node_leases WHERE holder IS NOT NULL", Integer.class);
+        return leased != null ? leased : 0;
+    }
+}
@@ -0,0 +1,94 @@
+package com.stockflow.shared.infrastructure.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TimeSortedIds - Unit Tests")
+class TimeSortedIdsTest {
+
+    @AfterEach
+    void tearDown() {
+        TimeSortedIds.setNodeId(0);
+    }
+
+    @Test
+    @DisplayName("Should issue strictly increasing IDs that fit in 53 bits")
+    void shouldIncreaseAndStayJavaScriptSafe() {
+        long previous = TimeSortedIds.next();
+        for (int i = 0; i < 100_000; i++) {
+            long id = TimeSortedIds.next();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+        assertThat(previous).isLessThan(1L << 53);
+    }
+
+    @Test
+    @DisplayName("Should never issue the same ID to concurrent callers")
+    void shouldBeUniqueAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                List<Long> ids = new ArrayList<>(20_000);
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(TimeSortedIds.next());
+                }
+                return ids;
+            }));
+        }
+
+        Set<Long> unique = new HashSet<>();
+        for (Future<List<Long>> future : futures) {
+            unique.addAll(future.get());
+        }
+        executor.shutdownNow();
+
+        assertThat(unique).hasSize(8 * 20_000);
+    }
+
+    @Test
+    @DisplayName("Should embed the issue time and the node ID")
+    void shouldEmbedTimestampAndNode() {
+        TimeSortedIds.setNodeId(5);
+        long before = System.currentTimeMillis();
+        long id = TimeSortedIds.next();
+
+        assertThat(TimeSortedIds.timestampOf(id)).isGreaterThanOrEqualTo(before - 1);
+        assertThat((id >>> TimeSortedIds.SEQUENCE_BITS) & TimeSortedIds.MAX_NODE_ID).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should issue IDs after an ID borrowed ahead of the clock before a restart")
+    void shouldAdvancePastPersistedIds() {
+        long borrowed = TimeSortedIds.next() + (1000L << (TimeSortedIds.NODE_BITS + TimeSortedIds.SEQUENCE_BITS));
+        TimeSortedIds.advancePast(borrowed);
+
+        long id = TimeSortedIds.next();
+        assertThat(id).isGreaterThan(borrowed);
+        assertThat(TimeSortedIds.timestampOf(id)).isEqualTo(TimeSortedIds.timestampOf(borrowed) + 1);
+
+        // Legacy and negative IDs do not move the generator
+        TimeSortedIds.advancePast(-1L);
+        assertThat(TimeSortedIds.next()).isGreaterThan(id);
+    }
+
+    @Test
+    @DisplayName("Should reject node IDs outside the 4-bit range")
+    void shouldRejectInvalidNodeId() {
+        assertThatThrownBy(() -> TimeSortedIds.setNodeId(16)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TimeSortedIds.setNodeId(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,91 @@
+package com.stockflow.shared.infrastructure.retry;
+
+import com.stockflow.shared.domain.exception.ValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ConflictRetryAspect - Unit Tests")
+class ConflictRetryAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private FlakyService target;
+    private FlakyService proxy;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ConflictRetryAspect aspect = new ConflictRetryAspect(meterRegistry);
+        ReflectionTestUtils.setField(aspect, "maxAttempts", 3);
+        ReflectionTestUtils.setField(aspect, "initialBackoffMs", 1L);
+        ReflectionTestUtils.setField(aspect, "maxBackoffMs", 2L);
+
+        target = new FlakyService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Should retry optimistic locking failures until success")
+    void shouldRetryUntilSuccess() {
+        target.failuresBeforeSuccess = 2;
+
+        assertThat(proxy.write()).isEqualTo("ok");
+        assertThat(target.calls.get()).isEqualTo(3);
+        assertThat(meterRegistry.counter("stockflow.retry.attempts", "operation", "test.write").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("stockflow.retry.recovered", "operation", "test.write").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should rethrow the last conflict when attempts are exhausted")
+    void shouldGiveUpAfterMaxAttempts() {
+        target.failuresBeforeSuccess = 10;
+
+        assertThatThrownBy(() -> proxy.write()).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(target.calls.get()).isEqualTo(3);
+        assertThat(meterRegistry.counter("stockflow.retry.exhausted", "operation", "test.write").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should retry listed domain error codes but not other domain errors")
+    void shouldRetryOnlyListedErrorCodes() {
+        target.domainErrorCode = "STOCK_CONCURRENT_MODIFICATION";
+        target.failuresBeforeSuccess = 1;
+        assertThat(proxy.write()).isEqualTo("ok");
+        assertThat(target.calls.get()).isEqualTo(2);
+
+        target.calls.set(0);
+        target.domainErrorCode = "TRANSFER_SAME_BRANCH";
+        target.failuresBeforeSuccess = 1;
+        assertThatThrownBy(() -> proxy.write()).isInstanceOf(ValidationException.class);
+        assertThat(target.calls.get()).isEqualTo(1);
+    }
+
+    static class FlakyService {
+
+        final AtomicInteger calls = new AtomicInteger();
+        int failuresBeforeSuccess;
+        String domainErrorCode;
+
+        @RetryOnConflict(operation = "test.write", errorCodes = "STOCK_CONCURRENT_MODIFICATION")
+        public String write() {
+            if (calls.incrementAndGet() <= failuresBeforeSuccess) {
+                if (domainErrorCode != null) {
+                    throw new ValidationException(domainErrorCode, "conflict");
+                }
+                throw new OptimisticLockingFailureException("conflict");
+            }
+            return "ok";
+        }
+    }
+}
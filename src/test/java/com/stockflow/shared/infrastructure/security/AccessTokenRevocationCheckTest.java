@@ -0,0 +1,75 @@
+package com.stockflow.shared.infrastructure.security;
+
+import com.stockflow.modules.users.domain.repository.UserRepository;
+import com.stockflow.shared.infrastructure.cache.NearCaches;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("AccessTokenRevocationCheck - Unit Tests")
+class AccessTokenRevocationCheckTest {
+
+    private static final Long TENANT_ID = 1L;
+    private static final Long USER_ID = 10L;
+
+    private UserRepository userRepository;
+    private NearCaches nearCaches;
+    private AccessTokenRevocationCheck revocationCheck;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        nearCaches = mock(NearCaches.class);
+        revocationCheck = new AccessTokenRevocationCheck(userRepository, nearCaches, new SimpleMeterRegistry());
+        revocationCheck.init();
+    }
+
+    @Test
+    @DisplayName("Should accept tokens at the current version and cache the version")
+    void isRevoked_CurrentVersion_ShouldLoadOnce() {
+        when(userRepository.findActiveVersion(USER_ID, TENANT_ID)).thenReturn(Optional.of(3L));
+
+        assertThat(revocationCheck.isRevoked(TENANT_ID, USER_ID, 3L)).isFalse();
+        assertThat(revocationCheck.isRevoked(TENANT_ID, USER_ID, 3L)).isFalse();
+
+        verify(userRepository, times(1)).findActiveVersion(USER_ID, TENANT_ID);
+    }
+
+    @Test
+    @DisplayName("Should revoke tokens issued before the user changed")
+    void isRevoked_OlderVersion_ShouldRevoke() {
+        when(userRepository.findActiveVersion(USER_ID, TENANT_ID)).thenReturn(Optional.of(4L));
+
+        assertThat(revocationCheck.isRevoked(TENANT_ID, USER_ID, 3L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should revoke tokens of inactive or deleted users, with or without a version")
+    void isRevoked_InactiveUser_ShouldRevoke() {
+        when(userRepository.findActiveVersion(USER_ID, TENANT_ID)).thenReturn(Optional.empty());
+
+        assertThat(revocationCheck.isRevoked(TENANT_ID, USER_ID, 3L)).isTrue();
+        assertThat(revocationCheck.isRevoked(TENANT_ID, USER_ID, null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reload the version after an invalidation and tell the other instances")
+    void invalidate_ShouldEvictAndPublish() {
+        when(userRepository.findActiveVersion(USER_ID, TENANT_ID)).thenReturn(Optional.of(3L), Optional.of(4L));
+        assertThat(revocationCheck.isRevoked(TENANT_ID, USER_ID, 3L)).isFalse();
+
+        revocationCheck.invalidate(USER_ID);
+
+        assertThat(revocationCheck.isRevoked(TENANT_ID, USER_ID, 3L)).isTrue();
+        verify(nearCaches).publish(AccessTokenRevocationCheck.REGION, USER_ID.toString());
+    }
+}
@@ -0,0 +1,165 @@
+package com.stockflow.shared.infrastructure.security;
+
+import com.stockflow.modules.users.domain.model.RoleEnum;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-call cost benchmark for {@link BranchAccessAspect}.
+ *
+ * <p>Calls a transfer-like method (a path branch ID and a request record with source
+ * and destination branches) through three proxies: without the aspect, with the
+ * reflective implementation the aspect replaced, and with the aspect. The aspect cost
+ * is the difference with the proxy without it. The user has access to 50 branches.</p>
+ *
+ * <p>Not part of the regular test run (the class name does not match the
+ * surefire includes). Run explicitly:</p>
+ * <pre>
+ * mvn -B test -Dtest=BranchAccessAspectBenchmark
+ * </pre>
+ */
+@DisplayName("BranchAccessAspect - Per-Call Cost Benchmark")
+class BranchAccessAspectBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(BranchAccessAspectBenchmark.class);
+
+    private static final int WARMUP = 50_000;
+    private static final int CALLS = 500_000;
+
+    private final Transfer transfer = new Transfer(7L, 9L, 3);
+
+    @BeforeEach
+    void setUp() {
+        List<Long> branchIds = LongStream.rangeClosed(1, 50).boxed().toList();
+        CustomUserDetails user = new CustomUserDetails(1L, 1L, "manager@stockflow.test", null,
+            Set.of(RoleEnum.MANAGER), branchIds);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Planned resolution costs a fraction of per-call reflection")
+    void perCallCost() {
+        TransferOperations bare = proxy(null);
+        TransferOperations reflective = proxy(new ReflectiveBranchAccessAspect());
+        TransferOperations planned = proxy(new BranchAccessAspect());
+
+        long bareNanos = measure(bare);
+        long reflectiveNanos = measure(reflective);
+        long plannedNanos = measure(planned);
+
+        double reflectiveCost = (reflectiveNanos - bareNanos) / (double) CALLS;
+        double plannedCost = (plannedNanos - bareNanos) / (double) CALLS;
+        log.info("calls={} proxy: {} ns/call, reflective aspect: +{} ns/call, planned aspect: +{} ns/call",
+            CALLS, bareNanos / (double) CALLS, reflectiveCost, plannedCost);
+
+        assertThat(plannedNanos).isLessThan(reflectiveNanos);
+    }
+
+    private long measure(TransferOperations operations) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += operations.transfer(7L, transfer);
+        }
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            sink += operations.transfer(7L, transfer);
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        assertThat(sink).isEqualTo(3L * (WARMUP + CALLS));
+        return elapsed;
+    }
+
+    private static TransferOperations proxy(Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new TransferOperations());
+        if (aspect != null) {
+            factory.addAspect(aspect);
+        }
+        return factory.getProxy();
+    }
+
+    public record Transfer(Long sourceBranchId, Long destinationBranchId, int quantity) {
+    }
+
+    public static class TransferOperations {
+
+        @BranchAccess
+        public int transfer(@BranchAccess Long branchId, Transfer request) {
+            return request.quantity();
+        }
+    }
+
+    /**
+     * The previous implementation: parameter annotations and accessors looked up by
+     * reflection on every call.
+     */
+    @Aspect
+    static class ReflectiveBranchAccessAspect {
+
+        @Before("@annotation(com.stockflow.shared.infrastructure.security.BranchAccess)")
+        public void validateBranchAccess(JoinPoint joinPoint) {
+            CustomUserDetails userDetails =
+                (CustomUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            Parameter[] parameters = method.getParameters();
+            Object[] args = joinPoint.getArgs();
+
+            Set<Long> branchIds = new LinkedHashSet<>();
+            for (int i = 0; i < parameters.length; i++) {
+                Object arg = args[i];
+                if (arg == null) {
+                    continue;
+                }
+                boolean annotated = Arrays.stream(parameters[i].getAnnotations())
+                    .anyMatch(ann -> ann.annotationType().equals(BranchAccess.class));
+                if (arg instanceof Long && annotated) {
+                    branchIds.add((Long) arg);
+                    continue;
+                }
+                for (String accessor : List.of("branchId", "getBranchId", "sourceBranchId",
+                        "getSourceBranchId", "destinationBranchId", "getDestinationBranchId")) {
+                    try {
+                        Object value = arg.getClass().getMethod(accessor).invoke(arg);
+                        if (value instanceof Long) {
+                            branchIds.add((Long) value);
+                        }
+                    } catch (ReflectiveOperationException ignored) {
+                        // Ignore missing accessors
+                    }
+                }
+            }
+
+            for (Long branchId : branchIds) {
+                if (!userDetails.getBranchIds().contains(branchId)) {
+                    throw new IllegalStateException("No access to branch " + branchId);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.stockflow.shared.infrastructure.security;
+
+import com.stockflow.modules.users.domain.model.RoleEnum;
+import com.stockflow.shared.domain.exception.ForbiddenException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BranchAccessAspect - Unit Tests")
+class BranchAccessAspectTest {
+
+    private BranchOperations operations;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new BranchOperations());
+        factory.addAspect(new BranchAccessAspect());
+        operations = factory.getProxy();
+        authenticate(Set.of(RoleEnum.MANAGER), List.of(5L, 1L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should check annotated and conventionally named parameters")
+    void directParameters() {
+        assertThatCode(() -> operations.annotated(1L, 99L)).doesNotThrowAnyException();
+        assertThatCode(() -> operations.named(5L)).doesNotThrowAnyException();
+
+        assertThatThrownBy(() -> operations.annotated(2L, 1L))
+            .isInstanceOf(ForbiddenException.class)
+            .hasMessageContaining("branch 2");
+    }
+
+    @Test
+    @DisplayName("Should check every branch ID component of a request record")
+    void recordPayload() {
+        assertThatCode(() -> operations.transfer(new Transfer(1L, 5L, 3))).doesNotThrowAnyException();
+
+        assertThatThrownBy(() -> operations.transfer(new Transfer(1L, 7L, 3)))
+            .isInstanceOf(ForbiddenException.class)
+            .hasMessageContaining("branch 7");
+    }
+
+    @Test
+    @DisplayName("Should resolve getters from the runtime class of non-final parameters")
+    void runtimeClassPayload() {
+        assertThatCode(() -> operations.generic(new BranchBean(5L))).doesNotThrowAnyException();
+
+        assertThatThrownBy(() -> operations.generic(new BranchBean(8L)))
+            .isInstanceOf(ForbiddenException.class);
+        assertThatThrownBy(() -> operations.generic("no branch here"))
+            .isInstanceOf(ForbiddenException.class)
+            .hasMessageContaining("Branch ID is required");
+    }
+
+    @Test
+    @DisplayName("Should let administrators access every branch")
+    void admin() {
+        authenticate(Set.of(RoleEnum.ADMIN), List.of());
+
+        assertThatCode(() -> operations.transfer(new Transfer(40L, 41L, 1))).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should require an authenticated user")
+    void unauthenticated() {
+        SecurityContextHolder.clearContext();
+
+        assertThatThrownBy(() -> operations.named(5L))
+            .isInstanceOf(ForbiddenException.class)
+            .hasMessageContaining("Authentication required");
+    }
+
+    private static void authenticate(Set<RoleEnum> roles, List<Long> branchIds) {
+        CustomUserDetails user = new CustomUserDetails(1L, 1L, "user@stockflow.test", null, roles, branchIds);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    public record Transfer(Long sourceBranchId, Long destinationBranchId, int quantity) {
+    }
+
+    public static class BranchBean {
+
+        private final Long branchId;
+
+        public BranchBean(Long branchId) {
+            this.branchId = branchId;
+        }
+
+        public Long getBranchId() {
+            return branchId;
+        }
+    }
+
+    public static class BranchOperations {
+
+        @BranchAccess
+        public void annotated(@BranchAccess Long warehouse, Long productId) {
+        }
+
+        @BranchAccess
+        public void named(Long branchId) {
+        }
+
+        @BranchAccess
+        public void transfer(Transfer request) {
+        }
+
+        @BranchAccess
+        public void generic(Object payload) {
+        }
+    }
+}
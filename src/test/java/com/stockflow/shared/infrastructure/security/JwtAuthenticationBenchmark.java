@@ -0,0 +1,145 @@
+package com.stockflow.shared.infrastructure.security;
+
+import com.stockflow.modules.branches.domain.model.Branch;
+import com.stockflow.modules.branches.domain.repository.BranchRepository;
+import com.stockflow.modules.tenants.domain.model.Tenant;
+import com.stockflow.modules.tenants.domain.repository.TenantRepository;
+import com.stockflow.modules.users.domain.model.RoleEnum;
+import com.stockflow.modules.users.domain.model.User;
+import com.stockflow.modules.users.domain.repository.RoleRepository;
+import com.stockflow.modules.users.domain.repository.UserRepository;
+import com.stockflow.shared.testing.TestcontainersIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-request authentication overhead benchmark.
+ *
+ * <p>Compares the previous request path (verify the token, parse it again for the
+ * tenant and the email, then load the user with its roles and branches) with
+ * {@link JwtAuthenticationFilter}, which verifies the token once, builds the user from
+ * its claims and checks the cached user version.</p>
+ *
+ * <p>Not part of the regular test run (the class name does not match the
+ * surefire includes). Run explicitly with Docker available:</p>
+ * <pre>
+ * mvn -B test -Dtest=JwtAuthenticationBenchmark
+ * </pre>
+ */
+@SpringBootTest
+@DisplayName("JwtAuthenticationFilter - Per-Request Overhead Benchmark")
+class JwtAuthenticationBenchmark extends TestcontainersIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationBenchmark.class);
+
+    private static final int WARMUP = 2000;
+    private static final int REQUESTS = 20000;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JwtAuthenticationFilter authenticationFilter;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() {
+        Long tenantId = tenantRepository.save(new Tenant("Auth Tenant", "auth-" + System.nanoTime())).getId();
+        Branch first = branchRepository.save(new Branch(tenantId, "Auth Branch 1", "AUTH1"));
+        Branch second = branchRepository.save(new Branch(tenantId, "Auth Branch 2", "AUTH2"));
+
+        User user = new User(tenantId, "Auth Manager", "auth-" + System.nanoTime() + "@bench.test", "{noop}secret");
+        user.addRole(roleRepository.findByName(RoleEnum.MANAGER).orElseThrow());
+        user.addBranch(first);
+        user.addBranch(second);
+        user = userRepository.saveAndFlush(user);
+
+        accessToken = jwtService.generateAccessToken(tenantId, user.getId(), user.getEmail(),
+            List.of(RoleEnum.MANAGER.name()), List.of(first.getId(), second.getId()),
+            userRepository.findActiveVersion(user.getId(), tenantId).orElseThrow());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Claims-based authentication is cheaper than loading the user per request")
+    void perRequestOverhead() throws Exception {
+        run(WARMUP, this::authenticateByLoadingUser);
+        long loadingNanos = run(REQUESTS, this::authenticateByLoadingUser);
+
+        run(WARMUP, this::authenticateFromClaims);
+        long claimsNanos = run(REQUESTS, this::authenticateFromClaims);
+
+        log.info("requests={} loading user: {} us/request, from claims: {} us/request",
+            REQUESTS, loadingNanos / REQUESTS / 1000.0, claimsNanos / REQUESTS / 1000.0);
+
+        assertThat(claimsNanos).isLessThan(loadingNanos);
+    }
+
+    /**
+     * The request path before claims-based authentication.
+     */
+    private void authenticateByLoadingUser() {
+        assertThat(jwtService.validateToken(accessToken)).isTrue();
+        TenantContext.setTenantId(jwtService.extractTenantId(accessToken));
+        UserDetails userDetails = userDetailsService.loadUserByUsername(jwtService.extractEmail(accessToken));
+        assertThat(userDetails.getAuthorities()).hasSize(1);
+    }
+
+    private void authenticateFromClaims() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/branches");
+        request.addHeader("Authorization", "Bearer " + accessToken);
+        authenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    }
+
+    private long run(int requests, Request request) throws Exception {
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            request.perform();
+            SecurityContextHolder.clearContext();
+            TenantContext.clear();
+        }
+        return System.nanoTime() - startedAt;
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void perform() throws Exception;
+    }
+}
@@ -0,0 +1,112 @@
+package com.stockflow.shared.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JwtService - Unit Tests")
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-key-for-jwt-service-unit-tests-min-256-bits";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = jwtService(900000, 50000);
+    }
+
+    @Test
+    @DisplayName("Should serve the claims of a verified token from the cache")
+    void extractAllClaims_RepeatedToken_ShouldHitCache() {
+        String token = accessToken();
+
+        Claims first = jwtService.extractAllClaims(token);
+        Claims second = jwtService.extractAllClaims(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.get(JwtService.USER_ID_CLAIM, Long.class)).isEqualTo(10L);
+        assertThat(lookups("hit")).isEqualTo(1);
+        assertThat(lookups("miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should verify a tampered token instead of matching a cached one")
+    void extractAllClaims_TamperedToken_ShouldFail() {
+        String token = accessToken();
+        jwtService.extractAllClaims(token);
+
+        String tampered = token.substring(0, token.length() - 2)
+            + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtService.extractAllClaims(tampered)).isInstanceOf(JwtException.class);
+        assertThat(jwtService.validateToken(tampered)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should stop serving cached claims once the token expires")
+    void extractAllClaims_ExpiredToken_ShouldFail() throws InterruptedException {
+        jwtService = jwtService(1500, 50000);
+        String token = accessToken();
+        assertThat(jwtService.validateToken(token)).isTrue();
+
+        Thread.sleep(2000);
+
+        assertThatThrownBy(() -> jwtService.extractAllClaims(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(jwtService.validateToken(token)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should verify every call when the cache is disabled")
+    void extractAllClaims_CacheDisabled_ShouldAlwaysMiss() {
+        jwtService = jwtService(900000, 0);
+        String token = accessToken();
+
+        jwtService.extractAllClaims(token);
+        jwtService.extractAllClaims(token);
+
+        assertThat(lookups("hit")).isZero();
+        assertThat(lookups("miss")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should build the user from the claims")
+    void toUserDetails_ShouldMapClaims() {
+        CustomUserDetails user = jwtService.toUserDetails(jwtService.parseToken(accessToken()));
+
+        assertThat(user.getUserId()).isEqualTo(10L);
+        assertThat(user.getTenantId()).isEqualTo(1L);
+        assertThat(user.getEmail()).isEqualTo("manager@test.com");
+        assertThat(user.getBranchIds()).containsExactly(2L, 3L);
+        assertThat(user.getAuthorities()).extracting("authority").containsExactly("ROLE_MANAGER");
+    }
+
+    private JwtService jwtService(long expirationMillis, long maxEntries) {
+        meterRegistry = new SimpleMeterRegistry();
+        JwtService service = new JwtService(meterRegistry);
+        ReflectionTestUtils.setField(service, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", expirationMillis);
+        ReflectionTestUtils.setField(service, "claimsCacheMaxEntries", maxEntries);
+        service.init();
+        return service;
+    }
+
+    private String accessToken() {
+        return jwtService.generateAccessToken(1L, 10L, "manager@test.com", List.of("MANAGER"), List.of(2L, 3L), 0L);
+    }
+
+    private double lookups(String outcome) {
+        return meterRegistry.get("stockflow.security.claims.cache").tag("outcome", outcome).counter().count();
+    }
+}
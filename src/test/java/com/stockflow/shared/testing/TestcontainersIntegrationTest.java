@@ -22,7 +22,8 @@ public abstract class TestcontainersIntegrationTest {
     )
         .withDatabaseName("stockflow")
         .withUsername("stockflow")
-        .withPassword("stockflow");
+        .withPassword("stockflow")
+        .withUrlParam("rewriteBatchedStatements", "true");
 
     @Container
     private static final GenericContainer<?> REDIS = new GenericContainer<>(
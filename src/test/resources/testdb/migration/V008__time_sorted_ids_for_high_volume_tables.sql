@@ -0,0 +1,4 @@
+-- Switch high-volume tables to application-assigned time-sorted IDs (H2).
+ALTER TABLE stock_movements ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE branch_product_stock ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE refresh_tokens ALTER COLUMN id DROP IDENTITY;
@@ -0,0 +1,36 @@
+-- Incrementally maintained dashboard counters (H2).
+CREATE TABLE dashboard_counters (
+    tenant_id BIGINT NOT NULL,
+    branch_id BIGINT NOT NULL,
+    slot TINYINT NOT NULL,
+    movements BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (tenant_id, branch_id, slot)
+);
+
+CREATE TABLE dashboard_daily_counters (
+    tenant_id BIGINT NOT NULL,
+    branch_id BIGINT NOT NULL,
+    bucket_day DATE NOT NULL,
+    slot TINYINT NOT NULL,
+    movements BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (tenant_id, branch_id, bucket_day, slot)
+);
+
+CREATE INDEX idx_daily_counters_tenant_day ON dashboard_daily_counters (tenant_id, bucket_day);
+
+CREATE TABLE dashboard_tenant_counters (
+    tenant_id BIGINT PRIMARY KEY,
+    active_products BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO dashboard_counters (tenant_id, branch_id, slot, movements)
+SELECT tenant_id, branch_id, MOD(product_id, 16), COUNT(*)
+FROM stock_movements
+GROUP BY tenant_id, branch_id, MOD(product_id, 16);
+
+INSERT INTO dashboard_tenant_counters (tenant_id, active_products)
+SELECT t.id, (SELECT COUNT(*) FROM products p WHERE p.tenant_id = t.id AND p.is_active = TRUE)
+FROM tenants t;
@@ -0,0 +1,11 @@
+-- Persisted Space-Saving summaries of the most moved products (H2).
+CREATE TABLE dashboard_top_products (
+    tenant_id BIGINT NOT NULL,
+    branch_id BIGINT NOT NULL,
+    capacity INT NOT NULL,
+    stream_length BIGINT NOT NULL DEFAULT 0,
+    entries CLOB NOT NULL,
+    recomputed_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (tenant_id, branch_id)
+);
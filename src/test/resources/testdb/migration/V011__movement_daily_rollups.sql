@@ -0,0 +1,23 @@
+-- Daily movement rollups (H2).
+CREATE TABLE movement_daily_rollups (
+    tenant_id BIGINT NOT NULL,
+    bucket_day DATE NOT NULL,
+    branch_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    reason VARCHAR(50) NOT NULL,
+    movements BIGINT NOT NULL DEFAULT 0,
+    quantity BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (tenant_id, bucket_day, branch_id, product_id, type, reason)
+);
+
+CREATE INDEX idx_rollups_tenant_branch_day ON movement_daily_rollups (tenant_id, branch_id, bucket_day);
+CREATE INDEX idx_rollups_tenant_product ON movement_daily_rollups (tenant_id, product_id);
+
+CREATE TABLE movement_rollup_progress (
+    tenant_id BIGINT PRIMARY KEY,
+    rolled_up_through DATE NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,2 @@
+-- Seek index for keyset pagination of movement history (H2).
+CREATE INDEX idx_movements_tenant_branch_date_id ON stock_movements (tenant_id, branch_id, created_at DESC, id DESC);
@@ -0,0 +1,3 @@
+-- Composite indexes for filtered movement history (H2).
+CREATE INDEX idx_movements_branch_product_date ON stock_movements (tenant_id, branch_id, product_id, created_at DESC, id DESC);
+CREATE INDEX idx_movements_branch_type_reason_date ON stock_movements (tenant_id, branch_id, type, reason, created_at DESC, id DESC);
@@ -0,0 +1,25 @@
+-- Archive tier for stock movements (H2). H2 has no table partitioning:
+-- stock_movements stays a single table and MovementPartitionMaintenance skips it.
+CREATE TABLE stock_movements_archive (
+    id BIGINT NOT NULL,
+    tenant_id BIGINT NOT NULL,
+    branch_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    reason VARCHAR(50) NOT NULL,
+    quantity INT NOT NULL,
+    note TEXT,
+    created_by_user_id BIGINT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id, created_at)
+);
+
+CREATE INDEX idx_archive_tenant_branch_date_id ON stock_movements_archive (tenant_id, branch_id, created_at DESC, id DESC);
+
+CREATE TABLE movement_archived_months (
+    month_start DATE NOT NULL PRIMARY KEY,
+    movements BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
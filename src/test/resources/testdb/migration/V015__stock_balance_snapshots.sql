@@ -0,0 +1,19 @@
+-- Daily closing stock balances (H2).
+CREATE TABLE stock_balance_snapshots (
+    tenant_id BIGINT NOT NULL,
+    branch_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    snapshot_day DATE NOT NULL,
+    quantity BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (tenant_id, branch_id, product_id, snapshot_day)
+);
+
+CREATE INDEX idx_snapshots_tenant_day ON stock_balance_snapshots (tenant_id, snapshot_day);
+
+CREATE TABLE stock_snapshot_progress (
+    tenant_id BIGINT PRIMARY KEY,
+    snapshotted_through DATE NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,15 @@
+-- Global login directory (H2).
+CREATE TABLE user_login_directory (
+    user_id BIGINT PRIMARY KEY,
+    email VARCHAR(255) NOT NULL,
+    tenant_id BIGINT NOT NULL,
+    is_active BOOLEAN NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_login_directory_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_login_directory_email ON user_login_directory (email, is_active, tenant_id);
+
+INSERT INTO user_login_directory (user_id, email, tenant_id, is_active, updated_at)
+SELECT id, LOWER(email), tenant_id, COALESCE(is_active, TRUE), CURRENT_TIMESTAMP
+FROM users;
@@ -0,0 +1,10 @@
+-- Node ID leases for time-sorted IDs (H2).
+CREATE TABLE id_node_leases (
+    node_id INT PRIMARY KEY,
+    holder VARCHAR(100) NULL,
+    expires_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO id_node_leases (node_id) VALUES
+    (0), (1), (2), (3), (4), (5), (6), (7), (8), (9), (10), (11), (12), (13), (14), (15);